@@ -0,0 +1,198 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * <p>
+ * This benchmark measures the repeated creation of a subclass of {@link net.bytebuddy.benchmark.specimen.ExampleClass}
+ * of the same name which delegates all single-argument methods to a {@link net.bytebuddy.instrumentation.MethodDelegation}
+ * with several target methods of which only one can be bound to each source method. One benchmark uses a method
+ * delegation with a binding cache that is reused for the creation of all classes while the other benchmark uses a
+ * method delegation without a binding cache which binds all target methods for each creation. The created classes
+ * are not loaded such that the benchmark only measures the type's creation.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MethodDelegationBindingBenchmark {
+
+    /**
+     * The name of the subclass that is created by all benchmarks.
+     */
+    public static final String NAME = "net.bytebuddy.benchmark.generated.DelegatingExampleClass";
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    private Class<? extends ExampleClass> baseClass = ExampleClass.class;
+
+    /**
+     * The name of the subclass that is created by all benchmarks.
+     */
+    private String name = NAME;
+
+    /**
+     * The number of arguments of the methods that are delegated by all benchmarks.
+     */
+    private int arguments = 1;
+
+    /**
+     * A method delegation that remembers its bindings between the creation of several classes.
+     */
+    private MethodDelegation cachedMethodDelegation = MethodDelegation.to(ByteBuddyInterceptor.class).withBindingCache();
+
+    /**
+     * A method delegation that binds all target methods for each creation of a class.
+     */
+    private MethodDelegation methodDelegation = MethodDelegation.to(ByteBuddyInterceptor.class);
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy where the delegation's bindings are cached.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkByteBuddyWithBindingCache() {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseClass)
+                .name(name)
+                .method(isDeclaredBy(baseClass).and(takesArguments(arguments))).intercept(cachedMethodDelegation)
+                .make();
+    }
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy where the delegation's bindings are not cached.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkByteBuddyWithoutBindingCache() {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseClass)
+                .name(name)
+                .method(isDeclaredBy(baseClass).and(takesArguments(arguments))).intercept(methodDelegation)
+                .make();
+    }
+
+    /**
+     * An interceptor that defines a target method for each single-argument method of
+     * {@link net.bytebuddy.benchmark.specimen.ExampleClass}. Each target method can only be bound to the source
+     * method that takes and returns the same type.
+     */
+    public static class ByteBuddyInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static boolean intercept(boolean arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static byte intercept(byte arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static short intercept(short arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static int intercept(int arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static char intercept(char arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static long intercept(long arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static float intercept(float arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static double intercept(double arg) {
+            return arg;
+        }
+
+        /**
+         * An interception method.
+         *
+         * @param arg An argument.
+         * @return The input argument.
+         */
+        public static Object intercept(Object arg) {
+            return arg;
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package net.bytebuddy.benchmark;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.benchmark.specimen.ExampleInterface;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.InvocationHandlerAdapter;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.TimeUnit;
 
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+
 /**
  * <p>
  * This benchmark measures the invocation speed of stub method invocations. All classes implement
  * {@link net.bytebuddy.benchmark.specimen.ExampleInterface} and implement all methods to return the return type's
- * default value, independently of the arguments.
+ * default value, independently of the arguments. Additionally, the benchmark measures Byte Buddy's
+ * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter} which either delegates to an
+ * {@link java.lang.reflect.InvocationHandler} with an argument array and boxed primitive values or to a
+ * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} without any allocations.
+ * Both adapters cache the {@link java.lang.reflect.Method} instances they hand to their invocation handler such that
+ * the benchmarks only differ by the creation of argument arrays and the boxing of primitive values.
+ * The allocation rates of these benchmarks can be compared by running JMH with its {@code -prof gc} profiler.
  * </p>
  * <p>
  * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
@@ -72,6 +85,17 @@ public class StubInvocationBenchmark {
      */
     private ExampleInterface byteBuddyInstance;
 
+    /**
+     * An instance created by Byte Buddy that delegates to an invocation handler for performing benchmarks on.
+     */
+    private ExampleInterface byteBuddyInvocationHandlerInstance;
+
+    /**
+     * An instance created by Byte Buddy that delegates to a positional invocation handler for performing
+     * benchmarks on.
+     */
+    private ExampleInterface byteBuddyPositionalInvocationHandlerInstance;
+
     /**
      * An instance created by cglib for performing benchmarks on.
      */
@@ -89,7 +113,8 @@ public class StubInvocationBenchmark {
 
     /**
      * Creates an instance for each code generation library. The classes are extracted from the
-     * {@link net.bytebuddy.benchmark.ClassByImplementationBenchmark}.
+     * {@link net.bytebuddy.benchmark.ClassByImplementationBenchmark}. The instances delegating to an invocation
+     * handler are created explicitly.
      *
      * @throws Exception Covers the exception declarations of the setup methods.
      */
@@ -100,6 +125,26 @@ public class StubInvocationBenchmark {
         cglibInstance = classByImplementationBenchmark.benchmarkCglib();
         javassistInstance = classByImplementationBenchmark.benchmarkJavassist();
         jdkProxyInstance = classByImplementationBenchmark.benchmarkJdkProxy();
+        byteBuddyInvocationHandlerInstance = implement(InvocationHandlerAdapter.of(StubInvocationHandler.INSTANCE).withMethodCache());
+        byteBuddyPositionalInvocationHandlerInstance = implement(InvocationHandlerAdapter.ofPositional(StubInvocationHandler.INSTANCE));
+    }
+
+    /**
+     * Creates an instance of {@link net.bytebuddy.benchmark.specimen.ExampleInterface} using Byte Buddy where all
+     * methods are implemented by the given instrumentation.
+     *
+     * @param instrumentation The instrumentation to apply.
+     * @return An instance of the created class.
+     * @throws Exception If the instance cannot be created.
+     */
+    private static ExampleInterface implement(Instrumentation instrumentation) throws Exception {
+        return new ByteBuddy()
+                .subclass(ExampleInterface.class)
+                .method(isDeclaredBy(ExampleInterface.class)).intercept(instrumentation)
+                .make()
+                .load(StubInvocationBenchmark.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
     }
 
     /**
@@ -132,6 +177,66 @@ public class StubInvocationBenchmark {
         blackHole.consume(byteBuddyInstance.method(stringValue, stringValue, stringValue));
     }
 
+    /**
+     * Performs a benchmark for a trivial class creation using Byte Buddy's invocation handler adapter.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyInvocationHandler(Blackhole blackHole) {
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(booleanValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(byteValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(shortValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(intValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(charValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(intValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(longValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(floatValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(doubleValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(stringValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyInvocationHandlerInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * Performs a benchmark for a trivial class creation using Byte Buddy's invocation handler adapter with a positional invocation handler.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyPositionalInvocationHandler(Blackhole blackHole) {
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(booleanValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(byteValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(shortValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(intValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(charValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(intValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(longValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(floatValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(doubleValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(stringValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyPositionalInvocationHandlerInstance.method(stringValue, stringValue, stringValue));
+    }
+
     /**
      * Performs a benchmark for a trivial class creation using cglib.
      *
@@ -221,4 +326,89 @@ public class StubInvocationBenchmark {
         blackHole.consume(jdkProxyInstance.method(doubleValue, doubleValue, doubleValue));
         blackHole.consume(jdkProxyInstance.method(stringValue, stringValue, stringValue));
     }
+
+    /**
+     * An invocation handler that returns the default value of any intercepted method's return type.
+     */
+    protected static enum StubInvocationHandler implements InvocationHandlerAdapter.PositionalInvocationHandler {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return ClassByImplementationBenchmark.DEFAULT_BOOLEAN_VALUE;
+            } else if (returnType == byte.class) {
+                return ClassByImplementationBenchmark.DEFAULT_BYTE_VALUE;
+            } else if (returnType == short.class) {
+                return ClassByImplementationBenchmark.DEFAULT_SHORT_VALUE;
+            } else if (returnType == char.class) {
+                return ClassByImplementationBenchmark.DEFAULT_CHAR_VALUE;
+            } else if (returnType == int.class) {
+                return ClassByImplementationBenchmark.DEFAULT_INT_VALUE;
+            } else if (returnType == long.class) {
+                return ClassByImplementationBenchmark.DEFAULT_LONG_VALUE;
+            } else if (returnType == float.class) {
+                return ClassByImplementationBenchmark.DEFAULT_FLOAT_VALUE;
+            } else if (returnType == double.class) {
+                return ClassByImplementationBenchmark.DEFAULT_DOUBLE_VALUE;
+            } else {
+                return ClassByImplementationBenchmark.DEFAULT_REFERENCE_VALUE;
+            }
+        }
+
+        @Override
+        public Object invoke0(Object proxy, Method method) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_REFERENCE_VALUE;
+        }
+
+        @Override
+        public long invokePrimitive0(Object proxy, Method method) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_LONG_VALUE;
+        }
+
+        @Override
+        public Object invoke1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_REFERENCE_VALUE;
+        }
+
+        @Override
+        public long invokePrimitive1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_LONG_VALUE;
+        }
+
+        @Override
+        public Object invoke2(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_REFERENCE_VALUE;
+        }
+
+        @Override
+        public long invokePrimitive2(Object proxy, Method method,
+                                     Object reference0, long primitive0,
+                                     Object reference1, long primitive1) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_LONG_VALUE;
+        }
+
+        @Override
+        public Object invoke3(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1,
+                              Object reference2, long primitive2) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_REFERENCE_VALUE;
+        }
+
+        @Override
+        public long invokePrimitive3(Object proxy, Method method,
+                                     Object reference0, long primitive0,
+                                     Object reference1, long primitive1,
+                                     Object reference2, long primitive2) throws Throwable {
+            return ClassByImplementationBenchmark.DEFAULT_LONG_VALUE;
+        }
+    }
 }
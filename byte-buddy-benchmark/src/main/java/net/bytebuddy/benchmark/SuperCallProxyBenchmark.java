@@ -0,0 +1,210 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.RuntimeType;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+
+/**
+ * <p>
+ * This benchmark measures the invocation speed of super method invocations through a
+ * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall} proxy. All classes extend
+ * {@link net.bytebuddy.benchmark.specimen.ExampleClass} and delegate to an interceptor that does nothing but invoking
+ * the proxy. One interceptor receives a new proxy instance for every invocation while the other interceptor receives
+ * a reusable proxy instance. The allocation rates of these benchmarks can be compared by running JMH with its
+ * {@code -prof gc} profiler.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuperCallProxyBenchmark {
+
+    /**
+     * A generic {@link String} value.
+     */
+    private String stringValue = "foo";
+
+    /**
+     * A generic {@code boolean} value.
+     */
+    private boolean booleanValue = true;
+
+    /**
+     * A generic {@code byte} value.
+     */
+    private byte byteValue = 42;
+
+    /**
+     * A generic {@code short} value.
+     */
+    private short shortValue = 42;
+
+    /**
+     * A generic {@code char} value.
+     */
+    private char charValue = '@';
+
+    /**
+     * A generic {@code int} value.
+     */
+    private int intValue = 42;
+
+    /**
+     * A generic {@code long} value.
+     */
+    private long longValue = 42L;
+
+    /**
+     * A generic {@code float} value.
+     */
+    private float floatValue = 42f;
+
+    /**
+     * A generic {@code double} value.
+     */
+    private double doubleValue = 42d;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance creates a new proxy for
+     * every super method invocation.
+     */
+    private ExampleClass byteBuddyWithProxyInstance;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance reuses a proxy for every super
+     * method invocation.
+     */
+    private ExampleClass byteBuddyWithReusableProxyInstance;
+
+    /**
+     * Creates an instance for each interceptor.
+     *
+     * @throws Exception Covers the exception declarations of the setup methods.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        byteBuddyWithProxyInstance = make(ClassByExtensionBenchmark.ByteBuddyInterceptor.class);
+        byteBuddyWithReusableProxyInstance = make(ReusableProxyInterceptor.class);
+    }
+
+    /**
+     * Creates a subclass of {@link net.bytebuddy.benchmark.specimen.ExampleClass} that delegates to the given
+     * interceptor.
+     *
+     * @param interceptor The interceptor to delegate to.
+     * @return An instance of the created class.
+     * @throws Exception If the instance cannot be created.
+     */
+    private static ExampleClass make(Class<?> interceptor) throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(ExampleClass.class)
+                .method(isDeclaredBy(ExampleClass.class)).intercept(MethodDelegation.to(interceptor))
+                .make()
+                .load(SuperCallProxyBenchmark.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy where a new proxy is created for every
+     * invocation.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithProxy(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithProxyInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(intValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(charValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(intValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(longValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithProxyInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy where a proxy is reused for every
+     * invocation.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithReusableProxy(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(intValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(charValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(intValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(longValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithReusableProxyInstance.method(stringValue, stringValue, stringValue));
+    }
+
+    /**
+     * An interceptor that invokes a reusable super method proxy.
+     */
+    public static class ReusableProxyInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ReusableProxyInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Call the super method.
+         *
+         * @param zuper A reusable proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         * @throws Exception As declared by {@link java.util.concurrent.Callable}'s contract.
+         */
+        @RuntimeType
+        public static Object intercept(@SuperCall(reusableProxy = true) Callable<?> zuper) throws Exception {
+            return zuper.call();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.SuperMethodCall;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+
+/**
+ * <p>
+ * This benchmark measures the creation of a subclass of {@link net.bytebuddy.benchmark.specimen.ExampleClass} which
+ * overrides all methods to invoke the direct super class's implementation. One benchmark reuses a single type description
+ * of the base class that memorizes its properties between the creation of several classes while the other benchmark
+ * describes the base class by a fresh type description for each creation. The created classes are not
+ * loaded such that the benchmark only measures the type's description and its creation.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeDescriptionBenchmark {
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    private Class<? extends ExampleClass> baseClass = ExampleClass.class;
+
+    /**
+     * A type description of the base class that is reused by all runs of a benchmark.
+     */
+    private TypeDescription baseTypeDescription = new TypeDescription.ForLoadedType(baseClass);
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy where the base class is described by a reused
+     * type description.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkByteBuddyWithReusedDescription() {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(baseTypeDescription)
+                .method(isDeclaredBy(baseClass)).intercept(SuperMethodCall.INSTANCE)
+                .make();
+    }
+
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy where the base class is described by a fresh
+     * type description.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public DynamicType.Unloaded<?> benchmarkByteBuddyWithFreshDescription() {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(new TypeDescription.ForLoadedType(baseClass))
+                .method(isDeclaredBy(baseClass)).intercept(SuperMethodCall.INSTANCE)
+                .make();
+    }
+}
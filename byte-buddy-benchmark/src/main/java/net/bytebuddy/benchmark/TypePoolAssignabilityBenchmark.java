@@ -0,0 +1,114 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JTree;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EventListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * This benchmark measures the time it takes to check the assignability of types that are described by a
+ * {@link net.bytebuddy.pool.TypePool.Default} and that are part of deep type hierarchies. One benchmark uses a
+ * type pool that caches its type descriptions such that the names of all super types of a type are only resolved
+ * once and assignability checks become hash lookups. The other benchmark uses a type pool without a cache such that
+ * each description requires resolving the type hierarchy anew.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypePoolAssignabilityBenchmark {
+
+    /**
+     * The names of the types of which the assignability is checked by each benchmark iteration.
+     */
+    private String[] typeNames = new String[]{
+            JButton.class.getName(),
+            JTree.class.getName(),
+            ConcurrentSkipListMap.class.getName()
+    };
+
+    /**
+     * The names of the types against which the assignability is checked by each benchmark iteration.
+     */
+    private String[] supertypeNames = new String[]{
+            JComponent.class.getName(),
+            Serializable.class.getName(),
+            Map.class.getName(),
+            Collection.class.getName(),
+            EventListener.class.getName(),
+            Object.class.getName()
+    };
+
+    /**
+     * A type pool that caches its type descriptions.
+     */
+    private TypePool cachedTypePool;
+
+    /**
+     * A type pool that does not cache its type descriptions.
+     */
+    private TypePool uncachedTypePool;
+
+    /**
+     * Creates the type pools of this benchmark.
+     */
+    @Setup
+    public void setUp() {
+        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.ofClassPath();
+        cachedTypePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), classFileLocator);
+        uncachedTypePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE, classFileLocator);
+    }
+
+    /**
+     * Performs a benchmark for checking the assignability of types that are described by a caching type pool.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(18)
+    public void benchmarkCachedTypePool(Blackhole blackHole) {
+        checkAssignability(cachedTypePool, blackHole);
+    }
+
+    /**
+     * Performs a benchmark for checking the assignability of types that are described by a type pool without a cache.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(18)
+    public void benchmarkUncachedTypePool(Blackhole blackHole) {
+        checkAssignability(uncachedTypePool, blackHole);
+    }
+
+    /**
+     * Checks the assignability of all types of this benchmark to all super types of this benchmark.
+     *
+     * @param typePool  The type pool to use.
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    private void checkAssignability(TypePool typePool, Blackhole blackHole) {
+        for (String typeName : typeNames) {
+            TypeDescription typeDescription = typePool.describe(typeName).resolve();
+            for (String supertypeName : supertypeNames) {
+                blackHole.consume(typeDescription.isAssignableTo(typePool.describe(supertypeName).resolve()));
+            }
+        }
+    }
+}
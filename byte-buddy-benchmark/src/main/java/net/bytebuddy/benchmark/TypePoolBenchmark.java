@@ -0,0 +1,174 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * <p>
+ * This benchmark measures the time it takes to describe all types of the jar file or folder that contains
+ * {@link net.bytebuddy.ByteBuddy} from their class files by using a {@link net.bytebuddy.pool.TypePool.Default}.
+ * Each benchmark invocation describes all of these types. The type pool is created without a cache such that every
+ * description requires parsing a class file. The benchmark compares the
+ * {@link net.bytebuddy.pool.TypePool.Default.ReaderMode#FAST} mode which skips any method bodies to the
+ * {@link net.bytebuddy.pool.TypePool.Default.ReaderMode#EXTENDED} mode which processes the entire class file.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TypePoolBenchmark {
+
+    /**
+     * The file extension for a Java class file.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The folder of a jar file that contains meta information rather than types.
+     */
+    private static final String META_INF_FOLDER = "META-INF/";
+
+    /**
+     * The names of the types that are described by each benchmark invocation.
+     */
+    private List<String> typeNames;
+
+    /**
+     * A type pool that parses class files in the fast reader mode.
+     */
+    private TypePool fastTypePool;
+
+    /**
+     * A type pool that parses class files in the extended reader mode.
+     */
+    private TypePool extendedTypePool;
+
+    /**
+     * Collects the names of all types that are contained in the jar file or folder of
+     * {@link net.bytebuddy.ByteBuddy} and creates the type pools of this benchmark which do not cache any type
+     * descriptions.
+     *
+     * @throws Exception If the types cannot be collected.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        File location = new File(ByteBuddy.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        typeNames = location.isDirectory()
+                ? typeNamesOf(location, location)
+                : typeNamesOf(location);
+        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(ByteBuddy.class.getClassLoader());
+        fastTypePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                classFileLocator,
+                TypePool.Default.ReaderMode.FAST);
+        extendedTypePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                classFileLocator,
+                TypePool.Default.ReaderMode.EXTENDED);
+    }
+
+    /**
+     * Collects the names of all types that are contained in a jar file.
+     *
+     * @param jarFile The jar file to inspect.
+     * @return The names of all types that are contained in the jar file.
+     * @throws IOException If the jar file cannot be read.
+     */
+    private static List<String> typeNamesOf(File jarFile) throws IOException {
+        List<String> typeNames = new ArrayList<String>();
+        JarFile file = new JarFile(jarFile);
+        try {
+            Enumeration<JarEntry> entries = file.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(CLASS_FILE_EXTENSION) && !name.startsWith(META_INF_FOLDER)) {
+                    typeNames.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+                }
+            }
+        } finally {
+            file.close();
+        }
+        return typeNames;
+    }
+
+    /**
+     * Collects the names of all types that are contained in a folder and in its sub folders.
+     *
+     * @param root   The root folder of the class path.
+     * @param folder The folder to inspect.
+     * @return The names of all types that are contained in the folder.
+     */
+    private static List<String> typeNamesOf(File root, File folder) {
+        List<String> typeNames = new ArrayList<String>();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    typeNames.addAll(typeNamesOf(root, file));
+                } else if (file.getName().endsWith(CLASS_FILE_EXTENSION)) {
+                    String name = file.getAbsolutePath().substring(root.getAbsolutePath().length() + 1);
+                    typeNames.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace(File.separatorChar, '.'));
+                }
+            }
+        }
+        return typeNames;
+    }
+
+    /**
+     * Returns the names of the types that are described by each benchmark invocation.
+     *
+     * @return The names of the types that are described by each benchmark invocation.
+     */
+    public List<String> getTypeNames() {
+        return typeNames;
+    }
+
+    /**
+     * Performs a benchmark for describing types with a type pool that skips method bodies.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    public void benchmarkFast(Blackhole blackHole) {
+        describe(fastTypePool, blackHole);
+    }
+
+    /**
+     * Performs a benchmark for describing types with a type pool that processes the entire class file.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    public void benchmarkExtended(Blackhole blackHole) {
+        describe(extendedTypePool, blackHole);
+    }
+
+    /**
+     * Describes all types of this benchmark and consumes their declared members.
+     *
+     * @param typePool  The type pool to use.
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    private void describe(TypePool typePool, Blackhole blackHole) {
+        for (String typeName : typeNames) {
+            TypeDescription typeDescription = typePool.describe(typeName).resolve();
+            blackHole.consume(typeDescription.getDeclaredMethods().size());
+            blackHole.consume(typeDescription.getDeclaredFields().size());
+        }
+    }
+}
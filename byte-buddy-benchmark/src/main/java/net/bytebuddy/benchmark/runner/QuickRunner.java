@@ -33,10 +33,15 @@ public class QuickRunner {
     public static void main(String[] args) throws RunnerException {
         new Runner(new OptionsBuilder()
                 .include(WILDCARD + SuperClassInvocationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + SuperCallProxyBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypeDescriptionBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + MethodDelegationBindingBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + StubInvocationBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + ClassByImplementationBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + ClassByExtensionBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + TrivialClassCreationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypePoolBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypePoolAssignabilityBenchmark.class.getSimpleName() + WILDCARD)
                 .forks(0) // Should rather be 1 but there seems to be a bug in JMH.
                 .build()).run();
     }
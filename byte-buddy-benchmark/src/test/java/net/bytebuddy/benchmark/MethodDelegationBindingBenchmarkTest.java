@@ -0,0 +1,39 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationBindingBenchmarkTest {
+
+    private MethodDelegationBindingBenchmark methodDelegationBindingBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        methodDelegationBindingBenchmark = new MethodDelegationBindingBenchmark();
+    }
+
+    @Test
+    public void testBindingCache() throws Exception {
+        for (int index = 0; index < 2; index++) {
+            assertThat(methodDelegationBindingBenchmark.benchmarkByteBuddyWithBindingCache().getTypeDescription()
+                    .getSupertype().represents(ExampleClass.class), is(true));
+        }
+    }
+
+    @Test
+    public void testWithoutBindingCache() throws Exception {
+        assertThat(methodDelegationBindingBenchmark.benchmarkByteBuddyWithoutBindingCache().getTypeDescription()
+                .getSupertype().represents(ExampleClass.class), is(true));
+    }
+
+    @Test
+    public void testEqualTypes() throws Exception {
+        methodDelegationBindingBenchmark.benchmarkByteBuddyWithBindingCache();
+        assertThat(methodDelegationBindingBenchmark.benchmarkByteBuddyWithBindingCache().getBytes(),
+                is(methodDelegationBindingBenchmark.benchmarkByteBuddyWithoutBindingCache().getBytes()));
+    }
+}
@@ -18,6 +18,16 @@ public class StubInvocationBenchmarkTest extends AbstractBlackHoleTest {
         stubInvocationBenchmark.benchmarkByteBuddy(blackHole);
     }
 
+    @Test
+    public void testByteBuddyInvocationHandlerBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyInvocationHandler(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyPositionalInvocationHandlerBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyPositionalInvocationHandler(blackHole);
+    }
+
     @Test
     public void testCglibBenchmark() throws Exception {
         stubInvocationBenchmark.benchmarkCglib(blackHole);
@@ -0,0 +1,25 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SuperCallProxyBenchmarkTest extends AbstractBlackHoleTest {
+
+    private SuperCallProxyBenchmark superCallProxyBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        superCallProxyBenchmark = new SuperCallProxyBenchmark();
+        superCallProxyBenchmark.setUp();
+    }
+
+    @Test
+    public void testByteBuddyWithProxyBenchmark() throws Exception {
+        superCallProxyBenchmark.benchmarkByteBuddyWithProxy(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyWithReusableProxyBenchmark() throws Exception {
+        superCallProxyBenchmark.benchmarkByteBuddyWithReusableProxy(blackHole);
+    }
+}
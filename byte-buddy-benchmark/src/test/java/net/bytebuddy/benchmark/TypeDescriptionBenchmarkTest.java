@@ -0,0 +1,30 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeDescriptionBenchmarkTest {
+
+    private TypeDescriptionBenchmark typeDescriptionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typeDescriptionBenchmark = new TypeDescriptionBenchmark();
+    }
+
+    @Test
+    public void testReusedDescription() throws Exception {
+        assertThat(typeDescriptionBenchmark.benchmarkByteBuddyWithReusedDescription().getTypeDescription()
+                .getSupertype().represents(ExampleClass.class), is(true));
+    }
+
+    @Test
+    public void testFreshDescription() throws Exception {
+        assertThat(typeDescriptionBenchmark.benchmarkByteBuddyWithFreshDescription().getTypeDescription()
+                .getSupertype().represents(ExampleClass.class), is(true));
+    }
+}
@@ -0,0 +1,25 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypePoolAssignabilityBenchmarkTest extends AbstractBlackHoleTest {
+
+    private TypePoolAssignabilityBenchmark typePoolAssignabilityBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typePoolAssignabilityBenchmark = new TypePoolAssignabilityBenchmark();
+        typePoolAssignabilityBenchmark.setUp();
+    }
+
+    @Test
+    public void testCachedTypePoolBenchmark() throws Exception {
+        typePoolAssignabilityBenchmark.benchmarkCachedTypePool(blackHole);
+    }
+
+    @Test
+    public void testUncachedTypePoolBenchmark() throws Exception {
+        typePoolAssignabilityBenchmark.benchmarkUncachedTypePool(blackHole);
+    }
+}
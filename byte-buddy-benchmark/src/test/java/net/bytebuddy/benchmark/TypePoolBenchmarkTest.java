@@ -0,0 +1,34 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolBenchmarkTest extends AbstractBlackHoleTest {
+
+    private TypePoolBenchmark typePoolBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typePoolBenchmark = new TypePoolBenchmark();
+        typePoolBenchmark.setUp();
+    }
+
+    @Test
+    public void testTypeNames() throws Exception {
+        assertThat(typePoolBenchmark.getTypeNames(), hasItem(ByteBuddy.class.getName()));
+    }
+
+    @Test
+    public void testFastBenchmark() throws Exception {
+        typePoolBenchmark.benchmarkFast(blackHole);
+    }
+
+    @Test
+    public void testExtendedBenchmark() throws Exception {
+        typePoolBenchmark.benchmarkExtended(blackHole);
+    }
+}
@@ -6,6 +6,7 @@ import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoaderByteArrayInjector;
 import net.bytebuddy.dynamic.scaffold.inline.MethodRebaseResolver;
 import net.bytebuddy.instrumentation.LoadedTypeInitializer;
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.Removal;
@@ -17,19 +18,44 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.constant.TextConstant
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.AnnotationTypeMatcher;
+import net.bytebuddy.matcher.CollectionItemMatcher;
+import net.bytebuddy.matcher.DeclaringAnnotationMatcher;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.EqualityMatcher;
+import net.bytebuddy.matcher.NameMatcher;
+import net.bytebuddy.matcher.StringMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.StreamDrainer;
+import net.bytebuddy.utility.WeakIdentityKey;
 import org.objectweb.asm.MethodVisitor;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -100,6 +126,30 @@ public interface AgentBuilder {
     Identified rebase(ElementMatcher<? super TypeDescription> typeMatcher,
                       ElementMatcher<? super ClassLoader> classLoaderMatcher);
 
+    /**
+     * Excludes any type of the given name from any transformation. This filter is applied to the binary name of a
+     * type before the type is parsed or any other matcher is applied. If several filters are registered, a type is
+     * ignored if any filter matches. Ignored types are reported to
+     * {@link net.bytebuddy.agent.builder.AgentBuilder.Listener#onIgnored(String)}.
+     *
+     * @param typeNameMatcher A matcher that is applied to the binary name of a type being loaded.
+     * @return A new instance of this agent builder which ignores any type of a matched name.
+     */
+    AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher);
+
+    /**
+     * Excludes any type of the given name that is loaded by the given class loader from any transformation. This
+     * filter is applied to the binary name of a type and to its class loader before the type is parsed or any other
+     * matcher is applied. If several filters are registered, a type is ignored if any filter matches. Ignored types
+     * are reported to {@link net.bytebuddy.agent.builder.AgentBuilder.Listener#onIgnored(String)}.
+     *
+     * @param typeNameMatcher    A matcher that is applied to the binary name of a type being loaded.
+     * @param classLoaderMatcher A matcher that is applied to the class loader of a type being loaded. The bootstrap
+     *                           class loader is represented by {@code null}.
+     * @return A new instance of this agent builder which ignores any type of a matched name and class loader.
+     */
+    AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher, ElementMatcher<? super ClassLoader> classLoaderMatcher);
+
     /**
      * Defines the given {@link net.bytebuddy.ByteBuddy} instance to be used by the created agent.
      *
@@ -164,6 +214,59 @@ public interface AgentBuilder {
      */
     AgentBuilder allowRetransformation();
 
+    /**
+     * <p>
+     * Enables an index of all registered transformations that is computed once when a
+     * {@link java.lang.instrument.ClassFileTransformer} is created. Transformations that match a type by the
+     * equality or the prefix of its name or by a declared annotation are then only evaluated for types that are
+     * candidates of such a transformation. Any transformation with a matcher that cannot be indexed is still
+     * evaluated for every type. A type that is not a candidate of any transformation is not parsed at all.
+     * </p>
+     * <p>
+     * Matchers can only be indexed if they are supplied as an {@link net.bytebuddy.matcher.ElementMatcher} of
+     * a {@link net.bytebuddy.instrumentation.type.TypeDescription} that was created by
+     * {@link net.bytebuddy.matcher.ElementMatchers#named(String)},
+     * {@link net.bytebuddy.matcher.ElementMatchers#nameStartsWith(String)} or
+     * {@link net.bytebuddy.matcher.ElementMatchers#isAnnotatedWith(Class)} or by a conjunction or a disjunction
+     * of such matchers. The order in which transformations are applied is not altered by the index.
+     * </p>
+     *
+     * @return A new instance of this agent builder which indexes its transformations.
+     */
+    AgentBuilder enableTransformationIndex();
+
+    /**
+     * <p>
+     * Enables the retransformation of all types that are already loaded when this agent is installed on an
+     * {@link java.lang.instrument.Instrumentation}. This implies that retransformation is allowed as by
+     * {@link net.bytebuddy.agent.builder.AgentBuilder#allowRetransformation()}. Any loaded type is first checked
+     * against the ignored type filters, the transformation index and a description of the loaded type before it
+     * is retransformed such that no class file needs to be parsed for a type that is not transformed. Matching
+     * types are then retransformed in batches of the given size where any batch that fails is retransformed
+     * type by type. After each batch, the registered listeners are notified.
+     * </p>
+     * <p>
+     * Note that retransformation does not currently allow for adding or removing fields or methods on the
+     * Hot Spot Virtual machine.
+     * </p>
+     *
+     * @param batchSize The maximum number of types that are retransformed by a single call to
+     *                  {@link java.lang.instrument.Instrumentation#retransformClasses(Class[])}.
+     * @return A new instance of this agent builder which retransforms already loaded types when it is installed.
+     */
+    AgentBuilder enableLoadedTypeRetransformation(int batchSize);
+
+    /**
+     * Defines the use of the given transformation cache for storing the binary representations of transformed types
+     * such that a type does not need to be transformed again when it is loaded with an unaltered binary
+     * representation at a later point in time, for example after a restart of the virtual machine. A type is only
+     * cached if it does not require any live {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}s.
+     *
+     * @param transformationCache The transformation cache to use.
+     * @return A new instance of this agent builder which uses the given transformation cache.
+     */
+    AgentBuilder withTransformationCache(TransformationCache transformationCache);
+
     /**
      * Creates a {@link java.lang.instrument.ClassFileTransformer} that implements the configuration of this
      * agent builder.
@@ -281,6 +384,15 @@ public interface AgentBuilder {
                 return classLoaderMatcher.matches(classLoader) && typeMatcher.matches(typeDescription);
             }
 
+            /**
+             * Returns the type matcher to apply to a {@link net.bytebuddy.instrumentation.type.TypeDescription}.
+             *
+             * @return The type matcher to apply to a {@link net.bytebuddy.instrumentation.type.TypeDescription}.
+             */
+            public ElementMatcher<? super TypeDescription> getTypeMatcher() {
+                return typeMatcher;
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -516,6 +628,209 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * <p>
+         * A binary locator that shares a {@link net.bytebuddy.pool.TypePool} among all types that are loaded by the
+         * same class loader. This way, types that are referenced by many instrumented types, as for example
+         * {@link java.lang.Object} or any common super type, are only parsed once per class loader instead of once
+         * per instrumented type. The instrumented type itself is always described from the binary representation
+         * that is handed to the class file transformer and is never cached.
+         * </p>
+         * <p>
+         * A shared type pool is only referenced as long as its class loader is not garbage collected. Such type
+         * pools never reference their class loader strongly themselves. This binary locator is thread-safe.
+         * </p>
+         */
+        static class WithTypePoolCache implements BinaryLocator {
+
+            /**
+             * The reference queue that is notified about class loaders that were garbage collected.
+             */
+            private final ReferenceQueue<ClassLoader> referenceQueue;
+
+            /**
+             * A map of shared type pools by weak references to their class loaders.
+             */
+            private final ConcurrentMap<Object, TypePool> typePools;
+
+            /**
+             * The shared type pool for types that are loaded by the bootstrap class loader.
+             */
+            private final TypePool bootstrapTypePool;
+
+            /**
+             * Creates a new binary locator that shares type pools for any class loader.
+             */
+            public WithTypePoolCache() {
+                referenceQueue = new ReferenceQueue<ClassLoader>();
+                typePools = new ConcurrentHashMap<Object, TypePool>();
+                bootstrapTypePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                        ClassFileLocator.ForClassLoader.WeaklyReferenced.of(null));
+            }
+
+            @Override
+            public BinaryLocator.Initialized initialize(String typeName,
+                                                        byte[] binaryRepresentation,
+                                                        ClassLoader classLoader) {
+                return new Initialized(typeName,
+                        binaryRepresentation,
+                        typePool(classLoader),
+                        ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader));
+            }
+
+            /**
+             * Returns the shared type pool of the given class loader and creates such a type pool if it does not
+             * yet exist.
+             *
+             * @param classLoader The class loader for which a shared type pool is requested. Might be {@code null}
+             *                    if this class loader represents the bootstrap class loader.
+             * @return The shared type pool of the given class loader.
+             */
+            protected TypePool typePool(ClassLoader classLoader) {
+                if (classLoader == null) {
+                    return bootstrapTypePool;
+                }
+                expungeStaleEntries();
+                TypePool typePool = typePools.get(new WeakIdentityKey.Lookup<ClassLoader>(classLoader));
+                if (typePool == null) {
+                    typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                            ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader));
+                    TypePool previous = typePools.putIfAbsent(new WeakIdentityKey<ClassLoader>(classLoader, referenceQueue), typePool);
+                    if (previous != null) {
+                        typePool = previous;
+                    }
+                }
+                return typePool;
+            }
+
+            /**
+             * Removes all type pools of class loaders that were garbage collected.
+             */
+            protected void expungeStaleEntries() {
+                WeakIdentityKey.expungeStaleEntries(referenceQueue, typePools);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.BinaryLocator.WithTypePoolCache{" +
+                        "referenceQueue=" + referenceQueue +
+                        ", typePools=" + typePools +
+                        ", bootstrapTypePool=" + bootstrapTypePool +
+                        '}';
+            }
+
+            /**
+             * The {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator.WithTypePoolCache} in its initialized
+             * form. The type pool of this instance describes the instrumented type from its given binary
+             * representation while any other type is described by the shared type pool. For this purpose, this
+             * instance also serves as the cache provider of this type pool.
+             */
+            protected static class Initialized implements BinaryLocator.Initialized, ClassFileLocator, TypePool.CacheProvider {
+
+                /**
+                 * The binary name of the instrumented type.
+                 */
+                private final String typeName;
+
+                /**
+                 * The binary representation of the instrumented type.
+                 */
+                private final byte[] binaryRepresentation;
+
+                /**
+                 * The shared type pool of the instrumented type's class loader.
+                 */
+                private final TypePool sharedTypePool;
+
+                /**
+                 * The class file locator of the instrumented type's class loader.
+                 */
+                private final ClassFileLocator classFileLocator;
+
+                /**
+                 * Creates a new initialized form of a binary locator with a shared type pool.
+                 *
+                 * @param typeName             The binary name of the type that is being instrumented.
+                 * @param binaryRepresentation The binary representation of the instrumented type.
+                 * @param sharedTypePool       The shared type pool of the instrumented type's class loader.
+                 * @param classFileLocator     The class file locator of the instrumented type's class loader.
+                 */
+                public Initialized(String typeName,
+                                   byte[] binaryRepresentation,
+                                   TypePool sharedTypePool,
+                                   ClassFileLocator classFileLocator) {
+                    this.typeName = typeName;
+                    this.binaryRepresentation = binaryRepresentation;
+                    this.sharedTypePool = sharedTypePool;
+                    this.classFileLocator = classFileLocator;
+                }
+
+                @Override
+                public TypePool getTypePool() {
+                    return new TypePool.Default(this, this);
+                }
+
+                @Override
+                public ClassFileLocator getClassFileLocator() {
+                    return this;
+                }
+
+                @Override
+                public ClassFileLocator.Resolution locate(String typeName) throws IOException {
+                    return this.typeName.equals(typeName)
+                            ? new ClassFileLocator.Resolution.Explicit(binaryRepresentation)
+                            : classFileLocator.locate(typeName);
+                }
+
+                @Override
+                public TypePool.Resolution find(String name) {
+                    return typeName.equals(name)
+                            ? null
+                            : sharedTypePool.describe(name);
+                }
+
+                @Override
+                public TypePool.Resolution register(String name, TypePool.Resolution resolution) {
+                    return resolution;
+                }
+
+                @Override
+                public void clear() {
+                    sharedTypePool.clear();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Initialized that = (Initialized) other;
+                    return Arrays.equals(binaryRepresentation, that.binaryRepresentation)
+                            && classFileLocator.equals(that.classFileLocator)
+                            && typeName.equals(that.typeName)
+                            && sharedTypePool.equals(that.sharedTypePool);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = typeName.hashCode();
+                    result = 31 * result + Arrays.hashCode(binaryRepresentation);
+                    result = 31 * result + classFileLocator.hashCode();
+                    result = 31 * result + sharedTypePool.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.BinaryLocator.WithTypePoolCache.Initialized{" +
+                            "typeName='" + typeName + '\'' +
+                            ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                            ", sharedTypePool=" + sharedTypePool +
+                            ", classFileLocator=" + classFileLocator +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator} in initialized state.
          */
@@ -571,6 +886,15 @@ public interface AgentBuilder {
          */
         void onComplete(String typeName);
 
+        /**
+         * Invoked after a batch of already loaded types was retransformed when an agent is installed.
+         *
+         * @param types     The types of the batch that was retransformed.
+         * @param processed The number of types that were retransformed so far, including this batch.
+         * @param total     The total number of types that are retransformed.
+         */
+        void onRetransformationBatch(List<Class<?>> types, int processed, int total);
+
         /**
          * A no-op implementation of a {@link net.bytebuddy.agent.builder.AgentBuilder.Listener}.
          */
@@ -600,6 +924,11 @@ public interface AgentBuilder {
             public void onComplete(String typeName) {
                 /* do nothing */
             }
+
+            @Override
+            public void onRetransformationBatch(List<Class<?>> types, int processed, int total) {
+                /* do nothing */
+            }
         }
 
         /**
@@ -649,6 +978,13 @@ public interface AgentBuilder {
                 }
             }
 
+            @Override
+            public void onRetransformationBatch(List<Class<?>> types, int processed, int total) {
+                for (Listener listener : this.listener) {
+                    listener.onRetransformationBatch(types, processed, total);
+                }
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -670,92 +1006,353 @@ public interface AgentBuilder {
     }
 
     /**
-     * The default implementation of an {@link net.bytebuddy.agent.builder.AgentBuilder}.
+     * <p>
+     * A cache for the binary representations of types that were transformed by an agent. Any cached type is
+     * identified by its name, the index of the transformation that was applied to it and the binary representation
+     * of the type before it was transformed. Only types that do not require any live
+     * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}s are cached as such initializers cannot be
+     * restored from a cache.
+     * </p>
+     * <p>
+     * <b>Important</b>: A transformation cache cannot determine if the configuration of an agent was altered.
+     * The cache must therefore be discarded or be given a new fingerprint whenever the agent's configuration changes.
+     * When a type is transformed by using a cached binary representation, the
+     * {@link net.bytebuddy.agent.builder.AgentBuilder.Listener} is not notified about a transformation as no
+     * {@link net.bytebuddy.dynamic.DynamicType} is created.
+     * </p>
      */
-    static class Default implements AgentBuilder {
+    static interface TransformationCache {
 
         /**
-         * The string value that is used to indicate that no name prefix for native methods should be used.
-         * This value is not a valid prefix.
-         */
-        protected static final String NO_NATIVE_PREFIX = "";
-        /**
-         * The name of the Byte Buddy agent class.
-         */
-        private static final String BYTE_BUDDY_AGENT_TYPE = "net.bytebuddy.agent.ByteBuddyAgent";
-        /**
-         * The name of the {@code ByteBuddyAgent} class's method for obtaining an instrumentation.
-         */
-        private static final String GET_INSTRUMENTATION_METHOD = "getInstrumentation";
-        /**
-         * Base for access to a reflective member to make the code more readable.
-         */
-        private static final Object STATIC_METHOD = null;
-        /**
-         * The value that is to be returned from a {@link java.lang.instrument.ClassFileTransformer} to indicate
-         * that no class file transformation is to be applied.
+         * Looks up the cached binary representations of a transformed type and its auxiliary types.
+         *
+         * @param typeName             The binary name of the instrumented type.
+         * @param transformation       The index of the applied transformation in the order of their registration.
+         * @param binaryRepresentation The binary representation of the instrumented type before its transformation.
+         * @return A map of the binary names of the transformed type and its auxiliary types to their binary
+         * representations or {@code null} if no such types are cached.
          */
-        private static final byte[] NO_TRANSFORMATION = null;
+        Map<String, byte[]> find(String typeName, int transformation, byte[] binaryRepresentation);
 
         /**
-         * The {@link net.bytebuddy.ByteBuddy} instance to be used.
+         * Registers a transformed type and its auxiliary types with this cache.
+         *
+         * @param typeName             The binary name of the instrumented type.
+         * @param transformation       The index of the applied transformation in the order of their registration.
+         * @param binaryRepresentation The binary representation of the instrumented type before its transformation.
+         * @param dynamicType          The dynamic type that was created for the instrumented type.
          */
-        private final ByteBuddy byteBuddy;
+        void register(String typeName, int transformation, byte[] binaryRepresentation, DynamicType dynamicType);
 
         /**
-         * The binary locator to use.
+         * A transformation cache that does not cache any types.
          */
-        private final BinaryLocator binaryLocator;
+        static enum NoOp implements TransformationCache {
 
-        /**
-         * The listener to notify on transformations.
-         */
-        private final Listener listener;
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
 
-        /**
-         * The native method prefix to use which might also represent
-         * {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX} to indicate that no
-         * prefix should be added but rather a random suffix.
-         */
-        private final String nativeMethodPrefix;
+            @Override
+            public Map<String, byte[]> find(String typeName, int transformation, byte[] binaryRepresentation) {
+                return null;
+            }
 
-        /**
-         * {@code true} if generated types should not create a callback inside their type initializer in order
-         * to call their potential {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}.
-         */
-        private final boolean disableSelfInitialization;
+            @Override
+            public void register(String typeName, int transformation, byte[] binaryRepresentation, DynamicType dynamicType) {
+                /* do nothing */
+            }
+        }
 
         /**
-         * {@code true} if the generated {@link java.lang.instrument.ClassFileTransformer} should also apply for
-         * retransformations..
+         * A transformation cache that stores any transformed type in a file of a given folder. Each file is named
+         * by a digest of the cache's fingerprint, the instrumented type's name, the index of the applied
+         * transformation and the type's original binary representation. A file is first written to a temporary file
+         * which is then renamed such that a partially written file is never read. Any failure of reading or writing a
+         * file is treated as if the file was not cached.
          */
-        private final boolean retransformation;
+        static class ForFolder implements TransformationCache {
 
-        /**
-         * The list of transformation entries that are registered with this agent builder.
-         */
-        private final List<Transformation> entries;
+            /**
+             * The algorithm of the digest that names the files of this cache.
+             */
+            private static final String DIGEST_ALGORITHM = "SHA-1";
 
-        /**
-         * Creates a new default agent builder that uses a default {@link net.bytebuddy.ByteBuddy} instance for
-         * creating classes.
-         */
-        public Default() {
-            this(new ByteBuddy());
-        }
+            /**
+             * The file extension of any cached file.
+             */
+            private static final String FILE_EXTENSION = ".bin";
 
-        /**
-         * Creates a new default agent builder.
-         *
-         * @param byteBuddy The Byte Buddy instance to be used.
-         */
-        public Default(ByteBuddy byteBuddy) {
-            this(nonNull(byteBuddy),
-                    BinaryLocator.Default.INSTANCE,
-                    Listener.NoOp.INSTANCE,
+            /**
+             * The charset that is used for encoding the fingerprint and the type name.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The folder in which cached types are stored.
+             */
+            private final File folder;
+
+            /**
+             * A fingerprint of the agent configuration for which this cache is used.
+             */
+            private final String fingerprint;
+
+            /**
+             * Creates a new transformation cache that stores types in the given folder.
+             *
+             * @param folder      The folder in which cached types are stored.
+             * @param fingerprint A fingerprint of the agent configuration for which this cache is used. This
+             *                    fingerprint must be altered whenever the agent configuration is changed.
+             */
+            public ForFolder(File folder, String fingerprint) {
+                this.folder = folder;
+                this.fingerprint = fingerprint;
+            }
+
+            @Override
+            public Map<String, byte[]> find(String typeName, int transformation, byte[] binaryRepresentation) {
+                File file = fileFor(typeName, transformation, binaryRepresentation);
+                if (!file.isFile()) {
+                    return null;
+                }
+                try {
+                    DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                    try {
+                        int count = inputStream.readInt();
+                        Map<String, byte[]> types = new HashMap<String, byte[]>(count);
+                        for (int index = 0; index < count; index++) {
+                            String name = inputStream.readUTF();
+                            byte[] type = new byte[inputStream.readInt()];
+                            inputStream.readFully(type);
+                            types.put(name, type);
+                        }
+                        return types.containsKey(typeName)
+                                ? types
+                                : null;
+                    } finally {
+                        inputStream.close();
+                    }
+                } catch (IOException ignored) {
+                    return null;
+                }
+            }
+
+            @Override
+            public void register(String typeName, int transformation, byte[] binaryRepresentation, DynamicType dynamicType) {
+                File file = fileFor(typeName, transformation, binaryRepresentation);
+                File temporary = null;
+                try {
+                    temporary = File.createTempFile(file.getName(), null, folder);
+                    Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getRawAuxiliaryTypes();
+                    DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                    try {
+                        outputStream.writeInt(auxiliaryTypes.size() + 1);
+                        write(outputStream, typeName, dynamicType.getBytes());
+                        for (Map.Entry<TypeDescription, byte[]> auxiliaryType : auxiliaryTypes.entrySet()) {
+                            write(outputStream, auxiliaryType.getKey().getName(), auxiliaryType.getValue());
+                        }
+                    } finally {
+                        outputStream.close();
+                    }
+                    if (temporary.renameTo(file)) {
+                        temporary = null;
+                    }
+                } catch (IOException ignored) {
+                    /* do nothing */
+                } finally {
+                    if (temporary != null && !temporary.delete()) {
+                        temporary.deleteOnExit();
+                    }
+                }
+            }
+
+            /**
+             * Writes a single type to a cache file.
+             *
+             * @param outputStream         The output stream to write to.
+             * @param name                 The binary name of the type.
+             * @param binaryRepresentation The binary representation of the type.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void write(DataOutputStream outputStream, String name, byte[] binaryRepresentation) throws IOException {
+                outputStream.writeUTF(name);
+                outputStream.writeInt(binaryRepresentation.length);
+                outputStream.write(binaryRepresentation);
+            }
+
+            /**
+             * Resolves the file that represents a cached type.
+             *
+             * @param typeName             The binary name of the instrumented type.
+             * @param transformation       The index of the applied transformation.
+             * @param binaryRepresentation The binary representation of the instrumented type before its transformation.
+             * @return The file that represents the cached type.
+             */
+            protected File fileFor(String typeName, int transformation, byte[] binaryRepresentation) {
+                try {
+                    MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+                    messageDigest.update(fingerprint.getBytes(CHARSET));
+                    messageDigest.update((byte) 0);
+                    messageDigest.update(typeName.getBytes(CHARSET));
+                    messageDigest.update((byte) 0);
+                    messageDigest.update(ByteBuffer.allocate(4).putInt(transformation).array());
+                    messageDigest.update(binaryRepresentation);
+                    StringBuilder stringBuilder = new StringBuilder();
+                    for (byte value : messageDigest.digest()) {
+                        stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+                    }
+                    return new File(folder, stringBuilder.append(FILE_EXTENSION).toString());
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("Cannot compute a digest for " + typeName, e);
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException("Cannot compute a digest for " + typeName, e);
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ForFolder forFolder = (ForFolder) other;
+                return folder.equals(forFolder.folder) && fingerprint.equals(forFolder.fingerprint);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * folder.hashCode() + fingerprint.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.TransformationCache.ForFolder{" +
+                        "folder=" + folder +
+                        ", fingerprint='" + fingerprint + '\'' +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * The default implementation of an {@link net.bytebuddy.agent.builder.AgentBuilder}.
+     */
+    static class Default implements AgentBuilder {
+
+        /**
+         * The string value that is used to indicate that no name prefix for native methods should be used.
+         * This value is not a valid prefix.
+         */
+        protected static final String NO_NATIVE_PREFIX = "";
+        /**
+         * The batch size that is used to indicate that no already loaded types should be retransformed when
+         * installing an agent. This value is not a valid batch size.
+         */
+        protected static final int NO_LOADED_TYPE_RETRANSFORMATION = 0;
+        /**
+         * The name of the Byte Buddy agent class.
+         */
+        private static final String BYTE_BUDDY_AGENT_TYPE = "net.bytebuddy.agent.ByteBuddyAgent";
+        /**
+         * The name of the {@code ByteBuddyAgent} class's method for obtaining an instrumentation.
+         */
+        private static final String GET_INSTRUMENTATION_METHOD = "getInstrumentation";
+        /**
+         * Base for access to a reflective member to make the code more readable.
+         */
+        private static final Object STATIC_METHOD = null;
+        /**
+         * The value that is to be returned from a {@link java.lang.instrument.ClassFileTransformer} to indicate
+         * that no class file transformation is to be applied.
+         */
+        private static final byte[] NO_TRANSFORMATION = null;
+
+        /**
+         * The {@link net.bytebuddy.ByteBuddy} instance to be used.
+         */
+        private final ByteBuddy byteBuddy;
+
+        /**
+         * The binary locator to use.
+         */
+        private final BinaryLocator binaryLocator;
+
+        /**
+         * The listener to notify on transformations.
+         */
+        private final Listener listener;
+
+        /**
+         * The native method prefix to use which might also represent
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX} to indicate that no
+         * prefix should be added but rather a random suffix.
+         */
+        private final String nativeMethodPrefix;
+
+        /**
+         * {@code true} if generated types should not create a callback inside their type initializer in order
+         * to call their potential {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}.
+         */
+        private final boolean disableSelfInitialization;
+
+        /**
+         * {@code true} if the generated {@link java.lang.instrument.ClassFileTransformer} should also apply for
+         * retransformations..
+         */
+        private final boolean retransformation;
+
+        /**
+         * {@code true} if the generated {@link java.lang.instrument.ClassFileTransformer} should index the
+         * registered transformations.
+         */
+        private final boolean transformationIndex;
+
+        /**
+         * The batch size for retransforming already loaded types when installing an agent which might also represent
+         * {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_LOADED_TYPE_RETRANSFORMATION} to indicate that
+         * no loaded types should be retransformed.
+         */
+        private final int retransformationBatchSize;
+
+        /**
+         * The transformation cache to use.
+         */
+        private final TransformationCache transformationCache;
+
+        /**
+         * The filters for types that are ignored by this agent builder.
+         */
+        private final List<IgnoredTypes> ignoredTypes;
+
+        /**
+         * The list of transformation entries that are registered with this agent builder.
+         */
+        private final List<Transformation> entries;
+
+        /**
+         * Creates a new default agent builder that uses a default {@link net.bytebuddy.ByteBuddy} instance for
+         * creating classes.
+         */
+        public Default() {
+            this(new ByteBuddy());
+        }
+
+        /**
+         * Creates a new default agent builder.
+         *
+         * @param byteBuddy The Byte Buddy instance to be used.
+         */
+        public Default(ByteBuddy byteBuddy) {
+            this(nonNull(byteBuddy),
+                    BinaryLocator.Default.INSTANCE,
+                    Listener.NoOp.INSTANCE,
                     NO_NATIVE_PREFIX,
                     false,
                     false,
+                    false,
+                    NO_LOADED_TYPE_RETRANSFORMATION,
+                    TransformationCache.NoOp.INSTANCE,
+                    Collections.<IgnoredTypes>emptyList(),
                     Collections.<Transformation>emptyList());
         }
 
@@ -774,6 +1371,15 @@ public interface AgentBuilder {
          * @param retransformation          {@code true} if the generated
          *                                  {@link java.lang.instrument.ClassFileTransformer} should also apply
          *                                  for retransformations.
+         * @param transformationIndex       {@code true} if the generated
+         *                                  {@link java.lang.instrument.ClassFileTransformer} should index the
+         *                                  registered transformations.
+         * @param retransformationBatchSize The batch size for retransforming already loaded types when installing
+         *                                  an agent which might also represent
+         *                                  {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_LOADED_TYPE_RETRANSFORMATION}
+         *                                  to indicate that no loaded types should be retransformed.
+         * @param transformationCache       The transformation cache to use.
+         * @param ignoredTypes              The filters for types that are ignored by this agent builder.
          * @param entries                   The list of transformation entries that are registered with this
          *                                  agent builder.
          */
@@ -783,6 +1389,10 @@ public interface AgentBuilder {
                           String nativeMethodPrefix,
                           boolean disableSelfInitialization,
                           boolean retransformation,
+                          boolean transformationIndex,
+                          int retransformationBatchSize,
+                          TransformationCache transformationCache,
+                          List<IgnoredTypes> ignoredTypes,
                           List<Transformation> entries) {
             this.byteBuddy = byteBuddy;
             this.binaryLocator = binaryLocator;
@@ -790,6 +1400,10 @@ public interface AgentBuilder {
             this.nativeMethodPrefix = nativeMethodPrefix;
             this.disableSelfInitialization = disableSelfInitialization;
             this.retransformation = retransformation;
+            this.transformationIndex = transformationIndex;
+            this.retransformationBatchSize = retransformationBatchSize;
+            this.transformationCache = transformationCache;
+            this.ignoredTypes = ignoredTypes;
             this.entries = entries;
         }
 
@@ -809,6 +1423,26 @@ public interface AgentBuilder {
             return rebase(new RawMatcher.ForElementMatcherPair(nonNull(typeMatcher), nonNull(classLoaderMatcher)));
         }
 
+        @Override
+        public AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher) {
+            return ignore(typeNameMatcher, any());
+        }
+
+        @Override
+        public AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher, ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    join(ignoredTypes, new IgnoredTypes(nonNull(typeNameMatcher), nonNull(classLoaderMatcher))),
+                    entries);
+        }
+
         @Override
         public AgentBuilder withByteBuddy(ByteBuddy byteBuddy) {
             return new Default(nonNull(byteBuddy),
@@ -817,6 +1451,10 @@ public interface AgentBuilder {
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
                     entries);
         }
 
@@ -828,6 +1466,10 @@ public interface AgentBuilder {
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
                     entries);
         }
 
@@ -839,6 +1481,10 @@ public interface AgentBuilder {
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
                     entries);
         }
 
@@ -853,6 +1499,10 @@ public interface AgentBuilder {
                     prefix,
                     disableSelfInitialization,
                     retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
                     entries);
         }
 
@@ -864,6 +1514,10 @@ public interface AgentBuilder {
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     true,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
                     entries);
         }
 
@@ -875,6 +1529,58 @@ public interface AgentBuilder {
                     nativeMethodPrefix,
                     true,
                     retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder enableTransformationIndex() {
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    true,
+                    retransformationBatchSize,
+                    transformationCache,
+                    ignoredTypes,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder enableLoadedTypeRetransformation(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+            }
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    true,
+                    transformationIndex,
+                    batchSize,
+                    transformationCache,
+                    ignoredTypes,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder withTransformationCache(TransformationCache transformationCache) {
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    transformationIndex,
+                    retransformationBatchSize,
+                    nonNull(transformationCache),
+                    ignoredTypes,
                     entries);
         }
 
@@ -885,11 +1591,17 @@ public interface AgentBuilder {
 
         @Override
         public ClassFileTransformer installOn(Instrumentation instrumentation) {
-            ClassFileTransformer classFileTransformer = makeRaw();
+            if (retransformationBatchSize != NO_LOADED_TYPE_RETRANSFORMATION && !instrumentation.isRetransformClassesSupported()) {
+                throw new IllegalArgumentException("Cannot retransform loaded types using " + instrumentation);
+            }
+            ExecutingTransformer classFileTransformer = new ExecutingTransformer();
             instrumentation.addTransformer(classFileTransformer, retransformation);
             if (!NO_NATIVE_PREFIX.equals(nonNull(nativeMethodPrefix))) {
                 instrumentation.setNativeMethodPrefix(classFileTransformer, nativeMethodPrefix);
             }
+            if (retransformationBatchSize != NO_LOADED_TYPE_RETRANSFORMATION) {
+                classFileTransformer.retransform(instrumentation);
+            }
             return classFileTransformer;
         }
 
@@ -916,6 +1628,10 @@ public interface AgentBuilder {
                     && nativeMethodPrefix.equals(aDefault.nativeMethodPrefix)
                     && disableSelfInitialization == aDefault.disableSelfInitialization
                     && retransformation == aDefault.retransformation
+                    && transformationIndex == aDefault.transformationIndex
+                    && retransformationBatchSize == aDefault.retransformationBatchSize
+                    && transformationCache.equals(aDefault.transformationCache)
+                    && ignoredTypes.equals(aDefault.ignoredTypes)
                     && entries.equals(aDefault.entries);
 
         }
@@ -928,6 +1644,10 @@ public interface AgentBuilder {
             result = 31 * result + nativeMethodPrefix.hashCode();
             result = 31 * result + (disableSelfInitialization ? 1 : 0);
             result = 31 * result + (retransformation ? 1 : 0);
+            result = 31 * result + (transformationIndex ? 1 : 0);
+            result = 31 * result + retransformationBatchSize;
+            result = 31 * result + transformationCache.hashCode();
+            result = 31 * result + ignoredTypes.hashCode();
             result = 31 * result + entries.hashCode();
             return result;
         }
@@ -941,6 +1661,10 @@ public interface AgentBuilder {
                     ", nativeMethodPrefix=" + nativeMethodPrefix +
                     ", disableSelfInitialization=" + disableSelfInitialization +
                     ", retransformation=" + retransformation +
+                    ", transformationIndex=" + transformationIndex +
+                    ", retransformationBatchSize=" + retransformationBatchSize +
+                    ", transformationCache=" + transformationCache +
+                    ", ignoredTypes=" + ignoredTypes +
                     ", entries=" + entries +
                     '}';
         }
@@ -1085,7 +1809,9 @@ public interface AgentBuilder {
                  * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}s. To do so, this class is to be loaded
                  * by the system class loader in an explicit manner. Any instrumented class is then injected a code
                  * block into its static type initializer that makes a call to this very same nexus which had the
-                 * loaded type initializer registered before hand.
+                 * loaded type initializer registered before hand. The nexus only references class loaders weakly such
+                 * that a registration for a type that is never loaded does not prevent its class loader from being
+                 * garbage collected.
                  * </p>
                  * <p>
                  * <b>Important</b>: The nexus must never be accessed directly but only by its
@@ -1095,42 +1821,80 @@ public interface AgentBuilder {
                  * system class loader in its hierarchy.
                  * </p>
                  */
-                public static class Nexus {
+                public static class Nexus extends WeakReference<ClassLoader> {
+
+                    /**
+                     * A map of keys identifying a loaded type by its name and class loader mapping to themselves
+                     * where any registered key carries its potential
+                     * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}. The class loader of these
+                     * initializers is however irrelevant. Class loaders are only referenced weakly by any key.
+                     */
+                    private static final ConcurrentMap<Nexus, Nexus> TYPE_INITIALIZERS = new ConcurrentHashMap<Nexus, Nexus>();
 
                     /**
-                     * A map of keys identifying a loaded type by its name and class loader mapping their
-                     * potential {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} where the class
-                     * loader of these initializers is however irrelevant.
+                     * The reference queue that is notified about class loaders of registered keys that were garbage
+                     * collected.
                      */
-                    private static final ConcurrentMap<Nexus, Object> TYPE_INITIALIZERS = new ConcurrentHashMap<Nexus, Object>();
+                    private static final ReferenceQueue<ClassLoader> REFERENCE_QUEUE = new ReferenceQueue<ClassLoader>();
+
                     /**
                      * The name of a type for which a loaded type initializer is registered.
                      */
                     private final String name;
+
                     /**
-                     * The class loader for which a loaded type initializer is registered.
+                     * {@code true} if this key represents a type of the bootstrap class loader.
                      */
-                    private final ClassLoader classLoader;
+                    private final boolean bootstrap;
 
                     /**
-                     * Creates a key for identifying a loaded type initializer.
+                     * The hash code of this key which is computed from the type name and the class loader's identity.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * The registered type initializer or {@code null} if this key is only used for a lookup.
+                     */
+                    private final Object typeInitializer;
+
+                    /**
+                     * The {@link net.bytebuddy.instrumentation.LoadedTypeInitializer#onLoad(Class)} method of the
+                     * type initializer's class loader or {@code null} if this key is only used for a lookup.
+                     */
+                    private final Method onLoad;
+
+                    /**
+                     * Creates a key for looking up a loaded type initializer.
                      *
                      * @param type The loaded type for which a key is to be created.
                      */
-                    private Nexus(Class<?> type) {
-                        name = type.getName();
-                        classLoader = type.getClassLoader();
+                    protected Nexus(Class<?> type) {
+                        this(type.getName(), type.getClassLoader(), null, null, null);
                     }
 
                     /**
                      * Creates a key for identifying a loaded type initializer.
                      *
-                     * @param name        The name of a type for which a loaded type initializer is registered.
-                     * @param classLoader The class loader for which a loaded type initializer is registered.
+                     * @param name            The name of a type for which a loaded type initializer is registered.
+                     * @param classLoader     The class loader for which a loaded type initializer is registered.
+                     * @param referenceQueue  The reference queue to notify when the class loader is garbage collected
+                     *                        or {@code null} if no notification is required.
+                     * @param typeInitializer The registered type initializer or {@code null} if this key is only
+                     *                        used for a lookup.
+                     * @param onLoad          The method for applying the type initializer or {@code null} if this key
+                     *                        is only used for a lookup.
                      */
-                    private Nexus(String name, ClassLoader classLoader) {
+                    protected Nexus(String name,
+                                    ClassLoader classLoader,
+                                    ReferenceQueue<? super ClassLoader> referenceQueue,
+                                    Object typeInitializer,
+                                    Method onLoad) {
+                        super(classLoader, classLoader == null ? null : referenceQueue);
                         this.name = name;
-                        this.classLoader = classLoader;
+                        bootstrap = classLoader == null;
+                        hashCode = 31 * name.hashCode() + System.identityHashCode(classLoader);
+                        this.typeInitializer = typeInitializer;
+                        this.onLoad = onLoad;
                     }
 
                     /**
@@ -1141,22 +1905,40 @@ public interface AgentBuilder {
                      */
                     @SuppressWarnings("unused")
                     public static void initialize(Class<?> type) throws Exception {
-                        Object typeInitializer = TYPE_INITIALIZERS.remove(new Nexus(type));
-                        if (typeInitializer != null) {
-                            typeInitializer.getClass().getMethod("onLoad", Class.class).invoke(typeInitializer, type);
+                        expungeStaleEntries();
+                        Nexus nexus = TYPE_INITIALIZERS.remove(new Nexus(type));
+                        if (nexus != null) {
+                            nexus.onLoad.invoke(nexus.typeInitializer, type);
                         }
                     }
 
                     /**
+                     * Registers a type initializer for a type that is not yet loaded.
+                     *
                      * @param name            The name of the type for the loaded type initializer.
                      * @param classLoader     The class loader of the type for the loaded type initializer.
                      * @param typeInitializer The type initializer to register. The initializer must be an instance
                      *                        of {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} where
                      *                        it does however not matter which class loader loaded this latter type.
+                     * @param onLoad          The {@link net.bytebuddy.instrumentation.LoadedTypeInitializer#onLoad(Class)}
+                     *                        method of the type initializer's class loader which is resolved only once
+                     *                        by the registering party.
                      */
                     @SuppressWarnings("unused")
-                    public static void register(String name, ClassLoader classLoader, Object typeInitializer) {
-                        TYPE_INITIALIZERS.put(new Nexus(name, classLoader), typeInitializer);
+                    public static void register(String name, ClassLoader classLoader, Object typeInitializer, Method onLoad) {
+                        expungeStaleEntries();
+                        Nexus nexus = new Nexus(name, classLoader, REFERENCE_QUEUE, typeInitializer, onLoad);
+                        TYPE_INITIALIZERS.put(nexus, nexus);
+                    }
+
+                    /**
+                     * Removes all registrations of class loaders that were garbage collected.
+                     */
+                    protected static void expungeStaleEntries() {
+                        Reference<?> reference;
+                        while ((reference = REFERENCE_QUEUE.poll()) != null) {
+                            TYPE_INITIALIZERS.remove(reference);
+                        }
                     }
 
                     @Override
@@ -1164,22 +1946,26 @@ public interface AgentBuilder {
                         if (this == other) return true;
                         if (other == null || getClass() != other.getClass()) return false;
                         Nexus nexus = (Nexus) other;
-                        return !(classLoader != null ? !classLoader.equals(nexus.classLoader) : nexus.classLoader != null)
+                        ClassLoader classLoader = get();
+                        return bootstrap == nexus.bootstrap
+                                && (bootstrap || classLoader != null && classLoader == nexus.get())
                                 && name.equals(nexus.name);
                     }
 
                     @Override
                     public int hashCode() {
-                        int result = name.hashCode();
-                        result = 31 * result + (classLoader != null ? classLoader.hashCode() : 0);
-                        return result;
+                        return hashCode;
                     }
 
                     @Override
                     public String toString() {
                         return "AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus{" +
                                 "name='" + name + '\'' +
-                                ", classLoader=" + classLoader +
+                                ", classLoader=" + get() +
+                                ", bootstrap=" + bootstrap +
+                                ", hashCode=" + hashCode +
+                                ", typeInitializer=" + typeInitializer +
+                                ", onLoad=" + onLoad +
                                 '}';
                     }
 
@@ -1206,6 +1992,13 @@ public interface AgentBuilder {
                          */
                         private final Method registration;
 
+                        /**
+                         * The {@link net.bytebuddy.instrumentation.LoadedTypeInitializer#onLoad(Class)} method which
+                         * is handed to the nexus on any registration such that it never needs to be looked up by
+                         * the nexus.
+                         */
+                        private final Method onLoad;
+
                         /**
                          * The {@link ClassLoader#getSystemClassLoader()} method.
                          */
@@ -1235,7 +2028,8 @@ public interface AgentBuilder {
                                 ClassLoaderByteArrayInjector injector = new ClassLoaderByteArrayInjector(classLoader);
                                 Class<?> nexus = injector.inject(Nexus.class.getName(), new StreamDrainer().drain(classLoader
                                         .getResourceAsStream(Nexus.class.getName().replace('.', '/') + ".class")));
-                                registration = nexus.getDeclaredMethod("register", String.class, ClassLoader.class, Object.class);
+                                registration = nexus.getDeclaredMethod("register", String.class, ClassLoader.class, Object.class, Method.class);
+                                onLoad = LoadedTypeInitializer.class.getMethod("onLoad", Class.class);
                                 systemClassLoader = new TypeDescription.ForLoadedType(ClassLoader.class).getDeclaredMethods()
                                         .filter(named("getSystemClassLoader")).getOnly();
                                 loadClass = new TypeDescription.ForLoadedType(ClassLoader.class).getDeclaredMethods()
@@ -1258,7 +2052,7 @@ public interface AgentBuilder {
                          */
                         public void register(String name, ClassLoader classLoader, Object typeInitializer) {
                             try {
-                                registration.invoke(STATIC_METHOD, name, classLoader, typeInitializer);
+                                registration.invoke(STATIC_METHOD, name, classLoader, typeInitializer, onLoad);
                             } catch (IllegalAccessException e) {
                                 throw new IllegalStateException("Cannot register type initializer for " + name, e);
                             } catch (InvocationTargetException e) {
@@ -1335,6 +2129,15 @@ public interface AgentBuilder {
                 return transformer.transform(builder);
             }
 
+            /**
+             * Returns the raw matcher that is represented by this transformation.
+             *
+             * @return The raw matcher that is represented by this transformation.
+             */
+            protected RawMatcher getRawMatcher() {
+                return rawMatcher;
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -1359,60 +2162,592 @@ public interface AgentBuilder {
         }
 
         /**
-         * A {@link java.lang.instrument.ClassFileTransformer} that implements the enclosing agent builder's
-         * configuration.
+         * A filter for types that are ignored by an agent builder before they are parsed.
          */
-        protected class ExecutingTransformer implements ClassFileTransformer {
+        protected static class IgnoredTypes {
 
             /**
-             * The method name transformer to be used for rebasing methods.
+             * The matcher that is applied to the binary name of a type being loaded.
              */
-            private final MethodRebaseResolver.MethodNameTransformer methodNameTransformer;
+            private final ElementMatcher<? super String> typeNameMatcher;
 
             /**
-             * The initialization strategy to use.
+             * The matcher that is applied to the class loader of a type being loaded.
              */
-            private final InitializationStrategy initializationStrategy;
+            private final ElementMatcher<? super ClassLoader> classLoaderMatcher;
 
             /**
-             * Creates a new executing transformer that reflects the enclosing agent builder's configuration.
+             * Creates a new filter for ignored types.
+             *
+             * @param typeNameMatcher    The matcher that is applied to the binary name of a type being loaded.
+             * @param classLoaderMatcher The matcher that is applied to the class loader of a type being loaded.
              */
-            public ExecutingTransformer() {
-                methodNameTransformer = NO_NATIVE_PREFIX.equals(nativeMethodPrefix)
-                        ? new MethodRebaseResolver.MethodNameTransformer.Suffixing()
-                        : new MethodRebaseResolver.MethodNameTransformer.Prefixing(nativeMethodPrefix);
-                initializationStrategy = disableSelfInitialization
-                        ? InitializationStrategy.NoOp.INSTANCE
-                        : new InitializationStrategy.SelfInjection();
+            protected IgnoredTypes(ElementMatcher<? super String> typeNameMatcher,
+                                   ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+                this.typeNameMatcher = typeNameMatcher;
+                this.classLoaderMatcher = classLoaderMatcher;
             }
 
-            @Override
-            public byte[] transform(ClassLoader classLoader,
+            /**
+             * Checks if a type is ignored.
+             *
+             * @param typeName    The binary name of the type being loaded.
+             * @param classLoader The class loader of the type being loaded. Might be {@code null} if this class
+             *                    loader represents the bootstrap class loader.
+             * @return {@code true} if the type is ignored.
+             */
+            protected boolean matches(String typeName, ClassLoader classLoader) {
+                return typeNameMatcher.matches(typeName) && classLoaderMatcher.matches(classLoader);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && typeNameMatcher.equals(((IgnoredTypes) other).typeNameMatcher)
+                        && classLoaderMatcher.equals(((IgnoredTypes) other).classLoaderMatcher);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * typeNameMatcher.hashCode() + classLoaderMatcher.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Default.IgnoredTypes{" +
+                        "typeNameMatcher=" + typeNameMatcher +
+                        ", classLoaderMatcher=" + classLoaderMatcher +
+                        '}';
+            }
+        }
+
+        /**
+         * An index of registered transformations that preselects the candidate transformations of a type being
+         * loaded. Transformations are identified by their ordinal which reflects their application order. Any
+         * transformation that cannot be indexed is a candidate for any type.
+         */
+        protected static class TransformationIndex {
+
+            /**
+             * The indexed transformations in their application order.
+             */
+            private final Transformation[] transformations;
+
+            /**
+             * The ordinals of all transformations that cannot be indexed.
+             */
+            private final BitSet unindexed;
+
+            /**
+             * The root node of a prefix tree of the type names that are matched by indexed transformations.
+             */
+            private final Node names;
+
+            /**
+             * A mapping of annotation type names to the ordinals of the transformations that require such an annotation.
+             */
+            private final Map<String, BitSet> annotations;
+
+            /**
+             * Creates a new transformation index.
+             *
+             * @param transformations The indexed transformations in their application order.
+             * @param unindexed       The ordinals of all transformations that cannot be indexed.
+             * @param names           The root node of a prefix tree of the type names that are matched by indexed
+             *                        transformations.
+             * @param annotations     A mapping of annotation type names to the ordinals of the transformations that
+             *                        require such an annotation.
+             */
+            protected TransformationIndex(Transformation[] transformations,
+                                          BitSet unindexed,
+                                          Node names,
+                                          Map<String, BitSet> annotations) {
+                this.transformations = transformations;
+                this.unindexed = unindexed;
+                this.names = names;
+                this.annotations = annotations;
+            }
+
+            /**
+             * Creates an index of the given transformations.
+             *
+             * @param transformations The transformations to index in their application order.
+             * @param indexed         {@code true} if the transformations should be indexed. Otherwise, every
+             *                        transformation is a candidate for any type.
+             * @return An index of the given transformations.
+             */
+            protected static TransformationIndex of(List<Transformation> transformations, boolean indexed) {
+                BitSet unindexed = new BitSet();
+                Node names = new Node();
+                Map<String, BitSet> annotations = new HashMap<String, BitSet>();
+                int ordinal = 0;
+                for (Transformation transformation : transformations) {
+                    List<Key> keys = indexed && transformation.getRawMatcher() instanceof RawMatcher.ForElementMatcherPair
+                            ? extract(((RawMatcher.ForElementMatcherPair) transformation.getRawMatcher()).getTypeMatcher())
+                            : null;
+                    if (keys == null) {
+                        unindexed.set(ordinal);
+                    } else {
+                        for (Key key : keys) {
+                            key.register(names, annotations, ordinal);
+                        }
+                    }
+                    ordinal++;
+                }
+                return new TransformationIndex(transformations.toArray(new Transformation[transformations.size()]),
+                        unindexed,
+                        names,
+                        annotations);
+            }
+
+            /**
+             * Extracts the keys of a type matcher. A type can only be matched by the given matcher if the type
+             * is matched by any of the extracted keys.
+             *
+             * @param matcher The type matcher to analyze.
+             * @return The keys of the given matcher or {@code null} if the matcher cannot be indexed.
+             */
+            protected static List<Key> extract(ElementMatcher<?> matcher) {
+                if (matcher instanceof NameMatcher && ((NameMatcher<?>) matcher).getNameMatcher() instanceof StringMatcher) {
+                    StringMatcher stringMatcher = (StringMatcher) ((NameMatcher<?>) matcher).getNameMatcher();
+                    switch (stringMatcher.getMode()) {
+                        case EQUALS_FULLY:
+                            return Collections.<Key>singletonList(new Key.ForName(stringMatcher.getValue(), false));
+                        case STARTS_WITH:
+                            return Collections.<Key>singletonList(new Key.ForName(stringMatcher.getValue(), true));
+                        default:
+                            return null;
+                    }
+                } else if (matcher instanceof DeclaringAnnotationMatcher) {
+                    ElementMatcher<?> annotationMatcher = ((DeclaringAnnotationMatcher<?>) matcher).getAnnotationMatcher();
+                    if (!(annotationMatcher instanceof CollectionItemMatcher)) {
+                        return null;
+                    }
+                    ElementMatcher<?> elementMatcher = ((CollectionItemMatcher<?>) annotationMatcher).getElementMatcher();
+                    if (!(elementMatcher instanceof AnnotationTypeMatcher)) {
+                        return null;
+                    }
+                    ElementMatcher<?> typeMatcher = ((AnnotationTypeMatcher<?>) elementMatcher).getTypeMatcher();
+                    return typeMatcher instanceof EqualityMatcher && ((EqualityMatcher<?>) typeMatcher).getValue() instanceof TypeDescription
+                            ? Collections.<Key>singletonList(new Key.ForAnnotation(((TypeDescription) ((EqualityMatcher<?>) typeMatcher).getValue()).getName()))
+                            : null;
+                } else if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+                    List<Key> left = extract(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft());
+                    List<Key> right = extract(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight());
+                    if (left == null) {
+                        return right;
+                    } else if (right == null) {
+                        return left;
+                    } else {
+                        return isDescriptionRequired(left) && !isDescriptionRequired(right)
+                                ? right
+                                : left;
+                    }
+                } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+                    List<Key> left = extract(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft());
+                    List<Key> right = extract(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight());
+                    return left == null || right == null
+                            ? null
+                            : join(left, right);
+                } else {
+                    return null;
+                }
+            }
+
+            /**
+             * Checks if any of the given keys can only be matched against a described type.
+             *
+             * @param keys The keys to check.
+             * @return {@code true} if any of the given keys can only be matched against a described type.
+             */
+            private static boolean isDescriptionRequired(List<Key> keys) {
+                for (Key key : keys) {
+                    if (key.isDescriptionRequired()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Selects all transformations that might apply to a type of the given name.
+             *
+             * @param typeName The binary name of the type being loaded.
+             * @return A new bit set containing the ordinals of all candidate transformations.
+             */
+            protected BitSet select(String typeName) {
+                BitSet candidates = (BitSet) unindexed.clone();
+                Node node = names;
+                candidates.or(node.getPrefixed());
+                for (int index = 0; index < typeName.length() && node != null; index++) {
+                    node = node.getChild(typeName.charAt(index));
+                    if (node != null) {
+                        candidates.or(node.getPrefixed());
+                    }
+                }
+                if (node != null) {
+                    candidates.or(node.getExact());
+                }
+                return candidates;
+            }
+
+            /**
+             * Adds all transformations that require an annotation that is declared by the given type to the given
+             * candidates.
+             *
+             * @param typeDescription A description of the type being loaded.
+             * @param candidates      The ordinals of all candidate transformations to which any further candidates
+             *                        are added.
+             */
+            protected void select(TypeDescription typeDescription, BitSet candidates) {
+                if (annotations.isEmpty()) {
+                    return;
+                }
+                for (AnnotationDescription annotationDescription : typeDescription.getDeclaredAnnotations()) {
+                    BitSet annotated = annotations.get(annotationDescription.getAnnotationType().getName());
+                    if (annotated != null) {
+                        candidates.or(annotated);
+                    }
+                }
+            }
+
+            /**
+             * Checks if any transformation can only be selected after a type is described.
+             *
+             * @return {@code true} if any transformation can only be selected after a type is described.
+             */
+            protected boolean isAnnotationSensitive() {
+                return !annotations.isEmpty();
+            }
+
+            /**
+             * Returns the transformation of the given ordinal.
+             *
+             * @param ordinal The ordinal of the transformation.
+             * @return The transformation of the given ordinal.
+             */
+            protected Transformation get(int ordinal) {
+                return transformations[ordinal];
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Default.TransformationIndex{" +
+                        "transformations=" + Arrays.toString(transformations) +
+                        ", unindexed=" + unindexed +
+                        ", names=" + names +
+                        ", annotations=" + annotations +
+                        '}';
+            }
+
+            /**
+             * A node of a prefix tree of type names.
+             */
+            protected static class Node {
+
+                /**
+                 * The child nodes of this node by their character.
+                 */
+                private final Map<Character, Node> children;
+
+                /**
+                 * The ordinals of all transformations that match any type name that starts with this node's prefix.
+                 */
+                private final BitSet prefixed;
+
+                /**
+                 * The ordinals of all transformations that match the type name that is equal to this node's prefix.
+                 */
+                private final BitSet exact;
+
+                /**
+                 * Creates a new node without children.
+                 */
+                protected Node() {
+                    children = new HashMap<Character, Node>();
+                    prefixed = new BitSet();
+                    exact = new BitSet();
+                }
+
+                /**
+                 * Returns the node that represents the given name relative to this node and creates any missing node.
+                 *
+                 * @param name The name to represent relative to this node.
+                 * @return The node representing the given name.
+                 */
+                protected Node locate(String name) {
+                    Node node = this;
+                    for (int index = 0; index < name.length(); index++) {
+                        Node child = node.children.get(name.charAt(index));
+                        if (child == null) {
+                            child = new Node();
+                            node.children.put(name.charAt(index), child);
+                        }
+                        node = child;
+                    }
+                    return node;
+                }
+
+                /**
+                 * Returns the child node for the given character.
+                 *
+                 * @param character The character of the child node.
+                 * @return The child node or {@code null} if no such node exists.
+                 */
+                protected Node getChild(char character) {
+                    return children.get(character);
+                }
+
+                /**
+                 * Returns the ordinals of all transformations that match any type name that starts with this
+                 * node's prefix.
+                 *
+                 * @return The ordinals of all transformations that match this node's prefix.
+                 */
+                protected BitSet getPrefixed() {
+                    return prefixed;
+                }
+
+                /**
+                 * Returns the ordinals of all transformations that match the type name that is equal to this
+                 * node's prefix.
+                 *
+                 * @return The ordinals of all transformations that match this node's prefix exactly.
+                 */
+                protected BitSet getExact() {
+                    return exact;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Default.TransformationIndex.Node{" +
+                            "children=" + children +
+                            ", prefixed=" + prefixed +
+                            ", exact=" + exact +
+                            '}';
+                }
+            }
+
+            /**
+             * A key by which a transformation is indexed.
+             */
+            protected static interface Key {
+
+                /**
+                 * Registers a transformation by this key.
+                 *
+                 * @param names       The root node of the prefix tree of type names.
+                 * @param annotations A mapping of annotation type names to the ordinals of transformations.
+                 * @param ordinal     The ordinal of the transformation to register.
+                 */
+                void register(Node names, Map<String, BitSet> annotations, int ordinal);
+
+                /**
+                 * Checks if this key can only be matched against a described type.
+                 *
+                 * @return {@code true} if this key can only be matched against a described type.
+                 */
+                boolean isDescriptionRequired();
+
+                /**
+                 * A key that indexes a transformation by a type name or by a type name's prefix.
+                 */
+                static class ForName implements Key {
+
+                    /**
+                     * The indexed name or prefix.
+                     */
+                    private final String name;
+
+                    /**
+                     * {@code true} if the name represents a prefix.
+                     */
+                    private final boolean prefix;
+
+                    /**
+                     * Creates a new key for a type name.
+                     *
+                     * @param name   The indexed name or prefix.
+                     * @param prefix {@code true} if the name represents a prefix.
+                     */
+                    protected ForName(String name, boolean prefix) {
+                        this.name = name;
+                        this.prefix = prefix;
+                    }
+
+                    @Override
+                    public void register(Node names, Map<String, BitSet> annotations, int ordinal) {
+                        Node node = names.locate(name);
+                        (prefix ? node.getPrefixed() : node.getExact()).set(ordinal);
+                    }
+
+                    @Override
+                    public boolean isDescriptionRequired() {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        return this == other || !(other == null || getClass() != other.getClass())
+                                && prefix == ((ForName) other).prefix
+                                && name.equals(((ForName) other).name);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return 31 * name.hashCode() + (prefix ? 1 : 0);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "AgentBuilder.Default.TransformationIndex.Key.ForName{" +
+                                "name='" + name + '\'' +
+                                ", prefix=" + prefix +
+                                '}';
+                    }
+                }
+
+                /**
+                 * A key that indexes a transformation by an annotation that must be declared by a type.
+                 */
+                static class ForAnnotation implements Key {
+
+                    /**
+                     * The name of the annotation type.
+                     */
+                    private final String annotationTypeName;
+
+                    /**
+                     * Creates a new key for an annotation type.
+                     *
+                     * @param annotationTypeName The name of the annotation type.
+                     */
+                    protected ForAnnotation(String annotationTypeName) {
+                        this.annotationTypeName = annotationTypeName;
+                    }
+
+                    @Override
+                    public void register(Node names, Map<String, BitSet> annotations, int ordinal) {
+                        BitSet annotated = annotations.get(annotationTypeName);
+                        if (annotated == null) {
+                            annotated = new BitSet();
+                            annotations.put(annotationTypeName, annotated);
+                        }
+                        annotated.set(ordinal);
+                    }
+
+                    @Override
+                    public boolean isDescriptionRequired() {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        return this == other || !(other == null || getClass() != other.getClass())
+                                && annotationTypeName.equals(((ForAnnotation) other).annotationTypeName);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return annotationTypeName.hashCode();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "AgentBuilder.Default.TransformationIndex.Key.ForAnnotation{" +
+                                "annotationTypeName='" + annotationTypeName + '\'' +
+                                '}';
+                    }
+                }
+            }
+        }
+
+        /**
+         * A {@link java.lang.instrument.ClassFileTransformer} that implements the enclosing agent builder's
+         * configuration.
+         */
+        protected class ExecutingTransformer implements ClassFileTransformer {
+
+            /**
+             * The method name transformer to be used for rebasing methods.
+             */
+            private final MethodRebaseResolver.MethodNameTransformer methodNameTransformer;
+
+            /**
+             * The initialization strategy to use.
+             */
+            private final InitializationStrategy initializationStrategy;
+
+            /**
+             * The index of the registered transformations.
+             */
+            private final TransformationIndex index;
+
+            /**
+             * Creates a new executing transformer that reflects the enclosing agent builder's configuration.
+             */
+            public ExecutingTransformer() {
+                methodNameTransformer = NO_NATIVE_PREFIX.equals(nativeMethodPrefix)
+                        ? new MethodRebaseResolver.MethodNameTransformer.Suffixing()
+                        : new MethodRebaseResolver.MethodNameTransformer.Prefixing(nativeMethodPrefix);
+                initializationStrategy = disableSelfInitialization
+                        ? InitializationStrategy.NoOp.INSTANCE
+                        : new InitializationStrategy.SelfInjection();
+                index = TransformationIndex.of(entries, transformationIndex);
+            }
+
+            @Override
+            public byte[] transform(ClassLoader classLoader,
                                     String internalTypeName,
                                     Class<?> classBeingRedefined,
                                     ProtectionDomain protectionDomain,
                                     byte[] binaryRepresentation) {
                 String binaryTypeName = internalTypeName.replace('/', '.');
                 try {
+                    for (IgnoredTypes ignoredTypes : Default.this.ignoredTypes) {
+                        if (ignoredTypes.matches(binaryTypeName, classLoader)) {
+                            listener.onIgnored(binaryTypeName);
+                            return NO_TRANSFORMATION;
+                        }
+                    }
+                    BitSet candidates = index.select(binaryTypeName);
+                    if (candidates.isEmpty() && !index.isAnnotationSensitive()) {
+                        listener.onIgnored(binaryTypeName);
+                        return NO_TRANSFORMATION;
+                    }
                     BinaryLocator.Initialized initialized = binaryLocator.initialize(binaryTypeName, binaryRepresentation, classLoader);
                     TypeDescription typeDescription = initialized.getTypePool().describe(binaryTypeName).resolve();
-                    for (Transformation transformation : entries) {
+                    index.select(typeDescription, candidates);
+                    for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                        Transformation transformation = index.get(ordinal);
                         if (transformation.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain)) {
+                            Map<String, byte[]> cachedTypes = transformationCache.find(binaryTypeName, ordinal, binaryRepresentation);
+                            if (cachedTypes != null) {
+                                if (cachedTypes.size() > 1) {
+                                    Map<String, byte[]> auxiliaryTypes = new LinkedHashMap<String, byte[]>(cachedTypes);
+                                    auxiliaryTypes.remove(binaryTypeName);
+                                    new ClassLoaderByteArrayInjector(classLoader, protectionDomain).inject(auxiliaryTypes);
+                                }
+                                return cachedTypes.get(binaryTypeName);
+                            }
                             DynamicType.Unloaded<?> dynamicType = initializationStrategy.apply(
                                     transformation.transform(byteBuddy.rebase(typeDescription,
                                             initialized.getClassFileLocator(),
                                             methodNameTransformer))).make();
                             Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
                             if (loadedTypeInitializers.size() > 1) {
-                                ClassLoaderByteArrayInjector injector = new ClassLoaderByteArrayInjector(classLoader, protectionDomain);
-                                for (Map.Entry<TypeDescription, byte[]> auxiliary : dynamicType.getRawAuxiliaryTypes().entrySet()) {
-                                    Class<?> type = injector.inject(auxiliary.getKey().getName(), auxiliary.getValue());
-                                    initializationStrategy.initialize(type, loadedTypeInitializers.get(auxiliary.getKey()));
+                                for (Map.Entry<TypeDescription, Class<?>> auxiliary : ClassLoaderByteArrayInjector.inject(
+                                        new ClassLoaderByteArrayInjector(classLoader, protectionDomain),
+                                        dynamicType.getRawAuxiliaryTypes()).entrySet()) {
+                                    initializationStrategy.initialize(auxiliary.getValue(), loadedTypeInitializers.get(auxiliary.getKey()));
                                 }
                             }
                             initializationStrategy.register(binaryTypeName,
                                     classLoader,
                                     loadedTypeInitializers.get(dynamicType.getTypeDescription()));
+                            if (!dynamicType.hasAliveLoadedTypeInitializers()) {
+                                transformationCache.register(binaryTypeName, ordinal, binaryRepresentation, dynamicType);
+                            }
                             listener.onTransformation(dynamicType);
                             return dynamicType.getBytes();
                         }
@@ -1427,12 +2762,76 @@ public interface AgentBuilder {
                 }
             }
 
+            /**
+             * Retransforms all types that are already loaded and that are matched by any registered transformation
+             * in batches of the enclosing agent builder's batch size.
+             *
+             * @param instrumentation The instrumentation to use for retransforming the loaded types.
+             */
+            protected void retransform(Instrumentation instrumentation) {
+                List<Class<?>> types = new ArrayList<Class<?>>();
+                for (Class<?> type : instrumentation.getAllLoadedClasses()) {
+                    if (instrumentation.isModifiableClass(type) && isRetransformed(type)) {
+                        types.add(type);
+                    }
+                }
+                for (int offset = 0; offset < types.size(); offset += retransformationBatchSize) {
+                    List<Class<?>> batch = types.subList(offset, Math.min(types.size(), offset + retransformationBatchSize));
+                    try {
+                        instrumentation.retransformClasses(batch.toArray(new Class<?>[batch.size()]));
+                    } catch (Throwable ignored) {
+                        for (Class<?> type : batch) {
+                            try {
+                                instrumentation.retransformClasses(type);
+                            } catch (Throwable throwable) {
+                                listener.onError(type.getName(), throwable);
+                            }
+                        }
+                    }
+                    listener.onRetransformationBatch(batch, offset + batch.size(), types.size());
+                }
+            }
+
+            /**
+             * Checks if a loaded type is matched by any registered transformation without parsing its class file.
+             *
+             * @param type The loaded type to check.
+             * @return {@code true} if the given type should be retransformed.
+             */
+            private boolean isRetransformed(Class<?> type) {
+                String typeName = type.getName();
+                ClassLoader classLoader = type.getClassLoader();
+                try {
+                    for (IgnoredTypes ignoredTypes : Default.this.ignoredTypes) {
+                        if (ignoredTypes.matches(typeName, classLoader)) {
+                            return false;
+                        }
+                    }
+                    BitSet candidates = index.select(typeName);
+                    if (candidates.isEmpty() && !index.isAnnotationSensitive()) {
+                        return false;
+                    }
+                    TypeDescription typeDescription = new TypeDescription.ForLoadedType(type);
+                    index.select(typeDescription, candidates);
+                    for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                        if (index.get(ordinal).matches(typeDescription, classLoader, type, type.getProtectionDomain())) {
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (Throwable throwable) {
+                    listener.onError(typeName, throwable);
+                    return false;
+                }
+            }
+
             @Override
             public String toString() {
                 return "AgentBuilder.Default.ExecutingTransformer{" +
                         "agentBuilder=" + Default.this +
                         ", methodNameTransformer=" + methodNameTransformer +
                         ", initializationStrategy=" + initializationStrategy +
+                        ", index=" + index +
                         '}';
             }
         }
@@ -1487,6 +2886,17 @@ public interface AgentBuilder {
                 return materialize().rebase(typeMatcher, classLoaderMatcher);
             }
 
+            @Override
+            public AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher) {
+                return materialize().ignore(typeNameMatcher);
+            }
+
+            @Override
+            public AgentBuilder ignore(ElementMatcher<? super String> typeNameMatcher,
+                                       ElementMatcher<? super ClassLoader> classLoaderMatcher) {
+                return materialize().ignore(typeNameMatcher, classLoaderMatcher);
+            }
+
             @Override
             public AgentBuilder withByteBuddy(ByteBuddy byteBuddy) {
                 return materialize().withByteBuddy(byteBuddy);
@@ -1517,6 +2927,21 @@ public interface AgentBuilder {
                 return materialize().allowRetransformation();
             }
 
+            @Override
+            public AgentBuilder enableLoadedTypeRetransformation(int batchSize) {
+                return materialize().enableLoadedTypeRetransformation(batchSize);
+            }
+
+            @Override
+            public AgentBuilder withTransformationCache(TransformationCache transformationCache) {
+                return materialize().withTransformationCache(transformationCache);
+            }
+
+            @Override
+            public AgentBuilder enableTransformationIndex() {
+                return materialize().enableTransformationIndex();
+            }
+
             @Override
             public ClassFileTransformer makeRaw() {
                 return materialize().makeRaw();
@@ -1544,6 +2969,10 @@ public interface AgentBuilder {
                         nativeMethodPrefix,
                         disableSelfInitialization,
                         retransformation,
+                        transformationIndex,
+                        retransformationBatchSize,
+                        transformationCache,
+                        ignoredTypes,
                         join(new Transformation(rawMatcher, transformer), entries));
             }
 
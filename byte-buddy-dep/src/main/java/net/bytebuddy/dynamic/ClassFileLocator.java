@@ -2,13 +2,24 @@ package net.bytebuddy.dynamic;
 
 import net.bytebuddy.utility.StreamDrainer;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.security.ProtectionDomain;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
 
@@ -185,8 +196,16 @@ public interface ClassFileLocator {
                     : classLoader);
         }
 
-        @Override
-        public Resolution locate(String typeName) throws IOException {
+        /**
+         * Locates the class file for a given type by querying the given class loader for a resource of the
+         * class file's name.
+         *
+         * @param classLoader The class loader to query.
+         * @param typeName    The name of the type to locate a class file representation for.
+         * @return Any binary representation of the type which might be illegal.
+         * @throws java.io.IOException If reading a class file causes an error.
+         */
+        protected static Resolution locate(ClassLoader classLoader, String typeName) throws IOException {
             InputStream inputStream = classLoader.getResourceAsStream(typeName.replace('.', '/') + CLASS_FILE_EXTENSION);
             if (inputStream != null) {
                 try {
@@ -199,6 +218,11 @@ public interface ClassFileLocator {
             }
         }
 
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            return locate(classLoader, typeName);
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -216,6 +240,78 @@ public interface ClassFileLocator {
                     "classLoader=" + classLoader +
                     '}';
         }
+
+        /**
+         * <p>
+         * A class file locator that queries a class loader for binary representations of class files while only
+         * referencing this class loader weakly. Once the class loader is garbage collected, no further class files
+         * are located by this locator.
+         * </p>
+         * <p>
+         * This locator is meant for being referenced by long-living caches such that these caches do not prevent
+         * the garbage collection of a class loader.
+         * </p>
+         */
+        public static class WeaklyReferenced extends WeakReference<ClassLoader> implements ClassFileLocator {
+
+            /**
+             * The represented class loader's identity hash code.
+             */
+            private final int hashCode;
+
+            /**
+             * Creates a class file locator for a class loader that is weakly referenced.
+             *
+             * @param classLoader The class loader to query which must not be the bootstrap class loader, i.e. {@code null}.
+             */
+            protected WeaklyReferenced(ClassLoader classLoader) {
+                super(classLoader);
+                hashCode = System.identityHashCode(classLoader);
+            }
+
+            /**
+             * Creates a class file locator for a given class loader that is only referenced weakly.
+             *
+             * @param classLoader The class loader to be used. If this class loader represents the bootstrap class
+             *                    loader which is represented by the {@code null} value, this system class loader
+             *                    is used instead.
+             * @return A corresponding source locator.
+             */
+            public static ClassFileLocator of(ClassLoader classLoader) {
+                return new WeaklyReferenced(classLoader == null
+                        ? ClassLoader.getSystemClassLoader()
+                        : classLoader);
+            }
+
+            @Override
+            public Resolution locate(String typeName) throws IOException {
+                ClassLoader classLoader = get();
+                return classLoader == null
+                        ? Resolution.Illegal.INSTANCE
+                        : ForClassLoader.locate(classLoader, typeName);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ClassLoader classLoader = get();
+                return classLoader != null && classLoader == ((WeaklyReferenced) other).get();
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassFileLocator.ForClassLoader.WeaklyReferenced{" +
+                        "classLoader=" + get() +
+                        ", hashCode=" + hashCode +
+                        '}';
+            }
+        }
     }
 
     /**
@@ -408,6 +504,418 @@ public interface ClassFileLocator {
         }
     }
 
+    /**
+     * <p>
+     * A class file locator that reads class files from a JAR file or any other ZIP archive. When it is created, this
+     * locator maps the archive into memory and indexes all contained class files by reading the archive's central
+     * directory once. Stored class files are then copied directly from the mapped region while compressed class files
+     * are inflated into an array that is sized exactly by the uncompressed size that is recorded in the central
+     * directory.
+     * </p>
+     * <p>
+     * <b>Note</b>: This class file locator does not support ZIP64 archives or archives that exceed a size of
+     * {@link java.lang.Integer#MAX_VALUE} bytes. Any change of the archive after this locator was created is not
+     * reflected by this locator.
+     * </p>
+     */
+    static class ForJarFile implements ClassFileLocator {
+
+        /**
+         * The signature of a ZIP archive's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+        /**
+         * The signature of a ZIP archive's central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY_FILE_HEADER = 0x02014b50;
+
+        /**
+         * The signature of a ZIP archive's local file header.
+         */
+        private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+        /**
+         * The minimal length of a ZIP archive's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+        /**
+         * The minimal length of a ZIP archive's central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY_FILE_HEADER_LENGTH = 46;
+
+        /**
+         * The minimal length of a ZIP archive's local file header.
+         */
+        private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+
+        /**
+         * The maximum length of a ZIP archive's comment.
+         */
+        private static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+        /**
+         * A mask for reading an unsigned short value.
+         */
+        private static final int UNSIGNED_SHORT = 0xFFFF;
+
+        /**
+         * A marker value that indicates that a value of a central directory record is stored in a ZIP64 record.
+         */
+        private static final int ZIP64_MARKER = 0xFFFFFFFF;
+
+        /**
+         * The character set of the names of an archive's entries.
+         */
+        private static final String NAME_CHARSET = "UTF-8";
+
+        /**
+         * The mode for opening a file only for reading.
+         */
+        private static final String READ_ONLY = "r";
+
+        /**
+         * The archive that is represented by this class file locator.
+         */
+        private final File file;
+
+        /**
+         * A read-only buffer in little-endian order that represents the content of the archive.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * An index of all class files of the archive by their entry names.
+         */
+        private final Map<String, Entry> index;
+
+        /**
+         * Creates a new class file locator for a JAR file.
+         *
+         * @param file   The archive that is represented by this class file locator.
+         * @param buffer A read-only buffer in little-endian order that represents the content of the archive.
+         * @param index  An index of all class files of the archive by their entry names.
+         */
+        protected ForJarFile(File file, ByteBuffer buffer, Map<String, Entry> index) {
+            this.file = file;
+            this.buffer = buffer;
+            this.index = index;
+        }
+
+        /**
+         * Creates a class file locator for a JAR file by mapping the file into memory and by indexing its class files.
+         *
+         * @param file The JAR file to represent.
+         * @return A class file locator for the given JAR file.
+         * @throws java.io.IOException If the file cannot be read or if it does not represent a supported archive.
+         */
+        public static ClassFileLocator of(File file) throws IOException {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, READ_ONLY);
+            try {
+                FileChannel fileChannel = randomAccessFile.getChannel();
+                if (fileChannel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Cannot map an archive that exceeds " + Integer.MAX_VALUE + " bytes: " + file);
+                }
+                ByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()).order(ByteOrder.LITTLE_ENDIAN);
+                return new ForJarFile(file, buffer, index(file, buffer));
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+
+        /**
+         * Reads the central directory of an archive and indexes all class files that it contains.
+         *
+         * @param file   The archive that is indexed.
+         * @param buffer A buffer in little-endian order that represents the content of the archive.
+         * @return An index of all class files of the archive by their entry names.
+         * @throws java.io.IOException If the archive's central directory cannot be read.
+         */
+        private static Map<String, Entry> index(File file, ByteBuffer buffer) throws IOException {
+            int endOfCentralDirectory = buffer.limit() - END_OF_CENTRAL_DIRECTORY_LENGTH;
+            int minimum = Math.max(0, endOfCentralDirectory - MAXIMUM_COMMENT_LENGTH);
+            while (endOfCentralDirectory >= minimum && buffer.getInt(endOfCentralDirectory) != END_OF_CENTRAL_DIRECTORY) {
+                endOfCentralDirectory--;
+            }
+            if (endOfCentralDirectory < minimum) {
+                throw new IOException("Cannot locate the central directory of " + file);
+            }
+            int entries = buffer.getShort(endOfCentralDirectory + 10) & UNSIGNED_SHORT;
+            int offset = buffer.getInt(endOfCentralDirectory + 16);
+            if (entries == UNSIGNED_SHORT || offset == ZIP64_MARKER) {
+                throw new IOException("ZIP64 archives are not supported: " + file);
+            }
+            Map<String, Entry> index = new HashMap<String, Entry>();
+            for (int entry = 0; entry < entries; entry++) {
+                if (buffer.getInt(offset) != CENTRAL_DIRECTORY_FILE_HEADER) {
+                    throw new IOException("Illegal central directory file header in " + file + " at " + offset);
+                }
+                int nameLength = buffer.getShort(offset + 28) & UNSIGNED_SHORT;
+                byte[] name = new byte[nameLength];
+                ByteBuffer nameBuffer = buffer.duplicate();
+                nameBuffer.position(offset + CENTRAL_DIRECTORY_FILE_HEADER_LENGTH);
+                nameBuffer.get(name);
+                String entryName = new String(name, NAME_CHARSET);
+                if (entryName.endsWith(CLASS_FILE_EXTENSION)) {
+                    int compressedSize = buffer.getInt(offset + 20), size = buffer.getInt(offset + 24);
+                    int localFileHeader = buffer.getInt(offset + 42);
+                    if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localFileHeader == ZIP64_MARKER) {
+                        throw new IOException("ZIP64 archives are not supported: " + file);
+                    }
+                    index.put(entryName, new Entry(entryName,
+                            buffer.getShort(offset + 10) & UNSIGNED_SHORT,
+                            compressedSize,
+                            size,
+                            localFileHeader));
+                }
+                offset += CENTRAL_DIRECTORY_FILE_HEADER_LENGTH
+                        + nameLength
+                        + (buffer.getShort(offset + 30) & UNSIGNED_SHORT)
+                        + (buffer.getShort(offset + 32) & UNSIGNED_SHORT);
+            }
+            return index;
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            Entry entry = index.get(typeName.replace('.', '/') + CLASS_FILE_EXTENSION);
+            return entry == null
+                    ? Resolution.Illegal.INSTANCE
+                    : new Resolution.Explicit(entry.read(buffer));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && file.equals(((ForJarFile) other).file);
+        }
+
+        @Override
+        public int hashCode() {
+            return file.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.ForJarFile{" +
+                    "file=" + file +
+                    ", index=" + index.keySet() +
+                    '}';
+        }
+
+        /**
+         * An entry of an archive's central directory that represents a class file.
+         */
+        protected static class Entry {
+
+            /**
+             * The compression method for entries that are stored without compression.
+             */
+            private static final int STORED = 0;
+
+            /**
+             * The compression method for entries that are compressed by the deflate algorithm.
+             */
+            private static final int DEFLATED = 8;
+
+            /**
+             * The offset of the file name length within a local file header.
+             */
+            private static final int NAME_LENGTH_OFFSET = 26;
+
+            /**
+             * The offset of the extra field length within a local file header.
+             */
+            private static final int EXTRA_LENGTH_OFFSET = 28;
+
+            /**
+             * The name of this entry.
+             */
+            private final String name;
+
+            /**
+             * The compression method of this entry.
+             */
+            private final int method;
+
+            /**
+             * The compressed size of this entry.
+             */
+            private final int compressedSize;
+
+            /**
+             * The uncompressed size of this entry.
+             */
+            private final int size;
+
+            /**
+             * The offset of this entry's local file header.
+             */
+            private final int localFileHeader;
+
+            /**
+             * Creates a new entry.
+             *
+             * @param name            The name of this entry.
+             * @param method          The compression method of this entry.
+             * @param compressedSize  The compressed size of this entry.
+             * @param size            The uncompressed size of this entry.
+             * @param localFileHeader The offset of this entry's local file header.
+             */
+            protected Entry(String name, int method, int compressedSize, int size, int localFileHeader) {
+                this.name = name;
+                this.method = method;
+                this.compressedSize = compressedSize;
+                this.size = size;
+                this.localFileHeader = localFileHeader;
+            }
+
+            /**
+             * Reads the content of this entry.
+             *
+             * @param buffer A read-only buffer in little-endian order that represents the content of the archive.
+             * @return The uncompressed content of this entry.
+             * @throws java.io.IOException If this entry cannot be read.
+             */
+            protected byte[] read(ByteBuffer buffer) throws IOException {
+                if (buffer.getInt(localFileHeader) != LOCAL_FILE_HEADER) {
+                    throw new IOException("Illegal local file header for " + name);
+                }
+                ByteBuffer data = buffer.duplicate();
+                data.position(localFileHeader
+                        + LOCAL_FILE_HEADER_LENGTH
+                        + (buffer.getShort(localFileHeader + NAME_LENGTH_OFFSET) & UNSIGNED_SHORT)
+                        + (buffer.getShort(localFileHeader + EXTRA_LENGTH_OFFSET) & UNSIGNED_SHORT));
+                byte[] binaryRepresentation = new byte[size];
+                switch (method) {
+                    case STORED:
+                        data.get(binaryRepresentation);
+                        return binaryRepresentation;
+                    case DEFLATED:
+                        // A raw inflater requires an additional dummy byte at the end of its input.
+                        byte[] compressed = new byte[compressedSize + 1];
+                        data.get(compressed, 0, compressedSize);
+                        Inflater inflater = new Inflater(true);
+                        try {
+                            inflater.setInput(compressed);
+                            int offset = 0;
+                            while (offset < size) {
+                                int inflated = inflater.inflate(binaryRepresentation, offset, size - offset);
+                                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                                    throw new IOException("Unexpected end of compressed data for " + name);
+                                }
+                                offset += inflated;
+                            }
+                            return binaryRepresentation;
+                        } catch (DataFormatException exception) {
+                            throw new IOException("Cannot inflate " + name, exception);
+                        } finally {
+                            inflater.end();
+                        }
+                    default:
+                        throw new IOException("Unsupported compression method " + method + " for " + name);
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Entry entry = (Entry) other;
+                return method == entry.method
+                        && compressedSize == entry.compressedSize
+                        && size == entry.size
+                        && localFileHeader == entry.localFileHeader
+                        && name.equals(entry.name);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = name.hashCode();
+                result = 31 * result + method;
+                result = 31 * result + compressedSize;
+                result = 31 * result + size;
+                result = 31 * result + localFileHeader;
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassFileLocator.ForJarFile.Entry{" +
+                        "name='" + name + '\'' +
+                        ", method=" + method +
+                        ", compressedSize=" + compressedSize +
+                        ", size=" + size +
+                        ", localFileHeader=" + localFileHeader +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A class file locator that reads class files from a folder that represents the root of a package hierarchy,
+     * such as an exploded archive or a compiler's output folder. Class files are read into an array that is sized
+     * exactly by the file's length.
+     */
+    static class ForFolder implements ClassFileLocator {
+
+        /**
+         * The folder that represents the root of the package hierarchy.
+         */
+        private final File folder;
+
+        /**
+         * Creates a new class file locator for a folder.
+         *
+         * @param folder The folder that represents the root of the package hierarchy.
+         */
+        public ForFolder(File folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            File file = new File(folder, typeName.replace('.', File.separatorChar) + CLASS_FILE_EXTENSION);
+            if (!file.isFile()) {
+                return Resolution.Illegal.INSTANCE;
+            }
+            InputStream inputStream = new FileInputStream(file);
+            try {
+                byte[] binaryRepresentation = new byte[(int) file.length()];
+                int offset = 0;
+                while (offset < binaryRepresentation.length) {
+                    int read = inputStream.read(binaryRepresentation, offset, binaryRepresentation.length - offset);
+                    if (read == -1) {
+                        throw new IOException("Unexpected end of " + file);
+                    }
+                    offset += read;
+                }
+                return new Resolution.Explicit(binaryRepresentation);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && folder.equals(((ForFolder) other).folder);
+        }
+
+        @Override
+        public int hashCode() {
+            return folder.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.ForFolder{" +
+                    "folder=" + folder +
+                    '}';
+        }
+    }
+
     /**
      * A compound {@link ClassFileLocator} that chains several locators.
      * Any class file locator is queried in the supplied order until one locator is able to provide an input
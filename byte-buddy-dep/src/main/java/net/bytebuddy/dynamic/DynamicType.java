@@ -28,10 +28,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
-import java.util.logging.Logger;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.*;
@@ -123,6 +121,10 @@ public interface DynamicType {
      * <b>Note</b>: The type descriptions will most likely differ from the binary representation of this type.
      * Normally, annotations and intercepted methods are not added to the type descriptions of auxiliary types.
      * </p>
+     * <p>
+     * <b>Note</b>: For saving many dynamic types at once, a {@link net.bytebuddy.dynamic.FolderWriter} creates each
+     * folder only once and is capable of writing the class files in parallel.
+     * </p>
      *
      * @param folder The base target folder for storing this dynamic type and its auxiliary types, if any.
      * @return A map of type descriptions pointing to files with their stored binary representations within {@code folder}.
@@ -2655,26 +2657,6 @@ public interface DynamicType {
          */
         private static final String CLASS_FILE_EXTENSION = ".class";
 
-        /**
-         * The size of a writing buffer.
-         */
-        private static final int BUFFER_SIZE = 1024;
-
-        /**
-         * A convenience index for the beginning of an array to improve the readability of the code.
-         */
-        private static final int FROM_BEGINNING = 0;
-
-        /**
-         * A convenience representative of an {@link java.io.InputStream}'s end to improve the readability of the code.
-         */
-        private static final int END_OF_FILE = -1;
-
-        /**
-         * A suffix for temporary files.
-         */
-        private static final String TEMP_SUFFIX = "tmp";
-
         /**
          * A type description of this dynamic type.
          */
@@ -2787,73 +2769,12 @@ public interface DynamicType {
 
         @Override
         public File inject(File sourceJar, File targetJar) throws IOException {
-            JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(new FileInputStream(sourceJar)));
-            try {
-                targetJar.createNewFile();
-                JarOutputStream jarOutputStream = new JarOutputStream(
-                        new BufferedOutputStream(new FileOutputStream(targetJar)), jarInputStream.getManifest());
-                try {
-                    Map<TypeDescription, byte[]> rawAuxiliaryTypes = getRawAuxiliaryTypes();
-                    Map<String, byte[]> files = new HashMap<String, byte[]>(rawAuxiliaryTypes.size() + 1);
-                    for (Map.Entry<TypeDescription, byte[]> entry : rawAuxiliaryTypes.entrySet()) {
-                        files.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
-                    }
-                    files.put(typeDescription.getInternalName() + CLASS_FILE_EXTENSION, binaryRepresentation);
-                    JarEntry jarEntry;
-                    while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
-                        jarOutputStream.putNextEntry(jarEntry);
-                        byte[] replacement = files.remove(jarEntry.getName());
-                        if (replacement == null) {
-                            byte[] buffer = new byte[BUFFER_SIZE];
-                            int index;
-                            while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
-                                jarOutputStream.write(buffer, FROM_BEGINNING, index);
-                            }
-                        } else {
-                            jarOutputStream.write(replacement);
-                        }
-                        jarInputStream.closeEntry();
-                        jarOutputStream.closeEntry();
-                    }
-                    for (Map.Entry<String, byte[]> entry : files.entrySet()) {
-                        jarOutputStream.putNextEntry(new JarEntry(entry.getKey()));
-                        jarOutputStream.write(entry.getValue());
-                        jarOutputStream.closeEntry();
-                    }
-                } finally {
-                    jarOutputStream.close();
-                }
-            } finally {
-                jarInputStream.close();
-            }
-            return targetJar;
+            return new JarInjector(sourceJar).inject(targetJar, this);
         }
 
         @Override
         public File inject(File jar) throws IOException {
-            File temporary = inject(jar, File.createTempFile(jar.getName(), TEMP_SUFFIX));
-            try {
-                InputStream jarInputStream = new BufferedInputStream(new FileInputStream(temporary));
-                try {
-                    OutputStream jarOutputStream = new BufferedOutputStream(new FileOutputStream(jar));
-                    try {
-                        byte[] buffer = new byte[BUFFER_SIZE];
-                        int index;
-                        while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
-                            jarOutputStream.write(buffer, FROM_BEGINNING, index);
-                        }
-                    } finally {
-                        jarOutputStream.close();
-                    }
-                } finally {
-                    jarInputStream.close();
-                }
-            } finally {
-                if (!temporary.delete()) {
-                    Logger.getAnonymousLogger().warning("Cannot delete " + temporary);
-                }
-            }
-            return jar;
+            return new JarInjector(jar).inject(Collections.singleton(this));
         }
 
         @Override
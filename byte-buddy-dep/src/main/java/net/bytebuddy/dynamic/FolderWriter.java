@@ -0,0 +1,593 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * A writer that saves the binary representations of any number of {@link net.bytebuddy.dynamic.DynamicType}s and of
+ * their auxiliary types in a given folder using the Java class file format while respecting the naming conventions
+ * for saving compiled Java classes. The resulting folder structure is equal to the structure that is created by
+ * {@link net.bytebuddy.dynamic.DynamicType#saveIn(java.io.File)}.
+ * </p>
+ * <p>
+ * Each package folder is created only once, before any class file is written. The class files are then written by
+ * tasks that are submitted to a given {@link java.util.concurrent.Executor} such that many files can be written in
+ * parallel. Optionally, each class file is first written to a temporary file within its target folder which then
+ * replaces the target file such that a class file is never observed in a partially written state. This replacement
+ * is atomic on VMs that support the {@code java.nio.file} API, i.e. on Java 7 and later, if the file system supports
+ * atomic moves. On older VMs, an existing
+ * target file might need to be deleted before it can be replaced which is always the case on Windows. In this case,
+ * the target file is briefly absent and remains absent if the temporary file cannot be renamed.
+ * </p>
+ */
+public class FolderWriter {
+
+    /**
+     * The file name extension for Java class files.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * The file replacement that is used for replacing a target file by a temporary file.
+     */
+    private static final FileReplacement FILE_REPLACEMENT;
+
+    /**
+     * Resolves the file replacement of the current VM which is based on the {@code java.nio.file} API if it is
+     * available.
+     */
+    static {
+        FileReplacement fileReplacement;
+        try {
+            fileReplacement = FileReplacement.ForAtomicMove.make();
+        } catch (Exception ignored) {
+            fileReplacement = FileReplacement.ForRenaming.INSTANCE;
+        }
+        FILE_REPLACEMENT = fileReplacement;
+    }
+
+    /**
+     * The folder in which the class files are saved.
+     */
+    private final File folder;
+
+    /**
+     * The executor to which the writing of class files is submitted.
+     */
+    private final Executor executor;
+
+    /**
+     * The write mode that is applied for writing a class file.
+     */
+    private final WriteMode writeMode;
+
+    /**
+     * Creates a new folder writer that writes all class files sequentially from the calling thread.
+     *
+     * @param folder The folder in which the class files are saved.
+     */
+    public FolderWriter(File folder) {
+        this(folder, DirectExecutor.INSTANCE);
+    }
+
+    /**
+     * Creates a new folder writer that writes class files directly into their target files.
+     *
+     * @param folder   The folder in which the class files are saved.
+     * @param executor The executor to which the writing of class files is submitted.
+     */
+    public FolderWriter(File folder, Executor executor) {
+        this(folder, executor, WriteMode.DIRECT);
+    }
+
+    /**
+     * Creates a new folder writer.
+     *
+     * @param folder    The folder in which the class files are saved.
+     * @param executor  The executor to which the writing of class files is submitted.
+     * @param writeMode The write mode that is applied for writing a class file.
+     */
+    public FolderWriter(File folder, Executor executor, WriteMode writeMode) {
+        this.folder = folder;
+        this.executor = executor;
+        this.writeMode = writeMode;
+    }
+
+    /**
+     * Returns a version of this folder writer that writes each class file to a temporary file first which then
+     * replaces the target file. This replacement is only atomic on VMs that support the {@code java.nio.file} API.
+     *
+     * @return A version of this folder writer that applies atomic writes.
+     */
+    public FolderWriter withAtomicWrites() {
+        return new FolderWriter(folder, executor, WriteMode.ATOMIC);
+    }
+
+    /**
+     * Saves the given dynamic types and all of their auxiliary types in this writer's folder.
+     *
+     * @param dynamicType The dynamic types to save.
+     * @return A map of type descriptions pointing to files with their stored binary representations.
+     * @throws IOException Thrown if the underlying file operations cause an {@code IOException}.
+     */
+    public Map<TypeDescription, File> save(DynamicType... dynamicType) throws IOException {
+        return save(Arrays.asList(dynamicType));
+    }
+
+    /**
+     * Saves the given dynamic types and all of their auxiliary types in this writer's folder.
+     *
+     * @param dynamicTypes The dynamic types to save.
+     * @return A map of type descriptions pointing to files with their stored binary representations.
+     * @throws IOException Thrown if the underlying file operations cause an {@code IOException}.
+     */
+    public Map<TypeDescription, File> save(Collection<? extends DynamicType> dynamicTypes) throws IOException {
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        for (DynamicType dynamicType : dynamicTypes) {
+            types.put(dynamicType.getTypeDescription(), dynamicType.getBytes());
+            types.putAll(dynamicType.getRawAuxiliaryTypes());
+        }
+        Map<TypeDescription, File> savedFiles = new HashMap<TypeDescription, File>(types.size());
+        Set<File> folders = new HashSet<File>();
+        for (TypeDescription typeDescription : types.keySet()) {
+            File target = new File(folder, typeDescription.getName().replace('.', File.separatorChar) + CLASS_FILE_EXTENSION);
+            File parent = target.getParentFile();
+            if (parent != null && folders.add(parent) && !parent.mkdirs() && !parent.isDirectory()) {
+                throw new IOException("Could not create folder " + parent);
+            }
+            savedFiles.put(typeDescription, target);
+        }
+        CompletionService<File> completionService = new ExecutorCompletionService<File>(executor);
+        Set<Future<File>> pending = new HashSet<Future<File>>();
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            pending.add(completionService.submit(new Write(writeMode, savedFiles.get(entry.getKey()), entry.getValue())));
+        }
+        try {
+            while (!pending.isEmpty()) {
+                Future<File> future = completionService.take();
+                pending.remove(future);
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while saving types in " + folder, exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof IOException) {
+                throw (IOException) exception.getCause();
+            }
+            throw new IllegalStateException("Could not save types in " + folder, exception.getCause());
+        } finally {
+            for (Future<File> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return savedFiles;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        FolderWriter that = (FolderWriter) other;
+        return folder.equals(that.folder)
+                && executor.equals(that.executor)
+                && writeMode == that.writeMode;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = folder.hashCode();
+        result = 31 * result + executor.hashCode();
+        result = 31 * result + writeMode.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FolderWriter{" +
+                "folder=" + folder +
+                ", executor=" + executor +
+                ", writeMode=" + writeMode +
+                '}';
+    }
+
+    /**
+     * Describes how a class file is written to its target file.
+     */
+    public static enum WriteMode {
+
+        /**
+         * Writes a class file directly into its target file.
+         */
+        DIRECT {
+            @Override
+            protected void write(File target, byte[] binaryRepresentation) throws IOException {
+                OutputStream outputStream = new FileOutputStream(target);
+                try {
+                    outputStream.write(binaryRepresentation);
+                } finally {
+                    outputStream.close();
+                }
+            }
+        },
+
+        /**
+         * Writes a class file to a temporary file within the target file's folder using a
+         * {@link java.nio.channels.FileChannel} and moves the temporary file to the target file once its contents
+         * are forced to the storage device. The move is only atomic on VMs that support the {@code java.nio.file} API
+         * and on file systems that support atomic moves. On older VMs, the temporary file is renamed where an existing target file is deleted first if it cannot be
+         * replaced by renaming, which is always the case on Windows.
+         */
+        ATOMIC {
+            @Override
+            protected void write(File target, byte[] binaryRepresentation) throws IOException {
+                File temporary = File.createTempFile(target.getName(), TEMP_SUFFIX, target.getParentFile());
+                try {
+                    FileOutputStream outputStream = new FileOutputStream(temporary);
+                    try {
+                        FileChannel fileChannel = outputStream.getChannel();
+                        ByteBuffer buffer = ByteBuffer.wrap(binaryRepresentation);
+                        while (buffer.hasRemaining()) {
+                            fileChannel.write(buffer);
+                        }
+                        fileChannel.force(false);
+                    } finally {
+                        outputStream.close();
+                    }
+                    FILE_REPLACEMENT.replace(temporary, target);
+                } finally {
+                    if (temporary.exists() && !temporary.delete()) {
+                        Logger.getAnonymousLogger().warning("Cannot delete " + temporary);
+                    }
+                }
+            }
+        };
+
+        /**
+         * A suffix for temporary files.
+         */
+        private static final String TEMP_SUFFIX = "tmp";
+
+        /**
+         * Writes a class file to its target file.
+         *
+         * @param target               The target file.
+         * @param binaryRepresentation The binary representation of the class file.
+         * @throws IOException If an IO exception occurs.
+         */
+        protected abstract void write(File target, byte[] binaryRepresentation) throws IOException;
+    }
+
+    /**
+     * Replaces a target file by another file within the same folder.
+     */
+    protected static interface FileReplacement {
+
+        /**
+         * Replaces the target file by the source file such that the source file does no longer exist.
+         *
+         * @param source The file that replaces the target file.
+         * @param target The file to replace which might not yet exist.
+         * @throws IOException If the target file cannot be replaced.
+         */
+        void replace(File source, File target) throws IOException;
+
+        /**
+         * A file replacement that renames the source file to the target file. If the source file cannot be renamed
+         * to an existing target file, the target file is deleted before the source file is renamed such that the
+         * replacement is not atomic.
+         */
+        static enum ForRenaming implements FileReplacement {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public void replace(File source, File target) throws IOException {
+                if (!source.renameTo(target) && !(target.delete() && source.renameTo(target))) {
+                    throw new IOException("Could not rename " + source + " to " + target);
+                }
+            }
+        }
+
+        /**
+         * A file replacement that atomically moves the source file to the target file by using the
+         * {@code java.nio.file} API which is only available on Java 7 or later virtual machines. In order to remain
+         * compatible to Java 6 byte code, the API is invoked reflectively. If the file system does not support an
+         * atomic move, the source file is moved without requesting atomicity where an existing target file is replaced.
+         */
+        static class ForAtomicMove implements FileReplacement {
+
+            /**
+             * The name of the {@code java.nio.file.Files} type.
+             */
+            private static final String FILES_TYPE_NAME = "java.nio.file.Files";
+
+            /**
+             * The name of the {@code java.nio.file.Path} type.
+             */
+            private static final String PATH_TYPE_NAME = "java.nio.file.Path";
+
+            /**
+             * The name of the {@code java.nio.file.CopyOption} type.
+             */
+            private static final String COPY_OPTION_TYPE_NAME = "java.nio.file.CopyOption";
+
+            /**
+             * The name of the {@code java.nio.file.StandardCopyOption} type.
+             */
+            private static final String STANDARD_COPY_OPTION_TYPE_NAME = "java.nio.file.StandardCopyOption";
+
+            /**
+             * The name of the {@code java.nio.file.AtomicMoveNotSupportedException} type.
+             */
+            private static final String ATOMIC_MOVE_NOT_SUPPORTED_EXCEPTION_TYPE_NAME = "java.nio.file.AtomicMoveNotSupportedException";
+
+            /**
+             * The name of the {@code java.io.File#toPath()} method.
+             */
+            private static final String TO_PATH_METHOD_NAME = "toPath";
+
+            /**
+             * The name of the {@code java.nio.file.Files#move(Path, Path, CopyOption...)} method.
+             */
+            private static final String MOVE_METHOD_NAME = "move";
+
+            /**
+             * The name of the copy option that requests an atomic move.
+             */
+            private static final String ATOMIC_MOVE = "ATOMIC_MOVE";
+
+            /**
+             * The name of the copy option that requests to replace an existing target file.
+             */
+            private static final String REPLACE_EXISTING = "REPLACE_EXISTING";
+
+            /**
+             * Base for access to a reflective member to make the code more readable.
+             */
+            private static final Object STATIC_MEMBER = null;
+
+            /**
+             * The {@code java.io.File#toPath()} method.
+             */
+            private final Method toPath;
+
+            /**
+             * The {@code java.nio.file.Files#move(Path, Path, CopyOption...)} method.
+             */
+            private final Method move;
+
+            /**
+             * An array of {@code java.nio.file.CopyOption}s that request an atomic move which replaces an existing
+             * target file.
+             */
+            private final Object[] copyOptions;
+
+            /**
+             * An array of {@code java.nio.file.CopyOption}s that request a move which replaces an existing target
+             * file without requesting atomicity.
+             */
+            private final Object[] fallbackCopyOptions;
+
+            /**
+             * The {@code java.nio.file.AtomicMoveNotSupportedException} type which indicates that a file system does
+             * not support an atomic move.
+             */
+            private final Class<?> atomicMoveNotSupportedExceptionType;
+
+            /**
+             * Creates a new file replacement for an atomic move.
+             *
+             * @param toPath                              The {@code java.io.File#toPath()} method.
+             * @param move                                The {@code java.nio.file.Files#move(Path, Path, CopyOption...)}
+             *                                            method.
+             * @param copyOptions                         An array of {@code java.nio.file.CopyOption}s that request an
+             *                                            atomic move which replaces an existing target file.
+             * @param fallbackCopyOptions                 An array of {@code java.nio.file.CopyOption}s that request a move
+             *                                            which replaces an existing target file without requesting
+             *                                            atomicity.
+             * @param atomicMoveNotSupportedExceptionType The {@code java.nio.file.AtomicMoveNotSupportedException} type
+             *                                            which indicates that a file system does not support an atomic
+             *                                            move.
+             */
+            protected ForAtomicMove(Method toPath,
+                                    Method move,
+                                    Object[] copyOptions,
+                                    Object[] fallbackCopyOptions,
+                                    Class<?> atomicMoveNotSupportedExceptionType) {
+                this.toPath = toPath;
+                this.move = move;
+                this.copyOptions = copyOptions;
+                this.fallbackCopyOptions = fallbackCopyOptions;
+                this.atomicMoveNotSupportedExceptionType = atomicMoveNotSupportedExceptionType;
+            }
+
+            /**
+             * Creates a file replacement for an atomic move.
+             *
+             * @return A file replacement for an atomic move.
+             * @throws Exception If the {@code java.nio.file} API is not available on the current VM.
+             */
+            protected static FileReplacement make() throws Exception {
+                Class<?> pathType = Class.forName(PATH_TYPE_NAME);
+                Class<?> standardCopyOptionType = Class.forName(STANDARD_COPY_OPTION_TYPE_NAME);
+                Class<?> copyOptionType = Class.forName(COPY_OPTION_TYPE_NAME);
+                Object[] copyOptions = (Object[]) Array.newInstance(copyOptionType, 2);
+                copyOptions[0] = standardCopyOptionType.getField(ATOMIC_MOVE).get(STATIC_MEMBER);
+                copyOptions[1] = standardCopyOptionType.getField(REPLACE_EXISTING).get(STATIC_MEMBER);
+                Object[] fallbackCopyOptions = (Object[]) Array.newInstance(copyOptionType, 1);
+                fallbackCopyOptions[0] = copyOptions[1];
+                return new ForAtomicMove(File.class.getDeclaredMethod(TO_PATH_METHOD_NAME),
+                        Class.forName(FILES_TYPE_NAME).getDeclaredMethod(MOVE_METHOD_NAME, pathType, pathType, copyOptions.getClass()),
+                        copyOptions,
+                        fallbackCopyOptions,
+                        Class.forName(ATOMIC_MOVE_NOT_SUPPORTED_EXCEPTION_TYPE_NAME));
+            }
+
+            @Override
+            public void replace(File source, File target) throws IOException {
+                try {
+                    move(source, target, copyOptions);
+                } catch (IOException exception) {
+                    if (!atomicMoveNotSupportedExceptionType.isInstance(exception)) {
+                        throw exception;
+                    }
+                    move(source, target, fallbackCopyOptions);
+                }
+            }
+
+            /**
+             * Moves the source file to the target file.
+             *
+             * @param source      The file that replaces the target file.
+             * @param target      The file to replace which might not yet exist.
+             * @param copyOptions An array of {@code java.nio.file.CopyOption}s to apply when moving the source file.
+             * @throws IOException If the source file cannot be moved to the target file.
+             */
+            private void move(File source, File target, Object[] copyOptions) throws IOException {
+                try {
+                    move.invoke(STATIC_MEMBER, toPath.invoke(source), toPath.invoke(target), copyOptions);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot access " + move, e);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IllegalStateException("Cannot move " + source + " to " + target, e.getCause());
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ForAtomicMove forAtomicMove = (ForAtomicMove) other;
+                return toPath.equals(forAtomicMove.toPath)
+                        && move.equals(forAtomicMove.move)
+                        && Arrays.equals(copyOptions, forAtomicMove.copyOptions)
+                        && Arrays.equals(fallbackCopyOptions, forAtomicMove.fallbackCopyOptions)
+                        && atomicMoveNotSupportedExceptionType.equals(forAtomicMove.atomicMoveNotSupportedExceptionType);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = toPath.hashCode();
+                result = 31 * result + move.hashCode();
+                result = 31 * result + Arrays.hashCode(copyOptions);
+                result = 31 * result + Arrays.hashCode(fallbackCopyOptions);
+                result = 31 * result + atomicMoveNotSupportedExceptionType.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "FolderWriter.FileReplacement.ForAtomicMove{" +
+                        "toPath=" + toPath +
+                        ", move=" + move +
+                        ", copyOptions=" + Arrays.toString(copyOptions) +
+                        ", fallbackCopyOptions=" + Arrays.toString(fallbackCopyOptions) +
+                        ", atomicMoveNotSupportedExceptionType=" + atomicMoveNotSupportedExceptionType +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * An executor that runs any task in the calling thread.
+     */
+    protected static enum DirectExecutor implements Executor {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+    /**
+     * A task for writing a single class file.
+     */
+    protected static class Write implements Callable<File> {
+
+        /**
+         * The write mode to apply.
+         */
+        private final WriteMode writeMode;
+
+        /**
+         * The target file.
+         */
+        private final File target;
+
+        /**
+         * The binary representation of the class file.
+         */
+        private final byte[] binaryRepresentation;
+
+        /**
+         * Creates a new write task.
+         *
+         * @param writeMode            The write mode to apply.
+         * @param target               The target file.
+         * @param binaryRepresentation The binary representation of the class file.
+         */
+        protected Write(WriteMode writeMode, File target, byte[] binaryRepresentation) {
+            this.writeMode = writeMode;
+            this.target = target;
+            this.binaryRepresentation = binaryRepresentation;
+        }
+
+        @Override
+        public File call() throws IOException {
+            writeMode.write(target, binaryRepresentation);
+            return target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Write write = (Write) other;
+            return writeMode == write.writeMode
+                    && target.equals(write.target)
+                    && Arrays.equals(binaryRepresentation, write.binaryRepresentation);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = writeMode.hashCode();
+            result = 31 * result + target.hashCode();
+            result = 31 * result + Arrays.hashCode(binaryRepresentation);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "FolderWriter.Write{" +
+                    "writeMode=" + writeMode +
+                    ", target=" + target +
+                    ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                    '}';
+        }
+    }
+}
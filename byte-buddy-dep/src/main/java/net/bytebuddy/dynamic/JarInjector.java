@@ -0,0 +1,693 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <p>
+ * An injector that writes the binary representations of any number of {@link net.bytebuddy.dynamic.DynamicType}s
+ * into a copy of a given <i>jar</i> file within a single pass over this file. Any pre-existent type with the same
+ * name is overridden during injection while types that are not yet contained in the <i>jar</i> file are appended.
+ * </p>
+ * <p>
+ * Entries of the source <i>jar</i> file that are not overridden are copied in their compressed form, i.e. without
+ * inflating and deflating their contents and with their original checksums. Only the injected types are compressed.
+ * For <i>jar</i> files that make use of the <i>Zip64</i> format extensions or that would exceed the format's limits
+ * after injection, the injector falls back to rewriting the <i>jar</i> file entry by entry.
+ * </p>
+ */
+public class JarInjector {
+
+    /**
+     * The file name extension for Java class files.
+     */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /**
+     * A suffix for temporary files.
+     */
+    private static final String TEMP_SUFFIX = "tmp";
+
+    /**
+     * The size of a writing buffer.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * A convenience index for the beginning of an array to improve the readability of the code.
+     */
+    private static final int FROM_BEGINNING = 0;
+
+    /**
+     * A convenience representative of an {@link java.io.InputStream}'s end to improve the readability of the code.
+     */
+    private static final int END_OF_FILE = -1;
+
+    /**
+     * The signature of a local file header.
+     */
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+
+    /**
+     * The signature of an optional data descriptor that follows an entry's data.
+     */
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    /**
+     * The signature of a central directory file header.
+     */
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+
+    /**
+     * The signature of the end of central directory record.
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    /**
+     * The signature of a <i>Zip64</i> end of central directory locator.
+     */
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    /**
+     * The length of a local file header without its variable fields.
+     */
+    private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+
+    /**
+     * The length of a central directory file header without its variable fields.
+     */
+    private static final int CENTRAL_FILE_HEADER_LENGTH = 46;
+
+    /**
+     * The length of the end of central directory record without its comment.
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+    /**
+     * The length of a <i>Zip64</i> end of central directory locator.
+     */
+    private static final int ZIP64_LOCATOR_LENGTH = 20;
+
+    /**
+     * The maximum length of a comment of a <i>zip</i> file.
+     */
+    private static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+    /**
+     * The maximum number of entries of a <i>zip</i> file that does not make use of the <i>Zip64</i> extensions.
+     */
+    private static final int MAXIMUM_ENTRIES = 0xFFFF;
+
+    /**
+     * The maximum size or offset of a <i>zip</i> file that does not make use of the <i>Zip64</i> extensions.
+     */
+    private static final long MAXIMUM_SIZE = 0xFFFFFFFFL;
+
+    /**
+     * A conservative estimate of the size overhead of an entry that is added to a <i>zip</i> file.
+     */
+    private static final int ENTRY_OVERHEAD = 1024;
+
+    /**
+     * The general purpose flag indicating that an entry's data is followed by a data descriptor.
+     */
+    private static final int DATA_DESCRIPTOR_FLAG = 1 << 3;
+
+    /**
+     * The general purpose flag indicating that an entry's name is encoded in <i>UTF-8</i>.
+     */
+    private static final int UTF_8_FLAG = 1 << 11;
+
+    /**
+     * The encoding of entry names which is also assumed by {@link java.util.zip.ZipFile} by default.
+     */
+    private static final String NAME_ENCODING = "UTF-8";
+
+    /**
+     * The <i>zip</i> format version that is required for extracting a deflated entry.
+     */
+    private static final int DEFLATED_VERSION = 20;
+
+    /**
+     * The <i>zip</i> compression method of a deflated entry.
+     */
+    private static final int DEFLATED_METHOD = 8;
+
+    /**
+     * The offset of the local file header offset within a central directory file header.
+     */
+    private static final int LOCAL_FILE_HEADER_OFFSET_POSITION = 42;
+
+    /**
+     * The source <i>jar</i> file into which types are injected.
+     */
+    private final File sourceJar;
+
+    /**
+     * Creates a new injector for the given source <i>jar</i> file.
+     *
+     * @param sourceJar The source <i>jar</i> file into which types are injected.
+     */
+    public JarInjector(File sourceJar) {
+        this.sourceJar = sourceJar;
+    }
+
+    /**
+     * Injects the given dynamic types and all of their auxiliary types into a copy of this injector's source
+     * <i>jar</i> file. The {@code target} file's folder must exist prior to calling this method. The file itself is
+     * overwritten or created depending on its prior existence.
+     *
+     * @param targetJar    The source <i>jar</i> file with the injected contents.
+     * @param dynamicTypes The dynamic types to inject.
+     * @return The {@code target} jar file.
+     * @throws IOException If an IO exception occurs while injecting from the source into the target.
+     */
+    public File inject(File targetJar, DynamicType... dynamicTypes) throws IOException {
+        return inject(targetJar, Arrays.asList(dynamicTypes));
+    }
+
+    /**
+     * Injects the given dynamic types and all of their auxiliary types into a copy of this injector's source
+     * <i>jar</i> file. The {@code target} file's folder must exist prior to calling this method. The file itself is
+     * overwritten or created depending on its prior existence. If several dynamic types define a type of the same
+     * name, the type that is defined last is injected.
+     *
+     * @param targetJar    The source <i>jar</i> file with the injected contents.
+     * @param dynamicTypes The dynamic types to inject.
+     * @return The {@code target} jar file.
+     * @throws IOException If an IO exception occurs while injecting from the source into the target.
+     */
+    public File inject(File targetJar, Collection<? extends DynamicType> dynamicTypes) throws IOException {
+        Map<String, byte[]> files = toFiles(dynamicTypes);
+        RandomAccessFile source = new RandomAccessFile(sourceJar, "r");
+        try {
+            List<Entry> entries = readCentralDirectory(source, files);
+            if (entries != null) {
+                targetJar.createNewFile();
+                FileOutputStream fileOutputStream = new FileOutputStream(targetJar);
+                try {
+                    write(source, entries, fileOutputStream.getChannel(), files);
+                } finally {
+                    fileOutputStream.close();
+                }
+                return targetJar;
+            }
+        } finally {
+            source.close();
+        }
+        return recompress(targetJar, files);
+    }
+
+    /**
+     * Injects the given dynamic types and all of their auxiliary types into this injector's source <i>jar</i> file.
+     * The injected file is first written to a temporary file which then replaces the source <i>jar</i> file.
+     *
+     * @param dynamicTypes The dynamic types to inject.
+     * @return The source <i>jar</i> file.
+     * @throws IOException If an IO exception occurs while injecting into the jar.
+     */
+    public File inject(Collection<? extends DynamicType> dynamicTypes) throws IOException {
+        File temporary = inject(File.createTempFile(sourceJar.getName(), TEMP_SUFFIX, sourceJar.getAbsoluteFile().getParentFile()), dynamicTypes);
+        try {
+            if (!temporary.renameTo(sourceJar)) {
+                FileInputStream fileInputStream = new FileInputStream(temporary);
+                try {
+                    FileOutputStream fileOutputStream = new FileOutputStream(sourceJar);
+                    try {
+                        transfer(fileInputStream.getChannel(), FROM_BEGINNING, temporary.length(), fileOutputStream.getChannel());
+                    } finally {
+                        fileOutputStream.close();
+                    }
+                } finally {
+                    fileInputStream.close();
+                }
+            }
+        } finally {
+            if (temporary.exists() && !temporary.delete()) {
+                Logger.getAnonymousLogger().warning("Cannot delete " + temporary);
+            }
+        }
+        return sourceJar;
+    }
+
+    /**
+     * Resolves the file names and binary representations of the given dynamic types and of their auxiliary types.
+     *
+     * @param dynamicTypes The dynamic types to resolve.
+     * @return A mapping of file names within a <i>jar</i> file to the binary representations of the types.
+     */
+    private static Map<String, byte[]> toFiles(Collection<? extends DynamicType> dynamicTypes) {
+        Map<String, byte[]> files = new LinkedHashMap<String, byte[]>();
+        for (DynamicType dynamicType : dynamicTypes) {
+            for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                files.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
+            }
+            files.put(dynamicType.getTypeDescription().getInternalName() + CLASS_FILE_EXTENSION, dynamicType.getBytes());
+        }
+        return files;
+    }
+
+    /**
+     * Reads the central directory of the source <i>jar</i> file.
+     *
+     * @param source The source <i>jar</i> file.
+     * @param files  The files that are to be injected.
+     * @return The entries of the central directory or {@code null} if the file cannot be copied in its compressed form.
+     * @throws IOException If an IO exception occurs.
+     */
+    private List<Entry> readCentralDirectory(RandomAccessFile source, Map<String, byte[]> files) throws IOException {
+        long length = source.length();
+        int tailLength = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_LENGTH + MAXIMUM_COMMENT_LENGTH);
+        ByteBuffer tail = read(source, length - tailLength, tailLength);
+        int endOfCentralDirectory = tailLength - END_OF_CENTRAL_DIRECTORY_LENGTH;
+        while (endOfCentralDirectory >= 0 && tail.getInt(endOfCentralDirectory) != END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+            endOfCentralDirectory--;
+        }
+        if (endOfCentralDirectory < 0) {
+            throw new IOException("Not a zip file: " + sourceJar);
+        } else if (endOfCentralDirectory >= ZIP64_LOCATOR_LENGTH
+                && tail.getInt(endOfCentralDirectory - ZIP64_LOCATOR_LENGTH) == ZIP64_LOCATOR_SIGNATURE) {
+            return null;
+        }
+        int entryCount = tail.getShort(endOfCentralDirectory + 10) & 0xFFFF;
+        long centralDirectorySize = tail.getInt(endOfCentralDirectory + 12) & MAXIMUM_SIZE;
+        long centralDirectoryOffset = tail.getInt(endOfCentralDirectory + 16) & MAXIMUM_SIZE;
+        if (tail.getShort(endOfCentralDirectory + 4) != 0
+                || (tail.getShort(endOfCentralDirectory + 8) & 0xFFFF) != entryCount
+                || entryCount + files.size() > MAXIMUM_ENTRIES
+                || centralDirectorySize == MAXIMUM_SIZE
+                || centralDirectoryOffset == MAXIMUM_SIZE) {
+            return null;
+        }
+        long estimatedLength = length;
+        for (byte[] binaryRepresentation : files.values()) {
+            estimatedLength += 2L * binaryRepresentation.length + ENTRY_OVERHEAD;
+        }
+        if (estimatedLength >= MAXIMUM_SIZE) {
+            return null;
+        }
+        ByteBuffer centralDirectory = read(source, centralDirectoryOffset, (int) centralDirectorySize);
+        List<Entry> entries = new ArrayList<Entry>(entryCount);
+        int position = 0;
+        for (int index = 0; index < entryCount; index++) {
+            if (centralDirectory.getInt(position) != CENTRAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException("Malformed central directory in " + sourceJar);
+            }
+            int headerLength = CENTRAL_FILE_HEADER_LENGTH
+                    + (centralDirectory.getShort(position + 28) & 0xFFFF)
+                    + (centralDirectory.getShort(position + 30) & 0xFFFF)
+                    + (centralDirectory.getShort(position + 32) & 0xFFFF);
+            byte[] header = new byte[headerLength];
+            centralDirectory.position(position);
+            centralDirectory.get(header);
+            Entry entry = Entry.of(header);
+            if (entry.getCompressedSize() == MAXIMUM_SIZE
+                    || entry.getLocalHeaderOffset() == MAXIMUM_SIZE
+                    || (centralDirectory.getInt(position + 24) & MAXIMUM_SIZE) == MAXIMUM_SIZE) {
+                return null;
+            }
+            entries.add(entry);
+            position += headerLength;
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the target <i>jar</i> file by copying all entries of the source file that are not overridden in their
+     * compressed form and by compressing all injected types.
+     *
+     * @param source  The source <i>jar</i> file.
+     * @param entries The entries of the source <i>jar</i> file's central directory.
+     * @param target  The channel of the target <i>jar</i> file.
+     * @param files   The files that are to be injected.
+     * @throws IOException If an IO exception occurs.
+     */
+    private static void write(RandomAccessFile source, List<Entry> entries, FileChannel target, Map<String, byte[]> files) throws IOException {
+        Map<String, byte[]> remaining = new LinkedHashMap<String, byte[]>(files);
+        ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        FileChannel sourceChannel = source.getChannel();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            int dosTime = toDosTime(System.currentTimeMillis());
+            int entryCount = 0;
+            for (Entry entry : entries) {
+                long offset = target.position();
+                byte[] replacement = remaining.remove(entry.getName());
+                if (replacement == null) {
+                    transfer(sourceChannel, entry.getLocalHeaderOffset(), entry.getLocalLength(source), target);
+                    centralDirectory.write(entry.relocate(offset));
+                } else {
+                    centralDirectory.write(writeDeflated(target, entry.getName(), replacement, deflater, dosTime));
+                }
+                entryCount++;
+            }
+            for (Map.Entry<String, byte[]> file : remaining.entrySet()) {
+                centralDirectory.write(writeDeflated(target, file.getKey(), file.getValue(), deflater, dosTime));
+                entryCount++;
+            }
+            long centralDirectoryOffset = target.position();
+            writeFully(target, ByteBuffer.wrap(centralDirectory.toByteArray()));
+            ByteBuffer endOfCentralDirectory = ByteBuffer.allocate(END_OF_CENTRAL_DIRECTORY_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            endOfCentralDirectory.putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) entryCount)
+                    .putShort((short) entryCount)
+                    .putInt(centralDirectory.size())
+                    .putInt((int) centralDirectoryOffset)
+                    .putShort((short) 0);
+            endOfCentralDirectory.flip();
+            writeFully(target, endOfCentralDirectory);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes a deflated entry to the target <i>jar</i> file.
+     *
+     * @param target               The channel of the target <i>jar</i> file.
+     * @param name                 The name of the entry.
+     * @param binaryRepresentation The uncompressed contents of the entry.
+     * @param deflater             The deflater to use.
+     * @param dosTime              The modification time of the entry in <i>MS-DOS</i> format.
+     * @return The central directory file header of the written entry.
+     * @throws IOException If an IO exception occurs.
+     */
+    private static byte[] writeDeflated(FileChannel target,
+                                        String name,
+                                        byte[] binaryRepresentation,
+                                        Deflater deflater,
+                                        int dosTime) throws IOException {
+        long offset = target.position();
+        deflater.reset();
+        deflater.setInput(binaryRepresentation);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(binaryRepresentation.length);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (!deflater.finished()) {
+            compressed.write(buffer, FROM_BEGINNING, deflater.deflate(buffer));
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(binaryRepresentation);
+        byte[] encodedName = name.getBytes(NAME_ENCODING);
+        ByteBuffer localHeader = ByteBuffer.allocate(LOCAL_FILE_HEADER_LENGTH + encodedName.length).order(ByteOrder.LITTLE_ENDIAN);
+        localHeader.putInt(LOCAL_FILE_HEADER_SIGNATURE)
+                .putShort((short) DEFLATED_VERSION)
+                .putShort((short) UTF_8_FLAG)
+                .putShort((short) DEFLATED_METHOD)
+                .putInt(dosTime)
+                .putInt((int) crc32.getValue())
+                .putInt(compressed.size())
+                .putInt(binaryRepresentation.length)
+                .putShort((short) encodedName.length)
+                .putShort((short) 0)
+                .put(encodedName);
+        localHeader.flip();
+        writeFully(target, localHeader);
+        writeFully(target, ByteBuffer.wrap(compressed.toByteArray()));
+        ByteBuffer centralHeader = ByteBuffer.allocate(CENTRAL_FILE_HEADER_LENGTH + encodedName.length).order(ByteOrder.LITTLE_ENDIAN);
+        centralHeader.putInt(CENTRAL_FILE_HEADER_SIGNATURE)
+                .putShort((short) DEFLATED_VERSION)
+                .putShort((short) DEFLATED_VERSION)
+                .putShort((short) UTF_8_FLAG)
+                .putShort((short) DEFLATED_METHOD)
+                .putInt(dosTime)
+                .putInt((int) crc32.getValue())
+                .putInt(compressed.size())
+                .putInt(binaryRepresentation.length)
+                .putShort((short) encodedName.length)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(0)
+                .putInt((int) offset)
+                .put(encodedName);
+        return centralHeader.array();
+    }
+
+    /**
+     * Writes the target <i>jar</i> file by inflating and deflating all entries of the source file. This fallback is
+     * applied for files that cannot be copied in their compressed form.
+     *
+     * @param targetJar The target <i>jar</i> file.
+     * @param files     The files that are to be injected.
+     * @return The target <i>jar</i> file.
+     * @throws IOException If an IO exception occurs.
+     */
+    private File recompress(File targetJar, Map<String, byte[]> files) throws IOException {
+        JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(new FileInputStream(sourceJar)));
+        try {
+            targetJar.createNewFile();
+            JarOutputStream jarOutputStream = new JarOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(targetJar)), jarInputStream.getManifest());
+            try {
+                Map<String, byte[]> remaining = new LinkedHashMap<String, byte[]>(files);
+                JarEntry jarEntry;
+                while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                    jarOutputStream.putNextEntry(jarEntry);
+                    byte[] replacement = remaining.remove(jarEntry.getName());
+                    if (replacement == null) {
+                        byte[] buffer = new byte[BUFFER_SIZE];
+                        int index;
+                        while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
+                            jarOutputStream.write(buffer, FROM_BEGINNING, index);
+                        }
+                    } else {
+                        jarOutputStream.write(replacement);
+                    }
+                    jarInputStream.closeEntry();
+                    jarOutputStream.closeEntry();
+                }
+                for (Map.Entry<String, byte[]> entry : remaining.entrySet()) {
+                    jarOutputStream.putNextEntry(new JarEntry(entry.getKey()));
+                    jarOutputStream.write(entry.getValue());
+                    jarOutputStream.closeEntry();
+                }
+            } finally {
+                jarOutputStream.close();
+            }
+        } finally {
+            jarInputStream.close();
+        }
+        return targetJar;
+    }
+
+    /**
+     * Reads a little endian buffer from a random access file.
+     *
+     * @param source   The file to read from.
+     * @param position The position to read from.
+     * @param length   The number of bytes to read.
+     * @return A little endian buffer containing the read bytes.
+     * @throws IOException If an IO exception occurs.
+     */
+    private static ByteBuffer read(RandomAccessFile source, long position, int length) throws IOException {
+        byte[] buffer = new byte[length];
+        source.seek(position);
+        source.readFully(buffer);
+        return ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Transfers a region of a file channel to the current position of another file channel.
+     *
+     * @param source   The source channel.
+     * @param position The position of the region within the source channel.
+     * @param length   The length of the region.
+     * @param target   The target channel.
+     * @throws IOException If an IO exception occurs.
+     */
+    private static void transfer(FileChannel source, long position, long length, FileChannel target) throws IOException {
+        long transferred = 0L;
+        while (transferred < length) {
+            long count = source.transferTo(position + transferred, length - transferred, target);
+            if (count <= 0L) {
+                throw new EOFException("Unexpected end of file at " + (position + transferred));
+            }
+            transferred += count;
+        }
+    }
+
+    /**
+     * Writes the remaining contents of a buffer to a file channel.
+     *
+     * @param target The target channel.
+     * @param buffer The buffer to write.
+     * @throws IOException If an IO exception occurs.
+     */
+    private static void writeFully(FileChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    /**
+     * Converts a time stamp into the <i>MS-DOS</i> date and time format that is used by the <i>zip</i> file format.
+     *
+     * @param time The time in milliseconds since the epoch.
+     * @return The time in <i>MS-DOS</i> format where the date is stored in the higher two bytes.
+     */
+    private static int toDosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return Math.max(calendar.get(Calendar.YEAR) - 1980, 0) << 25
+                | (calendar.get(Calendar.MONTH) + 1) << 21
+                | calendar.get(Calendar.DAY_OF_MONTH) << 16
+                | calendar.get(Calendar.HOUR_OF_DAY) << 11
+                | calendar.get(Calendar.MINUTE) << 5
+                | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && sourceJar.equals(((JarInjector) other).sourceJar);
+    }
+
+    @Override
+    public int hashCode() {
+        return sourceJar.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "JarInjector{sourceJar=" + sourceJar + '}';
+    }
+
+    /**
+     * Represents an entry of a <i>jar</i> file's central directory.
+     */
+    protected static class Entry {
+
+        /**
+         * The name of the entry.
+         */
+        private final String name;
+
+        /**
+         * The entry's central directory file header.
+         */
+        private final byte[] header;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param name   The name of the entry.
+         * @param header The entry's central directory file header.
+         */
+        protected Entry(String name, byte[] header) {
+            this.name = name;
+            this.header = header;
+        }
+
+        /**
+         * Creates an entry for a central directory file header.
+         *
+         * @param header The central directory file header.
+         * @return An entry representing the given header.
+         * @throws IOException If the name of the entry cannot be decoded.
+         */
+        protected static Entry of(byte[] header) throws IOException {
+            return new Entry(new String(header,
+                    CENTRAL_FILE_HEADER_LENGTH,
+                    ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getShort(28) & 0xFFFF,
+                    NAME_ENCODING), header);
+        }
+
+        /**
+         * Returns the name of the entry.
+         *
+         * @return The name of the entry.
+         */
+        protected String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the compressed size of the entry's data.
+         *
+         * @return The compressed size of the entry's data.
+         */
+        protected long getCompressedSize() {
+            return ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt(20) & MAXIMUM_SIZE;
+        }
+
+        /**
+         * Returns the offset of the entry's local file header.
+         *
+         * @return The offset of the entry's local file header.
+         */
+        protected long getLocalHeaderOffset() {
+            return ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt(LOCAL_FILE_HEADER_OFFSET_POSITION) & MAXIMUM_SIZE;
+        }
+
+        /**
+         * Returns the length of the entry's local representation, including its local file header, its compressed
+         * data and its data descriptor, if any.
+         *
+         * @param source The <i>jar</i> file containing this entry.
+         * @return The length of the entry's local representation.
+         * @throws IOException If an IO exception occurs.
+         */
+        protected long getLocalLength(RandomAccessFile source) throws IOException {
+            ByteBuffer localHeader = read(source, getLocalHeaderOffset(), LOCAL_FILE_HEADER_LENGTH);
+            if (localHeader.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException("Malformed local file header for " + name);
+            }
+            long length = LOCAL_FILE_HEADER_LENGTH
+                    + (localHeader.getShort(26) & 0xFFFF)
+                    + (localHeader.getShort(28) & 0xFFFF)
+                    + getCompressedSize();
+            if ((localHeader.getShort(6) & DATA_DESCRIPTOR_FLAG) != 0) {
+                length += read(source, getLocalHeaderOffset() + length, 4).getInt(0) == DATA_DESCRIPTOR_SIGNATURE ? 16 : 12;
+            }
+            return length;
+        }
+
+        /**
+         * Returns a copy of this entry's central directory file header with its local file header offset replaced.
+         *
+         * @param offset The new offset of the entry's local file header.
+         * @return A relocated copy of this entry's central directory file header.
+         */
+        protected byte[] relocate(long offset) {
+            byte[] header = this.header.clone();
+            ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).putInt(LOCAL_FILE_HEADER_OFFSET_POSITION, (int) offset);
+            return header;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Entry entry = (Entry) other;
+            return name.equals(entry.name) && Arrays.equals(header, entry.header);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(header);
+        }
+
+        @Override
+        public String toString() {
+            return "JarInjector.Entry{" +
+                    "name='" + name + '\'' +
+                    ", header=" + Arrays.toString(header) +
+                    '}';
+        }
+    }
+}
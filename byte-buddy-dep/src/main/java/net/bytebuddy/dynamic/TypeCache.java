@@ -0,0 +1,246 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.utility.WeakIdentityKey;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A cache for dynamically created types that maps a user defined key and a class loader to a type which is typically
+ * created by this class loader or by a child of this class loader. This cache allows to avoid the creation of
+ * identical types such as proxies for the same class. A key must implement {@link Object#hashCode()} and
+ * {@link Object#equals(Object)} in a way that identifies the configuration of the created type. Class loaders are
+ * only referenced weakly such that they can be garbage collected together with any type they define. Types are
+ * referenced weakly or softly depending on the cache's {@link net.bytebuddy.dynamic.TypeCache.Sort}. Entries of
+ * class loaders that were garbage collected are removed when the cache is accessed.
+ * </p>
+ * <p>
+ * <b>Important</b>: A key must not reference the cached type or its class loader strongly as this would prevent
+ * the class loader from being garbage collected.
+ * </p>
+ *
+ * @param <T> The type of the user defined keys of this cache.
+ */
+public class TypeCache<T> {
+
+    /**
+     * Indicates that a type was not found in the cache.
+     */
+    private static final Class<?> NOT_FOUND = null;
+
+    /**
+     * The reference sort of the cached types.
+     */
+    private final Sort sort;
+
+    /**
+     * The reference queue that is notified about class loaders that were garbage collected.
+     */
+    private final ReferenceQueue<ClassLoader> referenceQueue;
+
+    /**
+     * A map of class loader keys to the types that are cached for these class loaders.
+     */
+    private final ConcurrentMap<Object, ConcurrentMap<T, Reference<Class<?>>>> cache;
+
+    /**
+     * The types that are cached for the bootstrap class loader.
+     */
+    private final ConcurrentMap<T, Reference<Class<?>>> bootstrapTypes;
+
+    /**
+     * Creates a new type cache.
+     *
+     * @param sort The reference sort of the cached types.
+     */
+    public TypeCache(Sort sort) {
+        this.sort = sort;
+        referenceQueue = new ReferenceQueue<ClassLoader>();
+        cache = new ConcurrentHashMap<Object, ConcurrentMap<T, Reference<Class<?>>>>();
+        bootstrapTypes = new ConcurrentHashMap<T, Reference<Class<?>>>();
+    }
+
+    /**
+     * Finds a cached type.
+     *
+     * @param classLoader The class loader for which the type was cached or {@code null} for the bootstrap
+     *                    class loader.
+     * @param key         The key of the cached type.
+     * @return The cached type or {@code null} if no such type is cached.
+     */
+    public Class<?> find(ClassLoader classLoader, T key) {
+        expungeStaleEntries();
+        ConcurrentMap<T, Reference<Class<?>>> types = classLoader == null
+                ? bootstrapTypes
+                : cache.get(new WeakIdentityKey.Lookup<ClassLoader>(classLoader));
+        if (types == null) {
+            return NOT_FOUND;
+        }
+        Reference<Class<?>> reference = types.get(key);
+        return reference == null
+                ? NOT_FOUND
+                : reference.get();
+    }
+
+    /**
+     * Inserts a type into the cache if no such type is cached yet.
+     *
+     * @param classLoader The class loader for which the type is cached or {@code null} for the bootstrap
+     *                    class loader.
+     * @param key         The key of the cached type.
+     * @param type        The type to cache.
+     * @return The type that is cached after this insertion which is either the given type or a type that was
+     * cached before.
+     */
+    public Class<?> insert(ClassLoader classLoader, T key, Class<?> type) {
+        expungeStaleEntries();
+        ConcurrentMap<T, Reference<Class<?>>> types = typesOf(classLoader);
+        Reference<Class<?>> reference = sort.wrap(type);
+        while (true) {
+            Reference<Class<?>> previous = types.putIfAbsent(key, reference);
+            if (previous == null) {
+                return type;
+            }
+            Class<?> previousType = previous.get();
+            if (previousType != null) {
+                return previousType;
+            } else if (types.replace(key, previous, reference)) {
+                return type;
+            }
+        }
+    }
+
+    /**
+     * Finds a cached type or creates and inserts a type if no such type is cached. If this method is called
+     * concurrently, the given callable might be invoked several times but only one created type is cached and
+     * returned to any caller.
+     *
+     * @param classLoader The class loader for which the type is cached or {@code null} for the bootstrap
+     *                    class loader.
+     * @param key         The key of the cached type.
+     * @param lazy        A callable that creates the type if it is not yet cached.
+     * @return The cached type.
+     */
+    public Class<?> findOrInsert(ClassLoader classLoader, T key, Callable<Class<?>> lazy) {
+        Class<?> type = find(classLoader, key);
+        if (type != null) {
+            return type;
+        }
+        try {
+            return insert(classLoader, key, lazy.call());
+        } catch (Exception exception) {
+            throw new IllegalArgumentException("Could not create type for " + key, exception);
+        }
+    }
+
+    /**
+     * Finds a cached type or creates and inserts a type if no such type is cached. The type is only created while
+     * holding the given monitor such that the given callable is invoked at most once for any class loader and key
+     * pair for as long as the created type is cached if all callers use the same monitor.
+     *
+     * @param classLoader The class loader for which the type is cached or {@code null} for the bootstrap
+     *                    class loader.
+     * @param key         The key of the cached type.
+     * @param lazy        A callable that creates the type if it is not yet cached.
+     * @param monitor     The monitor to hold while creating the type.
+     * @return The cached type.
+     */
+    public Class<?> findOrInsert(ClassLoader classLoader, T key, Callable<Class<?>> lazy, Object monitor) {
+        Class<?> type = find(classLoader, key);
+        if (type != null) {
+            return type;
+        }
+        synchronized (monitor) {
+            return findOrInsert(classLoader, key, lazy);
+        }
+    }
+
+    /**
+     * Removes all types of class loaders that were garbage collected from this cache.
+     */
+    public void expungeStaleEntries() {
+        WeakIdentityKey.expungeStaleEntries(referenceQueue, cache);
+    }
+
+    /**
+     * Removes all types from this cache.
+     */
+    public void clear() {
+        cache.clear();
+        bootstrapTypes.clear();
+    }
+
+    /**
+     * Returns the types that are cached for the given class loader and registers such types if they do not yet exist.
+     *
+     * @param classLoader The class loader for which the types are cached or {@code null} for the bootstrap
+     *                    class loader.
+     * @return The types that are cached for the given class loader.
+     */
+    private ConcurrentMap<T, Reference<Class<?>>> typesOf(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return bootstrapTypes;
+        }
+        ConcurrentMap<T, Reference<Class<?>>> types = cache.get(new WeakIdentityKey.Lookup<ClassLoader>(classLoader));
+        if (types == null) {
+            types = new ConcurrentHashMap<T, Reference<Class<?>>>();
+            ConcurrentMap<T, Reference<Class<?>>> previous = cache.putIfAbsent(new WeakIdentityKey<ClassLoader>(classLoader, referenceQueue), types);
+            if (previous != null) {
+                types = previous;
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeCache{" +
+                "sort=" + sort +
+                ", referenceQueue=" + referenceQueue +
+                ", cache=" + cache +
+                ", bootstrapTypes=" + bootstrapTypes +
+                '}';
+    }
+
+    /**
+     * Determines how a type cache references its cached types.
+     */
+    public static enum Sort {
+
+        /**
+         * Creates a cache where cached types are referenced weakly such that a type is removed from the cache
+         * as soon as it is not referenced elsewhere.
+         */
+        WEAK {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new WeakReference<Class<?>>(type);
+            }
+        },
+
+        /**
+         * Creates a cache where cached types are referenced softly such that a type is only removed from the cache
+         * if it is not referenced elsewhere and if the virtual machine requires memory.
+         */
+        SOFT {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new SoftReference<Class<?>>(type);
+            }
+        };
+
+        /**
+         * Wraps a type in a reference of this sort.
+         *
+         * @param type The type to wrap.
+         * @return A reference of this sort to the given type.
+         */
+        protected abstract Reference<Class<?>> wrap(Class<?> type);
+    }
+}
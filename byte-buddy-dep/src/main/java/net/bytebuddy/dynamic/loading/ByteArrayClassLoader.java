@@ -5,24 +5,63 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.security.*;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link java.lang.ClassLoader} that is capable of loading explicitly defined classes. The class loader will free
  * any binary resources once a class that is defined by its binary data is loaded. This class loader is thread safe since
- * the class loading mechanics are only called from synchronized context.
+ * the loading of a class is synchronized on a lock that is specific to the name of the loaded class. On Java 7 and
+ * later, this class loader is registered as being parallel capable such that different classes can be loaded by
+ * different threads at the same time.
  */
 public class ByteArrayClassLoader extends ClassLoader {
 
     /**
-     * A mutable map of type names mapped to their binary representation.
+     * The name of the method for registering a class loader as being parallel capable.
+     */
+    private static final String REGISTER_AS_PARALLEL_CAPABLE = "registerAsParallelCapable";
+
+    /**
+     * Base for access to a reflective member to make the code more readable.
+     */
+    private static final Object STATIC_METHOD = null;
+
+    /**
+     * The method for registering a class loader as being parallel capable or {@code null} if the current VM does not
+     * support parallel capable class loaders.
+     */
+    private static final Method REGISTER_AS_PARALLEL_CAPABLE_METHOD = findRegisterAsParallelCapableMethod();
+
+    /**
+     * Registers this class loader as parallel capable if this is supported by the current VM.
+     */
+    static {
+        if (REGISTER_AS_PARALLEL_CAPABLE_METHOD != null) {
+            try {
+                REGISTER_AS_PARALLEL_CAPABLE_METHOD.invoke(STATIC_METHOD);
+            } catch (Exception ignored) {
+                // The registration is an optimization that is not required for this class loader to function.
+            }
+        }
+    }
+
+    /**
+     * A mutable, thread-safe map of type names mapped to their binary representation.
      */
     protected final Map<String, byte[]> typeDefinitions;
 
+    /**
+     * A map of type names mapped to the lock that is held while loading the type of this name.
+     */
+    protected final ConcurrentMap<String, Object> classLoadingLocks;
+
     /**
      * The persistence handler of this class loader.
      */
@@ -52,7 +91,8 @@ public class ByteArrayClassLoader extends ClassLoader {
                                 ProtectionDomain protectionDomain,
                                 PersistenceHandler persistenceHandler) {
         super(parent);
-        this.typeDefinitions = new HashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions);
+        classLoadingLocks = new ConcurrentHashMap<String, Object>();
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         accessControlContext = AccessController.getContext();
@@ -84,6 +124,24 @@ public class ByteArrayClassLoader extends ClassLoader {
                 : new ByteArrayClassLoader(parent, rawTypeDefinitions, protectionDomain, persistenceHandler);
     }
 
+    /**
+     * Locates the method for registering a class loader as being parallel capable. The located method must be
+     * invoked from within the static initializer of any class loader that is to be registered as the registration
+     * applies to the class that invokes the method. For this reason, this method does not invoke the located method.
+     *
+     * @return The method for registering a class loader as being parallel capable or {@code null} if the current
+     * VM does not support parallel capable class loaders.
+     */
+    private static Method findRegisterAsParallelCapableMethod() {
+        try {
+            Method method = ClassLoader.class.getDeclaredMethod(REGISTER_AS_PARALLEL_CAPABLE);
+            method.setAccessible(true);
+            return method;
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
     /**
      * Loads a given set of class descriptions and their binary representations.
      *
@@ -113,11 +171,24 @@ public class ByteArrayClassLoader extends ClassLoader {
         return loadedTypes;
     }
 
+    /**
+     * Returns the lock that is held while loading the type of the given name. On Java 7 and later, this method
+     * overrides {@code java.lang.ClassLoader#getClassLoadingLock(String)} such that the class loading mechanics
+     * of the {@link java.lang.ClassLoader} synchronize on this lock instead of on the class loader instance.
+     *
+     * @param name The name of the type that is loaded.
+     * @return The lock that is held while loading the type of the given name.
+     */
+    protected Object getClassLoadingLock(String name) {
+        Object lock = new Object(), previous = classLoadingLocks.putIfAbsent(name, lock);
+        return previous == null ? lock : previous;
+    }
+
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
         try {
-            // This does not need synchronization because this method is only called from within
-            // ClassLoader in a synchronized context.
+            // This does not need further synchronization because this method is only called from within
+            // ClassLoader while holding the lock for the class's name.
             return AccessController.doPrivileged(new ClassLoadingAction(name), accessControlContext);
         } catch (PrivilegedActionException e) {
             throw (ClassNotFoundException) e.getCause();
@@ -142,6 +213,7 @@ public class ByteArrayClassLoader extends ClassLoader {
                 ", persistenceHandler=" + persistenceHandler +
                 ", protectionDomain=" + protectionDomain +
                 ", accessControlContext=" + accessControlContext +
+                ", classLoadingLocks=" + classLoadingLocks +
                 '}';
     }
 
@@ -247,6 +319,20 @@ public class ByteArrayClassLoader extends ClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /**
+         * Registers this class loader as parallel capable if this is supported by the current VM. This registration
+         * must be triggered from within this class as the registration applies to the class that invokes it.
+         */
+        static {
+            if (REGISTER_AS_PARALLEL_CAPABLE_METHOD != null) {
+                try {
+                    REGISTER_AS_PARALLEL_CAPABLE_METHOD.invoke(STATIC_METHOD);
+                } catch (Exception ignored) {
+                    // The registration is an optimization that is not required for this class loader to function.
+                }
+            }
+        }
+
         /**
          * Creates a new child-first byte array class loader.
          *
@@ -264,22 +350,24 @@ public class ByteArrayClassLoader extends ClassLoader {
         }
 
         @Override
-        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-            Class<?> type = findLoadedClass(name);
-            if (type != null) {
-                return type;
-            }
-            try {
-                type = findClass(name);
-                if (resolve) {
-                    resolveClass(type);
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type != null) {
+                    return type;
+                }
+                try {
+                    type = findClass(name);
+                    if (resolve) {
+                        resolveClass(type);
+                    }
+                    return type;
+                } catch (ClassNotFoundException e) {
+                    // If an unknown class is loaded, this implementation causes the findClass method of this instance
+                    // to be triggered twice. This is however of minor importance because this would result in a
+                    // ClassNotFoundException which is rather uncommon.
+                    return super.loadClass(name, resolve);
                 }
-                return type;
-            } catch (ClassNotFoundException e) {
-                // If an unknown class is loaded, this implementation causes the findClass method of this instance
-                // to be triggered twice. This is however of minor importance because this would result in a
-                // ClassNotFoundException which is rather uncommon.
-                return super.loadClass(name, resolve);
             }
         }
 
@@ -309,9 +397,9 @@ public class ByteArrayClassLoader extends ClassLoader {
             if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
                 return false;
             }
+            String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
             // This synchronization is required to avoid a racing condition to the actual class loading.
-            synchronized (this) {
-                String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
+            synchronized (getClassLoadingLock(typeName)) {
                 if (typeDefinitions.containsKey(typeName)) {
                     return true;
                 }
@@ -328,6 +416,7 @@ public class ByteArrayClassLoader extends ClassLoader {
                     ", protectionDomain=" + protectionDomain +
                     ", persistenceHandler=" + persistenceHandler +
                     ", accessControlContext=" + accessControlContext +
+                    ", classLoadingLocks=" + classLoadingLocks +
                     '}';
         }
     }
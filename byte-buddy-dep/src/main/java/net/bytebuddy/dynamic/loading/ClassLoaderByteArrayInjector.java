@@ -17,6 +17,10 @@ import java.util.Map;
  * a problem when classes refer to each other using cyclic references. This injector can further not be applied to the
  * bootstrap class loader which is usually represented by a {@code null} value and can therefore not be accessed by
  * reflection.
+ * <p>&nbsp;</p>
+ * When several types are to be injected at once, {@link ClassLoaderByteArrayInjector#inject(java.util.Map)} should be
+ * preferred over repeated single injections as the class loader's monitor is only acquired once and all types are defined
+ * within a single privileged action.
  */
 public class ClassLoaderByteArrayInjector {
 
@@ -102,9 +106,14 @@ public class ClassLoaderByteArrayInjector {
      */
     public static Map<TypeDescription, Class<?>> inject(ClassLoaderByteArrayInjector classLoaderByteArrayInjector,
                                                         Map<TypeDescription, byte[]> types) {
-        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        Map<String, byte[]> namedTypes = new LinkedHashMap<String, byte[]>(types.size());
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
-            loadedTypes.put(entry.getKey(), classLoaderByteArrayInjector.inject(entry.getKey().getName(), entry.getValue()));
+            namedTypes.put(entry.getKey().getName(), entry.getValue());
+        }
+        Map<String, Class<?>> loadedNamedTypes = classLoaderByteArrayInjector.inject(namedTypes);
+        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        for (TypeDescription typeDescription : types.keySet()) {
+            loadedTypes.put(typeDescription, loadedNamedTypes.get(typeDescription.getName()));
         }
         return loadedTypes;
     }
@@ -119,22 +128,31 @@ public class ClassLoaderByteArrayInjector {
     public Class<?> inject(String name, byte[] binaryRepresentation) {
         try {
             synchronized (classLoader) {
-                Class<?> type = (Class<?>) REFLECTION_STORE.getFindLoadedClassMethod().invoke(classLoader, name);
-                if (type != null) {
-                    return type;
-                } else {
-                    try {
-                        return AccessController.doPrivileged(new ClassLoadingAction(name, binaryRepresentation), accessControlContext);
-                    } catch (PrivilegedActionException e) {
-                        if (e.getCause() instanceof IllegalAccessException) {
-                            throw (IllegalAccessException) e.getCause();
-                        } else if (e.getCause() instanceof InvocationTargetException) {
-                            throw (InvocationTargetException) e.getCause();
-                        } else {
-                            throw (RuntimeException) e.getCause();
-                        }
-                    }
-                }
+                Class<?> type = REFLECTION_STORE.findLoadedClass(classLoader, name);
+                return type == null
+                        ? doPrivileged(new ClassLoadingAction(name, binaryRepresentation))
+                        : type;
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access injection method", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Exception on invoking loader method", e.getCause());
+        }
+    }
+
+    /**
+     * Explicitly loads several {@link java.lang.Class}es by reflective access into the represented class loader. All
+     * types are defined while holding the class loader's monitor only once and within a single privileged action. The
+     * types are defined in the iteration order of the given map such that a type must be contained before any type that
+     * needs to resolve it during its definition. Types that are already loaded by the class loader are not redefined.
+     *
+     * @param types A mapping of fully qualified type names to the types' binary representations.
+     * @return A mapping of the given type names to the loaded classes in the iteration order of the given map.
+     */
+    public Map<String, Class<?>> inject(Map<String, byte[]> types) {
+        try {
+            synchronized (classLoader) {
+                return doPrivileged(new BatchClassLoadingAction(types));
             }
         } catch (IllegalAccessException e) {
             throw new IllegalStateException("Could not access injection method", e);
@@ -143,6 +161,30 @@ public class ClassLoaderByteArrayInjector {
         }
     }
 
+    /**
+     * Executes a privileged action within this injector's access control context and unwraps any checked exception
+     * that is thrown by the action.
+     *
+     * @param action The action to execute.
+     * @param <T>    The type of the action's result.
+     * @return The result of the action.
+     * @throws IllegalAccessException    If the class loader's methods could not be accessed.
+     * @throws InvocationTargetException If the class loader's methods threw an exception.
+     */
+    private <T> T doPrivileged(PrivilegedExceptionAction<T> action) throws IllegalAccessException, InvocationTargetException {
+        try {
+            return AccessController.doPrivileged(action, accessControlContext);
+        } catch (PrivilegedActionException e) {
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw (IllegalAccessException) e.getCause();
+            } else if (e.getCause() instanceof InvocationTargetException) {
+                throw (InvocationTargetException) e.getCause();
+            } else {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "ClassLoaderByteArrayInjector{" +
@@ -157,6 +199,11 @@ public class ClassLoaderByteArrayInjector {
      */
     protected static interface ReflectionStore {
 
+        /**
+         * A convenience variable representing the first index of an array, to make the code more readable.
+         */
+        int FROM_BEGINNING = 0;
+
         /**
          * Returns the method for finding a class on a class loader.
          *
@@ -171,6 +218,33 @@ public class ClassLoaderByteArrayInjector {
          */
         Method getLoadByteArrayMethod();
 
+        /**
+         * Looks up a class that was already loaded by the given class loader.
+         *
+         * @param classLoader The class loader to query.
+         * @param name        The binary name of the class to look up.
+         * @return The loaded class or {@code null} if no such class was loaded by the given class loader.
+         * @throws IllegalAccessException    If the class loader's method could not be accessed.
+         * @throws InvocationTargetException If the class loader's method threw an exception.
+         */
+        Class<?> findLoadedClass(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         * Defines a class by the given class loader.
+         *
+         * @param classLoader          The class loader to define the class by.
+         * @param name                 The binary name of the class to define.
+         * @param binaryRepresentation The class's binary representation.
+         * @param protectionDomain     The protection domain of the class or {@code null} for the default domain.
+         * @return The defined class.
+         * @throws IllegalAccessException    If the class loader's method could not be accessed.
+         * @throws InvocationTargetException If the class loader's method threw an exception.
+         */
+        Class<?> loadByteArray(ClassLoader classLoader,
+                               String name,
+                               byte[] binaryRepresentation,
+                               ProtectionDomain protectionDomain) throws IllegalAccessException, InvocationTargetException;
+
         /**
          * Represents a successfully loaded method lookup.
          */
@@ -207,6 +281,24 @@ public class ClassLoaderByteArrayInjector {
                 return loadByteArrayMethod;
             }
 
+            @Override
+            public Class<?> findLoadedClass(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException {
+                return (Class<?>) findLoadedClassMethod.invoke(classLoader, name);
+            }
+
+            @Override
+            public Class<?> loadByteArray(ClassLoader classLoader,
+                                          String name,
+                                          byte[] binaryRepresentation,
+                                          ProtectionDomain protectionDomain) throws IllegalAccessException, InvocationTargetException {
+                return (Class<?>) loadByteArrayMethod.invoke(classLoader,
+                        name,
+                        binaryRepresentation,
+                        FROM_BEGINNING,
+                        binaryRepresentation.length,
+                        protectionDomain);
+            }
+
             @Override
             public boolean equals(Object other) {
                 if (this == other) return true;
@@ -266,6 +358,16 @@ public class ClassLoaderByteArrayInjector {
                 throw new RuntimeException(MESSAGE, exception);
             }
 
+            @Override
+            public Class<?> findLoadedClass(ClassLoader classLoader, String name) {
+                throw new RuntimeException(MESSAGE, exception);
+            }
+
+            @Override
+            public Class<?> loadByteArray(ClassLoader classLoader, String name, byte[] binaryRepresentation, ProtectionDomain protectionDomain) {
+                throw new RuntimeException(MESSAGE, exception);
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -289,11 +391,6 @@ public class ClassLoaderByteArrayInjector {
      */
     protected class ClassLoadingAction implements PrivilegedExceptionAction<Class<?>> {
 
-        /**
-         * A convenience variable representing the first index of an array, to make the code more readable.
-         */
-        private static final int FROM_BEGINNING = 0;
-
         /**
          * The name of the class that is being loaded.
          */
@@ -317,12 +414,7 @@ public class ClassLoaderByteArrayInjector {
 
         @Override
         public Class<?> run() throws IllegalAccessException, InvocationTargetException {
-            return (Class<?>) REFLECTION_STORE.getLoadByteArrayMethod().invoke(classLoader,
-                    name,
-                    binaryRepresentation,
-                    FROM_BEGINNING,
-                    binaryRepresentation.length,
-                    protectionDomain);
+            return REFLECTION_STORE.loadByteArray(classLoader, name, binaryRepresentation, protectionDomain);
         }
 
         @Override
@@ -361,4 +453,67 @@ public class ClassLoaderByteArrayInjector {
                     '}';
         }
     }
+
+    /**
+     * A privileged action for loading several classes reflectively in the iteration order of a given map.
+     */
+    protected class BatchClassLoadingAction implements PrivilegedExceptionAction<Map<String, Class<?>>> {
+
+        /**
+         * A mapping of the names of the classes that are being loaded to their binary representations.
+         */
+        private final Map<String, byte[]> types;
+
+        /**
+         * Creates a new batch class loading action.
+         *
+         * @param types A mapping of the names of the classes that are being loaded to their binary representations.
+         */
+        protected BatchClassLoadingAction(Map<String, byte[]> types) {
+            this.types = types;
+        }
+
+        @Override
+        public Map<String, Class<?>> run() throws IllegalAccessException, InvocationTargetException {
+            Map<String, Class<?>> loadedTypes = new LinkedHashMap<String, Class<?>>(types.size());
+            for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                Class<?> type = REFLECTION_STORE.findLoadedClass(classLoader, entry.getKey());
+                loadedTypes.put(entry.getKey(), type == null
+                        ? REFLECTION_STORE.loadByteArray(classLoader, entry.getKey(), entry.getValue(), protectionDomain)
+                        : type);
+            }
+            return loadedTypes;
+        }
+
+        /**
+         * Returns the outer instance.
+         *
+         * @return The outer instance.
+         */
+        private ClassLoaderByteArrayInjector getOuter() {
+            return ClassLoaderByteArrayInjector.this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            BatchClassLoadingAction that = (BatchClassLoadingAction) other;
+            return ClassLoaderByteArrayInjector.this.equals(that.getOuter())
+                    && types.equals(that.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * ClassLoaderByteArrayInjector.class.hashCode() + types.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassLoaderByteArrayInjector.BatchClassLoadingAction{" +
+                    "injector=" + ClassLoaderByteArrayInjector.this +
+                    ", types=" + types +
+                    '}';
+        }
+    }
 }
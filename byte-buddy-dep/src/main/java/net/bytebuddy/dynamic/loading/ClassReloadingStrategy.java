@@ -8,9 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.instrument.*;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -26,23 +24,19 @@ import java.util.concurrent.ConcurrentHashMap;
  * adds a method if the original class contains an explicit <i>class initializer</i>. For these reasons, it is not
  * recommended to use this {@link net.bytebuddy.dynamic.ClassLoadingStrategy} with arbitrary classes.
  * </p>
+ * <p>
+ * By default, the original class file of a type is read from its class loader whenever the type is reset. If types
+ * are reset frequently, a {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy.Snapshot} can retain the original
+ * class files of all types that are redefined by this strategy. Furthermore, the redefinition of many types can be
+ * split into several chunks of a given size.
+ * </p>
  */
 public class ClassReloadingStrategy implements ClassLoadingStrategy {
 
     /**
-     * The size of the buffer.
-     */
-    private static final int BUFFER_SIZE = 1024;
-
-    /**
-     * A convenience variable representing the end of a stream to make the code more readable.
+     * A chunk size that indicates that all types are redefined in a single chunk.
      */
-    private static final int END_OF_STREAM = -1;
-
-    /**
-     * A convenience variable representing the first index of an array to make the code more readable.
-     */
-    private static final int FIRST_INDEX = 0;
+    private static final int NO_CHUNKING = Integer.MAX_VALUE;
 
     /**
      * The name of the Byte Buddy agent class.
@@ -59,11 +53,6 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private static final Object STATIC_METHOD = null;
 
-    /**
-     * The class file extension.
-     */
-    private static final String CLASS_FILE_EXTENSION = ".class";
-
     /**
      * This instance's instrumentation.
      */
@@ -74,6 +63,16 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private final Engine engine;
 
+    /**
+     * The snapshot of original class files that is used for resetting types.
+     */
+    private final Snapshot snapshot;
+
+    /**
+     * The maximum number of types that are redefined by a single invocation of the engine.
+     */
+    private final int chunkSize;
+
     /**
      * Creates a class reloading strategy for the given instrumentation. The given instrumentation must either
      * support {@link java.lang.instrument.Instrumentation#isRedefineClassesSupported()} or
@@ -83,14 +82,7 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      * @param instrumentation The instrumentation to be used by this reloading strategy.
      */
     public ClassReloadingStrategy(Instrumentation instrumentation) {
-        this.instrumentation = instrumentation;
-        if (instrumentation.isRedefineClassesSupported()) {
-            engine = Engine.REDEFINITION;
-        } else if (instrumentation.isRetransformClassesSupported()) {
-            engine = Engine.RETRANSFORMATION;
-        } else {
-            throw new IllegalArgumentException("Instrumentation does not support class redefinition: " + instrumentation);
-        }
+        this(instrumentation, resolveEngine(instrumentation));
     }
 
     /**
@@ -101,8 +93,39 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      * @param engine          An engine which performs the actual redefinition of a {@link java.lang.Class}.
      */
     public ClassReloadingStrategy(Instrumentation instrumentation, Engine engine) {
+        this(instrumentation, engine, Snapshot.Disabled.INSTANCE, NO_CHUNKING);
+    }
+
+    /**
+     * Creates a class reloading strategy.
+     *
+     * @param instrumentation The instrumentation to be used by this reloading strategy.
+     * @param engine          An engine which performs the actual redefinition of a {@link java.lang.Class}.
+     * @param snapshot        The snapshot of original class files that is used for resetting types.
+     * @param chunkSize       The maximum number of types that are redefined by a single invocation of the engine.
+     */
+    protected ClassReloadingStrategy(Instrumentation instrumentation, Engine engine, Snapshot snapshot, int chunkSize) {
         this.instrumentation = instrumentation;
         this.engine = engine;
+        this.snapshot = snapshot;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Resolves the engine to use for a given instrumentation where a class redefinition is preferred over a
+     * class retransformation.
+     *
+     * @param instrumentation The instrumentation to be used by a reloading strategy.
+     * @return The engine to use for the given instrumentation.
+     */
+    private static Engine resolveEngine(Instrumentation instrumentation) {
+        if (instrumentation.isRedefineClassesSupported()) {
+            return Engine.REDEFINITION;
+        } else if (instrumentation.isRetransformClassesSupported()) {
+            return Engine.RETRANSFORMATION;
+        } else {
+            throw new IllegalArgumentException("Instrumentation does not support class redefinition: " + instrumentation);
+        }
     }
 
     /**
@@ -131,6 +154,34 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         }
     }
 
+    /**
+     * Returns a version of this class reloading strategy that retains the original class files of up to the given
+     * number of types when these types are redefined for the first time. A reset of such a type does not require to
+     * read its class file. The snapshot references the redefined types weakly.
+     *
+     * @param maximumSize The maximum number of class files to retain.
+     * @return A version of this class reloading strategy that retains the original class files of redefined types.
+     */
+    public ClassReloadingStrategy withSnapshot(int maximumSize) {
+        return new ClassReloadingStrategy(instrumentation, engine, new Snapshot.Bounded(maximumSize), chunkSize);
+    }
+
+    /**
+     * Returns a version of this class reloading strategy that redefines at most the given number of types with a
+     * single invocation of the instrumentation API. <b>Important</b>: A redefinition that is split into several chunks
+     * is no longer atomic. If the redefinition of any chunk fails, the types of all previously applied chunks remain
+     * redefined while the types of the failing and all subsequent chunks keep their previous definition.
+     *
+     * @param chunkSize The maximum number of types to redefine at once.
+     * @return A version of this class reloading strategy that redefines types in chunks of the given size.
+     */
+    public ClassReloadingStrategy withChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        return new ClassReloadingStrategy(instrumentation, engine, snapshot, chunkSize);
+    }
+
     @Override
     public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
         Map<TypeDescription, Class<?>> loadedClasses = new HashMap<TypeDescription, Class<?>>(types.size());
@@ -140,14 +191,17 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             Class<?> type;
             try {
                 type = classLoader.loadClass(entry.getKey().getName());
+                snapshot.register(type);
                 classDefinitions.put(type, new ClassDefinition(type, entry.getValue()));
             } catch (ClassNotFoundException ignored) {
                 type = classLoaderByteArrayInjector.inject(entry.getKey().getName(), entry.getValue());
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read original class file of " + entry.getKey(), e);
             }
             loadedClasses.put(entry.getKey(), type);
         }
         try {
-            engine.apply(instrumentation, classDefinitions);
+            apply(classDefinitions);
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Could not locate classes for redefinition", e);
         } catch (UnmodifiableClassException e) {
@@ -157,45 +211,87 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
     }
 
     /**
-     * Resets all classes to their original definition.
+     * Resets all classes to their original definition. If this strategy redefines types in chunks, resetting the
+     * types is not atomic, as described in {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy#reset(java.util.Collection)}.
      *
      * @param type The types to reset.
      * @return This class reloading strategy.
      */
     public ClassReloadingStrategy reset(Class<?>... type) {
-        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
+        return reset(Arrays.asList(type));
+    }
+
+    /**
+     * Resets all classes to their original definition. If this strategy redefines types in chunks of a size that is
+     * smaller than the number of given types, resetting the types is not atomic. If the reset of a chunk fails, the
+     * types of all previously applied chunks are already reset while the remaining types keep their current definition.
+     *
+     * @param types The types to reset.
+     * @return This class reloading strategy.
+     */
+    public ClassReloadingStrategy reset(Collection<? extends Class<?>> types) {
+        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(types.size());
         try {
-            for (Class<?> aType : type) {
-                InputStream inputStream = aType.getClassLoader().getResourceAsStream(aType.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                try {
-                    classDefinitions.put(aType, new ClassDefinition(aType, new StreamDrainer().drain(inputStream)));
-                } finally {
-                    inputStream.close();
-                }
+            for (Class<?> type : types) {
+                classDefinitions.put(type, new ClassDefinition(type, snapshot.resolve(type)));
             }
         } catch (IOException e) {
-            throw new IllegalStateException("Exception while resetting types " + Arrays.toString(type), e);
+            throw new IllegalStateException("Exception while resetting types " + types, e);
         }
         try {
-            engine.apply(instrumentation, classDefinitions);
+            apply(classDefinitions);
         } catch (ClassNotFoundException e) {
-            throw new IllegalArgumentException("Cannot locate types " + Arrays.toString(type), e);
+            throw new IllegalArgumentException("Cannot locate types " + types, e);
         } catch (UnmodifiableClassException e) {
-            throw new IllegalStateException("Cannot reset types " + Arrays.toString(type), e);
+            throw new IllegalStateException("Cannot reset types " + types, e);
         }
         return this;
     }
 
+    /**
+     * Applies this strategy's engine for the given class definitions where the definitions are split into chunks
+     * of this strategy's chunk size.
+     *
+     * @param classDefinitions A mapping of the classes to be redefined to their redefinition.
+     * @throws UnmodifiableClassException If a class is not modifiable.
+     * @throws ClassNotFoundException     If a class was not found.
+     */
+    private void apply(Map<Class<?>, ClassDefinition> classDefinitions) throws UnmodifiableClassException, ClassNotFoundException {
+        if (classDefinitions.size() <= chunkSize) {
+            engine.apply(instrumentation, classDefinitions);
+        } else {
+            Map<Class<?>, ClassDefinition> chunk = new ConcurrentHashMap<Class<?>, ClassDefinition>(chunkSize);
+            for (Map.Entry<Class<?>, ClassDefinition> entry : classDefinitions.entrySet()) {
+                chunk.put(entry.getKey(), entry.getValue());
+                if (chunk.size() == chunkSize) {
+                    engine.apply(instrumentation, chunk);
+                    chunk = new ConcurrentHashMap<Class<?>, ClassDefinition>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                engine.apply(instrumentation, chunk);
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
-        return this == other || !(other == null || getClass() != other.getClass())
-                && engine == ((ClassReloadingStrategy) other).engine
-                && instrumentation.equals(((ClassReloadingStrategy) other).instrumentation);
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        ClassReloadingStrategy that = (ClassReloadingStrategy) other;
+        return chunkSize == that.chunkSize
+                && engine == that.engine
+                && instrumentation.equals(that.instrumentation)
+                && snapshot.equals(that.snapshot);
     }
 
     @Override
     public int hashCode() {
-        return 31 * instrumentation.hashCode() + engine.hashCode();
+        int result = instrumentation.hashCode();
+        result = 31 * result + engine.hashCode();
+        result = 31 * result + snapshot.hashCode();
+        result = 31 * result + chunkSize;
+        return result;
     }
 
     @Override
@@ -203,9 +299,158 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         return "ClassReloadingStrategy{" +
                 "instrumentation=" + instrumentation +
                 ", engine=" + engine +
+                ", snapshot=" + snapshot +
+                ", chunkSize=" + chunkSize +
                 '}';
     }
 
+    /**
+     * A snapshot of the original class files of types that are redefined by a class reloading strategy. The
+     * original class files are used for resetting the redefined types.
+     */
+    public static interface Snapshot {
+
+        /**
+         * Registers a type that is about to be redefined.
+         *
+         * @param type The type that is about to be redefined.
+         * @throws IOException If an IO exception occurs while reading the type's class file.
+         */
+        void register(Class<?> type) throws IOException;
+
+        /**
+         * Resolves the original class file of a type.
+         *
+         * @param type The type for which the original class file is resolved.
+         * @return The original class file of the given type.
+         * @throws IOException If an IO exception occurs while reading the type's class file or if it cannot be located.
+         */
+        byte[] resolve(Class<?> type) throws IOException;
+
+        /**
+         * A disabled snapshot that reads a type's original class file from its class loader on each resolution.
+         */
+        static enum Disabled implements Snapshot {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * The class file extension.
+             */
+            private static final String CLASS_FILE_EXTENSION = ".class";
+
+            /**
+             * Reads the class file of a type from its class loader.
+             *
+             * @param type The type for which the class file is read.
+             * @return The class file of the type or {@code null} if the class file cannot be located.
+             * @throws IOException If an IO exception occurs while reading the class file.
+             */
+            protected static byte[] locate(Class<?> type) throws IOException {
+                ClassLoader classLoader = type.getClassLoader();
+                String name = type.getName().replace('.', '/') + CLASS_FILE_EXTENSION;
+                InputStream inputStream = classLoader == null
+                        ? ClassLoader.getSystemResourceAsStream(name)
+                        : classLoader.getResourceAsStream(name);
+                if (inputStream == null) {
+                    return null;
+                }
+                try {
+                    return new StreamDrainer().drain(inputStream);
+                } finally {
+                    inputStream.close();
+                }
+            }
+
+            @Override
+            public void register(Class<?> type) {
+                /* do nothing */
+            }
+
+            @Override
+            public byte[] resolve(Class<?> type) throws IOException {
+                byte[] binaryRepresentation = locate(type);
+                if (binaryRepresentation == null) {
+                    throw new IOException("Cannot locate class file of " + type);
+                }
+                return binaryRepresentation;
+            }
+        }
+
+        /**
+         * A snapshot that retains the original class files of up to a maximum number of types. The types are
+         * referenced weakly such that they can be garbage collected together with their class loader. A type's class
+         * file is only read when the type is registered for the first time. Once the maximum number of class files
+         * is retained, the class files of further types are read from their class loaders on each resolution.
+         */
+        static class Bounded implements Snapshot {
+
+            /**
+             * The maximum number of class files to retain.
+             */
+            private final int maximumSize;
+
+            /**
+             * A mapping of weakly referenced types to their original class files.
+             */
+            private final Map<Class<?>, byte[]> classFiles;
+
+            /**
+             * Creates a new bounded snapshot.
+             *
+             * @param maximumSize The maximum number of class files to retain.
+             */
+            public Bounded(int maximumSize) {
+                if (maximumSize < 1) {
+                    throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                }
+                this.maximumSize = maximumSize;
+                classFiles = new WeakHashMap<Class<?>, byte[]>();
+            }
+
+            @Override
+            public void register(Class<?> type) throws IOException {
+                synchronized (classFiles) {
+                    if (classFiles.containsKey(type) || classFiles.size() >= maximumSize) {
+                        return;
+                    }
+                }
+                byte[] binaryRepresentation = Disabled.locate(type);
+                if (binaryRepresentation != null) {
+                    synchronized (classFiles) {
+                        if (!classFiles.containsKey(type) && classFiles.size() < maximumSize) {
+                            classFiles.put(type, binaryRepresentation);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public byte[] resolve(Class<?> type) throws IOException {
+                byte[] binaryRepresentation;
+                synchronized (classFiles) {
+                    binaryRepresentation = classFiles.get(type);
+                }
+                return binaryRepresentation == null
+                        ? Disabled.INSTANCE.resolve(type)
+                        : binaryRepresentation;
+            }
+
+            @Override
+            public String toString() {
+                synchronized (classFiles) {
+                    return "ClassReloadingStrategy.Snapshot.Bounded{" +
+                            "maximumSize=" + maximumSize +
+                            ", classFiles=" + classFiles.keySet() +
+                            '}';
+                }
+            }
+        }
+    }
+
     /**
      * An engine which performs the actual redefinition of a {@link java.lang.Class}.
      */
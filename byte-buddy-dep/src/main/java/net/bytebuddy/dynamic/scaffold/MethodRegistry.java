@@ -9,7 +9,11 @@ import net.bytebuddy.instrumentation.method.MethodLookupEngine;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.CompiledMatcher;
+import net.bytebuddy.matcher.DescriptorMatcher;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.NameMatcher;
+import net.bytebuddy.matcher.StringMatcher;
 
 import java.util.*;
 
@@ -367,7 +371,7 @@ public interface MethodRegistry {
                         loadedTypeInitializer,
                         typeInitializer,
                         finding.getInvokableMethods(),
-                        new ArrayList<Compiled.Entry>(compiledEntries),
+                        Compiled.EntryIndex.of(new ArrayList<Compiled.Entry>(compiledEntries)),
                         fallback.compile(instrumentationTarget));
             }
 
@@ -431,9 +435,9 @@ public interface MethodRegistry {
             private final MethodList invokableMethods;
 
             /**
-             * The list of all compiled entries of this compiled method registry.
+             * An index of all compiled entries of this compiled method registry.
              */
-            private final List<Entry> entries;
+            private final EntryIndex entryIndex;
 
             /**
              * The fallback entry to apply for any method that is not matched by any of the registered compiled entries.
@@ -447,7 +451,7 @@ public interface MethodRegistry {
              * @param loadedTypeInitializer The loaded type initializer.
              * @param typeInitializer       The type initializer.
              * @param invokableMethods      A list of all methods that can be invoked on the instrumented type.
-             * @param entries               The list of all compiled entries of this compiled method registry.
+             * @param entryIndex            An index of all compiled entries of this compiled method registry.
              * @param fallback              The fallback entry to apply for any method that is not matched by any of
              *                              the registered compiled entries.
              */
@@ -455,13 +459,13 @@ public interface MethodRegistry {
                                LoadedTypeInitializer loadedTypeInitializer,
                                InstrumentedType.TypeInitializer typeInitializer,
                                MethodList invokableMethods,
-                               List<Entry> entries,
+                               EntryIndex entryIndex,
                                MethodRegistry.Compiled.Entry fallback) {
                 this.instrumentedType = instrumentedType;
                 this.loadedTypeInitializer = loadedTypeInitializer;
                 this.typeInitializer = typeInitializer;
                 this.invokableMethods = invokableMethods;
-                this.entries = entries;
+                this.entryIndex = entryIndex;
                 this.fallback = fallback;
             }
 
@@ -487,12 +491,10 @@ public interface MethodRegistry {
 
             @Override
             public MethodRegistry.Compiled.Entry target(MethodDescription methodDescription) {
-                for (Entry entry : entries) {
-                    if (entry.matches(methodDescription)) {
-                        return entry;
-                    }
-                }
-                return fallback;
+                Entry entry = entryIndex.target(methodDescription);
+                return entry == null
+                        ? fallback
+                        : entry;
             }
 
             @Override
@@ -500,7 +502,7 @@ public interface MethodRegistry {
                 if (this == other) return true;
                 if (other == null || getClass() != other.getClass()) return false;
                 Compiled compiled = (Compiled) other;
-                return entries.equals(compiled.entries)
+                return entryIndex.equals(compiled.entryIndex)
                         && fallback.equals(compiled.fallback)
                         && instrumentedType.equals(compiled.instrumentedType)
                         && invokableMethods.equals(compiled.invokableMethods)
@@ -514,7 +516,7 @@ public interface MethodRegistry {
                 result = 31 * result + loadedTypeInitializer.hashCode();
                 result = 31 * result + typeInitializer.hashCode();
                 result = 31 * result + invokableMethods.hashCode();
-                result = 31 * result + entries.hashCode();
+                result = 31 * result + entryIndex.hashCode();
                 result = 31 * result + fallback.hashCode();
                 return result;
             }
@@ -526,11 +528,428 @@ public interface MethodRegistry {
                         ", loadedTypeInitializer=" + loadedTypeInitializer +
                         ", typeInitializer=" + typeInitializer +
                         ", invokableMethods=" + invokableMethods +
-                        ", entries=" + entries +
+                        ", entryIndex=" + entryIndex +
                         ", fallback=" + fallback +
                         '}';
             }
 
+            /**
+             * An index of the entries of a compiled default method registry. Entries with a matcher that only matches
+             * methods of given names are indexed by these names such that only entries that can possibly match a
+             * method are consulted when looking up a method's entry. Any entry is consulted in the order of the
+             * compiled entries such that the first matching entry is always returned as the target of a method.
+             */
+            protected static class EntryIndex {
+
+                /**
+                 * Indicates that no entry matches a method.
+                 */
+                private static final Entry NO_ENTRY = null;
+
+                /**
+                 * The compiled entries in their application order.
+                 */
+                private final List<Entry> entries;
+
+                /**
+                 * A mapping of method names to the candidates that can match a method of this name in their
+                 * application order. This includes any candidate that does not constrain a method's name.
+                 */
+                private final Map<String, List<Candidate>> namedCandidates;
+
+                /**
+                 * All candidates that do not constrain a method's name in their application order.
+                 */
+                private final List<Candidate> unnamedCandidates;
+
+                /**
+                 * Creates a new entry index.
+                 *
+                 * @param entries           The compiled entries in their application order.
+                 * @param namedCandidates   A mapping of method names to the candidates that can match a method of this
+                 *                          name in their application order.
+                 * @param unnamedCandidates All candidates that do not constrain a method's name in their
+                 *                          application order.
+                 */
+                protected EntryIndex(List<Entry> entries,
+                                     Map<String, List<Candidate>> namedCandidates,
+                                     List<Candidate> unnamedCandidates) {
+                    this.entries = entries;
+                    this.namedCandidates = namedCandidates;
+                    this.unnamedCandidates = unnamedCandidates;
+                }
+
+                /**
+                 * Creates an index of the given compiled entries.
+                 *
+                 * @param entries The compiled entries in their application order.
+                 * @return An index of the given entries.
+                 */
+                protected static EntryIndex of(List<Entry> entries) {
+                    List<Candidate> candidates = new ArrayList<Candidate>(entries.size());
+                    Set<String> names = new HashSet<String>();
+                    for (Entry entry : entries) {
+                        Constraint constraint = Constraint.of(entry.getMethodMatcher());
+                        candidates.add(new Candidate(entry, constraint.getNames(), constraint.getDescriptors()));
+                        if (constraint.getNames() != null) {
+                            names.addAll(constraint.getNames());
+                        }
+                    }
+                    Map<String, List<Candidate>> namedCandidates = new HashMap<String, List<Candidate>>(names.size());
+                    for (String name : names) {
+                        List<Candidate> nameCandidates = new ArrayList<Candidate>();
+                        for (Candidate candidate : candidates) {
+                            if (candidate.isNamed(name)) {
+                                nameCandidates.add(candidate);
+                            }
+                        }
+                        namedCandidates.put(name, nameCandidates);
+                    }
+                    List<Candidate> unnamedCandidates = new ArrayList<Candidate>();
+                    for (Candidate candidate : candidates) {
+                        if (candidate.isUnnamed()) {
+                            unnamedCandidates.add(candidate);
+                        }
+                    }
+                    return new EntryIndex(entries, namedCandidates, unnamedCandidates);
+                }
+
+                /**
+                 * Returns the first entry that matches the given method.
+                 *
+                 * @param methodDescription The method for which an entry is looked up.
+                 * @return The first entry that matches the given method or {@code null} if no entry matches the method.
+                 */
+                protected Entry target(MethodDescription methodDescription) {
+                    List<Candidate> candidates = namedCandidates.get(methodDescription.getSourceCodeName());
+                    String descriptor = null;
+                    for (Candidate candidate : candidates == null ? unnamedCandidates : candidates) {
+                        if (candidate.getDescriptors() != null) {
+                            if (descriptor == null) {
+                                descriptor = methodDescription.getDescriptor();
+                            }
+                            if (!candidate.getDescriptors().contains(descriptor)) {
+                                continue;
+                            }
+                        }
+                        if (candidate.getEntry().matches(methodDescription)) {
+                            return candidate.getEntry();
+                        }
+                    }
+                    return NO_ENTRY;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    EntryIndex entryIndex = (EntryIndex) other;
+                    return entries.equals(entryIndex.entries)
+                            && namedCandidates.equals(entryIndex.namedCandidates)
+                            && unnamedCandidates.equals(entryIndex.unnamedCandidates);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = entries.hashCode();
+                    result = 31 * result + namedCandidates.hashCode();
+                    return 31 * result + unnamedCandidates.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodRegistry.Default.Compiled.EntryIndex{" +
+                            "entries=" + entries +
+                            ", namedCandidates=" + namedCandidates +
+                            ", unnamedCandidates=" + unnamedCandidates +
+                            '}';
+                }
+
+                /**
+                 * A constraint on the names and descriptors of the methods that an element matcher can possibly
+                 * match. A constraint might match more methods than the represented matcher but never less.
+                 */
+                protected static class Constraint {
+
+                    /**
+                     * The names of the methods that can be matched or {@code null} if the names are not constrained.
+                     */
+                    private final Set<String> names;
+
+                    /**
+                     * The descriptors of the methods that can be matched or {@code null} if the descriptors are not
+                     * constrained.
+                     */
+                    private final Set<String> descriptors;
+
+                    /**
+                     * Creates a new constraint.
+                     *
+                     * @param names       The names of the methods that can be matched or {@code null} if the names are
+                     *                    not constrained.
+                     * @param descriptors The descriptors of the methods that can be matched or {@code null} if the
+                     *                    descriptors are not constrained.
+                     */
+                    protected Constraint(Set<String> names, Set<String> descriptors) {
+                        this.names = names;
+                        this.descriptors = descriptors;
+                    }
+
+                    /**
+                     * Resolves the constraint of an element matcher. Only exact name and descriptor matchers, the
+                     * name set matchers of compiled matchers and conjunctions and disjunctions of such matchers are
+                     * considered, including compiled junctions. Any other matcher is considered unconstrained.
+                     *
+                     * @param matcher The matcher for which a constraint is resolved.
+                     * @return The constraint of the given matcher.
+                     */
+                    protected static Constraint of(ElementMatcher<?> matcher) {
+                        if (matcher instanceof NameMatcher) {
+                            return new Constraint(exactValueOf(((NameMatcher<?>) matcher).getNameMatcher()), null);
+                        } else if (matcher instanceof DescriptorMatcher) {
+                            return new Constraint(null, exactValueOf(((DescriptorMatcher<?>) matcher).getDescriptorMatcher()));
+                        } else if (matcher instanceof CompiledMatcher.ForNames) {
+                            return new Constraint(new HashSet<String>(((CompiledMatcher.ForNames<?>) matcher).getNames()), null);
+                        } else if (matcher instanceof CompiledMatcher) {
+                            CompiledMatcher<?> compiledMatcher = (CompiledMatcher<?>) matcher;
+                            Constraint constraint = null;
+                            for (ElementMatcher<?> operand : compiledMatcher.getMatchers()) {
+                                Constraint operandConstraint = of(operand);
+                                if (constraint == null) {
+                                    constraint = operandConstraint;
+                                } else if (compiledMatcher.getSort() == CompiledMatcher.Sort.CONJUNCTION) {
+                                    constraint = constraint.and(operandConstraint);
+                                } else {
+                                    constraint = constraint.or(operandConstraint);
+                                }
+                            }
+                            return constraint == null
+                                    ? new Constraint(null, null)
+                                    : constraint;
+                        } else if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+                            ElementMatcher.Junction.Conjunction<?> conjunction = (ElementMatcher.Junction.Conjunction<?>) matcher;
+                            return of(conjunction.getLeft()).and(of(conjunction.getRight()));
+                        } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+                            ElementMatcher.Junction.Disjunction<?> disjunction = (ElementMatcher.Junction.Disjunction<?>) matcher;
+                            return of(disjunction.getLeft()).or(of(disjunction.getRight()));
+                        } else {
+                            return new Constraint(null, null);
+                        }
+                    }
+
+                    /**
+                     * Resolves the value that is matched by a string matcher if it only matches a single value.
+                     *
+                     * @param matcher The string matcher to resolve.
+                     * @return A set containing the only value that is matched or {@code null} if the matcher can match
+                     * several values.
+                     */
+                    private static Set<String> exactValueOf(ElementMatcher<String> matcher) {
+                        String value = StringMatcher.exactValueOf(matcher);
+                        return value == null
+                                ? null
+                                : Collections.singleton(value);
+                    }
+
+                    /**
+                     * Intersects two constrained values where {@code null} represents an unconstrained value.
+                     *
+                     * @param left  The left value.
+                     * @param right The right value.
+                     * @return The intersection of both values.
+                     */
+                    private static Set<String> intersect(Set<String> left, Set<String> right) {
+                        if (left == null) {
+                            return right;
+                        } else if (right == null) {
+                            return left;
+                        }
+                        Set<String> intersection = new HashSet<String>(left);
+                        intersection.retainAll(right);
+                        return intersection;
+                    }
+
+                    /**
+                     * Unites two constrained values where {@code null} represents an unconstrained value.
+                     *
+                     * @param left  The left value.
+                     * @param right The right value.
+                     * @return The union of both values.
+                     */
+                    private static Set<String> unite(Set<String> left, Set<String> right) {
+                        if (left == null || right == null) {
+                            return null;
+                        }
+                        Set<String> union = new HashSet<String>(left);
+                        union.addAll(right);
+                        return union;
+                    }
+
+                    /**
+                     * Creates a constraint that represents a conjunction of this constraint and the given constraint.
+                     *
+                     * @param other The other constraint.
+                     * @return A constraint that represents both constraints.
+                     */
+                    protected Constraint and(Constraint other) {
+                        return new Constraint(intersect(names, other.names), intersect(descriptors, other.descriptors));
+                    }
+
+                    /**
+                     * Creates a constraint that represents a disjunction of this constraint and the given constraint.
+                     *
+                     * @param other The other constraint.
+                     * @return A constraint that represents either constraint.
+                     */
+                    protected Constraint or(Constraint other) {
+                        return new Constraint(unite(names, other.names), unite(descriptors, other.descriptors));
+                    }
+
+                    /**
+                     * Returns the names of the methods that can be matched.
+                     *
+                     * @return The names of the methods that can be matched or {@code null} if the names are not
+                     * constrained.
+                     */
+                    protected Set<String> getNames() {
+                        return names;
+                    }
+
+                    /**
+                     * Returns the descriptors of the methods that can be matched.
+                     *
+                     * @return The descriptors of the methods that can be matched or {@code null} if the descriptors
+                     * are not constrained.
+                     */
+                    protected Set<String> getDescriptors() {
+                        return descriptors;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) return true;
+                        if (other == null || getClass() != other.getClass()) return false;
+                        Constraint constraint = (Constraint) other;
+                        return (names == null ? constraint.names == null : names.equals(constraint.names))
+                                && (descriptors == null ? constraint.descriptors == null : descriptors.equals(constraint.descriptors));
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return 31 * (names == null ? 0 : names.hashCode()) + (descriptors == null ? 0 : descriptors.hashCode());
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "MethodRegistry.Default.Compiled.EntryIndex.Constraint{" +
+                                "names=" + names +
+                                ", descriptors=" + descriptors +
+                                '}';
+                    }
+                }
+
+                /**
+                 * A compiled entry together with the names and descriptors of the methods it can possibly match.
+                 */
+                protected static class Candidate {
+
+                    /**
+                     * The represented compiled entry.
+                     */
+                    private final Entry entry;
+
+                    /**
+                     * The names of the methods that can be matched or {@code null} if the names are not constrained.
+                     */
+                    private final Set<String> names;
+
+                    /**
+                     * The descriptors of the methods that can be matched or {@code null} if the descriptors are not
+                     * constrained.
+                     */
+                    private final Set<String> descriptors;
+
+                    /**
+                     * Creates a new candidate.
+                     *
+                     * @param entry       The represented compiled entry.
+                     * @param names       The names of the methods that can be matched or {@code null} if the names
+                     *                    are not constrained.
+                     * @param descriptors The descriptors of the methods that can be matched or {@code null} if the
+                     *                    descriptors are not constrained.
+                     */
+                    protected Candidate(Entry entry, Set<String> names, Set<String> descriptors) {
+                        this.entry = entry;
+                        this.names = names;
+                        this.descriptors = descriptors;
+                    }
+
+                    /**
+                     * Checks if this candidate does not constrain the names of the methods it matches.
+                     *
+                     * @return {@code true} if this candidate can match a method of any name.
+                     */
+                    protected boolean isUnnamed() {
+                        return names == null;
+                    }
+
+                    /**
+                     * Checks if this candidate can match a method of the given name.
+                     *
+                     * @param name The name of a method.
+                     * @return {@code true} if this candidate can match a method of the given name.
+                     */
+                    protected boolean isNamed(String name) {
+                        return names == null || names.contains(name);
+                    }
+
+                    /**
+                     * Returns the represented compiled entry.
+                     *
+                     * @return The represented compiled entry.
+                     */
+                    protected Entry getEntry() {
+                        return entry;
+                    }
+
+                    /**
+                     * Returns the descriptors of the methods that can be matched.
+                     *
+                     * @return The descriptors of the methods that can be matched or {@code null} if the descriptors
+                     * are not constrained.
+                     */
+                    protected Set<String> getDescriptors() {
+                        return descriptors;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) return true;
+                        if (other == null || getClass() != other.getClass()) return false;
+                        Candidate candidate = (Candidate) other;
+                        return entry.equals(candidate.entry)
+                                && (names == null ? candidate.names == null : names.equals(candidate.names))
+                                && (descriptors == null ? candidate.descriptors == null : descriptors.equals(candidate.descriptors));
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        int result = entry.hashCode();
+                        result = 31 * result + (names == null ? 0 : names.hashCode());
+                        return 31 * result + (descriptors == null ? 0 : descriptors.hashCode());
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "MethodRegistry.Default.Compiled.EntryIndex.Candidate{" +
+                                "entry=" + entry +
+                                ", names=" + names +
+                                ", descriptors=" + descriptors +
+                                '}';
+                    }
+                }
+            }
+
             /**
              * An entry of a compiled default method registry.
              */
@@ -560,6 +979,15 @@ public interface MethodRegistry {
                     return methodMatcher.matches(methodDescription);
                 }
 
+                /**
+                 * Returns the method matcher that represents this compiled entry.
+                 *
+                 * @return The method matcher that represents this compiled entry.
+                 */
+                protected ElementMatcher<? super MethodDescription> getMethodMatcher() {
+                    return methodMatcher;
+                }
+
                 @Override
                 public boolean equals(Object other) {
                     return this == other || !(other == null || getClass() != other.getClass())
@@ -501,6 +501,13 @@ public interface Instrumentation {
          */
         FieldDescription cache(StackManipulation fieldValue, TypeDescription fieldType);
 
+        /**
+         * Returns the class file version in which the instrumented type is written.
+         *
+         * @return The class file version of the instrumented type.
+         */
+        ClassFileVersion getClassFileVersion();
+
         /**
          * Represents an extractable view of an {@link net.bytebuddy.instrumentation.Instrumentation.Context} which
          * allows the retrieval of any registered auxiliary type.
@@ -846,6 +853,11 @@ public interface Instrumentation {
                 return fieldCache;
             }
 
+            @Override
+            public ClassFileVersion getClassFileVersion() {
+                return classFileVersion;
+            }
+
             /**
              * Validates that the field cache is still accessible. Once the type initializer of a class is written, no
              * additional field caches can be defined. See
@@ -3,12 +3,15 @@ package net.bytebuddy.instrumentation;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.VoidAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.collection.ArrayFactory;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.LongConstant;
 import net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.NullConstant;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
@@ -18,9 +21,12 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.named;
@@ -38,6 +44,28 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      */
     private static final String PREFIX = "invocationHandler";
 
+    /**
+     * The maximal number of arguments of an intercepted method for which a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} is invoked by an
+     * arity-specific method. Methods with more arguments are delegated to
+     * {@link java.lang.reflect.InvocationHandler#invoke(Object, java.lang.reflect.Method, Object[])}.
+     */
+    private static final int MAXIMAL_POSITIONAL_ARITY = 3;
+
+    /**
+     * The name prefix of the arity-specific methods of a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} that return a
+     * reference value.
+     */
+    private static final String POSITIONAL_INVOKE = "invoke";
+
+    /**
+     * The name prefix of the arity-specific methods of a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} that return an
+     * encoded primitive value.
+     */
+    private static final String POSITIONAL_INVOKE_PRIMITIVE = "invokePrimitive";
+
     /**
      * The name of the field for storing an invocation handler.
      */
@@ -55,17 +83,27 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      */
     protected final boolean cacheMethods;
 
+    /**
+     * Determines if the invocation handler is a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} which is handed any
+     * arguments without creating an array or boxing primitive values.
+     */
+    protected final boolean positional;
+
     /**
      * Creates a new invocation handler for a given field.
      *
      * @param fieldName    The name of the field.
      * @param cacheMethods Determines if the {@link java.lang.reflect.Method} instances that are handed to the
      *                     intercepted methods are cached in {@code static} fields.
+     * @param positional   Determines if the invocation handler is a
+     *                     {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler}.
      * @param assigner     The assigner to apply when defining this instrumentation.
      */
-    protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods, Assigner assigner) {
+    protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods, boolean positional, Assigner assigner) {
         this.fieldName = fieldName;
         this.cacheMethods = cacheMethods;
+        this.positional = positional;
         this.assigner = assigner;
     }
 
@@ -98,7 +136,38 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      * @return An instrumentation that delegates all method interceptions to the given invocation handler.
      */
     public static InvocationHandlerAdapter of(InvocationHandler invocationHandler, String fieldName) {
-        return new ForStaticDelegation(isValidIdentifier(fieldName), false, defaultAssigner(), nonNull(invocationHandler));
+        return new ForStaticDelegation(isValidIdentifier(fieldName), false, false, defaultAssigner(), nonNull(invocationHandler));
+    }
+
+    /**
+     * Creates an instrumentation for any instance of a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} that delegates all
+     * method interceptions to the given instance which will be stored in a {@code static} field. Intercepted methods
+     * do not create an array for their arguments and do not box primitive arguments or return values if they
+     * declare at most three parameters. The {@link java.lang.reflect.Method} instances that are handed to the
+     * invocation handler are always cached in {@code static} fields such that no method is looked up on invocation.
+     *
+     * @param invocationHandler The invocation handler to which all method calls are delegated.
+     * @return An instrumentation that delegates all method interceptions to the given invocation handler.
+     */
+    public static InvocationHandlerAdapter ofPositional(PositionalInvocationHandler invocationHandler) {
+        return ofPositional(invocationHandler, String.format("%s$%d", PREFIX, Math.abs(invocationHandler.hashCode())));
+    }
+
+    /**
+     * Creates an instrumentation for any instance of a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} that delegates all
+     * method interceptions to the given instance which will be stored in a {@code static} field. Intercepted methods
+     * do not create an array for their arguments and do not box primitive arguments or return values if they
+     * declare at most three parameters. The {@link java.lang.reflect.Method} instances that are handed to the
+     * invocation handler are always cached in {@code static} fields such that no method is looked up on invocation.
+     *
+     * @param invocationHandler The invocation handler to which all method calls are delegated.
+     * @param fieldName         The name of the field.
+     * @return An instrumentation that delegates all method interceptions to the given invocation handler.
+     */
+    public static InvocationHandlerAdapter ofPositional(PositionalInvocationHandler invocationHandler, String fieldName) {
+        return new ForStaticDelegation(isValidIdentifier(fieldName), true, true, defaultAssigner(), nonNull(invocationHandler));
     }
 
     /**
@@ -111,7 +180,24 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      * @return An instrumentation that delegates all method interceptions to an instance field of the given name.
      */
     public static InvocationHandlerAdapter toInstanceField(String fieldName) {
-        return new ForInstanceDelegation(isValidIdentifier(fieldName), false, defaultAssigner());
+        return new ForInstanceDelegation(isValidIdentifier(fieldName), false, false, defaultAssigner());
+    }
+
+    /**
+     * Creates an instrumentation for any
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler} that delegates
+     * all method interceptions to a {@code public} instance field with the given name. This field has to be
+     * set before any invocations are intercepted. Otherwise, a {@link java.lang.NullPointerException} will be
+     * thrown. Intercepted methods do not create an array for their arguments and do not box primitive arguments or
+     * return values if they declare at most three parameters. The {@link java.lang.reflect.Method} instances that
+     * are handed to the invocation handler are always cached in {@code static} fields such that no method is looked
+     * up on invocation.
+     *
+     * @param fieldName The name of the field.
+     * @return An instrumentation that delegates all method interceptions to an instance field of the given name.
+     */
+    public static InvocationHandlerAdapter toPositionalInstanceField(String fieldName) {
+        return new ForInstanceDelegation(isValidIdentifier(fieldName), true, true, defaultAssigner());
     }
 
     /**
@@ -134,6 +220,29 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
         return instruction;
     }
 
+    /**
+     * Returns a list of stack manipulations that loads all arguments of an instrumented method in their positional
+     * form where each argument is represented by a reference value and an encoded primitive value.
+     *
+     * @param instrumentedMethod The method that is instrumented.
+     * @return A list of stack manipulation that loads all arguments of an instrumented method in positional form.
+     */
+    private static List<StackManipulation> positionalArgumentValuesOf(MethodDescription instrumentedMethod) {
+        TypeList parameterTypes = instrumentedMethod.getParameterTypes();
+        List<StackManipulation> instruction = new ArrayList<StackManipulation>(parameterTypes.size());
+        int currentIndex = 1;
+        for (TypeDescription parameterType : parameterTypes) {
+            instruction.add(parameterType.isPrimitive()
+                    ? new StackManipulation.Compound(NullConstant.INSTANCE,
+                    MethodVariableAccess.forType(parameterType).loadFromIndex(currentIndex),
+                    PrimitiveEncoding.of(parameterType).encode())
+                    : new StackManipulation.Compound(MethodVariableAccess.forType(parameterType).loadFromIndex(currentIndex),
+                    LongConstant.ZERO));
+            currentIndex += parameterType.getStackSize().getSize();
+        }
+        return instruction;
+    }
+
     /**
      * By default, any {@link java.lang.reflect.Method} instance that is handed over to an
      * {@link java.lang.reflect.InvocationHandler} is created on each invocation of the method.
@@ -166,7 +275,22 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
                                           TypeDescription instrumentedType,
                                           StackManipulation preparingManipulation) {
         TypeDescription objectType = new TypeDescription.ForLoadedType(Object.class);
-        TypeDescription invocationHandlerType = new TypeDescription.ForLoadedType(InvocationHandler.class);
+        TypeDescription returnType = instrumentedMethod.getReturnType();
+        StackManipulation arguments, invocation, returnValue;
+        if (positional && instrumentedMethod.getParameterTypes().size() <= MAXIMAL_POSITIONAL_ARITY) {
+            boolean primitiveReturn = returnType.isPrimitive() && !returnType.represents(void.class);
+            arguments = new StackManipulation.Compound(positionalArgumentValuesOf(instrumentedMethod).toArray(new StackManipulation[instrumentedMethod.getParameterTypes().size()]));
+            invocation = MethodInvocation.invoke(new TypeDescription.ForLoadedType(PositionalInvocationHandler.class).getDeclaredMethods()
+                    .filter(named((primitiveReturn ? POSITIONAL_INVOKE_PRIMITIVE : POSITIONAL_INVOKE)
+                            + instrumentedMethod.getParameterTypes().size())).getOnly());
+            returnValue = primitiveReturn
+                    ? PrimitiveEncoding.of(returnType).decode()
+                    : assigner.assign(objectType, returnType, true);
+        } else {
+            arguments = ArrayFactory.targeting(objectType).withValues(argumentValuesOf(instrumentedMethod));
+            invocation = MethodInvocation.invoke(new TypeDescription.ForLoadedType(InvocationHandler.class).getDeclaredMethods().getOnly());
+            returnValue = assigner.assign(objectType, returnType, true);
+        }
         StackManipulation.Size stackSize = new StackManipulation.Compound(
                 preparingManipulation,
                 FieldAccess.forField(instrumentedType.getDeclaredFields()
@@ -175,10 +299,10 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
                 cacheMethods
                         ? MethodConstant.forMethod(instrumentedMethod).cached()
                         : MethodConstant.forMethod(instrumentedMethod),
-                ArrayFactory.targeting(objectType).withValues(argumentValuesOf(instrumentedMethod)),
-                MethodInvocation.invoke(invocationHandlerType.getDeclaredMethods().getOnly()),
-                assigner.assign(objectType, instrumentedMethod.getReturnType(), true),
-                MethodReturn.returning(instrumentedMethod.getReturnType())
+                arguments,
+                invocation,
+                returnValue,
+                MethodReturn.returning(returnType)
         ).apply(methodVisitor, instrumentationContext);
         return new ByteCodeAppender.Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
     }
@@ -189,6 +313,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
         if (other == null || getClass() != other.getClass()) return false;
         InvocationHandlerAdapter that = (InvocationHandlerAdapter) other;
         return cacheMethods == that.cacheMethods
+                && positional == that.positional
                 && assigner.equals(that.assigner)
                 && fieldName.equals(that.fieldName);
     }
@@ -198,9 +323,414 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
         int result = fieldName.hashCode();
         result = 31 * result + assigner.hashCode();
         result = 31 * result + (cacheMethods ? 1 : 0);
+        result = 31 * result + (positional ? 1 : 0);
         return result;
     }
 
+    /**
+     * Returns the type of the field that stores the invocation handler.
+     *
+     * @return The type of the field that stores the invocation handler.
+     */
+    protected TypeDescription getFieldType() {
+        return new TypeDescription.ForLoadedType(positional
+                ? PositionalInvocationHandler.class
+                : InvocationHandler.class);
+    }
+
+    /**
+     * <p>
+     * An invocation handler that is invoked by an arity-specific method such that intercepted methods do not need to
+     * create an array for their arguments and do not need to box primitive arguments or return values. Any argument
+     * is represented by a reference value and a primitive value where the reference value is {@code null} for a
+     * primitive parameter and the primitive value is {@code 0} for a reference parameter. Primitive values are
+     * encoded as a {@code long} value where {@code boolean} values are represented as {@code 0} or {@code 1},
+     * {@code float} values by {@link Float#floatToRawIntBits(float)} and {@code double} values by
+     * {@link Double#doubleToRawLongBits(double)}. Any other primitive value is widened to a {@code long} value.
+     * </p>
+     * <p>
+     * Methods that return a primitive value are invoked by a {@code invokePrimitive} method whose return value is
+     * decoded accordingly. Any other method is invoked by a {@code invoke} method. Methods with more than three
+     * parameters are invoked by {@link java.lang.reflect.InvocationHandler#invoke(Object, java.lang.reflect.Method, Object[])}.
+     * </p>
+     */
+    public static interface PositionalInvocationHandler extends InvocationHandler {
+
+        /**
+         * Invoked for an intercepted method without parameters that returns a reference value or {@code void}.
+         *
+         * @param proxy  The instance on which the method was invoked.
+         * @param method The intercepted method.
+         * @return The method's return value which is ignored for a {@code void} method.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        Object invoke0(Object proxy, Method method) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method without parameters that returns a primitive value.
+         *
+         * @param proxy  The instance on which the method was invoked.
+         * @param method The intercepted method.
+         * @return The method's encoded primitive return value.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        long invokePrimitive0(Object proxy, Method method) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with one parameter that returns a reference value or {@code void}.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's return value which is ignored for a {@code void} method.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        Object invoke1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with one parameter that returns a primitive value.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's encoded primitive return value.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        long invokePrimitive1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with two parameters that returns a reference value or {@code void}.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @param reference1 The second argument if it is a reference value or {@code null}.
+         * @param primitive1 The second argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's return value which is ignored for a {@code void} method.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        Object invoke2(Object proxy, Method method,
+                       Object reference0, long primitive0,
+                       Object reference1, long primitive1) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with two parameters that returns a primitive value.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @param reference1 The second argument if it is a reference value or {@code null}.
+         * @param primitive1 The second argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's encoded primitive return value.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        long invokePrimitive2(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with three parameters that returns a reference value or {@code void}.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @param reference1 The second argument if it is a reference value or {@code null}.
+         * @param primitive1 The second argument if it is an encoded primitive value or {@code 0}.
+         * @param reference2 The third argument if it is a reference value or {@code null}.
+         * @param primitive2 The third argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's return value which is ignored for a {@code void} method.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        Object invoke3(Object proxy, Method method,
+                       Object reference0, long primitive0,
+                       Object reference1, long primitive1,
+                       Object reference2, long primitive2) throws Throwable;
+
+        /**
+         * Invoked for an intercepted method with three parameters that returns a primitive value.
+         *
+         * @param proxy      The instance on which the method was invoked.
+         * @param method     The intercepted method.
+         * @param reference0 The first argument if it is a reference value or {@code null}.
+         * @param primitive0 The first argument if it is an encoded primitive value or {@code 0}.
+         * @param reference1 The second argument if it is a reference value or {@code null}.
+         * @param primitive1 The second argument if it is an encoded primitive value or {@code 0}.
+         * @param reference2 The third argument if it is a reference value or {@code null}.
+         * @param primitive2 The third argument if it is an encoded primitive value or {@code 0}.
+         * @return The method's encoded primitive return value.
+         * @throws Throwable Any exception that is thrown from the intercepted method.
+         */
+        long invokePrimitive3(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1,
+                              Object reference2, long primitive2) throws Throwable;
+    }
+
+    /**
+     * Encodes primitive values as {@code long} values and decodes such values for a
+     * {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler}.
+     */
+    protected static enum PrimitiveEncoding {
+
+        /**
+         * The encoding of {@code boolean} values.
+         */
+        BOOLEAN(new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+                new Conversion(new StackManipulation.Size(-1, 0), Opcodes.L2I, Opcodes.ICONST_1, Opcodes.IAND)),
+
+        /**
+         * The encoding of {@code byte} values.
+         */
+        BYTE(new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+                new Conversion(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2B)),
+
+        /**
+         * The encoding of {@code short} values.
+         */
+        SHORT(new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+                new Conversion(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2S)),
+
+        /**
+         * The encoding of {@code char} values.
+         */
+        CHARACTER(new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+                new Conversion(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2C)),
+
+        /**
+         * The encoding of {@code int} values.
+         */
+        INTEGER(new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+                new Conversion(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I)),
+
+        /**
+         * The encoding of {@code long} values.
+         */
+        LONG(StackManipulation.LegalTrivial.INSTANCE, StackManipulation.LegalTrivial.INSTANCE),
+
+        /**
+         * The encoding of {@code float} values.
+         */
+        FLOAT(new StackManipulation.Compound(new BitConversion(Type.getInternalName(Float.class), "floatToRawIntBits", "(F)I"),
+                new Conversion(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L)),
+                new StackManipulation.Compound(new Conversion(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I),
+                        new BitConversion(Type.getInternalName(Float.class), "intBitsToFloat", "(I)F"))),
+
+        /**
+         * The encoding of {@code double} values.
+         */
+        DOUBLE(new BitConversion(Type.getInternalName(Double.class), "doubleToRawLongBits", "(D)J"),
+                new BitConversion(Type.getInternalName(Double.class), "longBitsToDouble", "(J)D"));
+
+        /**
+         * A stack manipulation that encodes a value of this encoding's type as a {@code long} value.
+         */
+        private final StackManipulation encoding;
+
+        /**
+         * A stack manipulation that decodes a {@code long} value to a value of this encoding's type.
+         */
+        private final StackManipulation decoding;
+
+        /**
+         * Creates a new primitive encoding.
+         *
+         * @param encoding A stack manipulation that encodes a value of this encoding's type as a {@code long} value.
+         * @param decoding A stack manipulation that decodes a {@code long} value to a value of this encoding's type.
+         */
+        private PrimitiveEncoding(StackManipulation encoding, StackManipulation decoding) {
+            this.encoding = encoding;
+            this.decoding = decoding;
+        }
+
+        /**
+         * Locates the encoding of a given primitive type.
+         *
+         * @param typeDescription The primitive type which must not represent {@code void}.
+         * @return The encoding of the given primitive type.
+         */
+        public static PrimitiveEncoding of(TypeDescription typeDescription) {
+            if (typeDescription.represents(boolean.class)) {
+                return BOOLEAN;
+            } else if (typeDescription.represents(byte.class)) {
+                return BYTE;
+            } else if (typeDescription.represents(short.class)) {
+                return SHORT;
+            } else if (typeDescription.represents(char.class)) {
+                return CHARACTER;
+            } else if (typeDescription.represents(int.class)) {
+                return INTEGER;
+            } else if (typeDescription.represents(long.class)) {
+                return LONG;
+            } else if (typeDescription.represents(float.class)) {
+                return FLOAT;
+            } else if (typeDescription.represents(double.class)) {
+                return DOUBLE;
+            } else {
+                throw new IllegalArgumentException("Not a non-void primitive type: " + typeDescription);
+            }
+        }
+
+        /**
+         * Returns a stack manipulation that encodes a value of this encoding's type as a {@code long} value.
+         *
+         * @return A stack manipulation that encodes a value of this encoding's type as a {@code long} value.
+         */
+        public StackManipulation encode() {
+            return encoding;
+        }
+
+        /**
+         * Returns a stack manipulation that decodes a {@code long} value to a value of this encoding's type.
+         *
+         * @return A stack manipulation that decodes a {@code long} value to a value of this encoding's type.
+         */
+        public StackManipulation decode() {
+            return decoding;
+        }
+
+        /**
+         * A stack manipulation that applies a sequence of conversion opcodes.
+         */
+        protected static class Conversion implements StackManipulation {
+
+            /**
+             * The size change of this conversion.
+             */
+            private final Size size;
+
+            /**
+             * The opcodes to apply.
+             */
+            private final int[] opcodes;
+
+            /**
+             * Creates a new conversion.
+             *
+             * @param size    The size change of this conversion.
+             * @param opcodes The opcodes to apply.
+             */
+            protected Conversion(Size size, int... opcodes) {
+                this.size = size;
+                this.opcodes = opcodes;
+            }
+
+            @Override
+            public boolean isValid() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+                for (int opcode : opcodes) {
+                    methodVisitor.visitInsn(opcode);
+                }
+                return size;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && size.equals(((Conversion) other).size)
+                        && Arrays.equals(opcodes, ((Conversion) other).opcodes);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * size.hashCode() + Arrays.hashCode(opcodes);
+            }
+
+            @Override
+            public String toString() {
+                return "InvocationHandlerAdapter.PrimitiveEncoding.Conversion{" +
+                        "size=" + size +
+                        ", opcodes=" + Arrays.toString(opcodes) +
+                        '}';
+            }
+        }
+
+        /**
+         * A stack manipulation that converts a floating point value to or from its bit representation by invoking
+         * a static method of its wrapper type.
+         */
+        protected static class BitConversion implements StackManipulation {
+
+            /**
+             * The internal name of the wrapper type that declares the conversion method.
+             */
+            private final String owner;
+
+            /**
+             * The name of the conversion method.
+             */
+            private final String methodName;
+
+            /**
+             * The descriptor of the conversion method which must not alter the stack size.
+             */
+            private final String descriptor;
+
+            /**
+             * Creates a new bit conversion.
+             *
+             * @param owner      The internal name of the wrapper type that declares the conversion method.
+             * @param methodName The name of the conversion method.
+             * @param descriptor The descriptor of the conversion method which must not alter the stack size.
+             */
+            protected BitConversion(String owner, String methodName, String descriptor) {
+                this.owner = owner;
+                this.methodName = methodName;
+                this.descriptor = descriptor;
+            }
+
+            @Override
+            public boolean isValid() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
+                        owner,
+                        methodName,
+                        descriptor,
+                        false);
+                return StackSize.ZERO.toIncreasingSize();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                BitConversion that = (BitConversion) other;
+                return owner.equals(that.owner)
+                        && methodName.equals(that.methodName)
+                        && descriptor.equals(that.descriptor);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = owner.hashCode();
+                result = 31 * result + methodName.hashCode();
+                result = 31 * result + descriptor.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "InvocationHandlerAdapter.PrimitiveEncoding.BitConversion{" +
+                        "owner='" + owner + '\'' +
+                        ", methodName='" + methodName + '\'' +
+                        ", descriptor='" + descriptor + '\'' +
+                        '}';
+            }
+        }
+    }
+
     /**
      * Allows for the configuration of an {@link net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner}
      * of an {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter}.
@@ -234,31 +764,34 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
          * @param fieldName         The name of the field.
          * @param cacheMethods      Determines if the {@link java.lang.reflect.Method} instances that are handed to the
          *                          intercepted methods are cached in {@code static} fields.
+         * @param positional        Determines if the invocation handler is a
+         *                          {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler}.
          * @param assigner          The assigner to apply when defining this instrumentation.
          * @param invocationHandler The invocation handler to which all method calls are delegated.
          */
         protected ForStaticDelegation(String fieldName,
                                       boolean cacheMethods,
+                                      boolean positional,
                                       Assigner assigner,
                                       InvocationHandler invocationHandler) {
-            super(fieldName, cacheMethods, assigner);
+            super(fieldName, cacheMethods, positional, assigner);
             this.invocationHandler = invocationHandler;
         }
 
         @Override
         public AssignerConfigurable withMethodCache() {
-            return new ForStaticDelegation(fieldName, true, assigner, invocationHandler);
+            return new ForStaticDelegation(fieldName, true, positional, assigner, invocationHandler);
         }
 
         @Override
         public Instrumentation withAssigner(Assigner assigner) {
-            return new ForStaticDelegation(fieldName, cacheMethods, nonNull(assigner), invocationHandler);
+            return new ForStaticDelegation(fieldName, cacheMethods, positional, nonNull(assigner), invocationHandler);
         }
 
         @Override
         public InstrumentedType prepare(InstrumentedType instrumentedType) {
             return instrumentedType
-                    .withField(fieldName, new TypeDescription.ForLoadedType(InvocationHandler.class), Opcodes.ACC_STATIC)
+                    .withField(fieldName, getFieldType(), Opcodes.ACC_STATIC)
                     .withInitializer(LoadedTypeInitializer.ForStaticField.nonAccessible(fieldName, invocationHandler));
         }
 
@@ -284,6 +817,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
             return "InvocationHandlerAdapter.ForStaticDelegation{" +
                     "fieldName=" + fieldName +
                     ", cacheMethods=" + cacheMethods +
+                    ", positional=" + positional +
                     ", invocationHandler=" + invocationHandler +
                     '}';
         }
@@ -367,26 +901,28 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
          * @param fieldName    The name of the field.
          * @param cacheMethods Determines if the {@link java.lang.reflect.Method} instances that are handed to the
          *                     intercepted methods are cached in {@code static} fields.
+         * @param positional   Determines if the invocation handler is a
+         *                     {@link net.bytebuddy.instrumentation.InvocationHandlerAdapter.PositionalInvocationHandler}.
          * @param assigner     The assigner to apply when defining this instrumentation.
          */
-        protected ForInstanceDelegation(String fieldName, boolean cacheMethods, Assigner assigner) {
-            super(fieldName, cacheMethods, assigner);
+        protected ForInstanceDelegation(String fieldName, boolean cacheMethods, boolean positional, Assigner assigner) {
+            super(fieldName, cacheMethods, positional, assigner);
         }
 
         @Override
         public AssignerConfigurable withMethodCache() {
-            return new ForInstanceDelegation(fieldName, true, assigner);
+            return new ForInstanceDelegation(fieldName, true, positional, assigner);
         }
 
         @Override
         public Instrumentation withAssigner(Assigner assigner) {
-            return new ForInstanceDelegation(fieldName, cacheMethods, nonNull(assigner));
+            return new ForInstanceDelegation(fieldName, cacheMethods, positional, nonNull(assigner));
         }
 
         @Override
         public InstrumentedType prepare(InstrumentedType instrumentedType) {
             return instrumentedType.withField(fieldName,
-                    new TypeDescription.ForLoadedType(InvocationHandler.class),
+                    getFieldType(),
                     Opcodes.ACC_PUBLIC);
         }
 
@@ -400,6 +936,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
             return "InvocationHandlerAdapter.ForInstanceDelegation{" +
                     "fieldName=" + fieldName +
                     "cacheMethods=" + cacheMethods +
+                    ", positional=" + positional +
                     '}';
         }
 
@@ -0,0 +1,684 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.isValidIdentifier;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * An instrumentation that delegates an intercepted method to a {@code static} method of a given type by an
+ * {@code invokedynamic} instruction. The delegation target is not resolved when the instrumented type is created
+ * but is linked lazily by {@link net.bytebuddy.instrumentation.InvokeDynamicDelegation.Bootstrap} when an
+ * intercepted method is invoked for the first time. Once linked, the call site is constant such that the JIT compiler
+ * can inline the delegation target. Other than a {@link net.bytebuddy.instrumentation.MethodDelegation}, this
+ * instrumentation does not require the creation of any auxiliary types.
+ * </p>
+ * <p>
+ * The call site passes the intercepted instance, if the intercepted method is not {@code static}, followed by all
+ * of the intercepted method's arguments. A target method might either accept all these values or all values but
+ * the intercepted instance. Any argument must be assignable to the target method's parameter type and the target
+ * method's return type must be assignable to the intercepted method's return type where primitive values are
+ * boxed, unboxed and widened if necessary. A method that accepts the call site's exact type is always preferred.
+ * Otherwise, the target method must be unambiguous.
+ * </p>
+ * <p>
+ * <b>Important</b>: The {@code invokedynamic} instruction requires a class file version of at least Java 7 such
+ * that this instrumentation cannot be applied to a type of an older class file version. Also,
+ * the instrumented type must be able to see Byte Buddy's {@link net.bytebuddy.instrumentation.InvokeDynamicDelegation.Bootstrap}
+ * type and the target type.
+ * </p>
+ */
+public class InvokeDynamicDelegation implements Instrumentation {
+
+    /**
+     * The name of the bootstrap method.
+     */
+    private static final String BOOTSTRAP_METHOD_NAME = "bootstrap";
+
+    /**
+     * The descriptor of the bootstrap method.
+     */
+    private static final String BOOTSTRAP_METHOD_DESCRIPTOR = "(Ljava/lang/Object;"
+            + "Ljava/lang/String;"
+            + "Ljava/lang/Object;"
+            + "Ljava/lang/Class;"
+            + "I)Ljava/lang/Object;";
+
+    /**
+     * The type that declares the {@code static} delegation target.
+     */
+    private final TypeDescription targetType;
+
+    /**
+     * The resolver for the name of the delegation target.
+     */
+    private final TargetNameResolver targetNameResolver;
+
+    /**
+     * Creates a new instrumentation for delegating to a {@code static} method by an {@code invokedynamic} instruction.
+     *
+     * @param targetType         The type that declares the {@code static} delegation target.
+     * @param targetNameResolver The resolver for the name of the delegation target.
+     */
+    protected InvokeDynamicDelegation(TypeDescription targetType, TargetNameResolver targetNameResolver) {
+        this.targetType = targetType;
+        this.targetNameResolver = targetNameResolver;
+    }
+
+    /**
+     * Delegates any intercepted method to a {@code static} method of the given type with the same name as the
+     * intercepted method.
+     *
+     * @param targetType The type that declares the {@code static} delegation target.
+     * @return An instrumentation that delegates to a {@code static} method of the given type.
+     */
+    public static InvokeDynamicDelegation to(Class<?> targetType) {
+        return to(new TypeDescription.ForLoadedType(nonNull(targetType)));
+    }
+
+    /**
+     * Delegates any intercepted method to a {@code static} method of the given type with the same name as the
+     * intercepted method.
+     *
+     * @param targetType The type that declares the {@code static} delegation target.
+     * @return An instrumentation that delegates to a {@code static} method of the given type.
+     */
+    public static InvokeDynamicDelegation to(TypeDescription targetType) {
+        if (nonNull(targetType).isPrimitive() || targetType.isArray()) {
+            throw new IllegalArgumentException("Cannot delegate to a method of " + targetType);
+        }
+        return new InvokeDynamicDelegation(targetType, TargetNameResolver.ForInterceptedMethod.INSTANCE);
+    }
+
+    /**
+     * Delegates any intercepted method to a {@code static} method with the given name.
+     *
+     * @param methodName The name of the delegation target.
+     * @return An instrumentation that delegates to a {@code static} method with the given name.
+     */
+    public InvokeDynamicDelegation withMethodName(String methodName) {
+        return new InvokeDynamicDelegation(targetType, new TargetNameResolver.Fixed(isValidIdentifier(methodName)));
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target instrumentationTarget) {
+        return new Appender(instrumentationTarget.getTypeDescription());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        InvokeDynamicDelegation that = (InvokeDynamicDelegation) other;
+        return targetType.equals(that.targetType)
+                && targetNameResolver.equals(that.targetNameResolver);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * targetType.hashCode() + targetNameResolver.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "InvokeDynamicDelegation{" +
+                "targetType=" + targetType +
+                ", targetNameResolver=" + targetNameResolver +
+                '}';
+    }
+
+    /**
+     * Resolves the name of the {@code static} method to which an intercepted method is delegated.
+     */
+    public static interface TargetNameResolver {
+
+        /**
+         * Resolves the name of the delegation target.
+         *
+         * @param instrumentedMethod The intercepted method.
+         * @return The name of the delegation target.
+         */
+        String resolve(MethodDescription instrumentedMethod);
+
+        /**
+         * Resolves the name of the intercepted method as the name of the delegation target.
+         */
+        static enum ForInterceptedMethod implements TargetNameResolver {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public String resolve(MethodDescription instrumentedMethod) {
+                return instrumentedMethod.getName();
+            }
+        }
+
+        /**
+         * Resolves a fixed name as the name of the delegation target.
+         */
+        static class Fixed implements TargetNameResolver {
+
+            /**
+             * The name of the delegation target.
+             */
+            private final String name;
+
+            /**
+             * Creates a new resolver for a fixed name.
+             *
+             * @param name The name of the delegation target.
+             */
+            public Fixed(String name) {
+                this.name = name;
+            }
+
+            @Override
+            public String resolve(MethodDescription instrumentedMethod) {
+                return name;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && name.equals(((Fixed) other).name);
+            }
+
+            @Override
+            public int hashCode() {
+                return name.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "InvokeDynamicDelegation.TargetNameResolver.Fixed{name='" + name + '\'' + '}';
+            }
+        }
+    }
+
+    /**
+     * The bootstrap method that links an {@code invokedynamic} call site that is emitted by an
+     * {@link net.bytebuddy.instrumentation.InvokeDynamicDelegation}. In order to remain compatible to Java 6 byte code,
+     * this type accesses the {@code java.lang.invoke} API reflectively. This reflective access is only required when
+     * linking a call site and does not apply to the invocation of a linked call site.
+     */
+    public static final class Bootstrap {
+
+        /**
+         * The primitive types in the order of their widening conversions where {@code char} values are only widened
+         * to {@code int} values or wider.
+         */
+        private static final List<Class<?>> WIDENING_ORDER = Arrays.<Class<?>>asList(byte.class,
+                short.class,
+                char.class,
+                int.class,
+                long.class,
+                float.class,
+                double.class);
+
+        /**
+         * The primitive types that are represented by the wrapper types of {@link Bootstrap#WRAPPER_TYPES} at the
+         * same index.
+         */
+        private static final List<Class<?>> PRIMITIVE_TYPES = Arrays.<Class<?>>asList(boolean.class,
+                byte.class,
+                short.class,
+                char.class,
+                int.class,
+                long.class,
+                float.class,
+                double.class);
+
+        /**
+         * The wrapper types of the primitive types of {@link Bootstrap#PRIMITIVE_TYPES} at the same index.
+         */
+        private static final List<Class<?>> WRAPPER_TYPES = Arrays.<Class<?>>asList(Boolean.class,
+                Byte.class,
+                Short.class,
+                Character.class,
+                Integer.class,
+                Long.class,
+                Float.class,
+                Double.class);
+
+        /**
+         * The dispatcher for accessing the {@code java.lang.invoke} API.
+         */
+        private static final Dispatcher DISPATCHER = Dispatcher.make();
+
+        /**
+         * This class is not supposed to be instantiated.
+         */
+        private Bootstrap() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Links a call site to a {@code static} method of the given type.
+         *
+         * @param lookup     A {@code java.lang.invoke.MethodHandles.Lookup} with the access rights of the
+         *                   instrumented type.
+         * @param name       The name of the delegation target.
+         * @param type       The {@code java.lang.invoke.MethodType} of the call site.
+         * @param targetType The type that declares the {@code static} delegation target.
+         * @param receiver   {@code 1} if the call site's first argument is the intercepted instance or {@code 0} if
+         *                   the intercepted method is {@code static}.
+         * @return A {@code java.lang.invoke.ConstantCallSite} that is bound to the delegation target.
+         * @throws Throwable If the delegation target cannot be resolved or is not accessible to the instrumented type.
+         */
+        public static Object bootstrap(Object lookup,
+                                       String name,
+                                       Object type,
+                                       Class<?> targetType,
+                                       int receiver) throws Throwable {
+            Class<?>[] parameterType = DISPATCHER.parameterArray(type);
+            Class<?> returnType = DISPATCHER.returnType(type);
+            List<Object> candidates = new ArrayList<Object>();
+            for (Method method : targetType.getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || !method.getName().equals(name)) {
+                    continue;
+                }
+                Class<?>[] targetParameterType;
+                if (method.getParameterTypes().length == parameterType.length) {
+                    targetParameterType = method.getParameterTypes();
+                } else if (receiver == 1 && method.getParameterTypes().length == parameterType.length - 1) {
+                    targetParameterType = new Class<?>[parameterType.length];
+                    targetParameterType[0] = parameterType[0];
+                    System.arraycopy(method.getParameterTypes(), 0, targetParameterType, 1, parameterType.length - 1);
+                } else {
+                    continue;
+                }
+                boolean exact = method.getReturnType() == returnType && Arrays.equals(targetParameterType, parameterType);
+                if (exact || isAssignable(parameterType, returnType, targetParameterType, method.getReturnType())) {
+                    Object methodHandle = DISPATCHER.unreflect(lookup, method);
+                    if (targetParameterType.length != method.getParameterTypes().length) {
+                        methodHandle = DISPATCHER.dropArguments(methodHandle, 0, parameterType[0]);
+                    }
+                    if (exact) {
+                        return DISPATCHER.constantCallSite(methodHandle);
+                    }
+                    candidates.add(DISPATCHER.asType(methodHandle, type));
+                }
+            }
+            if (candidates.size() == 1) {
+                return DISPATCHER.constantCallSite(candidates.get(0));
+            }
+            throw new IllegalStateException((candidates.isEmpty() ? "No" : "Ambiguous") + " static method "
+                    + name + " on " + targetType + " for " + type);
+        }
+
+        /**
+         * Checks if a call site of the given type can be bound to a method of the given type.
+         *
+         * @param parameterType       The parameter types of the call site.
+         * @param returnType          The return type of the call site.
+         * @param targetParameterType The parameter types of the method.
+         * @param targetReturnType    The return type of the method.
+         * @return {@code true} if the call site can be bound to the method.
+         */
+        private static boolean isAssignable(Class<?>[] parameterType,
+                                            Class<?> returnType,
+                                            Class<?>[] targetParameterType,
+                                            Class<?> targetReturnType) {
+            for (int index = 0; index < parameterType.length; index++) {
+                if (!isAssignable(parameterType[index], targetParameterType[index])) {
+                    return false;
+                }
+            }
+            return returnType == void.class || isAssignable(targetReturnType, returnType);
+        }
+
+        /**
+         * Checks if a value of the source type can be assigned to the target type by a widening, boxing or
+         * unboxing conversion.
+         *
+         * @param sourceType The type of the assigned value.
+         * @param targetType The type to which the value is assigned.
+         * @return {@code true} if the value can be assigned.
+         */
+        private static boolean isAssignable(Class<?> sourceType, Class<?> targetType) {
+            if (targetType.isAssignableFrom(sourceType)) {
+                return true;
+            } else if (sourceType == void.class || targetType == void.class) {
+                return false;
+            } else if (sourceType.isPrimitive() && !targetType.isPrimitive()) {
+                return targetType.isAssignableFrom(WRAPPER_TYPES.get(PRIMITIVE_TYPES.indexOf(sourceType)));
+            }
+            Class<?> primitiveSourceType = sourceType.isPrimitive()
+                    ? sourceType
+                    : (WRAPPER_TYPES.contains(sourceType) ? PRIMITIVE_TYPES.get(WRAPPER_TYPES.indexOf(sourceType)) : null);
+            if (primitiveSourceType == null || !targetType.isPrimitive()) {
+                return false;
+            } else if (primitiveSourceType == targetType) {
+                return true;
+            }
+            int sourceIndex = WIDENING_ORDER.indexOf(primitiveSourceType), targetIndex = WIDENING_ORDER.indexOf(targetType);
+            return sourceIndex != -1
+                    && targetIndex > sourceIndex
+                    && (primitiveSourceType != char.class || targetIndex > WIDENING_ORDER.indexOf(short.class))
+                    && (targetType != char.class);
+        }
+
+        /**
+         * A dispatcher for reflectively accessing the {@code java.lang.invoke} API which is only available on Java 7
+         * or later virtual machines.
+         */
+        protected static class Dispatcher {
+
+            /**
+             * Base for access to a reflective member to make the code more readable.
+             */
+            private static final Object STATIC_MEMBER = null;
+
+            /**
+             * The {@code java.lang.invoke.MethodType#parameterArray()} method.
+             */
+            private final Method parameterArray;
+
+            /**
+             * The {@code java.lang.invoke.MethodType#returnType()} method.
+             */
+            private final Method returnType;
+
+            /**
+             * The {@code java.lang.invoke.MethodHandles.Lookup#unreflect(Method)} method.
+             */
+            private final Method unreflect;
+
+            /**
+             * The {@code java.lang.invoke.MethodHandles#dropArguments(MethodHandle, int, Class[])} method.
+             */
+            private final Method dropArguments;
+
+            /**
+             * The {@code java.lang.invoke.MethodHandle#asType(MethodType)} method.
+             */
+            private final Method asType;
+
+            /**
+             * The {@code java.lang.invoke.ConstantCallSite#ConstantCallSite(MethodHandle)} constructor.
+             */
+            private final Constructor<?> constantCallSite;
+
+            /**
+             * Creates a new dispatcher.
+             *
+             * @param parameterArray   The {@code java.lang.invoke.MethodType#parameterArray()} method.
+             * @param returnType       The {@code java.lang.invoke.MethodType#returnType()} method.
+             * @param unreflect        The {@code java.lang.invoke.MethodHandles.Lookup#unreflect(Method)} method.
+             * @param dropArguments    The {@code java.lang.invoke.MethodHandles#dropArguments(MethodHandle, int, Class[])} method.
+             * @param asType           The {@code java.lang.invoke.MethodHandle#asType(MethodType)} method.
+             * @param constantCallSite The {@code java.lang.invoke.ConstantCallSite#ConstantCallSite(MethodHandle)} constructor.
+             */
+            protected Dispatcher(Method parameterArray,
+                                 Method returnType,
+                                 Method unreflect,
+                                 Method dropArguments,
+                                 Method asType,
+                                 Constructor<?> constantCallSite) {
+                this.parameterArray = parameterArray;
+                this.returnType = returnType;
+                this.unreflect = unreflect;
+                this.dropArguments = dropArguments;
+                this.asType = asType;
+                this.constantCallSite = constantCallSite;
+            }
+
+            /**
+             * Creates a dispatcher for the current VM.
+             *
+             * @return A dispatcher for the current VM.
+             */
+            protected static Dispatcher make() {
+                try {
+                    Class<?> methodType = Class.forName("java.lang.invoke.MethodType");
+                    Class<?> methodHandle = Class.forName("java.lang.invoke.MethodHandle");
+                    return new Dispatcher(methodType.getDeclaredMethod("parameterArray"),
+                            methodType.getDeclaredMethod("returnType"),
+                            Class.forName("java.lang.invoke.MethodHandles$Lookup").getDeclaredMethod("unreflect", Method.class),
+                            Class.forName("java.lang.invoke.MethodHandles").getDeclaredMethod("dropArguments", methodHandle, int.class, Class[].class),
+                            methodHandle.getDeclaredMethod("asType", methodType),
+                            Class.forName("java.lang.invoke.ConstantCallSite").getDeclaredConstructor(methodHandle));
+                } catch (Exception e) {
+                    throw new IllegalStateException("The java.lang.invoke API is not available on the current VM", e);
+                }
+            }
+
+            /**
+             * Returns the parameter types of a method type.
+             *
+             * @param methodType The {@code java.lang.invoke.MethodType} to query.
+             * @return The parameter types of the given method type.
+             * @throws Throwable If the invoked method throws an exception.
+             */
+            protected Class<?>[] parameterArray(Object methodType) throws Throwable {
+                return (Class<?>[]) invoke(parameterArray, methodType);
+            }
+
+            /**
+             * Returns the return type of a method type.
+             *
+             * @param methodType The {@code java.lang.invoke.MethodType} to query.
+             * @return The return type of the given method type.
+             * @throws Throwable If the invoked method throws an exception.
+             */
+            protected Class<?> returnType(Object methodType) throws Throwable {
+                return (Class<?>) invoke(returnType, methodType);
+            }
+
+            /**
+             * Creates a method handle for a method.
+             *
+             * @param lookup The {@code java.lang.invoke.MethodHandles.Lookup} to use.
+             * @param method The method to represent as a method handle.
+             * @return A {@code java.lang.invoke.MethodHandle} for the given method.
+             * @throws Throwable If the method is not accessible to the given lookup.
+             */
+            protected Object unreflect(Object lookup, Method method) throws Throwable {
+                return invoke(unreflect, lookup, method);
+            }
+
+            /**
+             * Creates a method handle that drops an argument before invoking the given method handle.
+             *
+             * @param methodHandle The {@code java.lang.invoke.MethodHandle} to invoke.
+             * @param index        The index of the dropped argument.
+             * @param type         The type of the dropped argument.
+             * @return A {@code java.lang.invoke.MethodHandle} that drops the given argument.
+             * @throws Throwable If the invoked method throws an exception.
+             */
+            protected Object dropArguments(Object methodHandle, int index, Class<?> type) throws Throwable {
+                return invoke(dropArguments, STATIC_MEMBER, methodHandle, index, new Class<?>[]{type});
+            }
+
+            /**
+             * Adapts a method handle to a given method type.
+             *
+             * @param methodHandle The {@code java.lang.invoke.MethodHandle} to adapt.
+             * @param methodType   The {@code java.lang.invoke.MethodType} to adapt the method handle to.
+             * @return The adapted {@code java.lang.invoke.MethodHandle}.
+             * @throws Throwable If the method handle cannot be adapted.
+             */
+            protected Object asType(Object methodHandle, Object methodType) throws Throwable {
+                return invoke(asType, methodHandle, methodType);
+            }
+
+            /**
+             * Creates a constant call site.
+             *
+             * @param methodHandle The {@code java.lang.invoke.MethodHandle} to bind the call site to.
+             * @return A {@code java.lang.invoke.ConstantCallSite} that is bound to the given method handle.
+             * @throws Throwable If the call site cannot be created.
+             */
+            protected Object constantCallSite(Object methodHandle) throws Throwable {
+                try {
+                    return constantCallSite.newInstance(methodHandle);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            /**
+             * Invokes a method and unwraps any exception that is thrown by the invoked method.
+             *
+             * @param method   The method to invoke.
+             * @param target   The instance on which the method is invoked or {@code null} for a {@code static} method.
+             * @param argument The arguments of the invocation.
+             * @return The return value of the invoked method.
+             * @throws Throwable If the invoked method throws an exception.
+             */
+            private static Object invoke(Method method, Object target, Object... argument) throws Throwable {
+                try {
+                    return method.invoke(target, argument);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Dispatcher that = (Dispatcher) other;
+                return parameterArray.equals(that.parameterArray)
+                        && returnType.equals(that.returnType)
+                        && unreflect.equals(that.unreflect)
+                        && dropArguments.equals(that.dropArguments)
+                        && asType.equals(that.asType)
+                        && constantCallSite.equals(that.constantCallSite);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = parameterArray.hashCode();
+                result = 31 * result + returnType.hashCode();
+                result = 31 * result + unreflect.hashCode();
+                result = 31 * result + dropArguments.hashCode();
+                result = 31 * result + asType.hashCode();
+                result = 31 * result + constantCallSite.hashCode();
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "InvokeDynamicDelegation.Bootstrap.Dispatcher{" +
+                        "parameterArray=" + parameterArray +
+                        ", returnType=" + returnType +
+                        ", unreflect=" + unreflect +
+                        ", dropArguments=" + dropArguments +
+                        ", asType=" + asType +
+                        ", constantCallSite=" + constantCallSite +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * An appender that emits an {@code invokedynamic} instruction for delegating to a {@code static} method.
+     */
+    protected class Appender implements ByteCodeAppender {
+
+        /**
+         * The instrumented type.
+         */
+        private final TypeDescription instrumentedType;
+
+        /**
+         * Creates a new appender.
+         *
+         * @param instrumentedType The instrumented type.
+         */
+        protected Appender(TypeDescription instrumentedType) {
+            this.instrumentedType = instrumentedType;
+        }
+
+        @Override
+        public boolean appendsCode() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor,
+                          Context instrumentationContext,
+                          MethodDescription instrumentedMethod) {
+            if (instrumentationContext.getClassFileVersion().compareTo(ClassFileVersion.JAVA_V7) < 0) {
+                throw new IllegalStateException("Cannot emit an invokedynamic instruction for " + instrumentedMethod
+                        + " in a class file of version " + instrumentationContext.getClassFileVersion());
+            }
+            StackManipulation.Size argumentSize = (instrumentedMethod.isStatic()
+                    ? MethodVariableAccess.loadArguments(instrumentedMethod)
+                    : MethodVariableAccess.loadThisReferenceAndArguments(instrumentedMethod)).apply(methodVisitor, instrumentationContext);
+            methodVisitor.visitInvokeDynamicInsn(targetNameResolver.resolve(instrumentedMethod),
+                    instrumentedMethod.isStatic()
+                            ? instrumentedMethod.getDescriptor()
+                            : "(" + instrumentedType.getDescriptor() + instrumentedMethod.getDescriptor().substring(1),
+                    new Handle(Opcodes.H_INVOKESTATIC,
+                            Type.getInternalName(Bootstrap.class),
+                            BOOTSTRAP_METHOD_NAME,
+                            BOOTSTRAP_METHOD_DESCRIPTOR),
+                    Type.getType(targetType.getDescriptor()),
+                    instrumentedMethod.isStatic() ? 0 : 1);
+            int returnSize = instrumentedMethod.getReturnType().getStackSize().getSize();
+            StackManipulation.Size stackSize = argumentSize
+                    .aggregate(new StackManipulation.Size(returnSize - argumentSize.getSizeImpact(), 0))
+                    .aggregate(MethodReturn.returning(instrumentedMethod.getReturnType()).apply(methodVisitor, instrumentationContext));
+            return new Size(Math.max(stackSize.getMaximalSize(), returnSize), instrumentedMethod.getStackSize());
+        }
+
+        /**
+         * Returns the outer instance.
+         *
+         * @return The outer instance.
+         */
+        private InvokeDynamicDelegation getInvokeDynamicDelegation() {
+            return InvokeDynamicDelegation.this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && instrumentedType.equals(((Appender) other).instrumentedType)
+                    && InvokeDynamicDelegation.this.equals(((Appender) other).getInvokeDynamicDelegation());
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * InvokeDynamicDelegation.this.hashCode() + instrumentedType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "InvokeDynamicDelegation.Appender{" +
+                    "invokeDynamicDelegation=" + InvokeDynamicDelegation.this +
+                    ", instrumentedType=" + instrumentedType +
+                    '}';
+        }
+    }
+}
@@ -178,6 +178,11 @@ public class MethodDelegation implements Instrumentation {
      */
     private final MethodList targetMethodCandidates;
 
+    /**
+     * The binding cache to be used by this method delegation.
+     */
+    private final MethodDelegationBinder.BindingCache bindingCache;
+
     /**
      * Creates a new method delegation.
      *
@@ -197,6 +202,37 @@ public class MethodDelegation implements Instrumentation {
                                MethodDelegationBinder.AmbiguityResolver ambiguityResolver,
                                Assigner assigner,
                                MethodList targetMethodCandidates) {
+        this(instrumentationDelegate,
+                parameterBinders,
+                defaultsProvider,
+                terminationHandler,
+                ambiguityResolver,
+                assigner,
+                targetMethodCandidates,
+                MethodDelegationBinder.BindingCache.Disabled.INSTANCE);
+    }
+
+    /**
+     * Creates a new method delegation.
+     *
+     * @param instrumentationDelegate The instrumentation delegate to use by this method delegator.
+     * @param parameterBinders        The parameter binders to use by this method delegator.
+     * @param defaultsProvider        The defaults provider to use by this method delegator.
+     * @param terminationHandler      The termination handler to apply.
+     * @param ambiguityResolver       The ambiguity resolver to use by this method delegator.
+     * @param assigner                The assigner to be supplied by this method delegator.
+     * @param targetMethodCandidates  A list of methods that should be considered as possible binding targets by
+     *                                this method delegator.
+     * @param bindingCache            The binding cache to be used by this method delegator.
+     */
+    protected MethodDelegation(InstrumentationDelegate instrumentationDelegate,
+                               List<TargetMethodAnnotationDrivenBinder.ParameterBinder<?>> parameterBinders,
+                               TargetMethodAnnotationDrivenBinder.DefaultsProvider defaultsProvider,
+                               TargetMethodAnnotationDrivenBinder.TerminationHandler terminationHandler,
+                               MethodDelegationBinder.AmbiguityResolver ambiguityResolver,
+                               Assigner assigner,
+                               MethodList targetMethodCandidates,
+                               MethodDelegationBinder.BindingCache bindingCache) {
         this.instrumentationDelegate = instrumentationDelegate;
         this.parameterBinders = parameterBinders;
         this.defaultsProvider = defaultsProvider;
@@ -204,6 +240,7 @@ public class MethodDelegation implements Instrumentation {
         this.ambiguityResolver = ambiguityResolver;
         this.assigner = assigner;
         this.targetMethodCandidates = isNotEmpty(targetMethodCandidates, NO_METHODS_ERROR_MESSAGE);
+        this.bindingCache = bindingCache;
     }
 
     /**
@@ -506,7 +543,8 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 ambiguityResolver,
                 assigner,
-                targetMethodCandidates);
+                targetMethodCandidates,
+                bindingCache);
     }
 
     /**
@@ -522,7 +560,8 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 ambiguityResolver,
                 assigner,
-                targetMethodCandidates);
+                targetMethodCandidates,
+                bindingCache);
     }
 
     /**
@@ -538,7 +577,8 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 ambiguityResolver,
                 assigner,
-                targetMethodCandidates);
+                targetMethodCandidates,
+                bindingCache);
     }
 
     /**
@@ -565,7 +605,8 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 MethodDelegationBinder.AmbiguityResolver.Chain.of(nonNull(ambiguityResolver)),
                 assigner,
-                targetMethodCandidates);
+                targetMethodCandidates,
+                bindingCache);
     }
 
     /**
@@ -581,7 +622,8 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 ambiguityResolver,
                 nonNull(assigner),
-                targetMethodCandidates);
+                targetMethodCandidates,
+                bindingCache);
     }
 
     /**
@@ -597,7 +639,28 @@ public class MethodDelegation implements Instrumentation {
                 terminationHandler,
                 ambiguityResolver,
                 assigner,
-                isNotEmpty(targetMethodCandidates.filter(nonNull(methodMatcher)), NO_METHODS_ERROR_MESSAGE));
+                isNotEmpty(targetMethodCandidates.filter(nonNull(methodMatcher)), NO_METHODS_ERROR_MESSAGE),
+                bindingCache);
+    }
+
+    /**
+     * Enables a binding cache for this method delegation. With this cache, a source method that was already bound by this
+     * delegation for an instrumented type of the same name is bound to its previously resolved target method without
+     * binding any other candidate and without resolving any ambiguity. This is beneficial when the same type is
+     * instrumented repeatedly, for example when a class is rebased several times. As the candidates that can be bound
+     * depend on the instrumented type, a remembered target method is not reused for an instrumented type of another name.
+     *
+     * @return A method delegation that remembers the target methods of previously bound source methods.
+     */
+    public MethodDelegation withBindingCache() {
+        return new MethodDelegation(instrumentationDelegate,
+                parameterBinders,
+                defaultsProvider,
+                terminationHandler,
+                ambiguityResolver,
+                assigner,
+                targetMethodCandidates,
+                new MethodDelegationBinder.BindingCache.ForSourceSignature());
     }
 
     /**
@@ -617,7 +680,8 @@ public class MethodDelegation implements Instrumentation {
                 TargetMethodAnnotationDrivenBinder.TerminationHandler.Dropping.INSTANCE,
                 ambiguityResolver,
                 assigner,
-                targetMethodCandidates), nonNull(instrumentation));
+                targetMethodCandidates,
+                bindingCache), nonNull(instrumentation));
     }
 
     @Override
@@ -640,7 +704,7 @@ public class MethodDelegation implements Instrumentation {
                         terminationHandler,
                         assigner,
                         instrumentationDelegate.getMethodInvoker(instrumentationTarget.getTypeDescription())
-                ), ambiguityResolver)
+                ), ambiguityResolver, bindingCache)
         );
     }
 
@@ -655,7 +719,8 @@ public class MethodDelegation implements Instrumentation {
                 && terminationHandler.equals(that.terminationHandler)
                 && instrumentationDelegate.equals(that.instrumentationDelegate)
                 && targetMethodCandidates.equals(that.targetMethodCandidates)
-                && parameterBinders.equals(that.parameterBinders);
+                && parameterBinders.equals(that.parameterBinders)
+                && bindingCache.equals(that.bindingCache);
     }
 
     @Override
@@ -667,6 +732,7 @@ public class MethodDelegation implements Instrumentation {
         result = 31 * result + ambiguityResolver.hashCode();
         result = 31 * result + assigner.hashCode();
         result = 31 * result + targetMethodCandidates.hashCode();
+        result = 31 * result + bindingCache.hashCode();
         return result;
     }
 
@@ -680,6 +746,7 @@ public class MethodDelegation implements Instrumentation {
                 ", ambiguityResolver=" + ambiguityResolver +
                 ", assigner=" + assigner +
                 ", targetMethodCandidates=" + targetMethodCandidates +
+                ", bindingCache=" + bindingCache +
                 '}';
     }
 
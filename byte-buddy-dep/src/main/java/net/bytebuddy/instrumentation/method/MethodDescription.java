@@ -363,6 +363,21 @@ public interface MethodDescription extends ByteCodeElement {
          */
         private final Constructor<?> constructor;
 
+        /**
+         * The lazily computed parameter types of this constructor or {@code null} if they were not yet computed.
+         */
+        private TypeList parameterTypes;
+
+        /**
+         * The lazily computed descriptor of this constructor or {@code null} if it was not yet computed.
+         */
+        private String descriptor;
+
+        /**
+         * The lazily computed unique signature of this constructor or {@code null} if it was not yet computed.
+         */
+        private String uniqueSignature;
+
         /**
          * Creates a new immutable method description for a loaded constructor.
          *
@@ -384,7 +399,12 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public TypeList getParameterTypes() {
-            return new TypeList.ForLoadedType(constructor.getParameterTypes());
+            TypeList parameterTypes = this.parameterTypes;
+            if (parameterTypes == null) {
+                parameterTypes = new TypeList.ForLoadedType(constructor.getParameterTypes());
+                this.parameterTypes = parameterTypes;
+            }
+            return parameterTypes;
         }
 
         @Override
@@ -439,7 +459,22 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public String getDescriptor() {
-            return Type.getConstructorDescriptor(constructor);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getConstructorDescriptor(constructor);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
+        }
+
+        @Override
+        public String getUniqueSignature() {
+            String uniqueSignature = this.uniqueSignature;
+            if (uniqueSignature == null) {
+                uniqueSignature = super.getUniqueSignature();
+                this.uniqueSignature = uniqueSignature;
+            }
+            return uniqueSignature;
         }
 
         @Override
@@ -463,6 +498,21 @@ public interface MethodDescription extends ByteCodeElement {
          */
         private final Method method;
 
+        /**
+         * The lazily computed parameter types of this method or {@code null} if they were not yet computed.
+         */
+        private TypeList parameterTypes;
+
+        /**
+         * The lazily computed descriptor of this method or {@code null} if it was not yet computed.
+         */
+        private String descriptor;
+
+        /**
+         * The lazily computed unique signature of this method or {@code null} if it was not yet computed.
+         */
+        private String uniqueSignature;
+
         /**
          * Creates a new immutable method description for a loaded method.
          *
@@ -484,7 +534,12 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public TypeList getParameterTypes() {
-            return new TypeList.ForLoadedType(method.getParameterTypes());
+            TypeList parameterTypes = this.parameterTypes;
+            if (parameterTypes == null) {
+                parameterTypes = new TypeList.ForLoadedType(method.getParameterTypes());
+                this.parameterTypes = parameterTypes;
+            }
+            return parameterTypes;
         }
 
         @Override
@@ -544,7 +599,22 @@ public interface MethodDescription extends ByteCodeElement {
 
         @Override
         public String getDescriptor() {
-            return Type.getMethodDescriptor(method);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getMethodDescriptor(method);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
+        }
+
+        @Override
+        public String getUniqueSignature() {
+            String uniqueSignature = this.uniqueSignature;
+            if (uniqueSignature == null) {
+                uniqueSignature = super.getUniqueSignature();
+                this.uniqueSignature = uniqueSignature;
+            }
+            return uniqueSignature;
         }
 
         /**
@@ -1,14 +1,21 @@
 package net.bytebuddy.instrumentation.method;
 
 import net.bytebuddy.instrumentation.attribute.annotation.AnnotationList;
+import net.bytebuddy.instrumentation.type.PackageDescription;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.WeakIdentityKey;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -188,9 +195,10 @@ public interface MethodLookupEngine {
         }
 
         /**
-         * Creates a new method description of an overriding method to an overriden method. The overriding method is
-         * considered to be a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.OverridenClassMethod}
-         * itself and is resolved appropriately.
+         * Creates a new method description of an overriding method to an overriden method. The overriding method
+         * and the overridden method are considered to be a
+         * {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.OverridenClassMethod} themselves and are
+         * resolved appropriately.
          *
          * @param overridingMethod The most specific method that is overriding another method.
          * @param overriddenMethod The method that is overridden by the {@code overridingMethod}.
@@ -207,7 +215,11 @@ public interface MethodLookupEngine {
                 methodChain = new ArrayList<MethodDescription>(2);
                 methodChain.add(overridingMethod);
             }
-            methodChain.add(overriddenMethod);
+            if (overriddenMethod instanceof OverridenClassMethod) {
+                methodChain.addAll(((OverridenClassMethod) overriddenMethod).methodChain);
+            } else {
+                methodChain.add(overriddenMethod);
+            }
             return new OverridenClassMethod(methodChain);
         }
 
@@ -473,13 +485,29 @@ public interface MethodLookupEngine {
          */
         private final DefaultMethodLookup defaultMethodLookup;
 
+        /**
+         * The lookup for the class hierarchy of a looked up type's super class.
+         */
+        private final ClassHierarchyLookup classHierarchyLookup;
+
         /**
          * Creates a new default method lookup engine.
          *
          * @param defaultMethodLookup Determines if default method lookup is enabled.
          */
         public Default(DefaultMethodLookup defaultMethodLookup) {
+            this(defaultMethodLookup, ClassHierarchyLookup.Direct.INSTANCE);
+        }
+
+        /**
+         * Creates a new default method lookup engine.
+         *
+         * @param defaultMethodLookup  Determines if default method lookup is enabled.
+         * @param classHierarchyLookup The lookup for the class hierarchy of a looked up type's super class.
+         */
+        public Default(DefaultMethodLookup defaultMethodLookup, ClassHierarchyLookup classHierarchyLookup) {
             this.defaultMethodLookup = defaultMethodLookup;
+            this.classHierarchyLookup = classHierarchyLookup;
         }
 
         @Override
@@ -487,9 +515,11 @@ public interface MethodLookupEngine {
             MethodBucket methodBucket = new MethodBucket(typeDescription);
             Set<TypeDescription> interfaces = new HashSet<TypeDescription>();
             TypeList defaultMethodRelevantInterfaces = typeDescription.getInterfaces();
-            while ((typeDescription = typeDescription.getSupertype()) != null) {
-                methodBucket.pushClass(typeDescription);
-                interfaces.addAll(typeDescription.getInterfaces());
+            TypeDescription supertype = typeDescription.getSupertype();
+            if (supertype != null) {
+                ClassHierarchy classHierarchy = classHierarchyLookup.resolve(supertype, typeDescription, methodBucket.virtualMethodMatcher);
+                methodBucket.pushClassHierarchy(classHierarchy);
+                interfaces.addAll(classHierarchy.getInterfaces());
             }
             Map<TypeDescription, Set<MethodDescription>> defaultMethods = defaultMethodLookup.apply(methodBucket,
                     interfaces,
@@ -503,18 +533,20 @@ public interface MethodLookupEngine {
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
-                    && defaultMethodLookup == ((Default) other).defaultMethodLookup;
+                    && defaultMethodLookup == ((Default) other).defaultMethodLookup
+                    && classHierarchyLookup.equals(((Default) other).classHierarchyLookup);
         }
 
         @Override
         public int hashCode() {
-            return defaultMethodLookup.hashCode();
+            return 31 * defaultMethodLookup.hashCode() + classHierarchyLookup.hashCode();
         }
 
         @Override
         public String toString() {
             return "MethodLookupEngine.Default{" +
                     "defaultMethodLookup=" + defaultMethodLookup +
+                    ", classHierarchyLookup=" + classHierarchyLookup +
                     '}';
         }
 
@@ -584,6 +616,289 @@ public interface MethodLookupEngine {
             }
         }
 
+        /**
+         * A factory for creating {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Default} lookup
+         * engines that memorize the class hierarchy of any super class they analyzed. When several types of a
+         * package share a common super class, the methods of this super class and of its super classes are only
+         * resolved once. The memorized class hierarchies are referenced weakly such that they never prevent the
+         * described super classes from being garbage collected. All lookup engines that are created by this factory share their memorized
+         * class hierarchies.
+         */
+        public static class MemoizingFactory implements MethodLookupEngine.Factory {
+
+            /**
+             * The class hierarchy lookup that is shared by all lookup engines of this factory.
+             */
+            private final ClassHierarchyLookup classHierarchyLookup;
+
+            /**
+             * Creates a new memoizing factory.
+             */
+            public MemoizingFactory() {
+                this(new ClassHierarchyLookup.Memoizing());
+            }
+
+            /**
+             * Creates a new memoizing factory.
+             *
+             * @param classHierarchyLookup The class hierarchy lookup that is shared by all lookup engines of
+             *                             this factory.
+             */
+            protected MemoizingFactory(ClassHierarchyLookup classHierarchyLookup) {
+                this.classHierarchyLookup = classHierarchyLookup;
+            }
+
+            @Override
+            public MethodLookupEngine make(boolean extractDefaultMethods) {
+                return new Default(extractDefaultMethods
+                        ? DefaultMethodLookup.ENABLED
+                        : DefaultMethodLookup.DISABLED, classHierarchyLookup);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && classHierarchyLookup.equals(((MemoizingFactory) other).classHierarchyLookup);
+            }
+
+            @Override
+            public int hashCode() {
+                return classHierarchyLookup.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Default.MemoizingFactory{" +
+                        "classHierarchyLookup=" + classHierarchyLookup +
+                        '}';
+            }
+        }
+
+        /**
+         * A class hierarchy represents all virtual methods of a class and of its super classes relatively to a
+         * type of interest where overridden methods are represented by a single method description. Additionally,
+         * a class hierarchy contains all interfaces that are directly implemented by any of these classes.
+         */
+        public static class ClassHierarchy {
+
+            /**
+             * A map of class methods by their unique signature, represented as strings.
+             */
+            private final Map<String, MethodDescription> classMethods;
+
+            /**
+             * The interfaces that are directly implemented by any class of this hierarchy.
+             */
+            private final Set<TypeDescription> interfaces;
+
+            /**
+             * Creates a new class hierarchy. The given collections must not be modified after creating the hierarchy.
+             *
+             * @param classMethods A map of class methods by their unique signature, represented as strings.
+             * @param interfaces   The interfaces that are directly implemented by any class of this hierarchy.
+             */
+            protected ClassHierarchy(Map<String, MethodDescription> classMethods, Set<TypeDescription> interfaces) {
+                this.classMethods = classMethods;
+                this.interfaces = interfaces;
+            }
+
+            /**
+             * Registers the methods of a class in a map of class methods. Classes must be registered beginning with
+             * the most specific class in order to respect method overrides.
+             *
+             * @param classMethods    A map of class methods by their unique signature, represented as strings.
+             * @param typeDescription The class of which the methods are to be registered.
+             * @param methodMatcher   The method matcher for filtering methods of interest that are declared by the
+             *                        given type.
+             */
+            protected static void register(Map<String, MethodDescription> classMethods,
+                                           TypeDescription typeDescription,
+                                           ElementMatcher<? super MethodDescription> methodMatcher) {
+                for (MethodDescription methodDescription : typeDescription.getDeclaredMethods().filter(methodMatcher)) {
+                    register(classMethods, methodDescription.getUniqueSignature(), methodDescription);
+                }
+            }
+
+            /**
+             * Registers the methods of a less specific class hierarchy in a map of class methods.
+             *
+             * @param classMethods   A map of class methods by their unique signature, represented as strings.
+             * @param classHierarchy The less specific class hierarchy of which the methods are to be registered.
+             */
+            protected static void register(Map<String, MethodDescription> classMethods, ClassHierarchy classHierarchy) {
+                for (Map.Entry<String, MethodDescription> entry : classHierarchy.classMethods.entrySet()) {
+                    register(classMethods, entry.getKey(), entry.getValue());
+                }
+            }
+
+            /**
+             * Registers a method in a map of class methods where an already registered method is considered to
+             * override the registered method.
+             *
+             * @param classMethods      A map of class methods by their unique signature, represented as strings.
+             * @param uniqueSignature   The unique signature of the registered method.
+             * @param methodDescription The registered method.
+             */
+            private static void register(Map<String, MethodDescription> classMethods,
+                                         String uniqueSignature,
+                                         MethodDescription methodDescription) {
+                MethodDescription overridingMethod = classMethods.get(uniqueSignature);
+                classMethods.put(uniqueSignature, overridingMethod == null
+                        ? methodDescription
+                        : OverridenClassMethod.of(overridingMethod, methodDescription));
+            }
+
+            /**
+             * Returns the class methods of this hierarchy by their unique signature.
+             *
+             * @return The class methods of this hierarchy by their unique signature.
+             */
+            protected Map<String, MethodDescription> getClassMethods() {
+                return Collections.unmodifiableMap(classMethods);
+            }
+
+            /**
+             * Returns the interfaces that are directly implemented by any class of this hierarchy.
+             *
+             * @return The interfaces that are directly implemented by any class of this hierarchy.
+             */
+            protected Set<TypeDescription> getInterfaces() {
+                return Collections.unmodifiableSet(interfaces);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ClassHierarchy that = (ClassHierarchy) other;
+                return classMethods.equals(that.classMethods) && interfaces.equals(that.interfaces);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * classMethods.hashCode() + interfaces.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Default.ClassHierarchy{" +
+                        "classMethods=" + classMethods +
+                        ", interfaces=" + interfaces +
+                        '}';
+            }
+        }
+
+        /**
+         * A lookup for the class hierarchy of a type of interest's super class.
+         */
+        public static interface ClassHierarchyLookup {
+
+            /**
+             * Resolves the class hierarchy of a super class of a type of interest.
+             *
+             * @param supertype            The super class of the type of interest.
+             * @param typeOfInterest       The type of interest.
+             * @param virtualMethodMatcher A matcher for methods that are virtual relatively to the type of interest.
+             *                             The matched methods must only depend on the package of the type of
+             *                             interest.
+             * @return The class hierarchy of the given super class.
+             */
+            ClassHierarchy resolve(TypeDescription supertype,
+                                   TypeDescription typeOfInterest,
+                                   ElementMatcher<? super MethodDescription> virtualMethodMatcher);
+
+            /**
+             * A class hierarchy lookup that resolves a class hierarchy on every request.
+             */
+            static enum Direct implements ClassHierarchyLookup {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public ClassHierarchy resolve(TypeDescription supertype,
+                                              TypeDescription typeOfInterest,
+                                              ElementMatcher<? super MethodDescription> virtualMethodMatcher) {
+                    Map<String, MethodDescription> classMethods = new HashMap<String, MethodDescription>();
+                    Set<TypeDescription> interfaces = new HashSet<TypeDescription>();
+                    do {
+                        ClassHierarchy.register(classMethods, supertype, virtualMethodMatcher);
+                        interfaces.addAll(supertype.getInterfaces());
+                    } while ((supertype = supertype.getSupertype()) != null);
+                    return new ClassHierarchy(classMethods, interfaces);
+                }
+            }
+
+            /**
+             * A class hierarchy lookup that memorizes the class hierarchy of any super class for the package of the
+             * type of interest. A super class's hierarchy is resolved by merging its declared methods with the
+             * memorized hierarchy of its own super class. Super classes are identified by the identity of their
+             * descriptions. As a class hierarchy references the descriptions of its super classes by its methods, both the
+             * descriptions and the memorized class hierarchies are referenced weakly. This way, an entry is released once
+             * the description of its super class is no longer referenced elsewhere.
+             */
+            static class Memoizing implements ClassHierarchyLookup {
+
+                /**
+                 * The reference queue that is notified about type descriptions that were garbage collected.
+                 */
+                private final ReferenceQueue<TypeDescription> referenceQueue;
+
+                /**
+                 * A map of super class keys to their memorized class hierarchies.
+                 */
+                private final ConcurrentMap<Object, Reference<ClassHierarchy>> cache;
+
+                /**
+                 * Creates a new memoizing class hierarchy lookup.
+                 */
+                public Memoizing() {
+                    referenceQueue = new ReferenceQueue<TypeDescription>();
+                    cache = new ConcurrentHashMap<Object, Reference<ClassHierarchy>>();
+                }
+
+                @Override
+                public ClassHierarchy resolve(TypeDescription supertype,
+                                              TypeDescription typeOfInterest,
+                                              ElementMatcher<? super MethodDescription> virtualMethodMatcher) {
+                    WeakIdentityKey.expungeStaleEntries(referenceQueue, cache);
+                    PackageDescription packageDescription = typeOfInterest.getPackage();
+                    String packageName = packageDescription == null
+                            ? null
+                            : packageDescription.getName();
+                    Reference<ClassHierarchy> reference = cache.get(new WeakIdentityKey.Lookup<TypeDescription>(supertype, packageName));
+                    ClassHierarchy classHierarchy = reference == null
+                            ? null
+                            : reference.get();
+                    if (classHierarchy == null) {
+                        Map<String, MethodDescription> classMethods = new HashMap<String, MethodDescription>();
+                        Set<TypeDescription> interfaces = new HashSet<TypeDescription>(supertype.getInterfaces());
+                        ClassHierarchy.register(classMethods, supertype, virtualMethodMatcher);
+                        TypeDescription superSupertype = supertype.getSupertype();
+                        if (superSupertype != null) {
+                            ClassHierarchy superClassHierarchy = resolve(superSupertype, typeOfInterest, virtualMethodMatcher);
+                            ClassHierarchy.register(classMethods, superClassHierarchy);
+                            interfaces.addAll(superClassHierarchy.getInterfaces());
+                        }
+                        classHierarchy = new ClassHierarchy(classMethods, interfaces);
+                        cache.put(new WeakIdentityKey<TypeDescription>(supertype, packageName, referenceQueue),
+                                new WeakReference<ClassHierarchy>(classHierarchy));
+                    }
+                    return classHierarchy;
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodLookupEngine.Default.ClassHierarchyLookup.Memoizing{" +
+                            "referenceQueue=" + referenceQueue +
+                            ", cache=" + cache +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A method bucket is used to identify unique methods of all super types and interfaces of a given type. A
          * method bucket will therefore always filter any declared method of identical signature that was already
@@ -651,13 +966,13 @@ public interface MethodLookupEngine {
             }
 
             /**
-             * Pushes a new class into the bucket where all virtual methods relatively to the type of interest are
-             * extracted.
+             * Pushes the class hierarchy of the type of interest's super class into the bucket. The class hierarchy
+             * must be pushed before pushing any interfaces.
              *
-             * @param typeDescription The class for which all virtual members are to be extracted.
+             * @param classHierarchy The class hierarchy of the type of interest's super class.
              */
-            private void pushClass(TypeDescription typeDescription) {
-                pushClass(typeDescription, virtualMethodMatcher);
+            private void pushClassHierarchy(ClassHierarchy classHierarchy) {
+                ClassHierarchy.register(classMethods, classHierarchy);
             }
 
             /**
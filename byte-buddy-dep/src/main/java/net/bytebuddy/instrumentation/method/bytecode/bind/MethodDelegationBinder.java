@@ -8,6 +8,8 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import org.objectweb.asm.MethodVisitor;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A method delegation binder is responsible for creating a method binding for a <i>source method</i> to a
@@ -730,6 +732,101 @@ public interface MethodDelegationBinder {
         }
     }
 
+    /**
+     * A binding cache remembers the target method that won the resolution of a previous binding of a source method for
+     * a given instrumented type. As the target methods that can be bound are determined by the source method and by the
+     * instrumented type, a later binding of an equal source method for an equal instrumented type only needs to bind the
+     * remembered target method instead of binding all candidates and resolving any ambiguity between them.
+     */
+    static interface BindingCache {
+
+        /**
+         * Looks up the target method that was previously registered for binding the given source method.
+         *
+         * @param instrumentedType The instrumented type for which the source method is to be bound.
+         * @param source           The source method that is to be bound.
+         * @return The previously registered target method or {@code null} if no such target method was registered.
+         */
+        MethodDescription find(TypeDescription instrumentedType, MethodDescription source);
+
+        /**
+         * Registers the target method that was resolved for binding the given source method.
+         *
+         * @param instrumentedType The instrumented type for which the source method was bound.
+         * @param source           The source method that was bound.
+         * @param target           The target method that was resolved for binding the source method.
+         */
+        void register(TypeDescription instrumentedType, MethodDescription source, MethodDescription target);
+
+        /**
+         * A binding cache that does not remember any bindings.
+         */
+        static enum Disabled implements BindingCache {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public MethodDescription find(TypeDescription instrumentedType, MethodDescription source) {
+                return null;
+            }
+
+            @Override
+            public void register(TypeDescription instrumentedType, MethodDescription source, MethodDescription target) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A binding cache that remembers target methods by the name of the instrumented type and by the declaring type
+         * and unique signature of a source method. Consistently with the equality of type descriptions, two instrumented
+         * types of the same name are considered to be equal.
+         */
+        static class ForSourceSignature implements BindingCache {
+
+            /**
+             * A mapping of keys of instrumented types and source methods to their previously resolved target methods.
+             */
+            private final ConcurrentMap<String, MethodDescription> targets;
+
+            /**
+             * Creates a new empty binding cache.
+             */
+            public ForSourceSignature() {
+                targets = new ConcurrentHashMap<String, MethodDescription>();
+            }
+
+            /**
+             * Creates a key for binding a source method for an instrumented type.
+             *
+             * @param instrumentedType The instrumented type for which the source method is bound.
+             * @param source           The source method for which a key is created.
+             * @return A key that represents the source method for the instrumented type.
+             */
+            private static String keyOf(TypeDescription instrumentedType, MethodDescription source) {
+                return instrumentedType.getInternalName() + ':'
+                        + source.getDeclaringType().getInternalName() + '.' + source.getUniqueSignature();
+            }
+
+            @Override
+            public MethodDescription find(TypeDescription instrumentedType, MethodDescription source) {
+                return targets.get(keyOf(instrumentedType, source));
+            }
+
+            @Override
+            public void register(TypeDescription instrumentedType, MethodDescription source, MethodDescription target) {
+                targets.putIfAbsent(keyOf(instrumentedType, source), target);
+            }
+
+            @Override
+            public String toString() {
+                return "MethodDelegationBinder.BindingCache.ForSourceSignature{targets=" + targets + '}';
+            }
+        }
+    }
+
     /**
      * A helper class that allows to identify a best binding for a given type and source method chosing from a list of given
      * target methods by using a given {@link net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder}
@@ -768,6 +865,11 @@ public interface MethodDelegationBinder {
          */
         private final AmbiguityResolver ambiguityResolver;
 
+        /**
+         * The processor's binding cache.
+         */
+        private final BindingCache bindingCache;
+
         /**
          * Creates a new processor for a method delegation binder.
          *
@@ -776,8 +878,22 @@ public interface MethodDelegationBinder {
          */
         public Processor(MethodDelegationBinder methodDelegationBinder,
                          AmbiguityResolver ambiguityResolver) {
+            this(methodDelegationBinder, ambiguityResolver, BindingCache.Disabled.INSTANCE);
+        }
+
+        /**
+         * Creates a new processor for a method delegation binder.
+         *
+         * @param methodDelegationBinder This processor's method delegation binder.
+         * @param ambiguityResolver      The processor's ambiguity resolver.
+         * @param bindingCache           The processor's binding cache.
+         */
+        public Processor(MethodDelegationBinder methodDelegationBinder,
+                         AmbiguityResolver ambiguityResolver,
+                         BindingCache bindingCache) {
             this.methodDelegationBinder = methodDelegationBinder;
             this.ambiguityResolver = ambiguityResolver;
+            this.bindingCache = bindingCache;
         }
 
         /**
@@ -800,6 +916,16 @@ public interface MethodDelegationBinder {
             return ambiguityResolver;
         }
 
+        /**
+         * Returns the {@link net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder.BindingCache}
+         * used by this {@code Processor}.
+         *
+         * @return The binding cache used by this {@code Processor}.
+         */
+        public BindingCache getBindingCache() {
+            return bindingCache;
+        }
+
         /**
          * @param instrumentationTarget The instrumentation target for binding the {@code source} method to.
          * @param source                The source method that is to be bound.
@@ -809,11 +935,48 @@ public interface MethodDelegationBinder {
         public MethodBinding process(Instrumentation.Target instrumentationTarget,
                                      MethodDescription source,
                                      Iterable<? extends MethodDescription> targets) {
+            MethodBinding cachedBinding = bindCached(instrumentationTarget, source, targets);
+            if (cachedBinding != null) {
+                return cachedBinding;
+            }
             List<MethodBinding> possibleDelegations = bind(instrumentationTarget, source, targets);
             if (possibleDelegations.size() == 0) {
                 throw new IllegalArgumentException("No method can be bound to " + source);
             }
-            return resolve(source, possibleDelegations);
+            MethodBinding methodBinding = resolve(source, possibleDelegations);
+            bindingCache.register(instrumentationTarget.getTypeDescription(), source, methodBinding.getTarget());
+            return methodBinding;
+        }
+
+        /**
+         * Attempts to bind the target method that this processor's binding cache remembers for the given source method
+         * and the instrumented type. Other candidates are not bound as they are determined by the same instrumented
+         * type and source method as when the remembered target method was resolved.
+         *
+         * @param instrumentationTarget The instrumentation target for binding the {@code source} method to.
+         * @param source                The method that is to be bound.
+         * @param targets               All possible targets for the delegation binding that are to be considered.
+         * @return A valid binding to the cached target method or {@code null} if no such binding could be created.
+         */
+        private MethodBinding bindCached(Instrumentation.Target instrumentationTarget,
+                                         MethodDescription source,
+                                         Iterable<? extends MethodDescription> targets) {
+            MethodDescription cachedTarget = bindingCache.find(instrumentationTarget.getTypeDescription(), source);
+            if (cachedTarget == null) {
+                return null;
+            }
+            for (MethodDescription target : targets) {
+                if (target.equals(cachedTarget)) {
+                    if (!target.isVisibleTo(instrumentationTarget.getTypeDescription())) {
+                        return null;
+                    }
+                    MethodBinding cachedBinding = methodDelegationBinder.bind(instrumentationTarget, source, target);
+                    return cachedBinding.isValid()
+                            ? cachedBinding
+                            : null;
+                }
+            }
+            return null;
         }
 
         /**
@@ -903,19 +1066,24 @@ public interface MethodDelegationBinder {
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
                     && ambiguityResolver.equals(((Processor) other).ambiguityResolver)
-                    && methodDelegationBinder.equals(((Processor) other).methodDelegationBinder);
+                    && methodDelegationBinder.equals(((Processor) other).methodDelegationBinder)
+                    && bindingCache.equals(((Processor) other).bindingCache);
         }
 
         @Override
         public int hashCode() {
-            return 31 * methodDelegationBinder.hashCode() + ambiguityResolver.hashCode();
+            int result = methodDelegationBinder.hashCode();
+            result = 31 * result + ambiguityResolver.hashCode();
+            result = 31 * result + bindingCache.hashCode();
+            return result;
         }
 
         @Override
         public String toString() {
             return "MethodDelegationBinder.Processor{"
                     + "methodDelegationBinder=" + methodDelegationBinder
-                    + ", ambiguityResolver=" + ambiguityResolver + '}';
+                    + ", ambiguityResolver=" + ambiguityResolver
+                    + ", bindingCache=" + bindingCache + '}';
         }
     }
 }
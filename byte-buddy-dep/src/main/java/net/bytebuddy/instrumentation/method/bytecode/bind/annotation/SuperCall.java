@@ -35,6 +35,19 @@ public @interface SuperCall {
      */
     boolean serializableProxy() default false;
 
+    /**
+     * Determines if the generated proxy should be reused for any invocation on the same thread instead of creating a
+     * new proxy instance for each invocation. A reusable proxy must not escape the intercepting method and it must
+     * not be invoked after the intercepted method was invoked recursively on the same thread as the arguments of the
+     * recursive invocation would otherwise be applied. The proxy instance of a thread is retained until this thread
+     * terminates, together with the arguments of its latest invocation. As the proxy instance references the class
+     * loader of the instrumented type, this class loader cannot be garbage collected while any thread that invoked
+     * the intercepted method is alive, which is typically the case for pooled threads.
+     *
+     * @return {@code true} if the generated proxy should be reused.
+     */
+    boolean reusableProxy() default false;
+
     /**
      * A binder for handling the
      * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall}
@@ -68,7 +81,9 @@ public @interface SuperCall {
             Instrumentation.SpecialMethodInvocation specialMethodInvocation = instrumentationTarget.invokeSuper(source,
                     Instrumentation.Target.MethodLookup.Default.EXACT);
             return specialMethodInvocation.isValid()
-                    ? new MethodDelegationBinder.ParameterBinding.Anonymous(new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation, annotation.loadSilent().serializableProxy()))
+                    ? new MethodDelegationBinder.ParameterBinding.Anonymous(new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation,
+                    annotation.loadSilent().serializableProxy(),
+                    annotation.loadSilent().reusableProxy()))
                     : MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
         }
     }
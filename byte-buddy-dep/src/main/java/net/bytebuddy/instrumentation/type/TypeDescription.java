@@ -495,6 +495,16 @@ public interface TypeDescription extends ByteCodeElement {
          */
         private final Class<?> type;
 
+        /**
+         * The lazily computed descriptor of this type or {@code null} if it was not yet computed.
+         */
+        private String descriptor;
+
+        /**
+         * The lazily computed list of methods declared by this type or {@code null} if it was not yet computed.
+         */
+        private MethodList declaredMethods;
+
         /**
          * Creates a new immutable type description for a loaded type.
          *
@@ -628,7 +638,12 @@ public interface TypeDescription extends ByteCodeElement {
 
         @Override
         public MethodList getDeclaredMethods() {
-            return new MethodList.ForLoadedType(type);
+            MethodList declaredMethods = this.declaredMethods;
+            if (declaredMethods == null) {
+                declaredMethods = new MethodList.Explicit(new ArrayList<MethodDescription>(new MethodList.ForLoadedType(type)));
+                this.declaredMethods = declaredMethods;
+            }
+            return declaredMethods;
         }
 
         @Override
@@ -651,7 +666,12 @@ public interface TypeDescription extends ByteCodeElement {
 
         @Override
         public String getDescriptor() {
-            return Type.getDescriptor(type);
+            String descriptor = this.descriptor;
+            if (descriptor == null) {
+                descriptor = Type.getDescriptor(type);
+                this.descriptor = descriptor;
+            }
+            return descriptor;
         }
 
         @Override
@@ -17,6 +17,7 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.VoidAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.DownCasting;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
@@ -25,6 +26,8 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariable
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.modifier.FieldManifestation;
+import net.bytebuddy.modifier.Ownership;
 import net.bytebuddy.modifier.Visibility;
 import org.objectweb.asm.MethodVisitor;
 
@@ -32,7 +35,7 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.Callable;
 
-import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.*;
 
 /**
  * A method call proxy represents a class that is compiled against a particular method which can then be called whenever
@@ -45,6 +48,17 @@ import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
  * <li>If the target method is not {@code static}, the first argument should be an instance on which the method is called.</li>
  * <li>All arguments for the called method in the order in which they are required.</li>
  * </ol>
+ * <p>&nbsp;</p>
+ * Alternatively, a method call proxy can be reusable. A reusable proxy is a {@link java.lang.ThreadLocal} of itself
+ * that provides one proxy instance per thread. Instead of creating a new proxy instance, the arguments of a method
+ * call are written to the current thread's instance. A reusable proxy must therefore not escape the method call for
+ * which it is provided and it must not be invoked after the proxied method was invoked recursively on the same thread.
+ * Also, a reusable proxy keeps a reference to the arguments of the latest method call until the proxied method is
+ * invoked anew on the same thread. Furthermore, the proxy instance of a thread is never removed from this thread's
+ * {@link java.lang.ThreadLocal} values. As this instance references the proxy class which in turn references the
+ * {@link java.lang.ThreadLocal} from a {@code static} field, the class loader of the instrumented type cannot be
+ * garbage collected before any thread that invoked the proxied method has terminated. Reusable proxies should
+ * therefore not be used for types of class loaders that are meant to be unloaded while pooled threads are still alive.
  */
 public class MethodCallProxy implements AuxiliaryType {
 
@@ -53,6 +67,22 @@ public class MethodCallProxy implements AuxiliaryType {
      */
     private static final String FIELD_NAME_PREFIX = "argument";
 
+    /**
+     * The name of the {@code static} field of a reusable proxy that holds the {@link java.lang.ThreadLocal} which
+     * provides the reusable proxy instances.
+     */
+    private static final String REUSABLE_INSTANCE_FIELD_NAME = "reusableInstance";
+
+    /**
+     * The name of the {@link ThreadLocal#initialValue()} method.
+     */
+    private static final String INITIAL_VALUE_METHOD_NAME = "initialValue";
+
+    /**
+     * The name of the {@link ThreadLocal#get()} method.
+     */
+    private static final String GET_METHOD_NAME = "get";
+
     /**
      * The special method invocation to invoke from the auxiliary type.
      */
@@ -63,6 +93,11 @@ public class MethodCallProxy implements AuxiliaryType {
      */
     private final boolean serializableProxy;
 
+    /**
+     * Determines if the generated proxy should be reusable.
+     */
+    private final boolean reusableProxy;
+
     /**
      * The assigner to use for invoking a bridge method target where the parameter and return types need to be
      * assigned.
@@ -78,8 +113,23 @@ public class MethodCallProxy implements AuxiliaryType {
      */
     public MethodCallProxy(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
                            boolean serializableProxy) {
+        this(specialMethodInvocation, serializableProxy, false);
+    }
+
+    /**
+     * Creates a new method call proxy for a given method and uses a default assigner for assigning the method's return
+     * value to either the {@link java.util.concurrent.Callable#call()} or {@link Runnable#run()} method returns.
+     *
+     * @param specialMethodInvocation The special method invocation which should be invoked by this method call proxy.
+     * @param serializableProxy       Determines if the generated proxy should be serializableProxy.
+     * @param reusableProxy           Determines if the generated proxy should be reusable.
+     */
+    public MethodCallProxy(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
+                           boolean serializableProxy,
+                           boolean reusableProxy) {
         this(specialMethodInvocation,
                 serializableProxy,
+                reusableProxy,
                 new VoidAwareAssigner(new PrimitiveTypeAwareAssigner(ReferenceTypeAwareAssigner.INSTANCE)));
     }
 
@@ -95,8 +145,26 @@ public class MethodCallProxy implements AuxiliaryType {
     public MethodCallProxy(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
                            boolean serializableProxy,
                            Assigner assigner) {
+        this(specialMethodInvocation, serializableProxy, false, assigner);
+    }
+
+    /**
+     * Creates a new method call proxy for a given method.
+     *
+     * @param specialMethodInvocation The special method invocation which should be invoked by this method call proxy.
+     * @param serializableProxy       Determines if the generated proxy should be serializableProxy.
+     * @param reusableProxy           Determines if the generated proxy should be reusable.
+     * @param assigner                An assigner for assigning the target method's return value to either the
+     *                                {@link java.util.concurrent.Callable#call()} or {@link Runnable#run()}} methods'
+     *                                return values.
+     */
+    public MethodCallProxy(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
+                           boolean serializableProxy,
+                           boolean reusableProxy,
+                           Assigner assigner) {
         this.specialMethodInvocation = specialMethodInvocation;
         this.serializableProxy = serializableProxy;
+        this.reusableProxy = reusableProxy;
         this.assigner = assigner;
     }
 
@@ -137,6 +205,23 @@ public class MethodCallProxy implements AuxiliaryType {
                             MethodAccessorFactory methodAccessorFactory) {
         MethodDescription accessorMethod = methodAccessorFactory.registerAccessorFor(specialMethodInvocation);
         LinkedHashMap<String, TypeDescription> parameterFields = extractFields(accessorMethod);
+        if (reusableProxy) {
+            DynamicType.Builder<?> builder = new ByteBuddy(classFileVersion)
+                    .subclass(ThreadLocal.class, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR)
+                    .methodLookupEngine(ProxyMethodLookupEngine.INSTANCE)
+                    .name(auxiliaryTypeName)
+                    .modifiers(DEFAULT_TYPE_MODIFIER)
+                    .implement(Runnable.class, Callable.class).intercept(new MethodCall(accessorMethod, assigner))
+                    .implement(serializableProxy ? new Class<?>[]{Serializable.class} : new Class<?>[0])
+                    .defineMethod(INITIAL_VALUE_METHOD_NAME, Object.class, Collections.<Class<?>>emptyList(), Visibility.PROTECTED)
+                    .intercept(ReusableInstance.INITIAL_VALUE)
+                    .invokable(isTypeInitializer()).intercept(ReusableInstance.TYPE_INITIALIZER)
+                    .defineField(REUSABLE_INSTANCE_FIELD_NAME, ThreadLocal.class, Ownership.STATIC, FieldManifestation.FINAL);
+            for (Map.Entry<String, TypeDescription> field : parameterFields.entrySet()) {
+                builder = builder.defineField(field.getKey(), field.getValue(), Visibility.PACKAGE_PRIVATE);
+            }
+            return builder.make();
+        }
         DynamicType.Builder<?> builder = new ByteBuddy(classFileVersion)
                 .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
                 .methodLookupEngine(ProxyMethodLookupEngine.INSTANCE)
@@ -158,6 +243,7 @@ public class MethodCallProxy implements AuxiliaryType {
         if (other == null || getClass() != other.getClass()) return false;
         MethodCallProxy that = (MethodCallProxy) other;
         return serializableProxy == that.serializableProxy
+                && reusableProxy == that.reusableProxy
                 && assigner.equals(that.assigner)
                 && specialMethodInvocation.equals(that.specialMethodInvocation);
     }
@@ -166,6 +252,7 @@ public class MethodCallProxy implements AuxiliaryType {
     public int hashCode() {
         int result = specialMethodInvocation.hashCode();
         result = 31 * result + (serializableProxy ? 1 : 0);
+        result = 31 * result + (reusableProxy ? 1 : 0);
         result = 31 * result + assigner.hashCode();
         return result;
     }
@@ -175,6 +262,7 @@ public class MethodCallProxy implements AuxiliaryType {
         return "MethodCallProxy{" +
                 "specialMethodInvocation=" + specialMethodInvocation +
                 ", serializableProxy=" + serializableProxy +
+                ", reusableProxy=" + reusableProxy +
                 ", assigner=" + assigner +
                 '}';
     }
@@ -323,6 +411,116 @@ public class MethodCallProxy implements AuxiliaryType {
         }
     }
 
+    /**
+     * An instrumentation that creates the instances of a reusable
+     * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy}.
+     */
+    protected static enum ReusableInstance implements Instrumentation {
+
+        /**
+         * Implements the {@link ThreadLocal#initialValue()} method by returning a new proxy instance.
+         */
+        INITIAL_VALUE {
+            @Override
+            protected StackManipulation complete(TypeDescription instrumentedType) {
+                return MethodReturn.REFERENCE;
+            }
+        },
+
+        /**
+         * Implements the type initializer by storing a new proxy instance in the {@code static} field that provides
+         * the reusable instances.
+         */
+        TYPE_INITIALIZER {
+            @Override
+            protected StackManipulation complete(TypeDescription instrumentedType) {
+                return new StackManipulation.Compound(FieldAccess.forField(instrumentedType.getDeclaredFields()
+                        .filter(named(REUSABLE_INSTANCE_FIELD_NAME)).getOnly()).putter(), MethodReturn.VOID);
+            }
+        };
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return new Appender(instrumentationTarget.getTypeDescription(), this);
+        }
+
+        /**
+         * Returns a stack manipulation that consumes the created proxy instance and returns from the implemented method.
+         *
+         * @param instrumentedType The instrumented type.
+         * @return A stack manipulation that consumes the created proxy instance.
+         */
+        protected abstract StackManipulation complete(TypeDescription instrumentedType);
+
+        /**
+         * The appender for implementing the {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy.ReusableInstance}.
+         */
+        protected static class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type being created.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * The reusable instance instrumentation that is implemented.
+             */
+            private final ReusableInstance reusableInstance;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The instrumented type that is being created.
+             * @param reusableInstance The reusable instance instrumentation that is implemented.
+             */
+            private Appender(TypeDescription instrumentedType, ReusableInstance reusableInstance) {
+                this.instrumentedType = instrumentedType;
+                this.reusableInstance = reusableInstance;
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor, Context instrumentationContext, MethodDescription instrumentedMethod) {
+                StackManipulation.Size stackSize = new StackManipulation.Compound(
+                        TypeCreation.forType(instrumentedType),
+                        Duplication.SINGLE,
+                        MethodInvocation.invoke(instrumentedType.getDeclaredMethods().filter(isConstructor().and(takesArguments(0))).getOnly()),
+                        reusableInstance.complete(instrumentedType)
+                ).apply(methodVisitor, instrumentationContext);
+                return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && instrumentedType.equals(((Appender) other).instrumentedType)
+                        && reusableInstance == ((Appender) other).reusableInstance;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * instrumentedType.hashCode() + reusableInstance.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodCallProxy.ReusableInstance.Appender{" +
+                        "instrumentedType=" + instrumentedType +
+                        ", reusableInstance=" + reusableInstance +
+                        '}';
+            }
+        }
+    }
+
     /**
      * An instrumentation for implementing a method of a {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy}.
      */
@@ -408,7 +606,7 @@ public class MethodCallProxy implements AuxiliaryType {
                               Context instrumentationContext,
                               MethodDescription instrumentedMethod) {
                 StackManipulation thisReference = MethodVariableAccess.forType(instrumentedType).loadFromIndex(0);
-                FieldList fieldList = instrumentedType.getDeclaredFields();
+                FieldList fieldList = instrumentedType.getDeclaredFields().filter(not(isStatic()));
                 StackManipulation[] fieldLoading = new StackManipulation[fieldList.size()];
                 int index = 0;
                 for (FieldDescription fieldDescription : fieldList) {
@@ -472,6 +670,11 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         private final boolean serializable;
 
+        /**
+         * Determines if the generated proxy should be reusable.
+         */
+        private final boolean reusable;
+
         /**
          * Creates an operand stack assignment that creates a
          * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy} for the
@@ -483,8 +686,25 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         public AssignableSignatureCall(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
                                        boolean serializable) {
+            this(specialMethodInvocation, serializable, false);
+        }
+
+        /**
+         * Creates an operand stack assignment that creates or reuses a
+         * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy} for the
+         * {@code targetMethod} and pushes this proxy object onto the stack.
+         *
+         * @param specialMethodInvocation The special method invocation which should be invoked by the created method
+         *                                call proxy.
+         * @param serializable            Determines if the generated proxy should be serializableProxy.
+         * @param reusable                Determines if the generated proxy should be reusable.
+         */
+        public AssignableSignatureCall(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
+                                       boolean serializable,
+                                       boolean reusable) {
             this.specialMethodInvocation = specialMethodInvocation;
             this.serializable = serializable;
+            this.reusable = reusable;
         }
 
         @Override
@@ -495,7 +715,33 @@ public class MethodCallProxy implements AuxiliaryType {
         @Override
         public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
             TypeDescription auxiliaryType = instrumentationContext
-                    .register(new MethodCallProxy(specialMethodInvocation, serializable));
+                    .register(new MethodCallProxy(specialMethodInvocation, serializable, reusable));
+            if (reusable) {
+                MethodDescription methodDescription = specialMethodInvocation.getMethodDescription();
+                FieldList fieldList = auxiliaryType.getDeclaredFields().filter(not(isStatic()));
+                List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(3 + 3 * fieldList.size());
+                stackManipulations.add(FieldAccess.forField(auxiliaryType.getDeclaredFields()
+                        .filter(named(REUSABLE_INSTANCE_FIELD_NAME)).getOnly()).getter());
+                stackManipulations.add(MethodInvocation.invoke(new TypeDescription.ForLoadedType(ThreadLocal.class)
+                        .getDeclaredMethods()
+                        .filter(named(GET_METHOD_NAME).and(takesArguments(0))).getOnly()));
+                stackManipulations.add(new DownCasting(auxiliaryType));
+                int index = 0;
+                if (!methodDescription.isStatic()) {
+                    stackManipulations.add(Duplication.SINGLE);
+                    stackManipulations.add(MethodVariableAccess.REFERENCE.loadFromIndex(0));
+                    stackManipulations.add(FieldAccess.forField(fieldList.get(index++)).putter());
+                }
+                int parameterIndex = 0;
+                for (TypeDescription parameterType : methodDescription.getParameterTypes()) {
+                    stackManipulations.add(Duplication.SINGLE);
+                    stackManipulations.add(MethodVariableAccess.forType(parameterType)
+                            .loadFromIndex(methodDescription.getParameterOffset(parameterIndex++)));
+                    stackManipulations.add(FieldAccess.forField(fieldList.get(index++)).putter());
+                }
+                return new Compound(stackManipulations.toArray(new StackManipulation[stackManipulations.size()]))
+                        .apply(methodVisitor, instrumentationContext);
+            }
             return new Compound(
                     TypeCreation.forType(auxiliaryType),
                     Duplication.SINGLE,
@@ -508,12 +754,16 @@ public class MethodCallProxy implements AuxiliaryType {
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
                     && serializable == ((AssignableSignatureCall) other).serializable
+                    && reusable == ((AssignableSignatureCall) other).reusable
                     && specialMethodInvocation.equals(((AssignableSignatureCall) other).specialMethodInvocation);
         }
 
         @Override
         public int hashCode() {
-            return 31 * specialMethodInvocation.hashCode() + (serializable ? 1 : 0);
+            int result = specialMethodInvocation.hashCode();
+            result = 31 * result + (serializable ? 1 : 0);
+            result = 31 * result + (reusable ? 1 : 0);
+            return result;
         }
 
         @Override
@@ -521,6 +771,7 @@ public class MethodCallProxy implements AuxiliaryType {
             return "MethodCallProxy.AssignableSignatureCall{" +
                     "specialMethodInvocation=" + specialMethodInvocation +
                     ", serializableProxy=" + serializable +
+                    ", reusableProxy=" + reusable +
                     '}';
         }
     }
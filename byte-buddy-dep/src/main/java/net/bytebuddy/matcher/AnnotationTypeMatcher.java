@@ -29,6 +29,15 @@ public class AnnotationTypeMatcher<T extends AnnotationDescription> extends Elem
         return typeMatcher.matches(target.getAnnotationType());
     }
 
+    /**
+     * Returns the type matcher to apply to an annotation's type.
+     *
+     * @return The type matcher to apply to an annotation's type.
+     */
+    public ElementMatcher<? super TypeDescription> getTypeMatcher() {
+        return typeMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -32,6 +32,15 @@ public class CollectionItemMatcher<T> extends ElementMatcher.Junction.AbstractBa
         return false;
     }
 
+    /**
+     * Returns the element matcher to apply to each element of a collection.
+     *
+     * @return The element matcher to apply to each element of a collection.
+     */
+    public ElementMatcher<? super T> getElementMatcher() {
+        return elementMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
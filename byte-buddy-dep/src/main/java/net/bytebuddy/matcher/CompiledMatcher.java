@@ -0,0 +1,427 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.instrumentation.ByteCodeElement;
+
+import java.util.*;
+
+/**
+ * An element matcher that represents a flattened conjunction or disjunction of other matchers. Such a matcher is
+ * created by {@link net.bytebuddy.matcher.CompiledMatcher#of(ElementMatcher)} which transforms a tree of nested
+ * {@link net.bytebuddy.matcher.ElementMatcher.Junction}s into a single junction over a list of matchers. When
+ * compiling a matcher, any identical matchers within a junction are only retained once and matchers that are cheap
+ * to evaluate, such as modifier, name or descriptor matchers, are moved before matchers that require an expensive
+ * evaluation, such as annotation or type hierarchy matchers. Also, any disjunction of exact name matchers is merged
+ * into a single matcher that looks up a name in a hash set. As compiling a matcher reorders the evaluation of the
+ * compiled matchers, any matcher must be free of side effects in order to be compiled.
+ *
+ * @param <T> The type of the matched entity.
+ */
+public class CompiledMatcher<T> extends ElementMatcher.Junction.AbstractBase<T> {
+
+    /**
+     * The minimum number of exact name matchers within a disjunction that are merged into a single matcher.
+     */
+    private static final int MINIMUM_MERGED_NAMES = 2;
+
+    /**
+     * The sort of this compiled junction.
+     */
+    private final Sort sort;
+
+    /**
+     * The matchers that constitute this compiled junction in the order of their evaluation.
+     */
+    private final List<? extends ElementMatcher<? super T>> matchers;
+
+    /**
+     * Creates a new compiled matcher.
+     *
+     * @param sort     The sort of this compiled junction.
+     * @param matchers The matchers that constitute this compiled junction in the order of their evaluation.
+     */
+    public CompiledMatcher(Sort sort, List<? extends ElementMatcher<? super T>> matchers) {
+        this.sort = sort;
+        this.matchers = matchers;
+    }
+
+    /**
+     * Compiles the given matcher by flattening any nested junctions, by removing duplicate matchers, by reordering
+     * matchers by their evaluation cost and by merging exact name matchers.
+     *
+     * @param matcher The matcher to compile.
+     * @param <S>     The type of the matched entity.
+     * @return A compiled matcher that is equivalent to the given matcher.
+     */
+    public static <S> ElementMatcher.Junction<S> of(ElementMatcher<? super S> matcher) {
+        ElementMatcher<? super S> compiled = compile(matcher);
+        if (compiled instanceof CompiledMatcher) {
+            @SuppressWarnings("unchecked")
+            ElementMatcher.Junction<S> junction = (ElementMatcher.Junction<S>) compiled;
+            return junction;
+        } else {
+            return new CompiledMatcher<S>(Sort.CONJUNCTION, Collections.singletonList(compiled));
+        }
+    }
+
+    /**
+     * Compiles the given matcher.
+     *
+     * @param matcher The matcher to compile.
+     * @param <S>     The type of the matched entity.
+     * @return A compiled matcher that is equivalent to the given matcher.
+     */
+    @SuppressWarnings("unchecked")
+    private static <S> ElementMatcher<? super S> compile(ElementMatcher<? super S> matcher) {
+        if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+            return compile(Sort.CONJUNCTION, (ElementMatcher.Junction.Conjunction<? super S>) matcher);
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+            return compile(Sort.DISJUNCTION, (ElementMatcher.Junction.Disjunction<? super S>) matcher);
+        } else if (matcher instanceof NegatingMatcher) {
+            return new NegatingMatcher<S>(compile(((NegatingMatcher<? super S>) matcher).getNegatedMatcher()));
+        } else {
+            return matcher;
+        }
+    }
+
+    /**
+     * Compiles a conjunction or a disjunction.
+     *
+     * @param sort    The sort of the junction.
+     * @param matcher The junction to compile.
+     * @param <S>     The type of the matched entity.
+     * @return A compiled matcher that is equivalent to the given junction.
+     */
+    @SuppressWarnings("unchecked")
+    private static <S> ElementMatcher<? super S> compile(Sort sort, ElementMatcher<? super S> matcher) {
+        Set<ElementMatcher<? super S>> operands = new LinkedHashSet<ElementMatcher<? super S>>();
+        Set<String> names = new LinkedHashSet<String>();
+        for (ElementMatcher<? super S> operand : sort.flatten(matcher, new ArrayList<ElementMatcher<? super S>>())) {
+            ElementMatcher<? super S> compiled = compile(operand);
+            if (compiled.equals(sort.getNeutralElement())) {
+                continue;
+            } else if (compiled.equals(sort.getDecisiveElement())) {
+                return compiled;
+            } else if (sort == Sort.DISJUNCTION && exactNameOf(compiled) != null) {
+                names.add(exactNameOf(compiled));
+            }
+            operands.add(compiled);
+        }
+        if (names.size() >= MINIMUM_MERGED_NAMES) {
+            Iterator<ElementMatcher<? super S>> iterator = operands.iterator();
+            while (iterator.hasNext()) {
+                if (exactNameOf(iterator.next()) != null) {
+                    iterator.remove();
+                }
+            }
+            operands.add((ElementMatcher<? super S>) new ForNames<ByteCodeElement>(names));
+        }
+        List<ElementMatcher<? super S>> ordered = new ArrayList<ElementMatcher<? super S>>(operands);
+        Collections.sort(ordered, CostComparator.INSTANCE);
+        switch (ordered.size()) {
+            case 0:
+                return sort.getNeutralElement();
+            case 1:
+                return ordered.get(0);
+            default:
+                return new CompiledMatcher<S>(sort, ordered);
+        }
+    }
+
+    /**
+     * Returns the only name that is matched by a matcher that matches a byte code element by the exact value of
+     * its name.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The only name that is matched by the given matcher or {@code null} if the given matcher does not
+     * match a byte code element by the exact value of its name.
+     */
+    private static String exactNameOf(ElementMatcher<?> matcher) {
+        return matcher instanceof NameMatcher
+                ? StringMatcher.exactValueOf(((NameMatcher<?>) matcher).getNameMatcher())
+                : null;
+    }
+
+    @Override
+    public boolean matches(T target) {
+        for (int index = 0; index < matchers.size(); index++) {
+            if (matchers.get(index).matches(target) == sort.isDecisive()) {
+                return sort.isDecisive();
+            }
+        }
+        return !sort.isDecisive();
+    }
+
+    /**
+     * Returns the sort of this compiled junction.
+     *
+     * @return The sort of this compiled junction.
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Returns the matchers that constitute this compiled junction in the order of their evaluation.
+     *
+     * @return The matchers that constitute this compiled junction in the order of their evaluation.
+     */
+    public List<? extends ElementMatcher<? super T>> getMatchers() {
+        return matchers;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && sort == ((CompiledMatcher) other).sort
+                && matchers.equals(((CompiledMatcher) other).matchers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * sort.hashCode() + matchers.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("(");
+        for (int index = 0; index < matchers.size(); index++) {
+            if (index > 0) {
+                stringBuilder.append(' ').append(sort.getDescription()).append(' ');
+            }
+            stringBuilder.append(matchers.get(index));
+        }
+        return stringBuilder.append(')').toString();
+    }
+
+    /**
+     * Describes the sort of a compiled junction.
+     */
+    public static enum Sort {
+
+        /**
+         * A conjunction that only matches if all of its matchers match.
+         */
+        CONJUNCTION(false, "and"),
+
+        /**
+         * A disjunction that matches if any of its matchers matches.
+         */
+        DISJUNCTION(true, "or");
+
+        /**
+         * The matching result of a single matcher that decides the matching result of the entire junction.
+         */
+        private final boolean decisive;
+
+        /**
+         * A textual description of this sort.
+         */
+        private final String description;
+
+        /**
+         * Creates a new sort of junction.
+         *
+         * @param decisive    The matching result of a single matcher that decides the matching result of the
+         *                    entire junction.
+         * @param description A textual description of this sort.
+         */
+        private Sort(boolean decisive, String description) {
+            this.decisive = decisive;
+            this.description = description;
+        }
+
+        /**
+         * Returns the matching result of a single matcher that decides the matching result of the entire junction.
+         *
+         * @return The matching result of a single matcher that decides the matching result of the entire junction.
+         */
+        public boolean isDecisive() {
+            return decisive;
+        }
+
+        /**
+         * Returns a textual description of this sort.
+         *
+         * @return A textual description of this sort.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * Returns a matcher that does not alter the result of a junction of this sort.
+         *
+         * @param <S> The type of the matched entity.
+         * @return A matcher that does not alter the result of a junction of this sort.
+         */
+        protected <S> ElementMatcher<S> getNeutralElement() {
+            return new BooleanMatcher<S>(!decisive);
+        }
+
+        /**
+         * Returns a matcher that decides the result of a junction of this sort.
+         *
+         * @param <S> The type of the matched entity.
+         * @return A matcher that decides the result of a junction of this sort.
+         */
+        protected <S> ElementMatcher<S> getDecisiveElement() {
+            return new BooleanMatcher<S>(decisive);
+        }
+
+        /**
+         * Collects all operands of a junction of this sort, including the operands of any nested junction of this sort.
+         *
+         * @param matcher  The matcher of which the operands are to be collected.
+         * @param operands The list to which the operands are added.
+         * @param <S>      The type of the matched entity.
+         * @return The given list of operands.
+         */
+        @SuppressWarnings("unchecked")
+        protected <S> List<ElementMatcher<? super S>> flatten(ElementMatcher<? super S> matcher, List<ElementMatcher<? super S>> operands) {
+            if (this == CONJUNCTION && matcher instanceof ElementMatcher.Junction.Conjunction) {
+                flatten(((ElementMatcher.Junction.Conjunction<? super S>) matcher).getLeft(), operands);
+                flatten(((ElementMatcher.Junction.Conjunction<? super S>) matcher).getRight(), operands);
+            } else if (this == DISJUNCTION && matcher instanceof ElementMatcher.Junction.Disjunction) {
+                flatten(((ElementMatcher.Junction.Disjunction<? super S>) matcher).getLeft(), operands);
+                flatten(((ElementMatcher.Junction.Disjunction<? super S>) matcher).getRight(), operands);
+            } else if (matcher instanceof CompiledMatcher && ((CompiledMatcher<?>) matcher).getSort() == this) {
+                for (ElementMatcher<?> operand : ((CompiledMatcher<?>) matcher).getMatchers()) {
+                    flatten((ElementMatcher<? super S>) operand, operands);
+                }
+            } else {
+                operands.add(matcher);
+            }
+            return operands;
+        }
+    }
+
+    /**
+     * Describes the relative cost of evaluating a matcher.
+     */
+    protected static enum Cost {
+
+        /**
+         * Describes a matcher that only compares a property of the matched element.
+         */
+        CHEAP,
+
+        /**
+         * Describes a matcher of unknown cost.
+         */
+        UNKNOWN,
+
+        /**
+         * Describes a matcher that resolves annotations or walks a type hierarchy.
+         */
+        EXPENSIVE;
+
+        /**
+         * Estimates the cost of evaluating the given matcher.
+         *
+         * @param matcher The matcher to estimate.
+         * @return The estimated cost of evaluating the given matcher.
+         */
+        protected static Cost of(ElementMatcher<?> matcher) {
+            if (matcher instanceof BooleanMatcher
+                    || matcher instanceof NullMatcher
+                    || matcher instanceof EqualityMatcher
+                    || matcher instanceof ModifierMatcher
+                    || matcher instanceof MethodSortMatcher
+                    || matcher instanceof NameMatcher
+                    || matcher instanceof DescriptorMatcher
+                    || matcher instanceof ForNames) {
+                return CHEAP;
+            } else if (matcher instanceof AnnotationTypeMatcher
+                    || matcher instanceof DeclaringAnnotationMatcher
+                    || matcher instanceof InheritedAnnotationMatcher
+                    || matcher instanceof SubTypeMatcher
+                    || matcher instanceof SuperTypeMatcher
+                    || matcher instanceof ClassLoaderHierarchyMatcher
+                    || matcher instanceof ClassLoaderParentMatcher) {
+                return EXPENSIVE;
+            } else if (matcher instanceof NegatingMatcher) {
+                return of(((NegatingMatcher<?>) matcher).getNegatedMatcher());
+            } else if (matcher instanceof CompiledMatcher) {
+                Cost cost = CHEAP;
+                for (ElementMatcher<?> operand : ((CompiledMatcher<?>) matcher).getMatchers()) {
+                    Cost operandCost = of(operand);
+                    if (operandCost.compareTo(cost) > 0) {
+                        cost = operandCost;
+                    }
+                }
+                return cost;
+            } else {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * A comparator that orders matchers by their estimated evaluation cost. As the sorting is stable, matchers
+     * of equal cost retain their original order.
+     */
+    protected static enum CostComparator implements Comparator<ElementMatcher<?>> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public int compare(ElementMatcher<?> left, ElementMatcher<?> right) {
+            return Cost.of(left).compareTo(Cost.of(right));
+        }
+    }
+
+    /**
+     * A matcher that matches a byte code element if its source code name is contained in a set of names.
+     *
+     * @param <S> The type of the matched entity.
+     */
+    public static class ForNames<S extends ByteCodeElement> extends ElementMatcher.Junction.AbstractBase<S> {
+
+        /**
+         * The names that are matched by this matcher.
+         */
+        private final Set<String> names;
+
+        /**
+         * Creates a new matcher for a set of names.
+         *
+         * @param names The names that are matched by this matcher.
+         */
+        public ForNames(Set<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public boolean matches(S target) {
+            return names.contains(target.getSourceCodeName());
+        }
+
+        /**
+         * Returns the names that are matched by this matcher.
+         *
+         * @return The names that are matched by this matcher.
+         */
+        public Set<String> getNames() {
+            return Collections.unmodifiableSet(names);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && names.equals(((ForNames) other).names);
+        }
+
+        @Override
+        public int hashCode() {
+            return names.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "named(" + names + ')';
+        }
+    }
+}
@@ -29,6 +29,15 @@ public class DeclaringAnnotationMatcher<T extends AnnotatedElement> extends Elem
         return annotationMatcher.matches(target.getDeclaredAnnotations());
     }
 
+    /**
+     * Returns the matcher to be applied to the provided annotation list.
+     *
+     * @return The matcher to be applied to the provided annotation list.
+     */
+    public ElementMatcher<? super AnnotationList> getAnnotationMatcher() {
+        return annotationMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -28,6 +28,15 @@ public class DescriptorMatcher<T extends ByteCodeElement> extends ElementMatcher
         return descriptorMatcher.matches(target.getDescriptor());
     }
 
+    /**
+     * Returns the matcher that is applied to the descriptor.
+     *
+     * @return The matcher that is applied to the descriptor.
+     */
+    public ElementMatcher<String> getDescriptorMatcher() {
+        return descriptorMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -98,6 +98,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) && right.matches(target);
             }
 
+            /**
+             * Returns the left matcher of this conjunction.
+             *
+             * @return The left matcher of this conjunction.
+             */
+            public ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the right matcher of this conjunction.
+             *
+             * @return The right matcher of this conjunction.
+             */
+            public ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -145,6 +163,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) || right.matches(target);
             }
 
+            /**
+             * Returns the left matcher of this disjunction.
+             *
+             * @return The left matcher of this disjunction.
+             */
+            public ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the right matcher of this disjunction.
+             *
+             * @return The right matcher of this disjunction.
+             */
+            public ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
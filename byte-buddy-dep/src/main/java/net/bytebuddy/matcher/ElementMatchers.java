@@ -133,6 +133,21 @@ public final class ElementMatchers {
         return new NegatingMatcher<T>(nonNull(matcher));
     }
 
+    /**
+     * Compiles a matcher into an equivalent matcher that is cheaper to evaluate. Compiling a matcher flattens any
+     * nested conjunctions and disjunctions, removes duplicate matchers, evaluates cheap matchers such as name or
+     * modifier matchers before expensive matchers such as annotation or type hierarchy matchers and merges
+     * disjunctions of exact name matchers into a single hash set lookup. Compiling a matcher requires any of its
+     * matchers to be free of side effects as matchers might be evaluated in a different order.
+     *
+     * @param matcher The matcher to compile.
+     * @param <T>     The type of the matched object.
+     * @return A compiled version of the given {@code matcher}.
+     */
+    public static <T> ElementMatcher.Junction<T> compile(ElementMatcher<? super T> matcher) {
+        return CompiledMatcher.of(nonNull(matcher));
+    }
+
     /**
      * Creates a matcher that always returns {@code true}.
      *
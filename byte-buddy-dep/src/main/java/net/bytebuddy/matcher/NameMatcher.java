@@ -35,6 +35,15 @@ public class NameMatcher<T extends ByteCodeElement> extends ElementMatcher.Junct
         return nameMatcher.matches(target.getSourceCodeName());
     }
 
+    /**
+     * Returns the matcher that is applied to a byte code element's source code name.
+     *
+     * @return The matcher that is applied to a byte code element's source code name.
+     */
+    public ElementMatcher<String> getNameMatcher() {
+        return nameMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -26,6 +26,15 @@ public class NegatingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T>
         return !negatedMatcher.matches(target);
     }
 
+    /**
+     * Returns the element matcher that is negated by this matcher.
+     *
+     * @return The element matcher that is negated by this matcher.
+     */
+    public ElementMatcher<? super T> getNegatedMatcher() {
+        return negatedMatcher;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
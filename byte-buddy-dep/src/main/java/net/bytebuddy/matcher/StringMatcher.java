@@ -31,6 +31,38 @@ public class StringMatcher extends ElementMatcher.Junction.AbstractBase<String>
         return mode.matches(value, target);
     }
 
+    /**
+     * Returns the only value that is matched by the given matcher if it is a string matcher that requires a value
+     * to be fully equal to its text value.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The only value that is matched by the given matcher or {@code null} if the matcher can match several
+     * values.
+     */
+    public static String exactValueOf(ElementMatcher<?> matcher) {
+        return matcher instanceof StringMatcher && ((StringMatcher) matcher).mode == Mode.EQUALS_FULLY
+                ? ((StringMatcher) matcher).value
+                : null;
+    }
+
+    /**
+     * Returns the text value to match against.
+     *
+     * @return The text value to match against.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the mode to apply for matching the given value against the matcher's input.
+     *
+     * @return The mode to apply for matching the given value against the matcher's input.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
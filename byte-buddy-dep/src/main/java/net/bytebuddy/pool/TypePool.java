@@ -20,12 +20,15 @@ import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.AnnotationTypeMismatchException;
 import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
 
 /**
  * A type pool allows the retreival of {@link net.bytebuddy.instrumentation.type.TypeDescription} by its name.
@@ -43,6 +46,16 @@ public interface TypePool {
      */
     Resolution describe(String name);
 
+    /**
+     * Locates and describes all given types by their names. Unless specified differently by an implementation, this
+     * is equivalent to calling {@link net.bytebuddy.pool.TypePool#describe(String)} for each name.
+     *
+     * @param names The names of the types to describe. The names are to be written as when calling
+     *              {@link Object#toString()} on a loaded {@link java.lang.Class}.
+     * @return A map of resolutions of the types to describe by their names in the iteration order of the given names.
+     */
+    Map<String, Resolution> describeAll(Collection<String> names);
+
     /**
      * Clears this type pool's cache.
      */
@@ -258,6 +271,341 @@ public interface TypePool {
                 return "TypePool.CacheProvider.Simple{cache=" + cache + '}';
             }
         }
+
+        /**
+         * A thread-safe type cache that retains a bounded number of resolutions. Whenever this bound is exceeded, the
+         * least recently used resolution is evicted. Optionally, resolutions are only referenced softly such that they
+         * can also be reclaimed by the garbage collector if the heap is under pressure. A bounded cache records its
+         * number of hits, misses and evictions in order to allow for tuning its maximum size.
+         */
+        static class Bounded implements CacheProvider {
+
+            /**
+             * The initial capacity of the underlying map.
+             */
+            private static final int INITIAL_CAPACITY = 16;
+
+            /**
+             * The load factor of the underlying map.
+             */
+            private static final float LOAD_FACTOR = 0.75f;
+
+            /**
+             * The maximum number of resolutions that are retained by this cache.
+             */
+            private final int maximumSize;
+
+            /**
+             * The reference strength by which resolutions are retained by this cache.
+             */
+            private final ReferenceStrength referenceStrength;
+
+            /**
+             * A map of all cached entries by their type names in the order of their last access.
+             */
+            private final LinkedHashMap<String, Entry> cache;
+
+            /**
+             * A reference queue that is notified of resolutions that were reclaimed by the garbage collector.
+             */
+            private final ReferenceQueue<Resolution> referenceQueue;
+
+            /**
+             * The number of lookups that were answered by this cache.
+             */
+            private long hitCount;
+
+            /**
+             * The number of lookups that could not be answered by this cache.
+             */
+            private long missCount;
+
+            /**
+             * The number of resolutions that were removed from this cache, either for exceeding the maximum size or
+             * for being reclaimed by the garbage collector.
+             */
+            private long evictionCount;
+
+            /**
+             * Creates a new bounded cache that strongly references its resolutions.
+             *
+             * @param maximumSize The maximum number of resolutions that are retained by this cache.
+             */
+            public Bounded(int maximumSize) {
+                this(maximumSize, ReferenceStrength.STRONG);
+            }
+
+            /**
+             * Creates a new bounded cache.
+             *
+             * @param maximumSize       The maximum number of resolutions that are retained by this cache.
+             * @param referenceStrength The reference strength by which resolutions are retained by this cache.
+             */
+            public Bounded(int maximumSize, ReferenceStrength referenceStrength) {
+                if (maximumSize < 1) {
+                    throw new IllegalArgumentException("The maximum size of a cache must be positive: " + maximumSize);
+                }
+                this.maximumSize = maximumSize;
+                this.referenceStrength = nonNull(referenceStrength);
+                cache = new LinkedHashMap<String, Entry>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+                referenceQueue = new ReferenceQueue<Resolution>();
+            }
+
+            @Override
+            public synchronized Resolution find(String name) {
+                expungeStaleEntries();
+                Resolution resolution = lookup(name);
+                if (resolution == null) {
+                    missCount++;
+                } else {
+                    hitCount++;
+                }
+                return resolution;
+            }
+
+            @Override
+            public synchronized Resolution register(String name, Resolution resolution) {
+                expungeStaleEntries();
+                Resolution cached = lookup(name);
+                if (cached != null) {
+                    return cached;
+                }
+                cache.put(name, referenceStrength.wrap(name, resolution, referenceQueue));
+                if (cache.size() > maximumSize) {
+                    Iterator<Entry> iterator = cache.values().iterator();
+                    iterator.next();
+                    iterator.remove();
+                    evictionCount++;
+                }
+                return resolution;
+            }
+
+            @Override
+            public synchronized void clear() {
+                cache.clear();
+                while (referenceQueue.poll() != null) {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * Looks up a cached resolution and removes its entry if the resolution was already reclaimed.
+             *
+             * @param name The name of the type to look up.
+             * @return The cached resolution or {@code null} if no such resolution is cached.
+             */
+            private Resolution lookup(String name) {
+                Entry entry = cache.get(name);
+                if (entry == null) {
+                    return null;
+                }
+                Resolution resolution = entry.get();
+                if (resolution == null) {
+                    cache.remove(name);
+                    evictionCount++;
+                }
+                return resolution;
+            }
+
+            /**
+             * Removes all entries from this cache whose resolutions were reclaimed by the garbage collector.
+             */
+            private void expungeStaleEntries() {
+                Reference<?> reference;
+                while ((reference = referenceQueue.poll()) != null) {
+                    String name = ((SoftEntry) reference).getName();
+                    if (cache.get(name) == reference) {
+                        cache.remove(name);
+                        evictionCount++;
+                    }
+                }
+            }
+
+            /**
+             * Returns the maximum number of resolutions that are retained by this cache.
+             *
+             * @return The maximum number of resolutions that are retained by this cache.
+             */
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            /**
+             * Returns the number of resolutions that are currently retained by this cache. For softly referenced
+             * resolutions, this number might include resolutions that were already reclaimed.
+             *
+             * @return The number of resolutions that are currently retained by this cache.
+             */
+            public synchronized int getSize() {
+                expungeStaleEntries();
+                return cache.size();
+            }
+
+            /**
+             * Returns the number of lookups that were answered by this cache.
+             *
+             * @return The number of lookups that were answered by this cache.
+             */
+            public synchronized long getHitCount() {
+                return hitCount;
+            }
+
+            /**
+             * Returns the number of lookups that could not be answered by this cache.
+             *
+             * @return The number of lookups that could not be answered by this cache.
+             */
+            public synchronized long getMissCount() {
+                return missCount;
+            }
+
+            /**
+             * Returns the number of resolutions that were removed from this cache, either for exceeding the maximum
+             * size or for being reclaimed by the garbage collector. Explicitly clearing the cache does not count as
+             * an eviction.
+             *
+             * @return The number of resolutions that were evicted from this cache.
+             */
+            public synchronized long getEvictionCount() {
+                expungeStaleEntries();
+                return evictionCount;
+            }
+
+            @Override
+            public synchronized String toString() {
+                return "TypePool.CacheProvider.Bounded{" +
+                        "maximumSize=" + maximumSize +
+                        ", referenceStrength=" + referenceStrength +
+                        ", cache=" + cache.keySet() +
+                        ", hitCount=" + hitCount +
+                        ", missCount=" + missCount +
+                        ", evictionCount=" + evictionCount +
+                        '}';
+            }
+
+            /**
+             * Describes the strength by which a bounded cache references its resolutions.
+             */
+            public static enum ReferenceStrength {
+
+                /**
+                 * Retains resolutions by strong references such that resolutions are only evicted when exceeding the
+                 * cache's maximum size.
+                 */
+                STRONG {
+                    @Override
+                    protected Entry wrap(String name, Resolution resolution, ReferenceQueue<Resolution> referenceQueue) {
+                        return new StrongEntry(resolution);
+                    }
+                },
+
+                /**
+                 * Retains resolutions by soft references such that resolutions are additionally evicted when the
+                 * garbage collector requires to reclaim memory.
+                 */
+                SOFT {
+                    @Override
+                    protected Entry wrap(String name, Resolution resolution, ReferenceQueue<Resolution> referenceQueue) {
+                        return new SoftEntry(name, resolution, referenceQueue);
+                    }
+                };
+
+                /**
+                 * Wraps a resolution in a cache entry.
+                 *
+                 * @param name           The name of the cached type.
+                 * @param resolution     The resolution to cache.
+                 * @param referenceQueue The reference queue to notify when a resolution is reclaimed.
+                 * @return A cache entry representing the given resolution.
+                 */
+                protected abstract Entry wrap(String name, Resolution resolution, ReferenceQueue<Resolution> referenceQueue);
+            }
+
+            /**
+             * An entry of a bounded cache.
+             */
+            protected static interface Entry {
+
+                /**
+                 * Returns the resolution of this entry.
+                 *
+                 * @return The resolution of this entry or {@code null} if this resolution was reclaimed.
+                 */
+                Resolution get();
+            }
+
+            /**
+             * An entry that strongly references its resolution.
+             */
+            protected static class StrongEntry implements Entry {
+
+                /**
+                 * The represented resolution.
+                 */
+                private final Resolution resolution;
+
+                /**
+                 * Creates a new strong entry.
+                 *
+                 * @param resolution The represented resolution.
+                 */
+                protected StrongEntry(Resolution resolution) {
+                    this.resolution = resolution;
+                }
+
+                @Override
+                public Resolution get() {
+                    return resolution;
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.CacheProvider.Bounded.StrongEntry{" +
+                            "resolution=" + resolution +
+                            '}';
+                }
+            }
+
+            /**
+             * An entry that softly references its resolution.
+             */
+            protected static class SoftEntry extends SoftReference<Resolution> implements Entry {
+
+                /**
+                 * The name of the type that is represented by this entry.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new soft entry.
+                 *
+                 * @param name           The name of the type that is represented by this entry.
+                 * @param resolution     The represented resolution.
+                 * @param referenceQueue The reference queue to notify when the resolution is reclaimed.
+                 */
+                protected SoftEntry(String name, Resolution resolution, ReferenceQueue<Resolution> referenceQueue) {
+                    super(resolution, referenceQueue);
+                    this.name = name;
+                }
+
+                /**
+                 * Returns the name of the type that is represented by this entry.
+                 *
+                 * @return The name of the type that is represented by this entry.
+                 */
+                protected String getName() {
+                    return name;
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.CacheProvider.Bounded.SoftEntry{" +
+                            "name='" + name + '\'' +
+                            ", resolution=" + get() +
+                            '}';
+                }
+            }
+        }
     }
 
     /**
@@ -341,6 +689,15 @@ public interface TypePool {
             return ArrayTypeResolution.of(resolution, arity);
         }
 
+        @Override
+        public Map<String, Resolution> describeAll(Collection<String> names) {
+            Map<String, Resolution> resolutions = new LinkedHashMap<String, Resolution>();
+            for (String name : names) {
+                resolutions.put(name, describe(name));
+            }
+            return resolutions;
+        }
+
         @Override
         public void clear() {
             cacheProvider.clear();
@@ -454,24 +811,37 @@ public interface TypePool {
         private static final int ASM_VERSION = Opcodes.ASM5;
 
         /**
-         * A flag to indicate ASM that no automatic calculations are requested.
+         * The locator to query for finding binary data of a type.
          */
-        private static final int ASM_MANUAL = 0;
+        private final ClassFileLocator classFileLocator;
 
         /**
-         * The locator to query for finding binary data of a type.
+         * The reader mode to apply when parsing a class file.
          */
-        private final ClassFileLocator classFileLocator;
+        private final ReaderMode readerMode;
 
         /**
-         * Creates a new default type pool.
+         * Creates a new default type pool that only reads the information of a class file that is required for
+         * describing a type.
          *
          * @param cacheProvider    The cache provider to be used.
          * @param classFileLocator The class file locator to be used.
          */
         public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator) {
+            this(cacheProvider, classFileLocator, ReaderMode.FAST);
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply when parsing a class file.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
             super(cacheProvider);
             this.classFileLocator = classFileLocator;
+            this.readerMode = readerMode;
         }
 
         /**
@@ -484,6 +854,17 @@ public interface TypePool {
             return new Default(new CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofClassPath());
         }
 
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the system class
+         * loader.
+         *
+         * @param readerMode The reader mode to apply when parsing a class file.
+         * @return A type pool that reads its data from the system class path.
+         */
+        public static TypePool ofClassPath(ReaderMode readerMode) {
+            return new Default(new CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofClassPath(), readerMode);
+        }
+
         @Override
         protected Resolution doDescribe(String name) {
             try {
@@ -505,7 +886,7 @@ public interface TypePool {
         private TypeDescription parse(byte[] binaryRepresentation) {
             ClassReader classReader = new ClassReader(binaryRepresentation);
             TypeExtractor typeExtractor = new TypeExtractor();
-            classReader.accept(typeExtractor, ASM_MANUAL);
+            classReader.accept(typeExtractor, readerMode.getFlags());
             return typeExtractor.toTypeDescription();
         }
 
@@ -513,12 +894,16 @@ public interface TypePool {
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
                     && super.equals(other)
-                    && classFileLocator.equals(((Default) other).classFileLocator);
+                    && classFileLocator.equals(((Default) other).classFileLocator)
+                    && readerMode == ((Default) other).readerMode;
         }
 
         @Override
         public int hashCode() {
-            return 31 * super.hashCode() + classFileLocator.hashCode();
+            int result = super.hashCode();
+            result = 31 * result + classFileLocator.hashCode();
+            result = 31 * result + readerMode.hashCode();
+            return result;
         }
 
         @Override
@@ -526,9 +911,54 @@ public interface TypePool {
             return "TypePool.Default{" +
                     "classFileLocator=" + classFileLocator +
                     ", cacheProvider=" + cacheProvider +
+                    ", readerMode=" + readerMode +
                     '}';
         }
 
+        /**
+         * Determines what information a {@link net.bytebuddy.pool.TypePool.Default} reads from a class file. None
+         * of the information that is currently represented by a type description is stored within a method's code,
+         * such that skipping a method's code does not alter any description but avoids decoding the largest part
+         * of a typical class file.
+         */
+        public static enum ReaderMode {
+
+            /**
+             * A reader mode that reads the entire class file including any method's code, stack map frames
+             * and debugging information.
+             */
+            EXTENDED(0),
+
+            /**
+             * A reader mode that skips any method's code, stack map frames and debugging information and only
+             * reads the information that is required for describing a type, its fields and its methods.
+             */
+            FAST(ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+            /**
+             * The flags to provide to a {@link org.objectweb.asm.ClassReader} when reading a class file.
+             */
+            private final int flags;
+
+            /**
+             * Creates a new reader mode.
+             *
+             * @param flags The flags to provide to a {@link org.objectweb.asm.ClassReader} when reading a class file.
+             */
+            private ReaderMode(int flags) {
+                this.flags = flags;
+            }
+
+            /**
+             * Returns the flags to provide to a {@link org.objectweb.asm.ClassReader} when reading a class file.
+             *
+             * @return The flags to provide to a {@link org.objectweb.asm.ClassReader}.
+             */
+            protected int getFlags() {
+                return flags;
+            }
+        }
+
         /**
          * An annotation registrant implements a visitor pattern for reading an unknown amount of values of annotations.
          */
@@ -1464,6 +1894,219 @@ public interface TypePool {
         }
     }
 
+    /**
+     * A type pool that describes several types concurrently by submitting the description of each type to an
+     * {@link java.util.concurrent.Executor}. All types are described by a delegate type pool such that any described
+     * type is registered in the delegate's cache. Optionally, the super types and interfaces of any described type are
+     * described ahead of time, too, such that resolving a type's hierarchy does not require parsing any further class
+     * files on the calling thread if the delegate's cache retains these descriptions. For describing a single type,
+     * this type pool describes the type on the calling thread. The delegate type pool must be thread-safe.
+     */
+    static class Parallel implements TypePool {
+
+        /**
+         * The type pool to which the description of types is delegated.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The executor to which the description of types is submitted.
+         */
+        private final Executor executor;
+
+        /**
+         * {@code true} if the super types and interfaces of all described types should be described ahead of time.
+         */
+        private final boolean prefetchSupertypes;
+
+        /**
+         * Creates a new parallel type pool that does not describe super types ahead of time.
+         *
+         * @param typePool The type pool to which the description of types is delegated.
+         * @param executor The executor to which the description of types is submitted.
+         */
+        public Parallel(TypePool typePool, Executor executor) {
+            this(typePool, executor, false);
+        }
+
+        /**
+         * Creates a new parallel type pool.
+         *
+         * @param typePool           The type pool to which the description of types is delegated.
+         * @param executor           The executor to which the description of types is submitted.
+         * @param prefetchSupertypes {@code true} if the super types and interfaces of all described types should
+         *                           be described ahead of time.
+         */
+        public Parallel(TypePool typePool, Executor executor, boolean prefetchSupertypes) {
+            this.typePool = typePool;
+            this.executor = executor;
+            this.prefetchSupertypes = prefetchSupertypes;
+        }
+
+        /**
+         * Returns a version of this type pool that also describes the super types and interfaces of any described
+         * type ahead of time.
+         *
+         * @return A version of this type pool that also describes super types ahead of time.
+         */
+        public TypePool withSupertypePrefetch() {
+            return new Parallel(typePool, executor, true);
+        }
+
+        @Override
+        public Resolution describe(String name) {
+            return typePool.describe(name);
+        }
+
+        @Override
+        public Map<String, Resolution> describeAll(Collection<String> names) {
+            CompletionService<Resolution> completionService = new ExecutorCompletionService<Resolution>(executor);
+            Map<Future<Resolution>, String> pending = new HashMap<Future<Resolution>, String>();
+            Map<String, Resolution> resolutions = new HashMap<String, Resolution>();
+            Set<String> submitted = new HashSet<String>();
+            for (String name : names) {
+                if (submitted.add(name)) {
+                    pending.put(completionService.submit(new Description(typePool, name)), name);
+                }
+            }
+            try {
+                while (!pending.isEmpty()) {
+                    Future<Resolution> future = completionService.take();
+                    Resolution resolution = future.get();
+                    resolutions.put(pending.remove(future), resolution);
+                    if (prefetchSupertypes && resolution.isResolved()) {
+                        for (String supertypeName : supertypeNamesOf(resolution.resolve())) {
+                            if (submitted.add(supertypeName)) {
+                                pending.put(completionService.submit(new Description(typePool, supertypeName)), supertypeName);
+                            }
+                        }
+                    }
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while describing " + names, exception);
+            } catch (ExecutionException exception) {
+                throw new IllegalStateException("Could not describe " + names, exception.getCause());
+            } finally {
+                for (Future<Resolution> future : pending.keySet()) {
+                    future.cancel(true);
+                }
+            }
+            Map<String, Resolution> described = new LinkedHashMap<String, Resolution>();
+            for (String name : names) {
+                described.put(name, resolutions.get(name));
+            }
+            return described;
+        }
+
+        /**
+         * Returns the names of the direct super type and of all directly implemented interfaces of the given type.
+         * For a type that is described by a class file, the names are read from the description without resolving
+         * the represented types.
+         *
+         * @param typeDescription The type for which the super type names are to be returned.
+         * @return The names of the direct super type and of all directly implemented interfaces of the given type.
+         */
+        private static List<String> supertypeNamesOf(TypeDescription typeDescription) {
+            if (typeDescription instanceof LazyTypeDescription) {
+                return ((LazyTypeDescription) typeDescription).getDirectSupertypeNames();
+            }
+            List<String> supertypeNames = new ArrayList<String>();
+            TypeDescription supertype = typeDescription.getSupertype();
+            if (supertype != null) {
+                supertypeNames.add(supertype.getName());
+            }
+            for (TypeDescription interfaceType : typeDescription.getInterfaces()) {
+                supertypeNames.add(interfaceType.getName());
+            }
+            return supertypeNames;
+        }
+
+        @Override
+        public void clear() {
+            typePool.clear();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Parallel parallel = (Parallel) other;
+            return prefetchSupertypes == parallel.prefetchSupertypes
+                    && executor.equals(parallel.executor)
+                    && typePool.equals(parallel.typePool);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typePool.hashCode();
+            result = 31 * result + executor.hashCode();
+            result = 31 * result + (prefetchSupertypes ? 1 : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "TypePool.Parallel{" +
+                    "typePool=" + typePool +
+                    ", executor=" + executor +
+                    ", prefetchSupertypes=" + prefetchSupertypes +
+                    '}';
+        }
+
+        /**
+         * A task that describes a single type by a type pool.
+         */
+        protected static class Description implements Callable<Resolution> {
+
+            /**
+             * The type pool that describes the type.
+             */
+            private final TypePool typePool;
+
+            /**
+             * The name of the type to describe.
+             */
+            private final String name;
+
+            /**
+             * Creates a new description task.
+             *
+             * @param typePool The type pool that describes the type.
+             * @param name     The name of the type to describe.
+             */
+            protected Description(TypePool typePool, String name) {
+                this.typePool = typePool;
+                this.name = name;
+            }
+
+            @Override
+            public Resolution call() {
+                return typePool.describe(name);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && typePool.equals(((Description) other).typePool)
+                        && name.equals(((Description) other).name);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * typePool.hashCode() + name.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Parallel.Description{" +
+                        "typePool=" + typePool +
+                        ", name='" + name + '\'' +
+                        '}';
+            }
+        }
+    }
+
     /**
      * A type description that looks up any referenced {@link net.bytebuddy.instrumentation.ByteCodeElement}s or
      * {@link net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription}s by querying a type pool
@@ -1522,6 +2165,11 @@ public interface TypePool {
          */
         private final List<MethodDescription> declaredMethods;
 
+        /**
+         * The names of all types this type is assignable to or {@code null} if these names were not yet resolved.
+         */
+        private volatile Set<String> supertypeNames;
+
         /**
          * Creates a new lazy type description.
          *
@@ -1583,6 +2231,110 @@ public interface TypePool {
                     : new LazyTypeList(interfaceInternalName);
         }
 
+        @Override
+        public boolean isAssignableFrom(TypeDescription typeDescription) {
+            return typeDescription instanceof LazyTypeDescription
+                    ? typeDescription.isAssignableTo(this)
+                    : super.isAssignableFrom(typeDescription);
+        }
+
+        @Override
+        public boolean isAssignableTo(TypeDescription typeDescription) {
+            if (typeDescription.isPrimitive() || typeDescription.isArray()) {
+                return false;
+            }
+            Set<String> supertypeNames = getSupertypeNames();
+            return supertypeNames == null
+                    ? super.isAssignableTo(typeDescription)
+                    : supertypeNames.contains(typeDescription.getName());
+        }
+
+        /**
+         * Returns the names of this type's direct super type and of all directly implemented interfaces without
+         * resolving these types.
+         *
+         * @return The names of this type's direct super type and of all directly implemented interfaces.
+         */
+        protected List<String> getDirectSupertypeNames() {
+            List<String> supertypeNames = new ArrayList<String>();
+            if (superTypeName != null && !isInterface()) {
+                supertypeNames.add(superTypeName);
+            }
+            if (interfaceInternalName != null) {
+                for (String anInterfaceInternalName : interfaceInternalName) {
+                    supertypeNames.add(anInterfaceInternalName.replace('/', '.'));
+                }
+            }
+            return supertypeNames;
+        }
+
+        /**
+         * Returns the names of this type, all of its super types and all of its directly or indirectly implemented
+         * interfaces. The names are resolved once and retained by this type description which is itself retained
+         * by the cache of its type pool. Therefore, the super types of a type are only resolved once per type pool.
+         *
+         * @return The names of all types this type is assignable to or {@code null} if any such type
+         * cannot be resolved by this type description's type pool.
+         */
+        protected Set<String> getSupertypeNames() {
+            Set<String> supertypeNames = this.supertypeNames;
+            if (supertypeNames == null) {
+                supertypeNames = new HashSet<String>();
+                supertypeNames.add(name);
+                supertypeNames.add(Object.class.getName());
+                for (String supertypeName : getDirectSupertypeNames()) {
+                    if (!collectSupertypeNames(supertypeName, supertypeNames)) {
+                        return null;
+                    }
+                }
+                this.supertypeNames = supertypeNames;
+            }
+            return supertypeNames;
+        }
+
+        /**
+         * Adds the names of all types the type of the given name is assignable to.
+         *
+         * @param typeName       The name of the type of which the super type names are to be collected.
+         * @param supertypeNames The set to which the names are to be added.
+         * @return {@code true} if all types could be resolved.
+         */
+        private boolean collectSupertypeNames(String typeName, Set<String> supertypeNames) {
+            Resolution resolution = typePool.describe(typeName);
+            if (!resolution.isResolved()) {
+                return false;
+            }
+            TypeDescription typeDescription = resolution.resolve();
+            if (typeDescription instanceof LazyTypeDescription) {
+                Set<String> resolvedNames = ((LazyTypeDescription) typeDescription).getSupertypeNames();
+                if (resolvedNames == null) {
+                    return false;
+                }
+                supertypeNames.addAll(resolvedNames);
+            } else {
+                collectSupertypeNames(typeDescription, supertypeNames);
+            }
+            return true;
+        }
+
+        /**
+         * Adds the names of all types the given type is assignable to.
+         *
+         * @param typeDescription The type of which the super type names are to be collected.
+         * @param supertypeNames  The set to which the names are to be added.
+         */
+        private static void collectSupertypeNames(TypeDescription typeDescription, Set<String> supertypeNames) {
+            if (supertypeNames.add(typeDescription.getName())) {
+                TypeDescription supertype = typeDescription.getSupertype();
+                if (supertype != null) {
+                    collectSupertypeNames(supertype, supertypeNames);
+                }
+                for (TypeDescription interfaceType : typeDescription.getInterfaces()) {
+                    collectSupertypeNames(interfaceType, supertypeNames);
+                }
+            }
+        }
+
         @Override
         public MethodDescription getEnclosingMethod() {
             return declarationContext.getEnclosingMethod(typePool);
@@ -0,0 +1,194 @@
+package net.bytebuddy.utility;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+/**
+ * <p>
+ * A map key that references an object weakly and that identifies this object by its identity. A key can additionally
+ * carry a qualifier that is compared by its {@link Object#equals(Object)} method such that several entries can be
+ * registered for the same referenced object. When the referenced object is garbage collected, the key is enqueued
+ * in the reference queue that was supplied when creating the key and it can be removed from its map by
+ * {@link net.bytebuddy.utility.WeakIdentityKey#expungeStaleEntries(java.lang.ref.ReferenceQueue, java.util.Map)}.
+ * </p>
+ * <p>
+ * For looking up a value, a {@link net.bytebuddy.utility.WeakIdentityKey.Lookup} key should be used instead as it
+ * does not register a weak reference. Both keys are considered equal if they represent the same object and qualifier.
+ * </p>
+ *
+ * @param <T> The type of the referenced object.
+ */
+public class WeakIdentityKey<T> extends WeakReference<T> {
+
+    /**
+     * The qualifier of this key or {@code null} if this key is not qualified.
+     */
+    private final Object qualifier;
+
+    /**
+     * The hash code of this key.
+     */
+    private final int hashCode;
+
+    /**
+     * Creates a new weak identity key without a qualifier.
+     *
+     * @param referent       The referenced object.
+     * @param referenceQueue The reference queue to notify when the referenced object is garbage collected or
+     *                       {@code null} if no queue should be notified.
+     */
+    public WeakIdentityKey(T referent, ReferenceQueue<? super T> referenceQueue) {
+        this(referent, null, referenceQueue);
+    }
+
+    /**
+     * Creates a new weak identity key.
+     *
+     * @param referent       The referenced object.
+     * @param qualifier      The qualifier of this key or {@code null} if this key is not qualified.
+     * @param referenceQueue The reference queue to notify when the referenced object is garbage collected or
+     *                       {@code null} if no queue should be notified.
+     */
+    public WeakIdentityKey(T referent, Object qualifier, ReferenceQueue<? super T> referenceQueue) {
+        super(referent, referenceQueue);
+        this.qualifier = qualifier;
+        hashCode = hashCode(referent, qualifier);
+    }
+
+    /**
+     * Removes all entries of a map that are registered for a weak identity key of the given reference queue
+     * whose referenced object was garbage collected.
+     *
+     * @param referenceQueue The reference queue that is notified about garbage collected objects.
+     * @param map            The map of which stale entries are to be removed.
+     */
+    public static void expungeStaleEntries(ReferenceQueue<?> referenceQueue, Map<?, ?> map) {
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            map.remove(reference);
+        }
+    }
+
+    /**
+     * Computes the hash code of a key.
+     *
+     * @param referent  The referenced object.
+     * @param qualifier The qualifier of the key or {@code null} if the key is not qualified.
+     * @return The hash code of the described key.
+     */
+    private static int hashCode(Object referent, Object qualifier) {
+        return 31 * System.identityHashCode(referent) + (qualifier == null ? 0 : qualifier.hashCode());
+    }
+
+    /**
+     * Checks if two qualifiers are equal.
+     *
+     * @param qualifier      The first qualifier or {@code null}.
+     * @param otherQualifier The second qualifier or {@code null}.
+     * @return {@code true} if both qualifiers are equal.
+     */
+    private static boolean isEqual(Object qualifier, Object otherQualifier) {
+        return qualifier == null
+                ? otherQualifier == null
+                : qualifier.equals(otherQualifier);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        T referent = get();
+        if (referent == null) {
+            return false;
+        } else if (other instanceof WeakIdentityKey) {
+            WeakIdentityKey<?> weakIdentityKey = (WeakIdentityKey<?>) other;
+            return referent == weakIdentityKey.get() && isEqual(qualifier, weakIdentityKey.qualifier);
+        } else if (other instanceof Lookup) {
+            Lookup<?> lookup = (Lookup<?>) other;
+            return referent == lookup.referent && isEqual(qualifier, lookup.qualifier);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "WeakIdentityKey{" +
+                "referent=" + get() +
+                ", qualifier=" + qualifier +
+                ", hashCode=" + hashCode +
+                '}';
+    }
+
+    /**
+     * A key for looking up a value that was registered for a {@link net.bytebuddy.utility.WeakIdentityKey} without
+     * registering a weak reference.
+     *
+     * @param <T> The type of the represented object.
+     */
+    public static class Lookup<T> {
+
+        /**
+         * The represented object.
+         */
+        private final T referent;
+
+        /**
+         * The qualifier of this key or {@code null} if this key is not qualified.
+         */
+        private final Object qualifier;
+
+        /**
+         * Creates a new lookup key without a qualifier.
+         *
+         * @param referent The represented object.
+         */
+        public Lookup(T referent) {
+            this(referent, null);
+        }
+
+        /**
+         * Creates a new lookup key.
+         *
+         * @param referent  The represented object.
+         * @param qualifier The qualifier of this key or {@code null} if this key is not qualified.
+         */
+        public Lookup(T referent, Object qualifier) {
+            this.referent = referent;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other instanceof Lookup) {
+                Lookup<?> lookup = (Lookup<?>) other;
+                return referent == lookup.referent && isEqual(qualifier, lookup.qualifier);
+            } else if (other instanceof WeakIdentityKey) {
+                WeakIdentityKey<?> weakIdentityKey = (WeakIdentityKey<?>) other;
+                return referent == weakIdentityKey.get() && isEqual(qualifier, weakIdentityKey.qualifier);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return WeakIdentityKey.hashCode(referent, qualifier);
+        }
+
+        @Override
+        public String toString() {
+            return "WeakIdentityKey.Lookup{" +
+                    "referent=" + referent +
+                    ", qualifier=" + qualifier +
+                    '}';
+        }
+    }
+}
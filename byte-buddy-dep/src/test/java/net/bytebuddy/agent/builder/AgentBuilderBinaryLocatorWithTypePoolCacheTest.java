@@ -0,0 +1,102 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderBinaryLocatorWithTypePoolCacheTest {
+
+    private static final String FOO = "foo";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3};
+
+    private AgentBuilder.BinaryLocator.WithTypePoolCache binaryLocator;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        binaryLocator = new AgentBuilder.BinaryLocator.WithTypePoolCache();
+        classLoader = new URLClassLoader(new URL[0], null);
+    }
+
+    @Test
+    public void testTypePoolIsSharedForClassLoader() throws Exception {
+        TypeDescription first = binaryLocator.initialize(FOO, QUX, classLoader).getTypePool().describe(Object.class.getName()).resolve();
+        TypeDescription second = binaryLocator.initialize(FOO, QUX, classLoader).getTypePool().describe(Object.class.getName()).resolve();
+        assertThat(first, sameInstance(second));
+        assertThat(binaryLocator.typePool(classLoader), sameInstance(binaryLocator.typePool(classLoader)));
+    }
+
+    @Test
+    public void testTypePoolIsNotSharedAmongClassLoaders() throws Exception {
+        TypeDescription first = binaryLocator.initialize(FOO, QUX, classLoader).getTypePool().describe(Object.class.getName()).resolve();
+        TypeDescription second = binaryLocator.initialize(FOO, QUX, new URLClassLoader(new URL[0], null)).getTypePool()
+                .describe(Object.class.getName()).resolve();
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first, is(second));
+    }
+
+    @Test
+    public void testBootstrapTypePool() throws Exception {
+        assertThat(binaryLocator.typePool(null), sameInstance(binaryLocator.typePool(null)));
+        assertThat(binaryLocator.initialize(FOO, QUX, null).getTypePool().describe(Object.class.getName()).resolve()
+                .represents(Object.class), is(true));
+    }
+
+    @Test
+    public void testInstrumentedTypeIsDescribedFromBinaryRepresentation() throws Exception {
+        byte[] binaryRepresentation = ClassFileExtraction.extract(Foo.class);
+        AgentBuilder.BinaryLocator.Initialized initialized = binaryLocator.initialize(Foo.class.getName(), binaryRepresentation, classLoader);
+        TypeDescription typeDescription = initialized.getTypePool().describe(Foo.class.getName()).resolve();
+        assertThat(typeDescription.getName(), is(Foo.class.getName()));
+        assertThat(typeDescription.getSupertype().represents(Object.class), is(true));
+        assertThat(binaryLocator.typePool(classLoader).describe(Foo.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testInstrumentedTypeIsNotCached() throws Exception {
+        byte[] binaryRepresentation = ClassFileExtraction.extract(Foo.class);
+        TypeDescription first = binaryLocator.initialize(Foo.class.getName(), binaryRepresentation, classLoader).getTypePool()
+                .describe(Foo.class.getName()).resolve();
+        TypeDescription second = binaryLocator.initialize(Foo.class.getName(), binaryRepresentation, classLoader).getTypePool()
+                .describe(Foo.class.getName()).resolve();
+        assertThat(first, not(sameInstance(second)));
+    }
+
+    @Test
+    public void testClassFileLocator() throws Exception {
+        ClassFileLocator classFileLocator = binaryLocator.initialize(FOO, QUX, classLoader).getClassFileLocator();
+        assertThat(classFileLocator.locate(FOO).resolve(), is(QUX));
+        assertThat(classFileLocator.locate(Object.class.getName()).isResolved(), is(true));
+        assertThat(classFileLocator.locate(Object.class.getName()).resolve(), not(QUX));
+    }
+
+    @Test
+    public void testClearPropagatesToSharedTypePool() throws Exception {
+        TypePool typePool = binaryLocator.initialize(FOO, QUX, classLoader).getTypePool();
+        TypeDescription typeDescription = typePool.describe(Object.class.getName()).resolve();
+        typePool.clear();
+        assertThat(binaryLocator.typePool(classLoader).describe(Object.class.getName()).resolve(), not(sameInstance(typeDescription)));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.WithTypePoolCache.class).apply(new AgentBuilder.BinaryLocator.WithTypePoolCache());
+        ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.WithTypePoolCache.Initialized.class).apply();
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
 import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -91,6 +92,36 @@ public class AgentBuilderDefaultApplicationTest {
         }
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testAgentWithTypePoolCache() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .disableSelfInitialization()
+                .withBinaryLocator(new AgentBuilder.BinaryLocator.WithTypePoolCache())
+                .rebase(isAnnotatedWith(ShouldRebase.class)).transform(new FooTransformer())
+                .installOnByteBuddyAgent();
+        try {
+            assertThat(new Corge().foo(), is(BAR));
+        } finally {
+            ByteBuddyAgent.getInstrumentation().removeTransformer(classFileTransformer);
+        }
+    }
+
+    @Test
+    @ToolsJarRule.Enforce
+    public void testAgentWithTransformationIndex() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .disableSelfInitialization()
+                .enableTransformationIndex()
+                .rebase(isAnnotatedWith(ShouldRebase.class).and(nameStartsWith(AgentBuilderDefaultApplicationTest.class.getName() + "$Grault"))).transform(new FooTransformer())
+                .installOnByteBuddyAgent();
+        try {
+            assertThat(new Grault().foo(), is(BAR));
+        } finally {
+            ByteBuddyAgent.getInstrumentation().removeTransformer(classFileTransformer);
+        }
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface ShouldRebase {
     }
@@ -119,6 +150,22 @@ public class AgentBuilderDefaultApplicationTest {
         }
     }
 
+    @ShouldRebase
+    private static class Corge {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    @ShouldRebase
+    private static class Grault {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
     public static class BarTransformer implements AgentBuilder.Transformer {
 
         @Override
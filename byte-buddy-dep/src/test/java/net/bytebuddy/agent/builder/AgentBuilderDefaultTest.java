@@ -6,6 +6,8 @@ import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.inline.MethodRebaseResolver;
 import net.bytebuddy.instrumentation.LoadedTypeInitializer;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.matcher.StringMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.test.utility.MockitoRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
@@ -19,10 +21,18 @@ import org.mockito.stubbing.Answer;
 
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.security.ProtectionDomain;
 import java.util.*;
 
+import static net.bytebuddy.matcher.ElementMatchers.isBootstrapClassLoader;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
@@ -31,7 +41,7 @@ import static org.mockito.Mockito.*;
 
 public class AgentBuilderDefaultTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar";
 
     private static final byte[] QUX = new byte[]{1, 2, 3}, BAZ = new byte[]{4, 5, 6};
 
@@ -85,6 +95,9 @@ public class AgentBuilderDefaultTest {
     @Mock
     private AgentBuilder.Listener listener;
 
+    @Mock
+    private AgentBuilder.TransformationCache transformationCache;
+
     private List<ClassFileTransformer> instrumentations;
 
     @Before
@@ -192,6 +205,241 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(instrumentation);
     }
 
+    @Test
+    public void testIgnoredByIndexWithoutParsing() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .enableTransformationIndex()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .rebase(named(FOO + FOO)).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(listener).onIgnored(FOO);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verifyZeroInteractions(binaryLocator);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testSuccessfulWithIndex() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(typeDescription.getName()).thenReturn(FOO);
+        when(typeDescription.getSourceCodeName()).thenReturn(FOO);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .enableTransformationIndex()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .rebase(named(FOO)).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(listener).onTransformation(unloaded);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testIgnoredByFilterWithoutParsing() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .ignore(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY))
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(listener).onIgnored(FOO);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verifyZeroInteractions(binaryLocator);
+        verifyZeroInteractions(rawMatcher);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testNotIgnoredByFilterOfOtherClassLoader() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .ignore(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY), isBootstrapClassLoader())
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(listener).onTransformation(unloaded);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testSuccessfulWithTransformationCache() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        when(transformationCache.find(FOO, 0, QUX)).thenReturn(null);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withTransformationCache(transformationCache)
+                .withListener(listener)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(classFileTransformer.transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(transformationCache).find(FOO, 0, QUX);
+        verify(transformationCache).register(FOO, 0, QUX, unloaded);
+        verifyNoMoreInteractions(transformationCache);
+        verify(listener).onTransformation(unloaded);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testSuccessfulWithTransformationCacheAliveInitializer() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(unloaded.hasAliveLoadedTypeInitializers()).thenReturn(true);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        when(transformationCache.find(FOO, 0, QUX)).thenReturn(null);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withTransformationCache(transformationCache)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(classFileTransformer.transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(transformationCache).find(FOO, 0, QUX);
+        verifyNoMoreInteractions(transformationCache);
+    }
+
+    @Test
+    public void testCachedTransformation() throws Exception {
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        when(transformationCache.find(FOO, 0, QUX)).thenReturn(Collections.singletonMap(FOO, BAZ));
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withTransformationCache(transformationCache)
+                .withListener(listener)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(classFileTransformer.transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verifyZeroInteractions(byteBuddy);
+        verify(transformationCache).find(FOO, 0, QUX);
+        verifyNoMoreInteractions(transformationCache);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testLoadedTypeRetransformation() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{Foo.class, Bar.class, Qux.class, int[].class});
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(instrumentation.isModifiableClass(Bar.class)).thenReturn(true);
+        when(instrumentation.isModifiableClass(Qux.class)).thenReturn(true);
+        when(rawMatcher.matches(new TypeDescription.ForLoadedType(Foo.class), Foo.class.getClassLoader(), Foo.class, Foo.class.getProtectionDomain()))
+                .thenReturn(true);
+        when(rawMatcher.matches(new TypeDescription.ForLoadedType(Bar.class), Bar.class.getClassLoader(), Bar.class, Bar.class.getProtectionDomain()))
+                .thenReturn(true);
+        when(rawMatcher.matches(new TypeDescription.ForLoadedType(Qux.class), Qux.class.getClassLoader(), Qux.class, Qux.class.getProtectionDomain()))
+                .thenReturn(true);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withListener(listener)
+                .ignore(new StringMatcher(Qux.class.getName(), StringMatcher.Mode.EQUALS_FULLY))
+                .rebase(rawMatcher).transform(transformer)
+                .enableLoadedTypeRetransformation(1)
+                .installOn(instrumentation);
+        verify(instrumentation).isRetransformClassesSupported();
+        verify(instrumentation).addTransformer(classFileTransformer, true);
+        verify(instrumentation).getAllLoadedClasses();
+        verify(instrumentation).isModifiableClass(Foo.class);
+        verify(instrumentation).isModifiableClass(Bar.class);
+        verify(instrumentation).isModifiableClass(Qux.class);
+        verify(instrumentation).isModifiableClass(int[].class);
+        verify(instrumentation).retransformClasses(Foo.class);
+        verify(instrumentation).retransformClasses(Bar.class);
+        verifyNoMoreInteractions(instrumentation);
+        verify(listener).onRetransformationBatch(Collections.<Class<?>>singletonList(Foo.class), 1, 2);
+        verify(listener).onRetransformationBatch(Collections.<Class<?>>singletonList(Bar.class), 2, 2);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testLoadedTypeRetransformationInBatch() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{Foo.class, Bar.class});
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(instrumentation.isModifiableClass(Bar.class)).thenReturn(true);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withListener(listener)
+                .enableTransformationIndex()
+                .rebase(named(Foo.class.getName())).transform(transformer)
+                .rebase(named(Bar.class.getName())).transform(transformer)
+                .enableLoadedTypeRetransformation(10)
+                .installOn(instrumentation);
+        verify(instrumentation).isRetransformClassesSupported();
+        verify(instrumentation).addTransformer(classFileTransformer, true);
+        verify(instrumentation).getAllLoadedClasses();
+        verify(instrumentation).isModifiableClass(Foo.class);
+        verify(instrumentation).isModifiableClass(Bar.class);
+        verify(instrumentation).retransformClasses(Foo.class, Bar.class);
+        verifyNoMoreInteractions(instrumentation);
+        verify(listener).onRetransformationBatch(Arrays.<Class<?>>asList(Foo.class, Bar.class), 2, 2);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testLoadedTypeRetransformationFailedBatchIsRetransformedTypeByType() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{Foo.class, Bar.class});
+        when(instrumentation.isModifiableClass(Foo.class)).thenReturn(true);
+        when(instrumentation.isModifiableClass(Bar.class)).thenReturn(true);
+        UnmodifiableClassException exception = new UnmodifiableClassException();
+        doThrow(exception).when(instrumentation).retransformClasses(Foo.class, Bar.class);
+        doThrow(exception).when(instrumentation).retransformClasses(Bar.class);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withListener(listener)
+                .rebase(ElementMatchers.any()).transform(transformer)
+                .enableLoadedTypeRetransformation(2)
+                .installOn(instrumentation);
+        verify(instrumentation).retransformClasses(Foo.class, Bar.class);
+        verify(instrumentation).retransformClasses(Foo.class);
+        verify(instrumentation).retransformClasses(Bar.class);
+        verify(listener).onError(Bar.class.getName(), exception);
+        verify(listener).onRetransformationBatch(Arrays.<Class<?>>asList(Foo.class, Bar.class), 2, 2);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadedTypeRetransformationNotSupported() throws Exception {
+        new AgentBuilder.Default(byteBuddy).enableLoadedTypeRetransformation(1).installOn(instrumentation);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveBatchSizeThrowsException() throws Exception {
+        new AgentBuilder.Default(byteBuddy).enableLoadedTypeRetransformation(0);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testEmptyPrefixThrowsException() throws Exception {
         new AgentBuilder.Default(byteBuddy).withNativeMethodPrefix("");
@@ -202,15 +450,67 @@ public class AgentBuilderDefaultTest {
         ObjectPropertyAssertion.of(AgentBuilder.Default.class).apply();
         ObjectPropertyAssertion.of(AgentBuilder.Default.Matched.class).apply();
         ObjectPropertyAssertion.of(AgentBuilder.Default.Transformation.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Default.IgnoredTypes.class).apply();
         ObjectPropertyAssertion.of(AgentBuilder.Default.ExecutingTransformer.class)
                 .apply(new AgentBuilder.Default().new ExecutingTransformer());
         ObjectPropertyAssertion.of(AgentBuilder.Default.InitializationStrategy.SelfInjection.class).apply();
-        final Iterator<Class<?>> iterator = Arrays.<Class<?>>asList(Object.class, AgentBuilderDefaultTest.class).iterator();
-        ObjectPropertyAssertion.of(AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus.class).create(new ObjectPropertyAssertion.Creator<Class<?>>() {
-            @Override
-            public Class<?> create() {
-                return iterator.next();
-            }
-        }).apply();
+    }
+
+    @Test
+    public void testNexusInitialization() throws Exception {
+        Method onLoad = LoadedTypeInitializer.class.getMethod("onLoad", Class.class);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus.register(Foo.class.getName(),
+                Foo.class.getClassLoader(),
+                loadedTypeInitializer,
+                onLoad);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus.initialize(Foo.class);
+        verify(loadedTypeInitializer).onLoad(Foo.class);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus.initialize(Foo.class);
+        verify(loadedTypeInitializer).onLoad(Foo.class);
+        verifyNoMoreInteractions(loadedTypeInitializer);
+    }
+
+    @Test
+    public void testNexusEquality() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus nexus =
+                new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, classLoader, null, null, null);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus equal =
+                new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, classLoader, null, new Object(), null);
+        assertThat(nexus, is(equal));
+        assertThat(nexus.hashCode(), is(equal.hashCode()));
+        assertThat(nexus, not(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(BAR, classLoader, null, null, null)));
+        assertThat(nexus, not(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, new URLClassLoader(new URL[0]), null, null, null)));
+        assertThat(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, null, null, null, null),
+                is(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, null, null, null, null)));
+        assertThat(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, null, null, null, null), not(nexus));
+        assertThat(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(Object.class).toString(),
+                containsString(Object.class.getName()));
+    }
+
+    @Test
+    public void testNexusClearedKeyIsNotEqual() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus nexus =
+                new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, classLoader, null, null, null);
+        AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus other =
+                new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, classLoader, null, null, null);
+        nexus.clear();
+        assertThat(nexus, not(other));
+        assertThat(other, not(nexus));
+        assertThat(nexus, not(new AgentBuilder.Default.InitializationStrategy.SelfInjection.Nexus(FOO, null, null, null, null)));
+        assertThat(nexus, is(nexus));
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
     }
 }
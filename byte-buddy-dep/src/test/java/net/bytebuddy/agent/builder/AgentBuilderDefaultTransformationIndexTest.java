@@ -0,0 +1,158 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationList;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderDefaultTransformationIndexTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.Transformer transformer;
+
+    @Mock
+    private AgentBuilder.RawMatcher rawMatcher;
+
+    @Mock
+    private TypeDescription typeDescription;
+
+    private AgentBuilder.Default.Transformation exact, prefix, annotated, conjunction, disjunction, unindexed, raw;
+
+    @Before
+    public void setUp() throws Exception {
+        exact = transformation(named(FOO + "." + BAR));
+        prefix = transformation(nameStartsWith(FOO + "."));
+        annotated = transformation(isAnnotatedWith(Baz.class));
+        conjunction = transformation(isPublic().and(named(QUX)));
+        disjunction = transformation(named(BAR).or(isAnnotatedWith(Baz.class)));
+        unindexed = transformation(isPublic());
+        raw = new AgentBuilder.Default.Transformation(rawMatcher, transformer);
+        when(typeDescription.getDeclaredAnnotations())
+                .thenReturn(new AnnotationList.ForLoadedAnnotation(Qux.class.getDeclaredAnnotations()));
+    }
+
+    private AgentBuilder.Default.Transformation transformation(ElementMatcher<? super TypeDescription> matcher) {
+        return new AgentBuilder.Default.Transformation(new AgentBuilder.RawMatcher.ForElementMatcherPair(matcher, any()), transformer);
+    }
+
+    private AgentBuilder.Default.TransformationIndex index(boolean indexed) {
+        return AgentBuilder.Default.TransformationIndex.of(Arrays.asList(exact, prefix, annotated, conjunction, disjunction, unindexed, raw), indexed);
+    }
+
+    private static BitSet bits(int... ordinal) {
+        BitSet bitSet = new BitSet();
+        for (int index : ordinal) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testSelectByExactName() throws Exception {
+        assertThat(index(true).select(FOO + "." + BAR), is(bits(0, 1, 5, 6)));
+    }
+
+    @Test
+    public void testSelectByPrefix() throws Exception {
+        assertThat(index(true).select(FOO + "." + QUX), is(bits(1, 5, 6)));
+        assertThat(index(true).select(FOO + "." + BAR + QUX), is(bits(1, 5, 6)));
+    }
+
+    @Test
+    public void testSelectByConjunctionAndDisjunction() throws Exception {
+        assertThat(index(true).select(QUX), is(bits(3, 5, 6)));
+        assertThat(index(true).select(BAR), is(bits(4, 5, 6)));
+    }
+
+    @Test
+    public void testSelectNoName() throws Exception {
+        assertThat(index(true).select(FOO), is(bits(5, 6)));
+    }
+
+    @Test
+    public void testSelectByAnnotation() throws Exception {
+        AgentBuilder.Default.TransformationIndex index = index(true);
+        assertThat(index.isAnnotationSensitive(), is(true));
+        BitSet candidates = index.select(FOO);
+        index.select(typeDescription, candidates);
+        assertThat(candidates, is(bits(2, 4, 5, 6)));
+    }
+
+    @Test
+    public void testNotIndexed() throws Exception {
+        AgentBuilder.Default.TransformationIndex index = index(false);
+        assertThat(index.isAnnotationSensitive(), is(false));
+        BitSet candidates = index.select(FOO);
+        index.select(typeDescription, candidates);
+        assertThat(candidates, is(bits(0, 1, 2, 3, 4, 5, 6)));
+    }
+
+    @Test
+    public void testOrderIsRetained() throws Exception {
+        AgentBuilder.Default.TransformationIndex index = index(true);
+        assertThat(index.get(0), sameInstance(exact));
+        assertThat(index.get(6), sameInstance(raw));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        AgentBuilder.Default.TransformationIndex index = AgentBuilder.Default.TransformationIndex.of(Collections.<AgentBuilder.Default.Transformation>emptyList(), true);
+        assertThat(index.select(FOO).isEmpty(), is(true));
+        assertThat(index.isAnnotationSensitive(), is(false));
+    }
+
+    @Test
+    public void testExtraction() throws Exception {
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(named(FOO)),
+                is(Collections.<AgentBuilder.Default.TransformationIndex.Key>singletonList(new AgentBuilder.Default.TransformationIndex.Key.ForName(FOO, false))));
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(nameStartsWith(FOO)),
+                is(Collections.<AgentBuilder.Default.TransformationIndex.Key>singletonList(new AgentBuilder.Default.TransformationIndex.Key.ForName(FOO, true))));
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(isAnnotatedWith(Baz.class)),
+                is(Collections.<AgentBuilder.Default.TransformationIndex.Key>singletonList(new AgentBuilder.Default.TransformationIndex.Key.ForAnnotation(Baz.class.getName()))));
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(isAnnotatedWith(Baz.class).and(named(FOO))),
+                is(Collections.<AgentBuilder.Default.TransformationIndex.Key>singletonList(new AgentBuilder.Default.TransformationIndex.Key.ForName(FOO, false))));
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(nameEndsWith(FOO)), nullValue());
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(named(FOO).or(isPublic())), nullValue());
+        assertThat(AgentBuilder.Default.TransformationIndex.extract(isAnnotatedWith(isPublic())), nullValue());
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.Default.TransformationIndex.class).apply(index(true));
+        ObjectPropertyAssertion.of(AgentBuilder.Default.TransformationIndex.Node.class).apply(new AgentBuilder.Default.TransformationIndex.Node());
+        ObjectPropertyAssertion.of(AgentBuilder.Default.TransformationIndex.Key.ForName.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Default.TransformationIndex.Key.ForAnnotation.class).apply();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private static @interface Baz {
+    }
+
+    @Baz
+    private static class Qux {
+    }
+}
@@ -8,6 +8,9 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 
 public class AgentBuilderListenerTest {
@@ -37,6 +40,7 @@ public class AgentBuilderListenerTest {
         verifyZeroInteractions(throwable);
         AgentBuilder.Listener.NoOp.INSTANCE.onIgnored(FOO);
         AgentBuilder.Listener.NoOp.INSTANCE.onComplete(FOO);
+        AgentBuilder.Listener.NoOp.INSTANCE.onRetransformationBatch(Collections.<Class<?>>singletonList(Object.class), 1, 1);
     }
 
     @Test
@@ -75,6 +79,16 @@ public class AgentBuilderListenerTest {
         verifyNoMoreInteractions(second);
     }
 
+    @Test
+    public void testCompoundOnRetransformationBatch() throws Exception {
+        List<Class<?>> types = Collections.<Class<?>>singletonList(Object.class);
+        new AgentBuilder.Listener.Compound(first, second).onRetransformationBatch(types, 1, 2);
+        verify(first).onRetransformationBatch(types, 1, 2);
+        verifyNoMoreInteractions(first);
+        verify(second).onRetransformationBatch(types, 1, 2);
+        verifyNoMoreInteractions(second);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(AgentBuilder.Listener.Compound.class).apply();
@@ -0,0 +1,106 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class AgentBuilderTransformationCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = "tmp";
+
+    private static final byte[] ORIGINAL = new byte[]{1, 2, 3}, TRANSFORMED = new byte[]{4, 5, 6}, AUXILIARY = new byte[]{7, 8};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType dynamicType;
+
+    @Mock
+    private TypeDescription auxiliaryType;
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        File file = File.createTempFile(TEMP, TEMP);
+        try {
+            folder = new File(file.getParentFile(), TEMP + RandomString.make());
+            assertThat(folder.mkdir(), is(true));
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+        when(dynamicType.getBytes()).thenReturn(TRANSFORMED);
+        when(dynamicType.getRawAuxiliaryTypes()).thenReturn(Collections.singletonMap(auxiliaryType, AUXILIARY));
+        when(auxiliaryType.getName()).thenReturn(BAR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                assertThat(file.delete(), is(true));
+            }
+        }
+        assertThat(folder.delete(), is(true));
+    }
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.TransformationCache.NoOp.INSTANCE.register(FOO, 0, ORIGINAL, dynamicType);
+        verifyZeroInteractions(dynamicType);
+        assertThat(AgentBuilder.TransformationCache.NoOp.INSTANCE.find(FOO, 0, ORIGINAL), nullValue(Map.class));
+    }
+
+    @Test
+    public void testForFolderRoundTrip() throws Exception {
+        AgentBuilder.TransformationCache transformationCache = new AgentBuilder.TransformationCache.ForFolder(folder, QUX);
+        assertThat(transformationCache.find(FOO, 0, ORIGINAL), nullValue(Map.class));
+        transformationCache.register(FOO, 0, ORIGINAL, dynamicType);
+        Map<String, byte[]> types = transformationCache.find(FOO, 0, ORIGINAL);
+        assertThat(types.size(), is(2));
+        assertThat(types.get(FOO), is(TRANSFORMED));
+        assertThat(types.get(BAR), is(AUXILIARY));
+        assertThat(folder.listFiles().length, is(1));
+    }
+
+    @Test
+    public void testForFolderIsKeyedByAllProperties() throws Exception {
+        new AgentBuilder.TransformationCache.ForFolder(folder, QUX).register(FOO, 0, ORIGINAL, dynamicType);
+        assertThat(new AgentBuilder.TransformationCache.ForFolder(folder, FOO).find(FOO, 0, ORIGINAL), nullValue(Map.class));
+        assertThat(new AgentBuilder.TransformationCache.ForFolder(folder, QUX).find(BAR, 0, ORIGINAL), nullValue(Map.class));
+        assertThat(new AgentBuilder.TransformationCache.ForFolder(folder, QUX).find(FOO, 1, ORIGINAL), nullValue(Map.class));
+        assertThat(new AgentBuilder.TransformationCache.ForFolder(folder, QUX).find(FOO, 0, TRANSFORMED), nullValue(Map.class));
+    }
+
+    @Test
+    public void testForFolderNonExistentFolder() throws Exception {
+        AgentBuilder.TransformationCache transformationCache = new AgentBuilder.TransformationCache.ForFolder(new File(folder, FOO), QUX);
+        transformationCache.register(FOO, 0, ORIGINAL, dynamicType);
+        assertThat(transformationCache.find(FOO, 0, ORIGINAL), nullValue(Map.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.TransformationCache.ForFolder.class).apply();
+    }
+}
@@ -56,8 +56,39 @@ public class ClassFileLocatorForClassLoaderTest {
         fail();
     }
 
+    @Test
+    public void testWeaklyReferencedCreation() throws Exception {
+        ClassLoader classLoader = mock(ClassLoader.class);
+        assertThat(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader),
+                is((ClassFileLocator) new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader)));
+        assertThat(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(null),
+                is((ClassFileLocator) new ClassFileLocator.ForClassLoader.WeaklyReferenced(ClassLoader.getSystemClassLoader())));
+    }
+
+    @Test
+    public void testWeaklyReferencedLocatable() throws Exception {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        when(classLoader.getResourceAsStream(FOOBAR + ".class")).thenReturn(inputStream);
+        ClassFileLocator.Resolution resolution = new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader)
+                .locate(FOOBAR);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(new byte[]{1, 2, 3}));
+        verify(classLoader).getResourceAsStream(FOOBAR + ".class");
+        verifyNoMoreInteractions(classLoader);
+    }
+
+    @Test
+    public void testWeaklyReferencedCollected() throws Exception {
+        ClassFileLocator.ForClassLoader.WeaklyReferenced classFileLocator = new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader);
+        classFileLocator.clear();
+        assertThat(classFileLocator.locate(FOOBAR).isResolved(), is(false));
+        assertThat(classFileLocator.equals(new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader)), is(false));
+        verifyZeroInteractions(classLoader);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(ClassFileLocator.ForClassLoader.class).apply();
+        ObjectPropertyAssertion.of(ClassFileLocator.ForClassLoader.WeaklyReferenced.class).apply();
     }
 }
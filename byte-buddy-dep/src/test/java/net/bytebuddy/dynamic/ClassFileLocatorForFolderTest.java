@@ -0,0 +1,68 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForFolderTest {
+
+    private static final String FOO = "foo", BAR = "bar", TEMP = "tmp";
+
+    private static final byte[] BINARY_REPRESENTATION = new byte[]{1, 2, 3};
+
+    private File folder, packageFolder, classFile;
+
+    @Before
+    public void setUp() throws Exception {
+        File file = File.createTempFile(TEMP, TEMP);
+        try {
+            folder = new File(file.getParentFile(), TEMP + RandomString.make());
+            assertThat(folder.mkdir(), is(true));
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+        packageFolder = new File(folder, FOO);
+        assertThat(packageFolder.mkdir(), is(true));
+        classFile = new File(packageFolder, BAR + ClassFileLocator.CLASS_FILE_EXTENSION);
+        OutputStream outputStream = new FileOutputStream(classFile);
+        try {
+            outputStream.write(BINARY_REPRESENTATION);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(classFile.delete(), is(true));
+        assertThat(packageFolder.delete(), is(true));
+        assertThat(folder.delete(), is(true));
+    }
+
+    @Test
+    public void testLocatable() throws Exception {
+        ClassFileLocator.Resolution resolution = new ClassFileLocator.ForFolder(folder).locate(FOO + "." + BAR);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(BINARY_REPRESENTATION));
+    }
+
+    @Test
+    public void testNonLocatable() throws Exception {
+        assertThat(new ClassFileLocator.ForFolder(folder).locate(BAR + "." + FOO).isResolved(), is(false));
+        assertThat(new ClassFileLocator.ForFolder(folder).locate(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.ForFolder.class).apply();
+    }
+}
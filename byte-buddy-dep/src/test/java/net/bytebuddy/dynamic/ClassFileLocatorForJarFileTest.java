@@ -0,0 +1,125 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = "tmp";
+
+    private static final byte[] STORED = new byte[]{1, 2, 3}, DEFLATED = new byte[1024];
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        for (int index = 0; index < DEFLATED.length; index++) {
+            DEFLATED[index] = (byte) (index % 7);
+        }
+        file = File.createTempFile(FOO, TEMP);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            JarEntry storedEntry = new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(STORED.length);
+            CRC32 crc32 = new CRC32();
+            crc32.update(STORED);
+            storedEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(storedEntry);
+            jarOutputStream.write(STORED);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + QUX + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(DEFLATED);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + QUX));
+            jarOutputStream.write(STORED);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete(); // A mapped file cannot be deleted on some platforms before it is garbage collected.
+    }
+
+    @Test
+    public void testStoredEntry() throws Exception {
+        ClassFileLocator.Resolution resolution = ClassFileLocator.ForJarFile.of(file).locate(FOO + "." + BAR);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(STORED));
+    }
+
+    @Test
+    public void testDeflatedEntry() throws Exception {
+        ClassFileLocator.Resolution resolution = ClassFileLocator.ForJarFile.of(file).locate(FOO + "." + QUX);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(DEFLATED));
+    }
+
+    @Test
+    public void testNonLocatable() throws Exception {
+        ClassFileLocator classFileLocator = ClassFileLocator.ForJarFile.of(file);
+        assertThat(classFileLocator.locate(QUX).isResolved(), is(false));
+        assertThat(classFileLocator.locate(BAR + "." + FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testLocateLoadedType() throws Exception {
+        File file = File.createTempFile(BAR, TEMP);
+        try {
+            byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.ofClassPath().locate(Object.class.getName()).resolve();
+            JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+            try {
+                jarOutputStream.putNextEntry(new JarEntry(Object.class.getName().replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION));
+                jarOutputStream.write(binaryRepresentation);
+                jarOutputStream.closeEntry();
+            } finally {
+                jarOutputStream.close();
+            }
+            assertThat(ClassFileLocator.ForJarFile.of(file).locate(Object.class.getName()).resolve(), is(binaryRepresentation));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testIllegalArchive() throws Exception {
+        File file = File.createTempFile(QUX, TEMP);
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(file);
+            try {
+                fileOutputStream.write(DEFLATED);
+            } finally {
+                fileOutputStream.close();
+            }
+            ClassFileLocator.ForJarFile.of(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.ForJarFile.class).ignoreFields("buffer").apply(new ClassFileLocator.ForJarFile(file,
+                ByteBuffer.allocate(0),
+                Collections.<String, ClassFileLocator.ForJarFile.Entry>emptyMap()));
+        ObjectPropertyAssertion.of(ClassFileLocator.ForJarFile.Entry.class).apply();
+    }
+}
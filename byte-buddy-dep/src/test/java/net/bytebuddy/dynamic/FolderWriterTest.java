@@ -0,0 +1,246 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.RandomString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+
+public class FolderWriterTest {
+
+    private static final String FOO = "foo", TEMP = "tmp", ATOMIC = "atomic";
+
+    private static final String FIRST = "foo.Bar", SECOND = "foo.Qux", AUXILIARY = "bar.baz.Qux";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Rule
+    public MethodRule java7Rule = new JavaVersionRule(7);
+
+    private byte[] BINARY_FIRST = new byte[]{1, 2, 3}, BINARY_SECOND = new byte[]{4, 5, 6}, BINARY_THIRD = new byte[]{7, 8, 9};
+
+    @Mock
+    private DynamicType first, second;
+
+    @Mock
+    private TypeDescription firstTypeDescription, secondTypeDescription, auxiliaryTypeDescription;
+
+    private File folder;
+
+    private static void assertFile(File file, byte[] binaryRepresentation) throws IOException {
+        assertThat(file.length(), is((long) binaryRepresentation.length));
+        FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[binaryRepresentation.length];
+            assertThat(fileInputStream.read(buffer), is(binaryRepresentation.length));
+            assertThat(Arrays.equals(buffer, binaryRepresentation), is(true));
+        } finally {
+            fileInputStream.close();
+        }
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws IOException {
+        FileOutputStream fileOutputStream = new FileOutputStream(file);
+        try {
+            fileOutputStream.write(binaryRepresentation);
+        } finally {
+            fileOutputStream.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        File file = File.createTempFile(TEMP, TEMP);
+        try {
+            folder = new File(file.getParentFile(), TEMP + RandomString.make());
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+        when(firstTypeDescription.getName()).thenReturn(FIRST);
+        when(secondTypeDescription.getName()).thenReturn(SECOND);
+        when(auxiliaryTypeDescription.getName()).thenReturn(AUXILIARY);
+        when(first.getTypeDescription()).thenReturn(firstTypeDescription);
+        when(first.getBytes()).thenReturn(BINARY_FIRST);
+        when(first.getRawAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>emptyMap());
+        when(second.getTypeDescription()).thenReturn(secondTypeDescription);
+        when(second.getBytes()).thenReturn(BINARY_SECOND);
+        when(second.getRawAuxiliaryTypes()).thenReturn(Collections.singletonMap(auxiliaryTypeDescription, BINARY_THIRD));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (folder.exists()) {
+            delete(folder);
+        }
+    }
+
+    @Test
+    public void testSequentialSaving() throws Exception {
+        assertSaved(new FolderWriter(folder).save(first, second));
+    }
+
+    @Test
+    public void testParallelSaving() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            assertSaved(new FolderWriter(folder, executorService).save(first, second));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testAtomicSaving() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            assertSaved(new FolderWriter(folder, executorService).withAtomicWrites().save(first, second));
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(new File(folder, FOO).list().length, is(2));
+    }
+
+    @Test
+    public void testAtomicSavingReplacesExistingFile() throws Exception {
+        new FolderWriter(folder).save(first);
+        when(first.getBytes()).thenReturn(BINARY_SECOND);
+        Map<TypeDescription, File> files = new FolderWriter(folder).withAtomicWrites().save(first);
+        assertFile(files.get(firstTypeDescription), BINARY_SECOND);
+        assertThat(new File(folder, FOO).list().length, is(1));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testAtomicMoveReplacesExistingFile() throws Exception {
+        assertReplacement(FolderWriter.FileReplacement.ForAtomicMove.make());
+    }
+
+    @Test(expected = IOException.class)
+    @JavaVersionRule.Enforce
+    public void testAtomicMoveOfMissingFile() throws Exception {
+        assertThat(folder.mkdirs(), is(true));
+        FolderWriter.FileReplacement.ForAtomicMove.make().replace(new File(folder, FOO), new File(folder, TEMP));
+    }
+
+    @Test
+    public void testAtomicMoveFallsBackIfUnsupported() throws Exception {
+        assertReplacement(new FolderWriter.FileReplacement.ForAtomicMove(File.class.getDeclaredMethod("getAbsoluteFile"),
+                FolderWriterTest.class.getDeclaredMethod("move", File.class, File.class, Object[].class),
+                new Object[]{ATOMIC},
+                new Object[]{FOO},
+                AtomicMoveNotSupportedException.class));
+    }
+
+    @Test(expected = AtomicMoveNotSupportedException.class)
+    public void testAtomicMoveDoesNotFallBackForOtherException() throws Exception {
+        assertReplacement(new FolderWriter.FileReplacement.ForAtomicMove(File.class.getDeclaredMethod("getAbsoluteFile"),
+                FolderWriterTest.class.getDeclaredMethod("move", File.class, File.class, Object[].class),
+                new Object[]{ATOMIC},
+                new Object[]{FOO},
+                UnsupportedOperationException.class));
+    }
+
+    @Test
+    public void testRenamingReplacesExistingFile() throws Exception {
+        assertReplacement(FolderWriter.FileReplacement.ForRenaming.INSTANCE);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRenamingOfMissingFile() throws Exception {
+        assertThat(folder.mkdirs(), is(true));
+        FolderWriter.FileReplacement.ForRenaming.INSTANCE.replace(new File(folder, FOO), new File(folder, TEMP));
+    }
+
+    @Test(expected = IOException.class)
+    public void testIllegalFolder() throws Exception {
+        File file = File.createTempFile(FOO, TEMP);
+        try {
+            new FolderWriter(file).save(first);
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(FolderWriter.class).apply();
+        ObjectPropertyAssertion.of(FolderWriter.Write.class).apply();
+        final Iterator<Method> iterator = Arrays.asList(Object.class.getDeclaredMethods()).iterator();
+        final Iterator<Class<?>> types = Arrays.<Class<?>>asList(Void.class, String.class).iterator();
+        ObjectPropertyAssertion.of(FolderWriter.FileReplacement.ForAtomicMove.class).create(new ObjectPropertyAssertion.Creator<Method>() {
+            @Override
+            public Method create() {
+                return iterator.next();
+            }
+        }).create(new ObjectPropertyAssertion.Creator<Class<?>>() {
+            @Override
+            public Class<?> create() {
+                return types.next();
+            }
+        }).apply();
+    }
+
+    private void assertReplacement(FolderWriter.FileReplacement fileReplacement) throws IOException {
+        assertThat(folder.mkdirs(), is(true));
+        File source = new File(folder, FOO), target = new File(folder, TEMP);
+        write(target, BINARY_FIRST);
+        write(source, BINARY_SECOND);
+        fileReplacement.replace(source, target);
+        assertThat(source.exists(), is(false));
+        assertFile(target, BINARY_SECOND);
+    }
+
+    private void assertSaved(Map<TypeDescription, File> files) throws IOException {
+        assertThat(files.size(), is(3));
+        assertThat(files.get(firstTypeDescription), is(new File(folder, FIRST.replace('.', File.separatorChar) + ".class")));
+        assertThat(files.get(auxiliaryTypeDescription), is(new File(folder, AUXILIARY.replace('.', File.separatorChar) + ".class")));
+        assertFile(files.get(firstTypeDescription), BINARY_FIRST);
+        assertFile(files.get(secondTypeDescription), BINARY_SECOND);
+        assertFile(files.get(auxiliaryTypeDescription), BINARY_THIRD);
+    }
+
+    public static void move(File source, File target, Object[] copyOptions) throws IOException {
+        if (Arrays.asList(copyOptions).contains(ATOMIC)) {
+            throw new AtomicMoveNotSupportedException();
+        }
+        FolderWriter.FileReplacement.ForRenaming.INSTANCE.replace(source, target);
+    }
+
+    private static class AtomicMoveNotSupportedException extends IOException {
+        /* empty */
+    }
+}
@@ -0,0 +1,228 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.jar.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+
+public class JarInjectorTest {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String FOOBAR = "foo/bar", QUXBAZ = "qux/baz", BARBAZ = "bar/baz", STORED = "stored.txt", FOO = "foo", TEMP = "tmp";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    private byte[] BINARY_FIRST = new byte[]{1, 2, 3}, BINARY_SECOND = new byte[]{4, 5, 6}, BINARY_THIRD = new byte[]{7, 8, 9};
+
+    @Mock
+    private DynamicType first, second;
+
+    @Mock
+    private TypeDescription firstTypeDescription, secondTypeDescription, auxiliaryTypeDescription;
+
+    private File sourceFile, targetFile;
+
+    private Manifest manifest;
+
+    private byte[] unchanged;
+
+    private static Map<String, byte[]> readJarFile(File file) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        JarFile jarFile = new JarFile(file);
+        try {
+            Enumeration<JarEntry> enumeration = jarFile.entries();
+            while (enumeration.hasMoreElements()) {
+                JarEntry jarEntry = enumeration.nextElement();
+                entries.put(jarEntry.getName(), drain(jarFile.getInputStream(jarEntry)));
+            }
+        } finally {
+            jarFile.close();
+        }
+        return entries;
+    }
+
+    private static byte[] drain(InputStream inputStream) throws IOException {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        when(firstTypeDescription.getInternalName()).thenReturn(FOOBAR);
+        when(secondTypeDescription.getInternalName()).thenReturn(QUXBAZ);
+        when(auxiliaryTypeDescription.getInternalName()).thenReturn(BARBAZ);
+        when(first.getTypeDescription()).thenReturn(firstTypeDescription);
+        when(first.getBytes()).thenReturn(BINARY_FIRST);
+        when(first.getRawAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>emptyMap());
+        when(second.getTypeDescription()).thenReturn(secondTypeDescription);
+        when(second.getBytes()).thenReturn(BINARY_SECOND);
+        when(second.getRawAuxiliaryTypes()).thenReturn(Collections.singletonMap(auxiliaryTypeDescription, BINARY_THIRD));
+        unchanged = new byte[4096];
+        for (int index = 0; index < unchanged.length; index++) {
+            unchanged[index] = (byte) (index % 7);
+        }
+        manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, FOO);
+        sourceFile = File.createTempFile(FOO, TEMP);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceFile), manifest);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(FOOBAR + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(BINARY_THIRD);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(unchanged);
+            jarOutputStream.closeEntry();
+            JarEntry storedEntry = new JarEntry(STORED);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(BINARY_SECOND.length);
+            CRC32 crc32 = new CRC32();
+            crc32.update(BINARY_SECOND);
+            storedEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(storedEntry);
+            jarOutputStream.write(BINARY_SECOND);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        targetFile = File.createTempFile(FOO, TEMP);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(sourceFile.delete(), is(true));
+        assertThat(!targetFile.exists() || targetFile.delete(), is(true));
+    }
+
+    @Test
+    public void testInjection() throws Exception {
+        assertThat(new JarInjector(sourceFile).inject(targetFile, first, second), is(targetFile));
+        Map<String, byte[]> entries = readJarFile(targetFile);
+        assertThat(entries.size(), is(6));
+        Iterator<String> names = entries.keySet().iterator();
+        assertThat(names.next(), is(JarFile.MANIFEST_NAME));
+        assertThat(names.next(), is(FOOBAR + CLASS_FILE_EXTENSION));
+        assertThat(names.next(), is(FOO + CLASS_FILE_EXTENSION));
+        assertThat(names.next(), is(STORED));
+        assertThat(names.next(), is(BARBAZ + CLASS_FILE_EXTENSION));
+        assertThat(names.next(), is(QUXBAZ + CLASS_FILE_EXTENSION));
+        assertThat(Arrays.equals(entries.get(FOOBAR + CLASS_FILE_EXTENSION), BINARY_FIRST), is(true));
+        assertThat(Arrays.equals(entries.get(FOO + CLASS_FILE_EXTENSION), unchanged), is(true));
+        assertThat(Arrays.equals(entries.get(STORED), BINARY_SECOND), is(true));
+        assertThat(Arrays.equals(entries.get(BARBAZ + CLASS_FILE_EXTENSION), BINARY_THIRD), is(true));
+        assertThat(Arrays.equals(entries.get(QUXBAZ + CLASS_FILE_EXTENSION), BINARY_SECOND), is(true));
+    }
+
+    @Test
+    public void testUnchangedEntriesAreCopiedRaw() throws Exception {
+        new JarInjector(sourceFile).inject(targetFile, first);
+        JarFile source = new JarFile(sourceFile), target = new JarFile(targetFile);
+        try {
+            for (String name : Arrays.asList(JarFile.MANIFEST_NAME, FOO + CLASS_FILE_EXTENSION, STORED)) {
+                JarEntry sourceEntry = source.getJarEntry(name), targetEntry = target.getJarEntry(name);
+                assertThat(targetEntry.getMethod(), is(sourceEntry.getMethod()));
+                assertThat(targetEntry.getCrc(), is(sourceEntry.getCrc()));
+                assertThat(targetEntry.getCompressedSize(), is(sourceEntry.getCompressedSize()));
+                assertThat(targetEntry.getSize(), is(sourceEntry.getSize()));
+                assertThat(targetEntry.getTime(), is(sourceEntry.getTime()));
+            }
+        } finally {
+            source.close();
+            target.close();
+        }
+    }
+
+    @Test
+    public void testInjectionIsReadableAsStream() throws Exception {
+        new JarInjector(sourceFile).inject(targetFile, first, second);
+        JarInputStream jarInputStream = new JarInputStream(new FileInputStream(targetFile));
+        try {
+            assertThat(jarInputStream.getManifest(), is(manifest));
+            Map<String, byte[]> entries = new HashMap<String, byte[]>();
+            JarEntry jarEntry;
+            while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int length;
+                while ((length = jarInputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, length);
+                }
+                entries.put(jarEntry.getName(), outputStream.toByteArray());
+                jarInputStream.closeEntry();
+            }
+            assertThat(entries.size(), is(5));
+            assertThat(Arrays.equals(entries.get(FOO + CLASS_FILE_EXTENSION), unchanged), is(true));
+            assertThat(Arrays.equals(entries.get(QUXBAZ + CLASS_FILE_EXTENSION), BINARY_SECOND), is(true));
+        } finally {
+            jarInputStream.close();
+        }
+    }
+
+    @Test
+    public void testLastTypeOfSameNameIsInjected() throws Exception {
+        when(second.getTypeDescription()).thenReturn(firstTypeDescription);
+        new JarInjector(sourceFile).inject(targetFile, first, second);
+        Map<String, byte[]> entries = readJarFile(targetFile);
+        assertThat(entries.size(), is(5));
+        assertThat(Arrays.equals(entries.get(FOOBAR + CLASS_FILE_EXTENSION), BINARY_SECOND), is(true));
+        assertThat(entries.get(QUXBAZ + CLASS_FILE_EXTENSION), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testSelfInjection() throws Exception {
+        assertThat(new JarInjector(sourceFile).inject(Arrays.asList(first, second)), is(sourceFile));
+        Map<String, byte[]> entries = readJarFile(sourceFile);
+        assertThat(entries.size(), is(6));
+        assertThat(Arrays.equals(entries.get(FOOBAR + CLASS_FILE_EXTENSION), BINARY_FIRST), is(true));
+        assertThat(Arrays.equals(entries.get(FOO + CLASS_FILE_EXTENSION), unchanged), is(true));
+        assertThat(Arrays.equals(entries.get(QUXBAZ + CLASS_FILE_EXTENSION), BINARY_SECOND), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testIllegalSourceFile() throws Exception {
+        FileOutputStream fileOutputStream = new FileOutputStream(sourceFile);
+        try {
+            fileOutputStream.write(BINARY_FIRST);
+        } finally {
+            fileOutputStream.close();
+        }
+        new JarInjector(sourceFile).inject(targetFile, first);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(JarInjector.class).apply();
+        ObjectPropertyAssertion.of(JarInjector.Entry.class).apply();
+    }
+}
@@ -0,0 +1,116 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private TypeCache<String> typeCache;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        typeCache = new TypeCache<String>(TypeCache.Sort.SOFT);
+        classLoader = new URLClassLoader(new URL[0], null);
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testInsertAndFind() throws Exception {
+        assertThat(typeCache.insert(classLoader, FOO, Object.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, BAR), nullValue(Class.class));
+        assertThat(typeCache.find(new URLClassLoader(new URL[0], null), FOO), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testInsertBootstrap() throws Exception {
+        assertThat(typeCache.insert(null, FOO, Object.class), is((Object) Object.class));
+        assertThat(typeCache.find(null, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testInsertRetainsPreviousType() throws Exception {
+        typeCache.insert(classLoader, FOO, Object.class);
+        assertThat(typeCache.insert(classLoader, FOO, String.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+    }
+
+    @Test
+    public void testFindOrInsert() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        Callable<Class<?>> lazy = new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                counter.incrementAndGet();
+                return Object.class;
+            }
+        };
+        assertThat(typeCache.findOrInsert(classLoader, FOO, lazy), is((Object) Object.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, lazy), is((Object) Object.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, lazy, classLoader), is((Object) Object.class));
+        assertThat(counter.get(), is(1));
+    }
+
+    @Test
+    public void testFindOrInsertWithMonitor() throws Exception {
+        Object monitor = new Object();
+        assertThat(typeCache.findOrInsert(classLoader, FOO, new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                return Object.class;
+            }
+        }, monitor), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindOrInsertFailure() throws Exception {
+        typeCache.findOrInsert(classLoader, FOO, new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                throw new Exception();
+            }
+        });
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        typeCache.insert(classLoader, FOO, Object.class);
+        typeCache.insert(null, FOO, Object.class);
+        typeCache.clear();
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testWeakSort() throws Exception {
+        TypeCache<String> typeCache = new TypeCache<String>(TypeCache.Sort.WEAK);
+        assertThat(typeCache.insert(classLoader, FOO, Object.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypeCache.class).apply(new TypeCache<String>(TypeCache.Sort.WEAK));
+    }
+}
@@ -12,11 +12,18 @@ import org.objectweb.asm.commons.RemappingClassAdapter;
 import org.objectweb.asm.commons.SimpleRemapper;
 
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -28,6 +35,10 @@ public class ByteArrayClassLoaderChildFirstTest {
 
     private static final String BAR = "bar", CLASS_FILE = ".class";
 
+    private static final String IS_REGISTERED_AS_PARALLEL_CAPABLE = "isRegisteredAsParallelCapable";
+
+    private static final int THREADS = 8;
+
     private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
 
     private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
@@ -58,6 +69,47 @@ public class ByteArrayClassLoaderChildFirstTest {
         classLoader = new ByteArrayClassLoader.ChildFirst(getClass().getClassLoader(), values, DEFAULT_PROTECTION_DOMAIN, persistenceHandler);
     }
 
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>();
+            for (int index = 0; index < THREADS; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    @Override
+                    public Class<?> call() throws Exception {
+                        return classLoader.loadClass(Foo.class.getName());
+                    }
+                }));
+            }
+            Class<?> type = classLoader.loadClass(Foo.class.getName());
+            assertThat(type.getClassLoader(), is(classLoader));
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(), is((Object) type));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClassLoadingLock() throws Exception {
+        ByteArrayClassLoader byteArrayClassLoader = (ByteArrayClassLoader) classLoader;
+        assertThat(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName()), is(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName())));
+        assertNotEquals(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName()), byteArrayClassLoader.getClassLoadingLock(BAR));
+    }
+
+    @Test
+    public void testRegisteredAsParallelCapable() throws Exception {
+        Method isRegisteredAsParallelCapable;
+        try {
+            isRegisteredAsParallelCapable = ClassLoader.class.getDeclaredMethod(IS_REGISTERED_AS_PARALLEL_CAPABLE);
+        } catch (NoSuchMethodException ignored) {
+            return;
+        }
+        assertThat(isRegisteredAsParallelCapable.invoke(classLoader), is((Object) true));
+    }
+
     @Test
     public void testResourceLookupBeforeLoading() throws Exception {
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
@@ -8,11 +8,18 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -26,6 +33,8 @@ public class ByteArrayClassLoaderTest {
     private static final ClassLoader BOOTSTRAP_CLASS_LOADER = null;
     private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
     private static final String BAR = "bar", CLASS_FILE = ".class";
+    private static final String IS_REGISTERED_AS_PARALLEL_CAPABLE = "isRegisteredAsParallelCapable";
+    private static final int THREADS = 8;
     private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
     private final Matcher<InputStream> expectedResourceLookup;
     private ClassLoader classLoader;
@@ -81,6 +90,47 @@ public class ByteArrayClassLoaderTest {
         }
     }
 
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>();
+            for (int index = 0; index < THREADS; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    @Override
+                    public Class<?> call() throws Exception {
+                        return classLoader.loadClass(Foo.class.getName());
+                    }
+                }));
+            }
+            Class<?> type = classLoader.loadClass(Foo.class.getName());
+            assertThat(type.getClassLoader(), is(classLoader));
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(), is((Object) type));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClassLoadingLock() throws Exception {
+        ByteArrayClassLoader byteArrayClassLoader = (ByteArrayClassLoader) classLoader;
+        assertThat(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName()), is(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName())));
+        assertNotEquals(byteArrayClassLoader.getClassLoadingLock(Foo.class.getName()), byteArrayClassLoader.getClassLoadingLock(BAR));
+    }
+
+    @Test
+    public void testRegisteredAsParallelCapable() throws Exception {
+        Method isRegisteredAsParallelCapable;
+        try {
+            isRegisteredAsParallelCapable = ClassLoader.class.getDeclaredMethod(IS_REGISTERED_AS_PARALLEL_CAPABLE);
+        } catch (NoSuchMethodException ignored) {
+            return;
+        }
+        assertThat(isRegisteredAsParallelCapable.invoke(classLoader), is((Object) true));
+    }
+
     @Test(expected = ClassNotFoundException.class)
     public void testNonSuccessfulHit() throws Exception {
         // Note: Will throw a class format error instead targeting not found exception targeting loader attempts.
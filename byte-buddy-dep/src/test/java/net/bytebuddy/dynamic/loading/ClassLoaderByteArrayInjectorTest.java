@@ -10,14 +10,18 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.security.ProtectionDomain;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
@@ -61,15 +65,81 @@ public class ClassLoaderByteArrayInjectorTest {
     @Test
     public void testInjectionApplication() throws Exception {
         when(typeDescription.getName()).thenReturn(FOO);
-        doReturn(Object.class).when(mockInjector).inject(FOO, BYTE_ARRAY);
+        doReturn(Collections.<String, Class<?>>singletonMap(FOO, Object.class)).when(mockInjector).inject(Collections.singletonMap(FOO, BYTE_ARRAY));
         Map<TypeDescription, Class<?>> result = ClassLoaderByteArrayInjector.inject(mockInjector, Collections.singletonMap(typeDescription, BYTE_ARRAY));
         assertThat(result.size(), is(1));
         assertThat(result.entrySet().iterator().next().getKey(), is(typeDescription));
         assertEquals(Object.class, result.entrySet().iterator().next().getValue());
-        verify(mockInjector).inject(FOO, BYTE_ARRAY);
+        verify(mockInjector).inject(Collections.singletonMap(FOO, BYTE_ARRAY));
         verifyNoMoreInteractions(mockInjector);
     }
 
+    @Test
+    public void testBatchInjection() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        types.put(Bar.class.getName(), ClassFileExtraction.extract(Bar.class));
+        Map<String, Class<?>> loaded = classLoaderByteArrayInjector.inject(types);
+        assertThat(loaded.size(), is(2));
+        Iterator<Map.Entry<String, Class<?>>> iterator = loaded.entrySet().iterator();
+        Map.Entry<String, Class<?>> foo = iterator.next(), bar = iterator.next();
+        assertThat(foo.getKey(), is(Foo.class.getName()));
+        assertThat(bar.getKey(), is(Bar.class.getName()));
+        assertEquals(classLoader.loadClass(Foo.class.getName()), foo.getValue());
+        assertEquals(classLoader.loadClass(Bar.class.getName()), bar.getValue());
+        assertThat(bar.getValue().getSuperclass(), is((Object) foo.getValue()));
+        assertThat(foo.getValue().getClassLoader(), is(classLoader));
+    }
+
+    @Test
+    public void testBatchInjectionRetainsLoadedTypes() throws Exception {
+        Class<?> type = classLoaderByteArrayInjector.inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        Map<String, Class<?>> loaded = classLoaderByteArrayInjector.inject(Collections.singletonMap(Foo.class.getName(), ClassFileExtraction.extract(Foo.class)));
+        assertEquals(type, loaded.get(Foo.class.getName()));
+        assertEquals(type, classLoaderByteArrayInjector.inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBatchInjectionIllegalBinaryRepresentation() throws Exception {
+        classLoaderByteArrayInjector.inject(Collections.singletonMap(FOO, BYTE_ARRAY));
+    }
+
+    @Test
+    public void testResolvedReflectionStore() throws Exception {
+        Method findLoadedClassMethod = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClassMethod.setAccessible(true);
+        Method loadByteArrayMethod = ClassLoader.class.getDeclaredMethod("defineClass",
+                String.class,
+                byte[].class,
+                int.class,
+                int.class,
+                ProtectionDomain.class);
+        loadByteArrayMethod.setAccessible(true);
+        ClassLoaderByteArrayInjector.ReflectionStore resolved = new ClassLoaderByteArrayInjector.ReflectionStore.Resolved(findLoadedClassMethod,
+                loadByteArrayMethod);
+        assertThat(resolved.getFindLoadedClassMethod(), is(findLoadedClassMethod));
+        assertThat(resolved.getLoadByteArrayMethod(), is(loadByteArrayMethod));
+        assertThat(resolved.findLoadedClass(classLoader, Foo.class.getName()), nullValue(Class.class));
+        Class<?> foo = resolved.loadByteArray(classLoader, Foo.class.getName(), ClassFileExtraction.extract(Foo.class), null);
+        assertThat(foo.getClassLoader(), is(classLoader));
+        assertEquals(foo, resolved.findLoadedClass(classLoader, Foo.class.getName()));
+    }
+
+    @Test(expected = InvocationTargetException.class)
+    public void testResolvedReflectionStoreIllegalBinaryRepresentation() throws Exception {
+        Method loadByteArrayMethod = ClassLoader.class.getDeclaredMethod("defineClass",
+                String.class,
+                byte[].class,
+                int.class,
+                int.class,
+                ProtectionDomain.class);
+        loadByteArrayMethod.setAccessible(true);
+        Method findLoadedClassMethod = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClassMethod.setAccessible(true);
+        new ClassLoaderByteArrayInjector.ReflectionStore.Resolved(findLoadedClassMethod, loadByteArrayMethod)
+                .loadByteArray(classLoader, FOO, BYTE_ARRAY, null);
+    }
+
     @Test(expected = RuntimeException.class)
     public void testFaultyReflectionStoreClassMethod() throws Exception {
         new ClassLoaderByteArrayInjector.ReflectionStore.Faulty(new Exception()).getFindLoadedClassMethod();
@@ -80,6 +150,16 @@ public class ClassLoaderByteArrayInjectorTest {
         new ClassLoaderByteArrayInjector.ReflectionStore.Faulty(new Exception()).getLoadByteArrayMethod();
     }
 
+    @Test(expected = RuntimeException.class)
+    public void testFaultyReflectionStoreFindLoadedClass() throws Exception {
+        new ClassLoaderByteArrayInjector.ReflectionStore.Faulty(new Exception()).findLoadedClass(classLoader, FOO);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testFaultyReflectionStoreLoadByteArrayInvocation() throws Exception {
+        new ClassLoaderByteArrayInjector.ReflectionStore.Faulty(new Exception()).loadByteArray(classLoader, FOO, BYTE_ARRAY, null);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(ClassLoaderByteArrayInjector.class)
@@ -87,6 +167,9 @@ public class ClassLoaderByteArrayInjectorTest {
         ObjectPropertyAssertion.of(ClassLoaderByteArrayInjector.ClassLoadingAction.class)
                 .ignoreFields("accessControlContext")
                 .apply();
+        ObjectPropertyAssertion.of(ClassLoaderByteArrayInjector.BatchClassLoadingAction.class)
+                .ignoreFields("accessControlContext")
+                .apply();
         final Iterator<Method> iterator = Arrays.asList(Object.class.getDeclaredMethods()).iterator();
         ObjectPropertyAssertion.of(ClassLoaderByteArrayInjector.ReflectionStore.Resolved.class).create(new ObjectPropertyAssertion.Creator<Method>() {
             @Override
@@ -100,4 +183,8 @@ public class ClassLoaderByteArrayInjectorTest {
     private static class Foo {
         /* Note: Foo is know to the system class loader but not to the bootstrap class loader */
     }
+
+    private static class Bar extends Foo {
+        /* Note: Bar can only be defined after its super class Foo is defined */
+    }
 }
@@ -2,11 +2,17 @@ package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Test;
+import org.mockito.Matchers;
 
+import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.Instrumentation;
+import java.util.Arrays;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
 
 public class ClassReloadingStrategyNonAttachedTest {
 
@@ -15,6 +21,56 @@ public class ClassReloadingStrategyNonAttachedTest {
         new ClassReloadingStrategy(mock(Instrumentation.class));
     }
 
+    @Test
+    public void testChunkedReset() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION)
+                .withChunkSize(2)
+                .reset(Arrays.<Class<?>>asList(Foo.class, Bar.class, Qux.class));
+        verify(instrumentation, times(2)).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testUnchunkedReset() throws Exception {
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION)
+                .reset(Foo.class, Bar.class, Qux.class);
+        verify(instrumentation).redefineClasses(Matchers.<ClassDefinition>anyVararg());
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalChunkSize() throws Exception {
+        new ClassReloadingStrategy(mock(Instrumentation.class), ClassReloadingStrategy.Engine.REDEFINITION).withChunkSize(0);
+    }
+
+    @Test
+    public void testBoundedSnapshot() throws Exception {
+        ClassReloadingStrategy.Snapshot snapshot = new ClassReloadingStrategy.Snapshot.Bounded(1);
+        assertThat(snapshot.resolve(Foo.class), not(sameInstance(snapshot.resolve(Foo.class))));
+        snapshot.register(Foo.class);
+        byte[] binaryRepresentation = snapshot.resolve(Foo.class);
+        assertThat(snapshot.resolve(Foo.class), sameInstance(binaryRepresentation));
+        assertThat(Arrays.equals(binaryRepresentation, ClassReloadingStrategy.Snapshot.Disabled.INSTANCE.resolve(Foo.class)), is(true));
+        snapshot.register(Foo.class);
+        assertThat(snapshot.resolve(Foo.class), sameInstance(binaryRepresentation));
+        snapshot.register(Bar.class);
+        assertThat(snapshot.resolve(Bar.class), not(sameInstance(snapshot.resolve(Bar.class))));
+    }
+
+    @Test
+    public void testBootstrapTypeSnapshot() throws Exception {
+        ClassReloadingStrategy.Snapshot snapshot = new ClassReloadingStrategy.Snapshot.Bounded(1);
+        snapshot.register(Object.class);
+        assertThat(snapshot.resolve(Object.class), sameInstance(snapshot.resolve(Object.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSnapshotSize() throws Exception {
+        new ClassReloadingStrategy(mock(Instrumentation.class), ClassReloadingStrategy.Engine.REDEFINITION).withSnapshot(0);
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(ClassReloadingStrategy.class).refine(new ObjectPropertyAssertion.Refinement<Instrumentation>() {
@@ -23,5 +79,18 @@ public class ClassReloadingStrategyNonAttachedTest {
                 when(mock.isRedefineClassesSupported()).thenReturn(true);
             }
         }).apply();
+        ObjectPropertyAssertion.of(ClassReloadingStrategy.Snapshot.Bounded.class).apply(new ClassReloadingStrategy.Snapshot.Bounded(1));
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
     }
 }
@@ -88,6 +88,34 @@ public class ClassReloadingStrategyTest {
         assertThat(foo.foo(), is(FOO));
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testSnapshotReloadingStrategy() throws Exception {
+        Foo foo = new Foo();
+        assertThat(foo.foo(), is(FOO));
+        ClassReloadingStrategy classReloadingStrategy = ClassReloadingStrategy.fromInstalledAgent()
+                .withSnapshot(10)
+                .withChunkSize(1);
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(Foo.class.getClassLoader(), classReloadingStrategy);
+        assertThat(foo.foo(), is(BAR));
+        classReloadingStrategy.reset(Foo.class);
+        assertThat(foo.foo(), is(FOO));
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(Foo.class.getClassLoader(), classReloadingStrategy);
+        assertThat(foo.foo(), is(BAR));
+        classReloadingStrategy.reset(Foo.class);
+        assertThat(foo.foo(), is(FOO));
+    }
+
     @SuppressWarnings("unused")
     public static class Foo {
 
@@ -0,0 +1,151 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class MethodRegistryDefaultCompiledEntryIndexTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private MethodDescription fooMethod, barMethod, quxMethod;
+
+    @Mock
+    private ByteCodeAppender byteCodeAppender;
+
+    @Mock
+    private MethodAttributeAppender attributeAppender;
+
+    @Before
+    public void setUp() throws Exception {
+        when(fooMethod.getSourceCodeName()).thenReturn(FOO);
+        when(fooMethod.getDescriptor()).thenReturn(QUX);
+        when(barMethod.getSourceCodeName()).thenReturn(BAR);
+        when(barMethod.getDescriptor()).thenReturn(QUX);
+        when(quxMethod.getSourceCodeName()).thenReturn(QUX);
+        when(quxMethod.getDescriptor()).thenReturn(BAZ);
+    }
+
+    private MethodRegistry.Default.Compiled.Entry entry(ElementMatcher<? super MethodDescription> matcher) {
+        return new MethodRegistry.Default.Compiled.Entry(matcher, byteCodeAppender, attributeAppender);
+    }
+
+    @Test
+    public void testFirstMatchingEntryIsReturned() throws Exception {
+        MethodRegistry.Default.Compiled.Entry first = entry(named(FOO)), second = entry(ElementMatchers.any()), third = entry(named(BAR));
+        MethodRegistry.Default.Compiled.EntryIndex entryIndex = MethodRegistry.Default.Compiled.EntryIndex.of(Arrays.asList(first, second, third));
+        assertThat(entryIndex.target(fooMethod), is(first));
+        assertThat(entryIndex.target(barMethod), is(second));
+        assertThat(entryIndex.target(quxMethod), is(second));
+    }
+
+    @Test
+    public void testIndexedEntriesAreFullyMatched() throws Exception {
+        MethodRegistry.Default.Compiled.Entry first = entry(named(FOO).and(isStatic())), second = entry(named(FOO).or(named(BAR)));
+        MethodRegistry.Default.Compiled.EntryIndex entryIndex = MethodRegistry.Default.Compiled.EntryIndex.of(Arrays.asList(first, second));
+        assertThat(entryIndex.target(fooMethod), is(second));
+        assertThat(entryIndex.target(barMethod), is(second));
+        assertThat(entryIndex.target(quxMethod), nullValue(MethodRegistry.Default.Compiled.Entry.class));
+    }
+
+    @Test
+    public void testDescriptorConstraint() throws Exception {
+        MethodRegistry.Default.Compiled.Entry first = entry(named(FOO).and(hasDescriptor(BAZ))), second = entry(hasDescriptor(QUX));
+        MethodRegistry.Default.Compiled.EntryIndex entryIndex = MethodRegistry.Default.Compiled.EntryIndex.of(Arrays.asList(first, second));
+        assertThat(entryIndex.target(fooMethod), is(second));
+        assertThat(entryIndex.target(barMethod), is(second));
+        assertThat(entryIndex.target(quxMethod), nullValue(MethodRegistry.Default.Compiled.Entry.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnconstrainedMatcherIsConsultedForAnyMethod() throws Exception {
+        ElementMatcher<? super MethodDescription> matcher = mock(ElementMatcher.class);
+        when(matcher.matches(quxMethod)).thenReturn(true);
+        MethodRegistry.Default.Compiled.Entry first = entry(named(FOO)), second = entry(matcher);
+        MethodRegistry.Default.Compiled.EntryIndex entryIndex = MethodRegistry.Default.Compiled.EntryIndex.of(Arrays.asList(first, second));
+        assertThat(entryIndex.target(quxMethod), is(second));
+        assertThat(entryIndex.target(fooMethod), is(first));
+        verify(matcher).matches(quxMethod);
+        verifyNoMoreInteractions(matcher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCompiledMatcherIsIndexed() throws Exception {
+        ElementMatcher<MethodDescription> matcher = mock(ElementMatcher.class);
+        when(matcher.matches(fooMethod)).thenReturn(true);
+        MethodRegistry.Default.Compiled.Entry first = entry(ElementMatchers.<MethodDescription>compile(named(FOO).or(named(BAR)).and(matcher)));
+        MethodRegistry.Default.Compiled.Entry second = entry(ElementMatchers.any());
+        MethodRegistry.Default.Compiled.EntryIndex entryIndex = MethodRegistry.Default.Compiled.EntryIndex.of(Arrays.asList(first, second));
+        assertThat(entryIndex.target(fooMethod), is(first));
+        assertThat(entryIndex.target(quxMethod), is(second));
+        verify(matcher).matches(fooMethod);
+        verifyNoMoreInteractions(matcher);
+    }
+
+    @Test
+    public void testConstraint() throws Exception {
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(named(FOO)),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(Collections.singleton(FOO), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(namedIgnoreCase(FOO)),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(null, null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(named(FOO).or(named(BAR))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(new HashSet<String>(Arrays.asList(FOO, BAR)), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(named(FOO).or(isStatic())),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(null, null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(named(FOO).and(named(BAR))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(Collections.<String>emptySet(), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(isStatic().and(hasDescriptor(QUX))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(null, Collections.singleton(QUX))));
+    }
+
+    @Test
+    public void testCompiledConstraint() throws Exception {
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(named(FOO))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(Collections.singleton(FOO), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(named(FOO).or(named(BAR)))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(new HashSet<String>(Arrays.asList(FOO, BAR)), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(named(FOO).or(named(BAR)).or(named(QUX)))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(new HashSet<String>(Arrays.asList(FOO, BAR, QUX)), null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(named(FOO).or(isStatic()))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(null, null)));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(named(FOO).and(hasDescriptor(QUX)))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(Collections.singleton(FOO), Collections.singleton(QUX))));
+        assertThat(MethodRegistry.Default.Compiled.EntryIndex.Constraint.of(ElementMatchers.compile(isStatic().and(named(FOO).or(named(BAR))))),
+                is(new MethodRegistry.Default.Compiled.EntryIndex.Constraint(new HashSet<String>(Arrays.asList(FOO, BAR)), null)));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.EntryIndex.class).apply();
+        ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.EntryIndex.Constraint.class).apply();
+        ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.EntryIndex.Candidate.class).apply();
+    }
+}
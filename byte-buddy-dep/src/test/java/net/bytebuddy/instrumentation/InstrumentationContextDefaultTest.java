@@ -174,6 +174,12 @@ public class InstrumentationContextDefaultTest {
         verifyNoMoreInteractions(injectedCode);
     }
 
+    @Test
+    public void testClassFileVersion() throws Exception {
+        assertThat(new Instrumentation.Context.Default(instrumentedType, typeInitializer, classFileVersion).getClassFileVersion(),
+                is(classFileVersion));
+    }
+
     @Test
     public void testAuxiliaryTypeRegistration() throws Exception {
         Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
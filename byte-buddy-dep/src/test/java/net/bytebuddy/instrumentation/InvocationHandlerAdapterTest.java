@@ -1,14 +1,21 @@
 package net.bytebuddy.instrumentation;
 
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.test.utility.CallTraceable;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -106,6 +113,95 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         instance.assertZeroCalls();
     }
 
+    @Test
+    public void testStaticPositionalAdapter() throws Exception {
+        Corge corge = new Corge();
+        DynamicType.Loaded<Grault> loaded = instrument(Grault.class, InvocationHandlerAdapter.ofPositional(corge, QUX));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(9));
+        assertThat(loaded.getLoaded().getDeclaredField(QUX).getType(), is((Object) InvocationHandlerAdapter.PositionalInvocationHandler.class));
+        assertPositional(loaded.getLoaded().newInstance(), corge);
+    }
+
+    @Test
+    public void testInstancePositionalAdapter() throws Exception {
+        DynamicType.Loaded<Grault> loaded = instrument(Grault.class, InvocationHandlerAdapter.toPositionalInstanceField(QUX));
+        Field field = loaded.getLoaded().getDeclaredField(QUX);
+        assertThat(field.getModifiers(), is(Modifier.PUBLIC));
+        assertThat(field.getType(), is((Object) InvocationHandlerAdapter.PositionalInvocationHandler.class));
+        Grault instance = loaded.getLoaded().newInstance();
+        Corge corge = new Corge();
+        field.set(instance, corge);
+        assertPositional(instance, corge);
+    }
+
+    private static void assertPositional(Grault instance, Corge corge) {
+        assertThat(instance.mix(BAZ, FOO, 1.5f), is(BAZ + 1.5d));
+        assertThat(instance.negate(true), is(false));
+        assertThat(instance.negate(false), is(true));
+        assertThat(instance.next('a'), is('b'));
+        assertThat(instance.decrement((byte) Byte.MIN_VALUE), is(Byte.MAX_VALUE));
+        assertThat(instance.concat(FOO, Long.MAX_VALUE), is(FOO + Long.MAX_VALUE));
+        assertThat(instance.self(), is((Object) instance));
+        instance.run();
+        assertThat(instance.sum(1, 2, 3, 4), is(BAR + 10));
+        assertThat(corge.calls, is(Arrays.asList("invokePrimitive3", "invokePrimitive1", "invokePrimitive1",
+                "invokePrimitive1", "invokePrimitive1", "invoke2", "invoke0", "invoke0", "invoke")));
+        assertThat(corge.methods.get(0), sameInstance(corge.methods.get(1)));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    public void testPositionalAdapterReadsCachedMethods() throws Exception {
+        assertPositionalHotPath(instrument(Grault.class, InvocationHandlerAdapter.ofPositional(new Corge())).getBytes());
+        assertPositionalHotPath(instrument(Grault.class, InvocationHandlerAdapter.toPositionalInstanceField(QUX)).getBytes());
+    }
+
+    private static void assertPositionalHotPath(byte[] binaryRepresentation) {
+        final List<String> instructions = new LinkedList<String>();
+        new ClassReader(binaryRepresentation).accept(new ClassVisitor(Opcodes.ASM5) {
+            @Override
+            public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String signature, String[] exception) {
+                if (internalName.startsWith("<") || Type.getArgumentTypes(descriptor).length > 3) {
+                    return null;
+                }
+                return new MethodVisitor(Opcodes.ASM5) {
+                    @Override
+                    public void visitTypeInsn(int opcode, String type) {
+                        if (opcode == Opcodes.NEW || opcode == Opcodes.ANEWARRAY) {
+                            instructions.add("type:" + type);
+                        }
+                    }
+
+                    @Override
+                    public void visitIntInsn(int opcode, int operand) {
+                        if (opcode == Opcodes.NEWARRAY) {
+                            instructions.add("array:" + operand);
+                        }
+                    }
+
+                    @Override
+                    public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                        if (descriptor.equals(Type.getDescriptor(Method.class))) {
+                            assertThat(opcode, is(Opcodes.GETSTATIC));
+                            instructions.add("method:" + name);
+                        }
+                    }
+
+                    @Override
+                    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                        assertThat(owner, not(Type.getInternalName(Class.class)));
+                        assertThat(owner, not(Type.getInternalName(Method.class)));
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG);
+        assertThat(instructions.size(), is(7));
+        for (String instruction : instructions) {
+            assertThat(instruction.startsWith("method:"), is(true));
+        }
+    }
+
     @Test
     public void testEqualsHashCodeStaticAdapter() throws Exception {
         assertThat(InvocationHandlerAdapter.of(new Foo(FOO)).hashCode(), is(InvocationHandlerAdapter.of(new Foo(FOO)).hashCode()));
@@ -126,6 +222,22 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         assertThat(InvocationHandlerAdapter.toInstanceField(QUX), not(is(InvocationHandlerAdapter.toInstanceField(FOO))));
         assertThat(InvocationHandlerAdapter.toInstanceField(QUX).hashCode(), not(is(InvocationHandlerAdapter.of(new Foo(BAR), QUX).hashCode())));
         assertThat(InvocationHandlerAdapter.toInstanceField(QUX), not(is(InvocationHandlerAdapter.of(new Foo(BAR), QUX))));
+        assertThat(InvocationHandlerAdapter.toPositionalInstanceField(QUX), is(InvocationHandlerAdapter.toPositionalInstanceField(QUX)));
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX).hashCode(), not(is(InvocationHandlerAdapter.toPositionalInstanceField(QUX).hashCode())));
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX), not(is(InvocationHandlerAdapter.toPositionalInstanceField(QUX))));
+    }
+
+    @Test
+    public void testPrimitiveEncodingLookup() throws Exception {
+        assertThat(InvocationHandlerAdapter.PrimitiveEncoding.of(new TypeDescription.ForLoadedType(int.class)),
+                is(InvocationHandlerAdapter.PrimitiveEncoding.INTEGER));
+        assertThat(InvocationHandlerAdapter.PrimitiveEncoding.of(new TypeDescription.ForLoadedType(double.class)),
+                is(InvocationHandlerAdapter.PrimitiveEncoding.DOUBLE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrimitiveEncodingVoidThrowsException() throws Exception {
+        InvocationHandlerAdapter.PrimitiveEncoding.of(new TypeDescription.ForLoadedType(void.class));
     }
 
     @Test
@@ -134,6 +246,8 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         ObjectPropertyAssertion.of(InvocationHandlerAdapter.ForInstanceDelegation.Appender.class).apply();
         ObjectPropertyAssertion.of(InvocationHandlerAdapter.ForStaticDelegation.class).skipSynthetic().apply();
         ObjectPropertyAssertion.of(InvocationHandlerAdapter.ForStaticDelegation.Appender.class).apply();
+        ObjectPropertyAssertion.of(InvocationHandlerAdapter.PrimitiveEncoding.Conversion.class).apply();
+        ObjectPropertyAssertion.of(InvocationHandlerAdapter.PrimitiveEncoding.BitConversion.class).apply();
     }
 
     private static class Foo implements InvocationHandler {
@@ -196,4 +310,132 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
             return o;
         }
     }
+
+    private static class Corge implements InvocationHandlerAdapter.PositionalInvocationHandler {
+
+        private final List<String> calls = new LinkedList<String>();
+
+        private final List<Method> methods = new LinkedList<Method>();
+
+        @Override
+        public Object invoke0(Object proxy, Method method) throws Throwable {
+            calls.add("invoke0");
+            assertThat(method.getParameterTypes().length, is(0));
+            return method.getReturnType() == void.class ? null : proxy;
+        }
+
+        @Override
+        public long invokePrimitive0(Object proxy, Method method) throws Throwable {
+            throw new AssertionError();
+        }
+
+        @Override
+        public Object invoke1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable {
+            throw new AssertionError();
+        }
+
+        @Override
+        public long invokePrimitive1(Object proxy, Method method, Object reference0, long primitive0) throws Throwable {
+            calls.add("invokePrimitive1");
+            methods.add(method);
+            assertThat(reference0, nullValue());
+            if (method.getName().equals("negate")) {
+                return primitive0 == 0L ? 1L : 0L;
+            } else if (method.getName().equals("next")) {
+                return primitive0 + 1L;
+            } else {
+                return primitive0 - 1L;
+            }
+        }
+
+        @Override
+        public Object invoke2(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1) throws Throwable {
+            calls.add("invoke2");
+            assertThat(primitive0, is(0L));
+            assertThat(reference1, nullValue());
+            return reference0 + String.valueOf(primitive1);
+        }
+
+        @Override
+        public long invokePrimitive2(Object proxy, Method method,
+                                     Object reference0, long primitive0,
+                                     Object reference1, long primitive1) throws Throwable {
+            throw new AssertionError();
+        }
+
+        @Override
+        public Object invoke3(Object proxy, Method method,
+                              Object reference0, long primitive0,
+                              Object reference1, long primitive1,
+                              Object reference2, long primitive2) throws Throwable {
+            throw new AssertionError();
+        }
+
+        @Override
+        public long invokePrimitive3(Object proxy, Method method,
+                                     Object reference0, long primitive0,
+                                     Object reference1, long primitive1,
+                                     Object reference2, long primitive2) throws Throwable {
+            calls.add("invokePrimitive3");
+            assertThat(reference0, nullValue());
+            assertThat(reference1, is((Object) FOO));
+            assertThat(primitive1, is(0L));
+            assertThat(reference2, nullValue());
+            return Double.doubleToRawLongBits(primitive0 + Float.intBitsToFloat((int) primitive2));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            calls.add("invoke");
+            int sum = 0;
+            for (Object arg : args) {
+                sum += (Integer) arg;
+            }
+            return BAR + sum;
+        }
+    }
+
+    public static class Grault extends CallTraceable {
+
+        public double mix(int i, String s, float f) {
+            register(FOO);
+            return 0d;
+        }
+
+        public boolean negate(boolean b) {
+            register(FOO);
+            return b;
+        }
+
+        public char next(char c) {
+            register(FOO);
+            return c;
+        }
+
+        public byte decrement(byte b) {
+            register(FOO);
+            return b;
+        }
+
+        public String concat(String s, long l) {
+            register(FOO);
+            return s;
+        }
+
+        public Object self() {
+            register(FOO);
+            return null;
+        }
+
+        public void run() {
+            register(FOO);
+        }
+
+        public String sum(int a, int b, int c, int d) {
+            register(FOO);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.test.utility.CallTraceable;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InvokeDynamicDelegationTest extends AbstractInstrumentationTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int BAZ = 42;
+
+    @Rule
+    public MethodRule java7Rule = new JavaVersionRule(7);
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testDelegationWithoutReceiver() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, InvokeDynamicDelegation.to(Target.class));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO), is(FOO + BAR));
+        assertThat(instance.foo(QUX), is(QUX + BAR));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testDelegationWithReceiverAndAdaptation() throws Exception {
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, InvokeDynamicDelegation.to(Target.class));
+        Bar instance = loaded.getLoaded().newInstance();
+        assertThat(instance.bar(BAZ), is(BAZ * 2L));
+        instance.qux();
+        assertThat(Target.receiver, is((Object) instance));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testDelegationWithMethodName() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, InvokeDynamicDelegation.to(Target.class).withMethodName(QUX));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO), is(QUX + FOO));
+        instance.assertZeroCalls();
+    }
+
+    @Test(expected = BootstrapMethodError.class)
+    @JavaVersionRule.Enforce
+    public void testAmbiguousTargetThrowsException() throws Exception {
+        instrument(Qux.class, InvokeDynamicDelegation.to(Target.class)).getLoaded().newInstance().ambiguous(FOO);
+    }
+
+    @Test(expected = BootstrapMethodError.class)
+    @JavaVersionRule.Enforce
+    public void testMissingTargetThrowsException() throws Exception {
+        instrument(Foo.class, InvokeDynamicDelegation.to(Target.class).withMethodName(BAR)).getLoaded().newInstance().foo(FOO);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLegacyClassFileVersionThrowsException() throws Exception {
+        new ByteBuddy(ClassFileVersion.JAVA_V6)
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class)).intercept(InvokeDynamicDelegation.to(Target.class))
+                .make();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrimitiveTargetTypeThrowsException() throws Exception {
+        InvokeDynamicDelegation.to(int.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMethodNameThrowsException() throws Exception {
+        InvokeDynamicDelegation.to(Target.class).withMethodName("void");
+    }
+
+    @Test
+    public void testTargetNameResolver() throws Exception {
+        MethodDescription methodDescription = new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO, String.class));
+        assertThat(InvokeDynamicDelegation.TargetNameResolver.ForInterceptedMethod.INSTANCE.resolve(methodDescription), is(FOO));
+        assertThat(new InvokeDynamicDelegation.TargetNameResolver.Fixed(BAR).resolve(methodDescription), is(BAR));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(InvokeDynamicDelegation.class).apply();
+        ObjectPropertyAssertion.of(InvokeDynamicDelegation.Appender.class).apply();
+        ObjectPropertyAssertion.of(InvokeDynamicDelegation.TargetNameResolver.Fixed.class).apply();
+    }
+
+    public static class Foo extends CallTraceable {
+
+        public String foo(String value) {
+            register(FOO);
+            return value;
+        }
+    }
+
+    public static class Bar extends CallTraceable {
+
+        public long bar(int value) {
+            register(BAR);
+            return value;
+        }
+
+        public void qux() {
+            register(QUX);
+        }
+    }
+
+    public static class Qux extends CallTraceable {
+
+        public Object ambiguous(String value) {
+            register(FOO);
+            return value;
+        }
+    }
+
+    public static class Target {
+
+        public static Object receiver;
+
+        public static String foo(String value) {
+            return value + BAR;
+        }
+
+        public static Integer bar(Object receiver, Integer value) {
+            return value * 2;
+        }
+
+        public static void qux(Object receiver) {
+            Target.receiver = receiver;
+        }
+
+        public static String qux(String value) {
+            return QUX + value;
+        }
+
+        public static Object ambiguous(Object value) {
+            return value;
+        }
+
+        public static Object ambiguous(CharSequence value) {
+            return value;
+        }
+    }
+}
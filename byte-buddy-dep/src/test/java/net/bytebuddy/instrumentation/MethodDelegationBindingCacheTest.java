@@ -0,0 +1,97 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.This;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationBindingCacheTest extends AbstractInstrumentationTest {
+
+    private static final String FOO = "foo", BAR = "bar", NAME = "net.bytebuddy.test.Cached";
+
+    @Test
+    public void testCachedBindingIsReused() throws Exception {
+        Instrumentation instrumentation = MethodDelegation.to(Bar.class).withBindingCache();
+        assertThat(make(instrumentation).newInstance().foo(FOO), is(FOO + BAR));
+        assertThat(make(instrumentation).newInstance().foo(BAR), is(BAR + BAR));
+    }
+
+    @Test
+    public void testCachedBindingIsNotReusedForFilteredTarget() throws Exception {
+        MethodDelegation methodDelegation = MethodDelegation.to(Bar.class).withBindingCache();
+        assertThat(make(methodDelegation).newInstance().foo(FOO), is(FOO + BAR));
+        assertThat(make(methodDelegation.filter(named(FOO))).newInstance().foo(FOO), is(FOO));
+    }
+
+    @Test
+    public void testCachedBindingIsNotReusedForOtherInstrumentedType() throws Exception {
+        Instrumentation instrumentation = MethodDelegation.to(Grault.class).withBindingCache();
+        assertThat(instrument(Corge.class, instrumentation, Corge.class.getClassLoader(), named(FOO))
+                .getLoaded()
+                .newInstance()
+                .foo(FOO), is(FOO));
+        assertThat(instrument(Baz.class, instrumentation, Baz.class.getClassLoader(), named(FOO))
+                .getLoaded()
+                .newInstance()
+                .foo(FOO), is(FOO + BAR));
+    }
+
+    private Class<? extends Foo> make(Instrumentation instrumentation) {
+        return new ByteBuddy()
+                .subclass(Foo.class)
+                .name(NAME)
+                .method(isDeclaredBy(Foo.class)).intercept(instrumentation)
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    public static class Foo {
+
+        public String foo(String value) {
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public static String foo(Object value) {
+            return (String) value;
+        }
+
+        public static String bar(String value) {
+            return value + BAR;
+        }
+    }
+
+    public static class Qux {
+
+        public String foo(String value) {
+            return null;
+        }
+    }
+
+    public static class Baz extends Qux {
+        /* empty */
+    }
+
+    public static class Corge extends Qux {
+        /* empty */
+    }
+
+    public static class Grault {
+
+        public static String qux(String value) {
+            return value;
+        }
+
+        public static String baz(String value, @This Baz baz) {
+            return value + BAR;
+        }
+    }
+}
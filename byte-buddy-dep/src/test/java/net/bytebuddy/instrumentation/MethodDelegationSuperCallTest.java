@@ -12,6 +12,7 @@ import java.util.concurrent.Callable;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
@@ -56,6 +57,19 @@ public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
         assertThat(instance.bar(), is(FOO));
     }
 
+    @Test
+    public void testReusableProxy() throws Exception {
+        DynamicType.Loaded<Baz> loaded = instrument(Baz.class, MethodDelegation.to(ReusableTarget.class));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(1));
+        Baz instance = loaded.getLoaded().newInstance();
+        assertThat(instance.baz(FOO, 1L), is(FOO + 1L));
+        Callable<?> proxy = ReusableTarget.proxy;
+        assertThat(instance.baz(BAR, 2L), is(BAR + 2L));
+        assertThat(ReusableTarget.proxy, sameInstance((Object) proxy));
+        assertThat(loaded.getLoaded().newInstance().baz(FOO, 3L), is(FOO + 3L));
+        assertThat(ReusableTarget.proxy, sameInstance((Object) proxy));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAbstractMethodNonBindable() throws Exception {
         instrument(Qux.class, MethodDelegation.to(CallableClass.class));
@@ -98,6 +112,23 @@ public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
         }
     }
 
+    public static class Baz {
+
+        public String baz(String value, long number) {
+            return value + number;
+        }
+    }
+
+    public static class ReusableTarget {
+
+        private static Callable<?> proxy;
+
+        public static String baz(@SuperCall(reusableProxy = true) Callable<String> zuper) throws Exception {
+            proxy = zuper;
+            return zuper.call();
+        }
+    }
+
     public static abstract class Qux {
 
         public abstract String bar();
@@ -25,4 +25,16 @@ public class MethodDescriptionForLoadedTest extends AbstractMethodDescriptionTes
         Method method = Object.class.getDeclaredMethod("toString");
         assertThat(new MethodDescription.ForLoadedMethod(method).getLoadedMethod(), sameInstance(method));
     }
+
+    @Test
+    public void testMemorizedProperties() throws Exception {
+        MethodDescription methodDescription = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("equals", Object.class));
+        assertThat(methodDescription.getDescriptor(), sameInstance(methodDescription.getDescriptor()));
+        assertThat(methodDescription.getUniqueSignature(), sameInstance(methodDescription.getUniqueSignature()));
+        assertThat(methodDescription.getParameterTypes(), sameInstance(methodDescription.getParameterTypes()));
+        MethodDescription constructorDescription = new MethodDescription.ForLoadedConstructor(Object.class.getDeclaredConstructor());
+        assertThat(constructorDescription.getDescriptor(), sameInstance(constructorDescription.getDescriptor()));
+        assertThat(constructorDescription.getUniqueSignature(), sameInstance(constructorDescription.getUniqueSignature()));
+        assertThat(constructorDescription.getParameterTypes(), sameInstance(constructorDescription.getParameterTypes()));
+    }
 }
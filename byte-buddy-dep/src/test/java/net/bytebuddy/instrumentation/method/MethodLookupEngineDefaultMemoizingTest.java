@@ -0,0 +1,118 @@
+package net.bytebuddy.instrumentation.method;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.PackageDescription;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MethodLookupEngineDefaultMemoizingTest extends MethodLookupEngineDefaultTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final int GC_ATTEMPTS = 20, GC_DELAY = 50;
+
+    private static final MethodLookupEngine.Factory FACTORY = new MethodLookupEngine.Default.MemoizingFactory();
+
+    @Override
+    protected MethodLookupEngine.Factory methodLookupEngineFactory() {
+        return FACTORY;
+    }
+
+    @Test
+    public void testSupertypeIsResolvedOncePerPackage() throws Exception {
+        MethodLookupEngine methodLookupEngine = new MethodLookupEngine.Default.MemoizingFactory().make(false);
+        TypeDescription supertype = mock(TypeDescription.class);
+        when(supertype.getInterfaces()).thenReturn(new TypeList.Empty());
+        when(supertype.getDeclaredMethods()).thenReturn(new MethodList.Empty());
+        PackageDescription packageDescription = mock(PackageDescription.class), otherPackageDescription = mock(PackageDescription.class);
+        when(packageDescription.getName()).thenReturn(FOO);
+        when(otherPackageDescription.getName()).thenReturn(BAR);
+        methodLookupEngine.process(mockType(supertype, packageDescription));
+        methodLookupEngine.process(mockType(supertype, packageDescription));
+        verify(supertype).getDeclaredMethods();
+        methodLookupEngine.process(mockType(supertype, otherPackageDescription));
+        verify(supertype, times(2)).getDeclaredMethods();
+    }
+
+    @Test
+    public void testHierarchyIsMemorized() throws Exception {
+        MethodLookupEngine.Default.ClassHierarchyLookup classHierarchyLookup = new MethodLookupEngine.Default.ClassHierarchyLookup.Memoizing();
+        TypeDescription typeOfInterest = mock(TypeDescription.class);
+        TypeDescription supertype = new TypeDescription.ForLoadedType(ArrayListExtension.class);
+        MethodLookupEngine.Default.ClassHierarchy classHierarchy = classHierarchyLookup.resolve(supertype, typeOfInterest, isMethod());
+        assertThat(classHierarchyLookup.resolve(supertype, typeOfInterest, isMethod()), sameInstance(classHierarchy));
+        assertThat(classHierarchyLookup.resolve(supertype.getSupertype(), typeOfInterest, isMethod()).getClassMethods().size(),
+                is(MethodLookupEngine.Default.ClassHierarchyLookup.Direct.INSTANCE.resolve(supertype.getSupertype(), typeOfInterest, isMethod())
+                        .getClassMethods().size()));
+        assertThat(classHierarchy, is(MethodLookupEngine.Default.ClassHierarchyLookup.Direct.INSTANCE.resolve(supertype, typeOfInterest, isMethod())));
+    }
+
+    @Test
+    public void testHierarchyIsReleasedWithSupertype() throws Exception {
+        MethodLookupEngine.Default.ClassHierarchyLookup classHierarchyLookup = new MethodLookupEngine.Default.ClassHierarchyLookup.Memoizing();
+        Reference<TypeDescription> supertype = resolveUnreferenced(classHierarchyLookup);
+        for (int attempt = 0; attempt < GC_ATTEMPTS && supertype.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(GC_DELAY);
+        }
+        assertThat(supertype.get(), nullValue(TypeDescription.class));
+    }
+
+    @Test
+    public void testMemoizingObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.MemoizingFactory.class).apply(new MethodLookupEngine.Default.MemoizingFactory());
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.ClassHierarchyLookup.Memoizing.class)
+                .apply(new MethodLookupEngine.Default.ClassHierarchyLookup.Memoizing());
+        MethodLookupEngine.Default.ClassHierarchyLookup classHierarchyLookup = mock(MethodLookupEngine.Default.ClassHierarchyLookup.class);
+        assertThat(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup).make(true),
+                is(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup).make(true)));
+        assertThat(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup).hashCode(),
+                is(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup).hashCode()));
+        assertThat(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup),
+                is(new MethodLookupEngine.Default.MemoizingFactory(classHierarchyLookup)));
+        assertThat(new MethodLookupEngine.Default.MemoizingFactory(), not(new MethodLookupEngine.Default.MemoizingFactory()));
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.ClassHierarchy.class).apply();
+    }
+
+    private static Reference<TypeDescription> resolveUnreferenced(MethodLookupEngine.Default.ClassHierarchyLookup classHierarchyLookup) {
+        TypeDescription supertype = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(Qux.class.getClassLoader())).describe(Qux.class.getName()).resolve();
+        classHierarchyLookup.resolve(supertype, mock(TypeDescription.class), isMethod());
+        return new WeakReference<TypeDescription>(supertype);
+    }
+
+    private static TypeDescription mockType(TypeDescription supertype, PackageDescription packageDescription) {
+        TypeDescription typeDescription = mock(TypeDescription.class);
+        when(typeDescription.getSupertype()).thenReturn(supertype);
+        when(typeDescription.getPackage()).thenReturn(packageDescription);
+        when(typeDescription.getInterfaces()).thenReturn(new TypeList.Empty());
+        when(typeDescription.getDeclaredMethods()).thenReturn(new MethodList.Empty());
+        return typeDescription;
+    }
+
+    public static class ArrayListExtension extends ArrayList<Object> {
+        /* empty */
+    }
+
+    public static class Qux {
+
+        public void foo() {
+            /* empty */
+        }
+    }
+}
@@ -59,9 +59,13 @@ public class MethodLookupEngineDefaultTest {
         return new TypeDescription.ForLoadedType(Class.forName(name, true, classLoader));
     }
 
+    protected MethodLookupEngine.Factory methodLookupEngineFactory() {
+        return MethodLookupEngine.Default.Factory.INSTANCE;
+    }
+
     @Before
     public void setUp() throws Exception {
-        methodLookupEngine = MethodLookupEngine.Default.Factory.INSTANCE.make(true);
+        methodLookupEngine = methodLookupEngineFactory().make(true);
         classLoader = new PrecompiledTypeClassLoader(getClass().getClassLoader());
     }
 
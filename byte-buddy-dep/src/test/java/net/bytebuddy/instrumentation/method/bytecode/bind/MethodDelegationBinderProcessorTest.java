@@ -12,6 +12,7 @@ import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -173,8 +174,93 @@ public class MethodDelegationBinderProcessorTest {
         verifyZeroInteractions(ambiguityResolver);
     }
 
+    @Test
+    public void testCachedTargetIsBoundExclusively() throws Exception {
+        List<MethodDescription> methodDescriptions = Arrays.asList(unbindableTarget, bindableTarget, dominantBindableTarget);
+        MethodDelegationBinder.BindingCache bindingCache = mock(MethodDelegationBinder.BindingCache.class);
+        when(bindingCache.find(instrumentedType, source)).thenReturn(dominantBindableTarget);
+        MethodDelegationBinder.Processor processor = new MethodDelegationBinder.Processor(methodDelegationBinder, ambiguityResolver, bindingCache);
+        MethodDelegationBinder.MethodBinding result = processor.process(instrumentationTarget, source, methodDescriptions);
+        assertThat(result, is(dominantBoundDelegation));
+        verify(methodDelegationBinder).bind(instrumentationTarget, source, dominantBindableTarget);
+        verifyNoMoreInteractions(methodDelegationBinder);
+        verifyZeroInteractions(ambiguityResolver);
+        verify(bindingCache).find(instrumentedType, source);
+        verifyNoMoreInteractions(bindingCache);
+    }
+
+    @Test
+    public void testResolvedTargetIsRegistered() throws Exception {
+        List<MethodDescription> methodDescriptions = Arrays.asList(unbindableTarget, bindableTarget, dominantBindableTarget);
+        when(dominantBoundDelegation.getTarget()).thenReturn(dominantBindableTarget);
+        MethodDelegationBinder.BindingCache bindingCache = mock(MethodDelegationBinder.BindingCache.class);
+        MethodDelegationBinder.Processor processor = new MethodDelegationBinder.Processor(methodDelegationBinder, ambiguityResolver, bindingCache);
+        MethodDelegationBinder.MethodBinding result = processor.process(instrumentationTarget, source, methodDescriptions);
+        assertThat(result, is(dominantBoundDelegation));
+        verify(bindingCache).find(instrumentedType, source);
+        verify(bindingCache).register(instrumentedType, source, dominantBindableTarget);
+        verifyNoMoreInteractions(bindingCache);
+    }
+
+    @Test
+    public void testUnboundCachedTargetIsIgnored() throws Exception {
+        List<MethodDescription> methodDescriptions = Arrays.asList(unbindableTarget, bindableTarget);
+        MethodDelegationBinder.BindingCache bindingCache = mock(MethodDelegationBinder.BindingCache.class);
+        when(bindingCache.find(instrumentedType, source)).thenReturn(unbindableTarget);
+        MethodDelegationBinder.Processor processor = new MethodDelegationBinder.Processor(methodDelegationBinder, ambiguityResolver, bindingCache);
+        assertThat(processor.process(instrumentationTarget, source, methodDescriptions), is(boundDelegation));
+        verify(methodDelegationBinder, times(2)).bind(instrumentationTarget, source, unbindableTarget);
+        verify(methodDelegationBinder).bind(instrumentationTarget, source, bindableTarget);
+    }
+
+    @Test
+    public void testInvisibleCachedTargetIsIgnored() throws Exception {
+        List<MethodDescription> methodDescriptions = Arrays.asList(invisibleTarget, bindableTarget);
+        MethodDelegationBinder.BindingCache bindingCache = mock(MethodDelegationBinder.BindingCache.class);
+        when(bindingCache.find(instrumentedType, source)).thenReturn(invisibleTarget);
+        MethodDelegationBinder.Processor processor = new MethodDelegationBinder.Processor(methodDelegationBinder, ambiguityResolver, bindingCache);
+        assertThat(processor.process(instrumentationTarget, source, methodDescriptions), is(boundDelegation));
+        verify(methodDelegationBinder, never()).bind(instrumentationTarget, source, invisibleTarget);
+    }
+
+    @Test
+    public void testCachedTargetNotAmongTargetsIsIgnored() throws Exception {
+        List<MethodDescription> methodDescriptions = Collections.singletonList(bindableTarget);
+        MethodDelegationBinder.BindingCache bindingCache = mock(MethodDelegationBinder.BindingCache.class);
+        when(bindingCache.find(instrumentedType, source)).thenReturn(dominantBindableTarget);
+        MethodDelegationBinder.Processor processor = new MethodDelegationBinder.Processor(methodDelegationBinder, ambiguityResolver, bindingCache);
+        assertThat(processor.process(instrumentationTarget, source, methodDescriptions), is(boundDelegation));
+        verify(methodDelegationBinder, never()).bind(instrumentationTarget, source, dominantBindableTarget);
+    }
+
+    @Test
+    public void testSourceSignatureBindingCache() throws Exception {
+        MethodDelegationBinder.BindingCache bindingCache = new MethodDelegationBinder.BindingCache.ForSourceSignature();
+        TypeDescription declaringType = mock(TypeDescription.class);
+        when(declaringType.getInternalName()).thenReturn("foo");
+        when(instrumentedType.getInternalName()).thenReturn("baz");
+        TypeDescription otherInstrumentedType = mock(TypeDescription.class);
+        when(otherInstrumentedType.getInternalName()).thenReturn("qux");
+        when(source.getDeclaringType()).thenReturn(declaringType);
+        when(source.getUniqueSignature()).thenReturn("bar()V");
+        MethodDescription otherSource = mock(MethodDescription.class);
+        when(otherSource.getDeclaringType()).thenReturn(declaringType);
+        when(otherSource.getUniqueSignature()).thenReturn("qux()V");
+        assertThat(bindingCache.find(instrumentedType, source), is((MethodDescription) null));
+        bindingCache.register(instrumentedType, source, bindableTarget);
+        bindingCache.register(instrumentedType, source, dominantBindableTarget);
+        assertThat(bindingCache.find(instrumentedType, source), is(bindableTarget));
+        assertThat(bindingCache.find(instrumentedType, otherSource), is((MethodDescription) null));
+        assertThat(bindingCache.find(otherInstrumentedType, source), is((MethodDescription) null));
+        assertThat(MethodDelegationBinder.BindingCache.Disabled.INSTANCE.find(instrumentedType, source), is((MethodDescription) null));
+        MethodDelegationBinder.BindingCache.Disabled.INSTANCE.register(instrumentedType, source, bindableTarget);
+        assertThat(MethodDelegationBinder.BindingCache.Disabled.INSTANCE.find(instrumentedType, source), is((MethodDescription) null));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(MethodDelegationBinder.Processor.class).apply();
+        ObjectPropertyAssertion.of(MethodDelegationBinder.BindingCache.ForSourceSignature.class)
+                .apply(new MethodDelegationBinder.BindingCache.ForSourceSignature());
     }
 }
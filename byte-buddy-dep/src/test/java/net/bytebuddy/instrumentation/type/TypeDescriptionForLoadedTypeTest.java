@@ -1,9 +1,22 @@
 package net.bytebuddy.instrumentation.type;
 
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTest {
 
     @Override
     protected TypeDescription describe(Class<?> type) {
         return new TypeDescription.ForLoadedType(type);
     }
+
+    @Test
+    public void testMemorizedProperties() throws Exception {
+        TypeDescription typeDescription = new TypeDescription.ForLoadedType(String.class);
+        assertThat(typeDescription.getDescriptor(), sameInstance(typeDescription.getDescriptor()));
+        assertThat(typeDescription.getDeclaredMethods(), sameInstance(typeDescription.getDeclaredMethods()));
+        assertThat(typeDescription.getDeclaredMethods().get(0), sameInstance(typeDescription.getDeclaredMethods().get(0)));
+    }
 }
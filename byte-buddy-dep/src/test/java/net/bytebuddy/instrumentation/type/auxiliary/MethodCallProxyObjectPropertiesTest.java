@@ -10,6 +10,7 @@ public class MethodCallProxyObjectPropertiesTest {
         ObjectPropertyAssertion.of(MethodCallProxy.class).apply();
         ObjectPropertyAssertion.of(MethodCallProxy.AssignableSignatureCall.class).apply();
         ObjectPropertyAssertion.of(MethodCallProxy.ConstructorCall.Appender.class).skipSynthetic().apply();
+        ObjectPropertyAssertion.of(MethodCallProxy.ReusableInstance.Appender.class).skipSynthetic().apply();
         ObjectPropertyAssertion.of(MethodCallProxy.MethodCall.class).skipSynthetic().apply();
         ObjectPropertyAssertion.of(MethodCallProxy.MethodCall.Appender.class).skipSynthetic().apply();
     }
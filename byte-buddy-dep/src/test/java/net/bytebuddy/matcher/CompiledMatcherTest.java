@@ -0,0 +1,163 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.instrumentation.ByteCodeElement;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class CompiledMatcherTest extends AbstractElementMatcherTest<CompiledMatcher<?>> {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Mock
+    private ElementMatcher<? super Object> first, second;
+
+    @SuppressWarnings("unchecked")
+    public CompiledMatcherTest() {
+        super((Class<CompiledMatcher<?>>) (Object) CompiledMatcher.class, "");
+    }
+
+    @Test
+    public void testConjunctionIsFlattenedAndDeduplicated() throws Exception {
+        ElementMatcher.Junction<Object> compiled = compile(new ElementMatcher.Junction.Conjunction<Object>(first,
+                new ElementMatcher.Junction.Conjunction<Object>(second, first)));
+        assertThat(compiled, is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second))));
+    }
+
+    @Test
+    public void testDisjunctionIsFlattenedAndDeduplicated() throws Exception {
+        ElementMatcher.Junction<Object> compiled = compile(new ElementMatcher.Junction.Disjunction<Object>(
+                new ElementMatcher.Junction.Disjunction<Object>(first, second), second));
+        assertThat(compiled, is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.DISJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second))));
+    }
+
+    @Test
+    public void testNestedJunctionsOfDifferentSortAreRetained() throws Exception {
+        ElementMatcher.Junction<Object> compiled = compile(new ElementMatcher.Junction.Conjunction<Object>(first,
+                new ElementMatcher.Junction.Disjunction<Object>(second, first)));
+        assertThat(compiled, is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, new CompiledMatcher<Object>(CompiledMatcher.Sort.DISJUNCTION,
+                        Arrays.<ElementMatcher<? super Object>>asList(second, first))))));
+    }
+
+    @Test
+    public void testCheapMatchersAreEvaluatedFirst() throws Exception {
+        TypeDescription typeDescription = mock(TypeDescription.class);
+        ElementMatcher<TypeDescription> expensive = isSubTypeOf(typeDescription), cheap = isPublic();
+        ElementMatcher.Junction<TypeDescription> compiled = compile(not(isAnnotatedWith(Deprecated.class)).and(expensive).and(cheap));
+        assertThat(compiled, is((ElementMatcher<TypeDescription>) new CompiledMatcher<TypeDescription>(CompiledMatcher.Sort.CONJUNCTION,
+                Arrays.<ElementMatcher<? super TypeDescription>>asList(cheap, not(isAnnotatedWith(Deprecated.class)), expensive))));
+        TypeDescription target = mock(TypeDescription.class);
+        assertThat(compiled.matches(target), is(false));
+        verify(target).getModifiers();
+        verifyZeroInteractions(typeDescription);
+    }
+
+    @Test
+    public void testExactNamesAreMerged() throws Exception {
+        ElementMatcher.Junction<MethodDescription> compiled = compile(named(FOO).or(named(BAR)).or(nameStartsWith(QUX)).or(named(FOO)));
+        assertThat(compiled, is((ElementMatcher<MethodDescription>) new CompiledMatcher<MethodDescription>(CompiledMatcher.Sort.DISJUNCTION,
+                Arrays.<ElementMatcher<? super MethodDescription>>asList(nameStartsWith(QUX),
+                        new CompiledMatcher.ForNames<ByteCodeElement>(new HashSet<String>(Arrays.asList(FOO, BAR)))))));
+        assertThat(compiled.matches(describe(FOO)), is(true));
+        assertThat(compiled.matches(describe(BAR)), is(true));
+        assertThat(compiled.matches(describe(QUX + FOO)), is(true));
+        assertThat(compiled.matches(describe(FOO + QUX)), is(false));
+    }
+
+    @Test
+    public void testSingleExactNameIsNotMerged() throws Exception {
+        ElementMatcher.Junction<MethodDescription> compiled = compile(named(FOO).or(isStatic()));
+        assertThat(compiled, is((ElementMatcher<MethodDescription>) new CompiledMatcher<MethodDescription>(CompiledMatcher.Sort.DISJUNCTION,
+                Arrays.<ElementMatcher<? super MethodDescription>>asList(named(FOO), isStatic()))));
+    }
+
+    @Test
+    public void testConstantMatchersAreReduced() throws Exception {
+        assertThat(compile(new ElementMatcher.Junction.Conjunction<Object>(any(), first)),
+                is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                        Collections.<ElementMatcher<? super Object>>singletonList(first))));
+        assertThat(compile(new ElementMatcher.Junction.Conjunction<Object>(first, none())),
+                is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                        Collections.<ElementMatcher<? super Object>>singletonList(none()))));
+        assertThat(compile(new ElementMatcher.Junction.Disjunction<Object>(first, any())),
+                is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                        Collections.<ElementMatcher<? super Object>>singletonList(any()))));
+        assertThat(compile(new ElementMatcher.Junction.Disjunction<Object>(none(), none())),
+                is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                        Collections.<ElementMatcher<? super Object>>singletonList(none()))));
+    }
+
+    @Test
+    public void testNegationIsCompiled() throws Exception {
+        assertThat(compile(not(new ElementMatcher.Junction.Conjunction<Object>(first, first))),
+                is((ElementMatcher<Object>) new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                        Collections.<ElementMatcher<? super Object>>singletonList(new NegatingMatcher<Object>(first)))));
+    }
+
+    @Test
+    public void testConjunctionMatching() throws Exception {
+        Object target = new Object();
+        when(first.matches(target)).thenReturn(false);
+        assertThat(new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second)).matches(target), is(false));
+        verifyZeroInteractions(second);
+        when(first.matches(target)).thenReturn(true);
+        when(second.matches(target)).thenReturn(true);
+        assertThat(new CompiledMatcher<Object>(CompiledMatcher.Sort.CONJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second)).matches(target), is(true));
+    }
+
+    @Test
+    public void testDisjunctionMatching() throws Exception {
+        Object target = new Object();
+        when(first.matches(target)).thenReturn(true);
+        assertThat(new CompiledMatcher<Object>(CompiledMatcher.Sort.DISJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second)).matches(target), is(true));
+        verifyZeroInteractions(second);
+        when(first.matches(target)).thenReturn(false);
+        when(second.matches(target)).thenReturn(false);
+        assertThat(new CompiledMatcher<Object>(CompiledMatcher.Sort.DISJUNCTION,
+                Arrays.<ElementMatcher<? super Object>>asList(first, second)).matches(target), is(false));
+    }
+
+    @Test
+    public void testCompiledMatcherIsRecompiled() throws Exception {
+        ElementMatcher.Junction<Object> compiled = compile(new ElementMatcher.Junction.Conjunction<Object>(first, second));
+        assertThat(compile(compiled), is(compiled));
+        assertThat(compile(first), instanceOf(CompiledMatcher.class));
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        assertThat(compile(isStatic().or(isPublic())).toString(), is("(" + isStatic() + " or " + isPublic() + ")"));
+    }
+
+    @Test
+    public void testForNamesObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(CompiledMatcher.ForNames.class).specificToString(makeRegex("named")).apply();
+    }
+
+    private static MethodDescription describe(String name) {
+        MethodDescription methodDescription = mock(MethodDescription.class);
+        when(methodDescription.getSourceCodeName()).thenReturn(name);
+        return methodDescription;
+    }
+}
@@ -45,6 +45,12 @@ public class StringMatcherTest extends AbstractElementMatcherTest<StringMatcher>
         });
     }
 
+    @Test
+    public void testExactValue() throws Exception {
+        assertThat(StringMatcher.exactValueOf(new StringMatcher(FOO, mode)), is(mode == StringMatcher.Mode.EQUALS_FULLY ? FOO : null));
+        assertThat(StringMatcher.exactValueOf(new NameMatcher<MethodDescription>(new StringMatcher(FOO, mode))), is((String) null));
+    }
+
     @Test
     public void testMatch() throws Exception {
         assertThat(new StringMatcher(matching, mode).matches(FOO), is(true));
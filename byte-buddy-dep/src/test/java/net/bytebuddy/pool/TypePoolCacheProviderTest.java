@@ -7,6 +7,10 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.lang.ref.ReferenceQueue;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -14,7 +18,7 @@ import static org.mockito.Mockito.mock;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -49,4 +53,79 @@ public class TypePoolCacheProviderTest {
     public void testSimpleObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypePool.CacheProvider.Simple.class).apply(new TypePool.CacheProvider.Simple());
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2);
+        assertThat(bounded.getMaximumSize(), is(2));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.getSize(), is(1));
+        assertThat(bounded.getHitCount(), is(2L));
+        assertThat(bounded.getMissCount(), is(1L));
+        assertThat(bounded.getEvictionCount(), is(0L));
+        bounded.clear();
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getSize(), is(0));
+        assertThat(bounded.getMissCount(), is(2L));
+        assertThat(bounded.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void testBoundedEvictsLeastRecentlyUsed() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2);
+        TypePool.Resolution bar = mock(TypePool.Resolution.class), qux = mock(TypePool.Resolution.class);
+        bounded.register(FOO, resolution);
+        bounded.register(BAR, bar);
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        bounded.register(QUX, qux);
+        assertThat(bounded.getSize(), is(2));
+        assertThat(bounded.getEvictionCount(), is(1L));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(QUX), sameInstance(qux));
+    }
+
+    @Test
+    public void testBoundedSoftReferences() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1,
+                TypePool.CacheProvider.Bounded.ReferenceStrength.SOFT);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution bar = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(BAR, bar), sameInstance(bar));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(BAR), sameInstance(bar));
+        assertThat(bounded.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void testReferenceStrength() throws Exception {
+        ReferenceQueue<TypePool.Resolution> referenceQueue = new ReferenceQueue<TypePool.Resolution>();
+        TypePool.CacheProvider.Bounded.Entry strong = TypePool.CacheProvider.Bounded.ReferenceStrength.STRONG.wrap(FOO, resolution, referenceQueue);
+        assertThat(strong, instanceOf(TypePool.CacheProvider.Bounded.StrongEntry.class));
+        assertThat(strong.get(), sameInstance(resolution));
+        TypePool.CacheProvider.Bounded.Entry soft = TypePool.CacheProvider.Bounded.ReferenceStrength.SOFT.wrap(FOO, resolution, referenceQueue);
+        assertThat(soft, instanceOf(TypePool.CacheProvider.Bounded.SoftEntry.class));
+        assertThat(soft.get(), sameInstance(resolution));
+        assertThat(((TypePool.CacheProvider.Bounded.SoftEntry) soft).getName(), is(FOO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
+
+    @Test
+    public void testBoundedObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.CacheProvider.Bounded.class).ignoreFields("referenceQueue")
+                .apply(new TypePool.CacheProvider.Bounded(1));
+        ObjectPropertyAssertion.of(TypePool.CacheProvider.Bounded.StrongEntry.class).apply(new TypePool.CacheProvider.Bounded.StrongEntry(resolution));
+        ObjectPropertyAssertion.of(TypePool.CacheProvider.Bounded.SoftEntry.class)
+                .apply(new TypePool.CacheProvider.Bounded.SoftEntry(FOO, resolution, new ReferenceQueue<TypePool.Resolution>()));
+    }
 }
@@ -0,0 +1,26 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.instrumentation.type.AbstractTypeDescriptionTest;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.After;
+import org.junit.Before;
+
+public class TypePoolDefaultExtendedTypeDescriptionTest extends AbstractTypeDescriptionTest {
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        typePool = TypePool.Default.ofClassPath(TypePool.Default.ReaderMode.EXTENDED);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        typePool.clear();
+    }
+
+    @Override
+    protected TypeDescription describe(Class<?> type) {
+        return typePool.describe(type.getName()).resolve();
+    }
+}
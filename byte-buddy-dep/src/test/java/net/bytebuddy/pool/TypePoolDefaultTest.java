@@ -1,9 +1,15 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -36,6 +42,31 @@ public class TypePoolDefaultTest {
         fail();
     }
 
+    @Test
+    public void testDescribeAll() throws Exception {
+        Map<String, TypePool.Resolution> resolutions = typePool.describeAll(Arrays.asList(Object.class.getName(), "foo", String.class.getName()));
+        assertThat(new ArrayList<String>(resolutions.keySet()), is(Arrays.asList(Object.class.getName(), "foo", String.class.getName())));
+        assertThat(resolutions.get(Object.class.getName()).resolve().represents(Object.class), is(true));
+        assertThat(resolutions.get("foo").isResolved(), is(false));
+        assertThat(resolutions.get(String.class.getName()).resolve().represents(String.class), is(true));
+    }
+
+    @Test
+    public void testReaderModeFlags() throws Exception {
+        assertThat(TypePool.Default.ReaderMode.EXTENDED.getFlags(), is(0));
+        assertThat(TypePool.Default.ReaderMode.FAST.getFlags(), is(ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES));
+    }
+
+    @Test
+    public void testReaderModesDescribeEqually() throws Exception {
+        TypeDescription fast = TypePool.Default.ofClassPath(TypePool.Default.ReaderMode.FAST).describe(TypePool.Default.class.getName()).resolve();
+        TypeDescription extended = TypePool.Default.ofClassPath(TypePool.Default.ReaderMode.EXTENDED).describe(TypePool.Default.class.getName()).resolve();
+        assertThat(fast, is(extended));
+        assertThat(fast.getDeclaredMethods(), is(extended.getDeclaredMethods()));
+        assertThat(fast.getDeclaredFields(), is(extended.getDeclaredFields()));
+        assertThat(fast.getDeclaredAnnotations(), is(extended.getDeclaredAnnotations()));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypePool.Default.class).apply();
@@ -1,9 +1,20 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.instrumentation.type.AbstractTypeDescriptionTest;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypePoolDefaultTypeDescriptionTest extends AbstractTypeDescriptionTest {
 
@@ -23,4 +34,58 @@ public class TypePoolDefaultTypeDescriptionTest extends AbstractTypeDescriptionT
     protected TypeDescription describe(Class<?> type) {
         return typePool.describe(type.getName()).resolve();
     }
+
+    @Test
+    public void testSupertypeNamesAreMemorized() throws Exception {
+        TypePool.LazyTypeDescription typeDescription = (TypePool.LazyTypeDescription) describe(ArrayList.class);
+        Set<String> supertypeNames = typeDescription.getSupertypeNames();
+        assertThat(typeDescription.getSupertypeNames(), sameInstance(supertypeNames));
+        assertThat(supertypeNames, is((Set<String>) new HashSet<String>(Arrays.asList(ArrayList.class.getName(),
+                AbstractList.class.getName(),
+                AbstractCollection.class.getName(),
+                Object.class.getName(),
+                List.class.getName(),
+                Collection.class.getName(),
+                Iterable.class.getName(),
+                RandomAccess.class.getName(),
+                Cloneable.class.getName(),
+                Serializable.class.getName()))));
+    }
+
+    @Test
+    public void testInterfaceIsAssignableToObject() throws Exception {
+        assertThat(describe(List.class).isAssignableTo(Object.class), is(true));
+        assertThat(describe(List.class).isAssignableTo(describe(Object.class)), is(true));
+        assertThat(describe(Object.class).isAssignableFrom(describe(List.class)), is(true));
+        assertThat(describe(List.class).isAssignableTo(AbstractList.class), is(false));
+        assertThat(describe(List.class).isAssignableTo(Object[].class), is(false));
+        assertThat(describe(List.class).isAssignableTo(int.class), is(false));
+    }
+
+    @Test
+    public void testUnresolvableSupertypeFallsBackToHierarchyWalk() throws Exception {
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), new HidingClassFileLocator(Serializable.class.getName()));
+        TypePool.LazyTypeDescription typeDescription = (TypePool.LazyTypeDescription) typePool.describe(ArrayList.class.getName()).resolve();
+        assertThat(typeDescription.getSupertypeNames(), nullValue(Set.class));
+        assertThat(typeDescription.isAssignableTo(Object.class), is(true));
+        assertThat(typeDescription.isAssignableTo(AbstractList.class), is(true));
+        assertThat(typeDescription.isAssignableTo(List.class), is(true));
+        assertThat(typePool.describe(AbstractList.class.getName()).resolve().isAssignableFrom(typeDescription), is(true));
+    }
+
+    private static class HidingClassFileLocator implements ClassFileLocator {
+
+        private final String hiddenTypeName;
+
+        private HidingClassFileLocator(String hiddenTypeName) {
+            this.hiddenTypeName = hiddenTypeName;
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            return typeName.equals(hiddenTypeName)
+                    ? Resolution.Illegal.INSTANCE
+                    : ClassFileLocator.ForClassLoader.ofClassPath().locate(typeName);
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypePoolParallelTest {
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private TypePool.Resolution resolution;
+
+    private ExecutorService executorService;
+
+    private TypePool.CacheProvider cacheProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        cacheProvider = new TypePool.CacheProvider.Simple();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testDescribeDelegates() throws Exception {
+        when(typePool.describe(FOO)).thenReturn(resolution);
+        TypePool parallel = new TypePool.Parallel(typePool, executorService);
+        assertThat(parallel.describe(FOO), is(resolution));
+        verify(typePool).describe(FOO);
+        parallel.clear();
+        verify(typePool).clear();
+    }
+
+    @Test
+    public void testDescribeAll() throws Exception {
+        TypePool typePool = new TypePool.Default(cacheProvider, ClassFileLocator.ForClassLoader.ofClassPath());
+        Map<String, TypePool.Resolution> resolutions = new TypePool.Parallel(typePool, executorService)
+                .describeAll(Arrays.asList(ArrayList.class.getName(), FOO, String.class.getName(), ArrayList.class.getName()));
+        assertThat(new ArrayList<String>(resolutions.keySet()), is(Arrays.asList(ArrayList.class.getName(), FOO, String.class.getName())));
+        assertThat(resolutions.get(ArrayList.class.getName()).resolve().represents(ArrayList.class), is(true));
+        assertThat(resolutions.get(FOO).isResolved(), is(false));
+        assertThat(resolutions.get(String.class.getName()).resolve().represents(String.class), is(true));
+        assertThat(cacheProvider.find(ArrayList.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(AbstractList.class.getName()), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testDescribeAllWithSupertypePrefetch() throws Exception {
+        TypePool typePool = new TypePool.Default(cacheProvider, ClassFileLocator.ForClassLoader.ofClassPath());
+        Map<String, TypePool.Resolution> resolutions = new TypePool.Parallel(typePool, executorService)
+                .withSupertypePrefetch()
+                .describeAll(Collections.singleton(ArrayList.class.getName()));
+        assertThat(resolutions.size(), is(1));
+        assertThat(resolutions.get(ArrayList.class.getName()).resolve().represents(ArrayList.class), is(true));
+        for (Class<?> type : Arrays.asList(AbstractList.class,
+                AbstractCollection.class,
+                Object.class,
+                List.class,
+                Collection.class,
+                Iterable.class,
+                RandomAccess.class,
+                Cloneable.class,
+                Serializable.class)) {
+            assertThat(cacheProvider.find(type.getName()), notNullValue(TypePool.Resolution.class));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDescribeAllFailure() throws Exception {
+        when(typePool.describe(FOO)).thenThrow(new RuntimeException());
+        new TypePool.Parallel(typePool, executorService).describeAll(Collections.singleton(FOO));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.Parallel.class).apply();
+        ObjectPropertyAssertion.of(TypePool.Parallel.Description.class).apply();
+    }
+}
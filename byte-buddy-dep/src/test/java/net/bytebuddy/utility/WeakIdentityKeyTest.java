@@ -0,0 +1,72 @@
+package net.bytebuddy.utility;
+
+import org.junit.Test;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WeakIdentityKeyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testKeyEquality() throws Exception {
+        Object referent = new Object(), other = new Object();
+        WeakIdentityKey.Lookup<Object> lookup = new WeakIdentityKey.Lookup<Object>(referent);
+        WeakIdentityKey<Object> weakIdentityKey = new WeakIdentityKey<Object>(referent, null);
+        assertThat(lookup.hashCode(), is(weakIdentityKey.hashCode()));
+        assertThat(lookup.equals(weakIdentityKey), is(true));
+        assertThat(weakIdentityKey.equals(lookup), is(true));
+        assertThat(weakIdentityKey.equals(new WeakIdentityKey<Object>(referent, null)), is(true));
+        assertThat(lookup.equals(new WeakIdentityKey.Lookup<Object>(referent)), is(true));
+        assertThat(lookup.equals(new WeakIdentityKey<Object>(other, null)), is(false));
+        assertThat(weakIdentityKey.equals(new WeakIdentityKey.Lookup<Object>(other)), is(false));
+        assertThat(weakIdentityKey.equals(new Object()), is(false));
+        assertThat(lookup.equals(new Object()), is(false));
+        weakIdentityKey.clear();
+        assertThat(weakIdentityKey.equals(lookup), is(false));
+        assertThat(weakIdentityKey.equals(weakIdentityKey), is(true));
+    }
+
+    @Test
+    public void testIdentityIsRequired() throws Exception {
+        String referent = new String(FOO), other = new String(FOO);
+        assertThat(new WeakIdentityKey.Lookup<String>(referent).equals(new WeakIdentityKey<String>(other, null)), is(false));
+        assertThat(new WeakIdentityKey<String>(referent, null).equals(new WeakIdentityKey.Lookup<String>(other)), is(false));
+    }
+
+    @Test
+    public void testQualifiedKeyEquality() throws Exception {
+        Object referent = new Object();
+        WeakIdentityKey.Lookup<Object> lookup = new WeakIdentityKey.Lookup<Object>(referent, FOO);
+        WeakIdentityKey<Object> weakIdentityKey = new WeakIdentityKey<Object>(referent, FOO, null);
+        assertThat(lookup.hashCode(), is(weakIdentityKey.hashCode()));
+        assertThat(lookup.equals(weakIdentityKey), is(true));
+        assertThat(weakIdentityKey.equals(lookup), is(true));
+        assertThat(weakIdentityKey.equals(new WeakIdentityKey<Object>(referent, FOO, null)), is(true));
+        assertThat(weakIdentityKey.equals(new WeakIdentityKey<Object>(referent, BAR, null)), is(false));
+        assertThat(lookup.equals(new WeakIdentityKey.Lookup<Object>(referent, BAR)), is(false));
+        assertThat(lookup.equals(new WeakIdentityKey.Lookup<Object>(referent)), is(false));
+        assertThat(new WeakIdentityKey.Lookup<Object>(referent).equals(new WeakIdentityKey<Object>(referent, null)), is(true));
+    }
+
+    @Test
+    public void testStaleEntriesAreExpunged() throws Exception {
+        ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+        Object referent = new Object();
+        WeakIdentityKey<Object> weakIdentityKey = new WeakIdentityKey<Object>(referent, referenceQueue);
+        Map<Object, String> map = new HashMap<Object, String>();
+        map.put(weakIdentityKey, FOO);
+        WeakIdentityKey.expungeStaleEntries(referenceQueue, map);
+        assertThat(map.get(new WeakIdentityKey.Lookup<Object>(referent)), is(FOO));
+        weakIdentityKey.enqueue();
+        WeakIdentityKey.expungeStaleEntries(referenceQueue, map);
+        assertThat(map.get(new WeakIdentityKey.Lookup<Object>(referent)), nullValue(String.class));
+        assertThat(map.size(), is(0));
+    }
+}